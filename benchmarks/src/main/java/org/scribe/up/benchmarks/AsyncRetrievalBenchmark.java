@@ -0,0 +1,162 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.model.Token;
+import org.scribe.up.credential.OAuthCredential;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.impl.GitHubProvider;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class benches the synchronous and the bounded asynchronous retrievals of 100 user profiles against a local stub provider which
+ * answers in 10 milliseconds.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsyncRetrievalBenchmark {
+    
+    private static final int MAX_REQUESTS = 100;
+    
+    private static final int MAX_CONCURRENT_REQUESTS = 20;
+    
+    private static final long LATENCY = 10;
+    
+    private static final byte[] RESPONSE = "{\"id\":123456,\"login\":\"bench\"}".getBytes();
+    
+    private static final class StubProvider extends GitHubProvider {
+        
+        private final String profileUrl;
+        
+        private StubProvider(final String profileUrl) {
+            this.profileUrl = profileUrl;
+            setKey("key");
+            setSecret("secret");
+            setCallbackUrl("http://localhost/callback");
+            setMaxConcurrentRequests(MAX_CONCURRENT_REQUESTS);
+        }
+        
+        @Override
+        protected String getProfileUrl() {
+            return this.profileUrl;
+        }
+        
+        @Override
+        protected Token getAccessToken(final OAuthCredential credential) {
+            return new Token(credential.getToken(), "");
+        }
+    }
+    
+    private HttpServer server;
+    
+    private ExecutorService serverExecutor;
+    
+    private StubProvider provider;
+    
+    private final OAuthCredential[] credentials = new OAuthCredential[MAX_REQUESTS];
+    
+    @Setup
+    public void setUp() throws IOException {
+        // without it, the delayed acknowledgements add 40 milliseconds to each response
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/", new HttpHandler() {
+            
+            public void handle(final HttpExchange exchange) throws IOException {
+                try {
+                    Thread.sleep(LATENCY);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                exchange.sendResponseHeaders(200, RESPONSE.length);
+                final OutputStream body = exchange.getResponseBody();
+                body.write(RESPONSE);
+                body.close();
+            }
+        });
+        this.serverExecutor = Executors.newCachedThreadPool();
+        this.server.setExecutor(this.serverExecutor);
+        this.server.start();
+        this.provider = new StubProvider("http://localhost:" + this.server.getAddress().getPort() + "/user");
+        for (int i = 0; i < MAX_REQUESTS; i++) {
+            this.credentials[i] = new OAuthCredential(null, "token" + i, null, this.provider.getType());
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        this.server.stop(0);
+        this.serverExecutor.shutdownNow();
+    }
+    
+    @Benchmark
+    public int synchronous() {
+        int nb = 0;
+        for (final OAuthCredential credential : this.credentials) {
+            if (this.provider.getUserProfile(credential) != null) {
+                nb++;
+            }
+        }
+        return nb;
+    }
+    
+    @Benchmark
+    public int boundedAsynchronous() throws InterruptedException, ExecutionException {
+        final List<Future<UserProfile>> futures = new ArrayList<Future<UserProfile>>(MAX_REQUESTS);
+        for (final OAuthCredential credential : this.credentials) {
+            futures.add(this.provider.getUserProfileAsync(credential));
+        }
+        int nb = 0;
+        for (final Future<UserProfile> future : futures) {
+            if (future.get() != null) {
+                nb++;
+            }
+        }
+        return nb;
+    }
+}
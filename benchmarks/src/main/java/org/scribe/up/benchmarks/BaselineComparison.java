@@ -0,0 +1,135 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * This class compares two JMH JSON result files (a baseline and a current run) : for each benchmark (and parameters), it reports the
+ * score and the allocated bytes per operation (from the GC profiler) of both runs and the score variation. The exit code is 1 if a score
+ * is worse than the baseline by more than the threshold (10% by default).
+ * <p />
+ * Usage : <i>java -cp benchmarks.jar org.scribe.up.benchmarks.BaselineComparison baseline.json current.json [threshold in %]</i>
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class BaselineComparison {
+    
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+    
+    private static final double DEFAULT_THRESHOLD = 10.0;
+    
+    private BaselineComparison() {
+    }
+    
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage : BaselineComparison baseline.json current.json [threshold in %]");
+            System.exit(2);
+        }
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD;
+        final Map<String, JsonNode> baseline = read(new File(args[0]));
+        final Map<String, JsonNode> current = read(new File(args[1]));
+        int regressions = 0;
+        System.out.println(String.format("%-70s %14s %14s %9s %12s %12s", "Benchmark", "Baseline", "Current", "Delta",
+                                         "B/op base", "B/op curr"));
+        for (final Entry<String, JsonNode> entry : current.entrySet()) {
+            final String key = entry.getKey();
+            final JsonNode currentResult = entry.getValue();
+            final JsonNode baselineResult = baseline.get(key);
+            final double currentScore = currentResult.get("primaryMetric").get("score").asDouble();
+            final String unit = currentResult.get("primaryMetric").get("scoreUnit").asText();
+            if (baselineResult == null) {
+                System.out.println(String.format("%-70s %14s %14.3f %9s %12s %12.0f  %s", key, "-", currentScore, "new", "-",
+                                                 getAllocation(currentResult), unit));
+                continue;
+            }
+            final double baselineScore = baselineResult.get("primaryMetric").get("score").asDouble();
+            final double delta = baselineScore == 0.0 ? 0.0 : (currentScore - baselineScore) * 100.0 / baselineScore;
+            // for throughput, higher is better : for the other modes (time per operation), lower is better
+            final boolean higherIsBetter = "thrpt".equals(currentResult.get("mode").asText());
+            final double worsening = higherIsBetter ? -delta : delta;
+            final boolean regression = worsening > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.println(String.format("%-70s %14.3f %14.3f %+8.1f%% %12.0f %12.0f  %s%s", key, baselineScore,
+                                             currentScore, delta, getAllocation(baselineResult),
+                                             getAllocation(currentResult), unit, regression ? "  REGRESSION" : ""));
+        }
+        System.out.println(regressions + " regression(s) above " + threshold + "%");
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Read the results of a JMH JSON file by benchmark (and parameters).
+     * 
+     * @param file
+     * @return the results by benchmark
+     * @throws IOException
+     */
+    private static Map<String, JsonNode> read(final File file) throws IOException {
+        final Map<String, JsonNode> results = new LinkedHashMap<String, JsonNode>();
+        final JsonNode json = new ObjectMapper().readTree(file);
+        final Iterator<JsonNode> iterator = json.elements();
+        while (iterator.hasNext()) {
+            final JsonNode result = iterator.next();
+            final StringBuilder key = new StringBuilder(result.get("benchmark").asText());
+            key.delete(0, BaselineComparison.class.getPackage().getName().length() + 1);
+            final JsonNode params = result.get("params");
+            if (params != null) {
+                final Iterator<Entry<String, JsonNode>> fields = params.fields();
+                while (fields.hasNext()) {
+                    final Entry<String, JsonNode> field = fields.next();
+                    key.append(" ").append(field.getKey()).append("=").append(field.getValue().asText());
+                }
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+    
+    /**
+     * Return the allocated bytes per operation (-1 if the GC profiler was not used).
+     * 
+     * @param result
+     * @return the allocated bytes per operation
+     */
+    private static double getAllocation(final JsonNode result) {
+        final JsonNode metrics = result.get("secondaryMetrics");
+        if (metrics != null) {
+            final Iterator<Entry<String, JsonNode>> fields = metrics.fields();
+            while (fields.hasNext()) {
+                final Entry<String, JsonNode> field = fields.next();
+                if (field.getKey().endsWith(ALLOC_RATE_NORM)) {
+                    return field.getValue().get("score").asDouble();
+                }
+            }
+        }
+        return -1.0;
+    }
+}
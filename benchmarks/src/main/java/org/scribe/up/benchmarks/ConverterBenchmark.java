@@ -0,0 +1,112 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.converter.Converters;
+import org.scribe.up.profile.facebook.FacebookConverters;
+import org.scribe.up.profile.twitter.TwitterConverters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This class benches the most used attribute converters.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+    
+    private JsonNode location;
+    
+    @Setup
+    public void setUp() {
+        this.location = JsonHelper.getFirstNode("{\"id\":\"110774245616525\",\"name\":\"Paris, France\"}");
+    }
+    
+    @Benchmark
+    public Object string() {
+        return Converters.stringConverter.convert("Jerome Testscribeup");
+    }
+    
+    @Benchmark
+    public Object booleanFromString() {
+        return Converters.booleanConverter.convert("true");
+    }
+    
+    @Benchmark
+    public Object integerFromString() {
+        return Converters.integerConverter.convert("12345");
+    }
+    
+    @Benchmark
+    public Object locale() {
+        return Converters.localeConverter.convert("fr_FR");
+    }
+    
+    @Benchmark
+    public Object gender() {
+        return Converters.genderConverter.convert("male");
+    }
+    
+    @Benchmark
+    public Object url() {
+        return Converters.urlConverter.convert("http:\\/\\/www.facebook.com\\/jerome.testscribeup");
+    }
+    
+    @Benchmark
+    public Object isoFormattedDate() {
+        return Converters.dateConverter.convert("2012-07-27T07:45:50+0000");
+    }
+    
+    @Benchmark
+    public Object twitterFormattedDate() {
+        return TwitterConverters.dateConverter.convert("Fri Feb 10 11:10:24 +0000 2012");
+    }
+    
+    @Benchmark
+    public Object facebookBirthday() {
+        return FacebookConverters.birthdayConverter.convert("03/10/1979");
+    }
+    
+    @Benchmark
+    public Object facebookEventDate() {
+        return FacebookConverters.eventDateConverter.convert("2012-09-04T19:00:00");
+    }
+    
+    @Benchmark
+    public Object facebookObject() {
+        return FacebookConverters.objectConverter.convert(this.location);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonList;
+import org.scribe.up.profile.facebook.FacebookConverters;
+import org.scribe.up.profile.facebook.FacebookInfo;
+import org.scribe.up.profile.facebook.FacebookObject;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * This class benches the {@link JsonList} construction from a node and from a text, and the construction of a large list of friends (5000)
+ * with the factory of the Facebook converters compared to the reflection, and of a large list of ids (5000).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonListBenchmark {
+    
+    private JsonNode friends;
+    
+    private String friendsText;
+    
+    private JsonNode likes;
+    
+    private String interests;
+    
+    private JsonNode largeFriends;
+    
+    private String largeIds;
+    
+    @Setup
+    public void setUp() {
+        final JsonNode json = JsonHelper.getFirstNode(ProfileCreators.getResponse("facebook"));
+        this.friends = json.get("friends").get("data");
+        this.friendsText = this.friends.toString();
+        this.likes = json.get("likes").get("data");
+        this.interests = "[\"female\",\"male\"]";
+        final ArrayNode array = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i < 5000; i++) {
+            final ObjectNode friend = array.addObject();
+            friend.put("name", "Friend " + i);
+            friend.put("id", String.valueOf(100002406067613L + i));
+        }
+        this.largeFriends = array;
+        final StringBuilder ids = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            if (i > 0) {
+                ids.append(",");
+            }
+            ids.append("\"").append(100002406067613L + i).append("\"");
+        }
+        this.largeIds = ids.append("]").toString();
+    }
+    
+    @Benchmark
+    public JsonList<FacebookObject> objectsFromNode() {
+        return new JsonList<FacebookObject>(this.friends, FacebookObject.class);
+    }
+    
+    @Benchmark
+    public JsonList<FacebookObject> objectsFromText() {
+        return new JsonList<FacebookObject>(this.friendsText, FacebookObject.class);
+    }
+    
+    @Benchmark
+    public JsonList<FacebookInfo> infosFromNode() {
+        return new JsonList<FacebookInfo>(this.likes, FacebookInfo.class);
+    }
+    
+    @Benchmark
+    public JsonList<String> stringsFromText() {
+        return new JsonList<String>(this.interests, String.class);
+    }
+    
+    @Benchmark
+    public Object largeObjectsWithFactory() {
+        return FacebookConverters.listObjectConverter.convert(this.largeFriends);
+    }
+    
+    @Benchmark
+    public JsonList<FacebookObject> largeObjectsByReflection() {
+        return new JsonList<FacebookObject>(this.largeFriends, FacebookObject.class);
+    }
+    
+    @Benchmark
+    public JsonList<String> largeIdsFromText() {
+        return new JsonList<String>(this.largeIds, String.class);
+    }
+}
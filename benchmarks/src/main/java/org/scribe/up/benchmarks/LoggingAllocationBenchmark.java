@@ -0,0 +1,83 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.profile.github.GitHubAttributesDefinition;
+import org.scribe.up.profile.github.GitHubProfile;
+
+/**
+ * This class benches the logged operations of the user profile with the debug level disabled : as their attributes already exist and
+ * their values are already converted, these operations must not allocate anything (<i>gc.alloc.rate.norm</i> close to 0 B/op with the
+ * GC profiler), which proves that no log message nor argument array is built.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingAllocationBenchmark {
+    
+    private static final String ID = "3892357";
+    
+    private static final String LOGIN = "leleuj";
+    
+    private UserProfile userProfile;
+    
+    private GitHubProfile gitHubProfile;
+    
+    @Setup
+    public void setUp() {
+        this.userProfile = new UserProfile();
+        this.userProfile.addAttribute(GitHubAttributesDefinition.LOGIN, LOGIN);
+        this.gitHubProfile = new GitHubProfile();
+        this.gitHubProfile.addAttribute(GitHubAttributesDefinition.LOGIN, LOGIN);
+    }
+    
+    @Benchmark
+    public UserProfile addAttributeWithoutConversion() {
+        this.userProfile.addAttribute(GitHubAttributesDefinition.LOGIN, LOGIN);
+        return this.userProfile;
+    }
+    
+    @Benchmark
+    public UserProfile addAttributeWithConversion() {
+        this.gitHubProfile.addAttribute(GitHubAttributesDefinition.LOGIN, LOGIN);
+        return this.gitHubProfile;
+    }
+    
+    @Benchmark
+    public UserProfile setId() {
+        this.gitHubProfile.setId(ID);
+        return this.gitHubProfile;
+    }
+}
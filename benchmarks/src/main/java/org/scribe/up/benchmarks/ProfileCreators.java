@@ -0,0 +1,186 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.impl.CasOAuthWrapperProvider;
+import org.scribe.up.provider.impl.DropBoxProvider;
+import org.scribe.up.provider.impl.FacebookProvider;
+import org.scribe.up.provider.impl.GitHubProvider;
+import org.scribe.up.provider.impl.Google2Provider;
+import org.scribe.up.provider.impl.GoogleProvider;
+import org.scribe.up.provider.impl.LinkedInProvider;
+import org.scribe.up.provider.impl.TwitterProvider;
+import org.scribe.up.provider.impl.WindowsLiveProvider;
+import org.scribe.up.provider.impl.WordPressProvider;
+import org.scribe.up.provider.impl.YahooProvider;
+
+/**
+ * This class gives access to the (protected) profile extraction of each provider and to its response.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class ProfileCreators {
+    
+    /**
+     * The profile extraction of a provider.
+     */
+    public interface ProfileCreator {
+        
+        UserProfile createProfile(String body);
+    }
+    
+    public static final String[] PROVIDERS = {
+        "casoauthwrapper", "dropbox", "facebook", "github", "google", "google2", "linkedin", "twitter", "windowslive",
+        "wordpress", "yahoo"
+    };
+    
+    private ProfileCreators() {
+    }
+    
+    // the Facebook profile with the connections parsed on first read
+    public static final String FACEBOOK_LAZY = "facebook-lazy";
+    
+    /**
+     * Return the response of a provider.
+     * 
+     * @param provider
+     * @return the response of the provider
+     */
+    public static String getResponse(final String provider) {
+        if (FACEBOOK_LAZY.equals(provider)) {
+            return Responses.get("facebook.json");
+        } else if ("linkedin".equals(provider)) {
+            return Responses.get(provider + ".xml");
+        }
+        return Responses.get(provider + ".json");
+    }
+    
+    /**
+     * Return the profile extraction of a provider.
+     * 
+     * @param provider
+     * @return the profile extraction of the provider
+     */
+    public static ProfileCreator get(final String provider) {
+        if ("casoauthwrapper".equals(provider)) {
+            return new CasOAuthWrapper();
+        } else if ("dropbox".equals(provider)) {
+            return new DropBox();
+        } else if ("facebook".equals(provider)) {
+            return new Facebook();
+        } else if (FACEBOOK_LAZY.equals(provider)) {
+            final Facebook facebook = new Facebook();
+            facebook.setLazyConnections(true);
+            return facebook;
+        } else if ("github".equals(provider)) {
+            return new GitHub();
+        } else if ("google".equals(provider)) {
+            return new Google();
+        } else if ("google2".equals(provider)) {
+            return new Google2();
+        } else if ("linkedin".equals(provider)) {
+            return new LinkedIn();
+        } else if ("twitter".equals(provider)) {
+            return new Twitter();
+        } else if ("windowslive".equals(provider)) {
+            return new WindowsLive();
+        } else if ("wordpress".equals(provider)) {
+            return new WordPress();
+        } else if ("yahoo".equals(provider)) {
+            return new Yahoo();
+        }
+        throw new IllegalArgumentException("Unknown provider : " + provider);
+    }
+    
+    private static final class CasOAuthWrapper extends CasOAuthWrapperProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class DropBox extends DropBoxProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class Facebook extends FacebookProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class GitHub extends GitHubProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class Google extends GoogleProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class Google2 extends Google2Provider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class LinkedIn extends LinkedInProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class Twitter extends TwitterProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class WindowsLive extends WindowsLiveProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class WordPress extends WordPressProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+    
+    private static final class Yahoo extends YahooProvider implements ProfileCreator {
+        
+        public UserProfile createProfile(final String body) {
+            return extractUserProfile(body);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.up.benchmarks.ProfileCreators.ProfileCreator;
+import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.OAuthAttributesDefinitions;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.profile.facebook.FacebookProfile;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This class benches the Facebook profile creation from the JSON tree (one converter lookup per attribute) against the table-driven
+ * streaming extractor of the provider, with and without lazy connections.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfileExtractorBenchmark {
+    
+    private ProfileCreator creator;
+    
+    private ProfileCreator lazyCreator;
+    
+    private String response;
+    
+    @Setup
+    public void setUp() {
+        this.creator = ProfileCreators.get("facebook");
+        this.lazyCreator = ProfileCreators.get(ProfileCreators.FACEBOOK_LAZY);
+        this.response = ProfileCreators.getResponse("facebook");
+    }
+    
+    @Benchmark
+    public UserProfile fromTree() {
+        final FacebookProfile profile = new FacebookProfile();
+        final JsonNode json = JsonHelper.getFirstNode(this.response);
+        profile.setId(JsonHelper.get(json, "id"));
+        for (final String attribute : OAuthAttributesDefinitions.facebookDefinition.getPrincipalAttributes()) {
+            profile.addAttribute(attribute, JsonHelper.get(json, attribute));
+        }
+        for (final String attribute : OAuthAttributesDefinitions.facebookDefinition.getOtherAttributes()) {
+            final JsonNode data = (JsonNode) JsonHelper.get(json, attribute);
+            if (data != null) {
+                profile.addAttribute(attribute, JsonHelper.get(data, "data"));
+            }
+        }
+        return profile;
+    }
+    
+    @Benchmark
+    public UserProfile tableDrivenExtractor() {
+        return this.creator.createProfile(this.response);
+    }
+    
+    @Benchmark
+    public UserProfile tableDrivenExtractorLazyConnections() {
+        return this.lazyCreator.createProfile(this.response);
+    }
+}
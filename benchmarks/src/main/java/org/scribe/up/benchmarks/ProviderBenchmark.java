@@ -0,0 +1,69 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.up.benchmarks.ProfileCreators.ProfileCreator;
+import org.scribe.up.profile.UserProfile;
+
+/**
+ * This class benches the user profile extraction of each provider from a typical response (and of the Facebook profile with lazy
+ * connections).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProviderBenchmark {
+    
+    @Param({
+        "casoauthwrapper", "dropbox", "facebook", ProfileCreators.FACEBOOK_LAZY, "github", "google", "google2", "linkedin", "twitter", "windowslive",
+        "wordpress", "yahoo"
+    })
+    private String provider;
+    
+    private ProfileCreator creator;
+    
+    private String response;
+    
+    @Setup
+    public void setUp() {
+        this.creator = ProfileCreators.get(this.provider);
+        this.response = ProfileCreators.getResponse(this.provider);
+    }
+    
+    @Benchmark
+    public UserProfile extractUserProfile() {
+        return this.creator.createProfile(this.response);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomStringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.services.TimestampServiceImpl;
+import org.scribe.up.addon_to_scribe.SecureRandomHelper;
+import org.scribe.up.addon_to_scribe.SecureTimestampService;
+
+/**
+ * This class benches the generation of the OAuth 1.0 nonces and of the OAuth 2.0 states by concurrent threads (as many as the available
+ * processors by default, to change with the <i>-t</i> option) : the per-thread secure randoms compared to the default classes of Scribe
+ * and Commons Lang. The throughput should grow with the number of threads up to the number of cores.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+@State(Scope.Benchmark)
+public class RandomBenchmark {
+    
+    @Benchmark
+    public String scribeNonce() {
+        // a new service for each nonce as returned by DefaultApi10a.getTimestampService()
+        return new TimestampServiceImpl().getNonce();
+    }
+    
+    @Benchmark
+    public String secureNonce() {
+        return SecureTimestampService.INSTANCE.getNonce();
+    }
+    
+    @Benchmark
+    public String commonsLangState() {
+        return RandomStringUtils.randomAlphanumeric(10);
+    }
+    
+    @Benchmark
+    public String secureState() {
+        return SecureRandomHelper.randomAlphanumeric(10);
+    }
+}
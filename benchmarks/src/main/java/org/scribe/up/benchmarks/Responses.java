@@ -0,0 +1,63 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * This class loads the provider responses used by the benchmarks (from the <i>responses</i> directory of the classpath).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class Responses {
+    
+    private Responses() {
+    }
+    
+    /**
+     * Return the response of a provider.
+     * 
+     * @param name
+     * @return the response
+     */
+    public static String get(final String name) {
+        final InputStream input = Responses.class.getResourceAsStream("/responses/" + name);
+        if (input == null) {
+            throw new IllegalArgumentException("No response : " + name);
+        }
+        try {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int n = input.read(buffer);
+            while (n != -1) {
+                output.write(buffer, 0, n);
+                n = input.read(buffer);
+            }
+            return output.toString("UTF-8").trim();
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot read response : " + name, e);
+        } finally {
+            try {
+                input.close();
+            } catch (final IOException e) {
+                // nothing to do
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.up.profile.ProfileHelper;
+import org.scribe.up.profile.UserProfile;
+
+/**
+ * This class benches the (Java) serialization of the user profiles in their compact format and their rebuilding from typed id and
+ * attributes. The default Java serialization of the identifier and the attributes (the format before the compact one) is benched as a
+ * reference : the sizes of both formats are printed at setup.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    
+    @Param({
+        "facebook", "twitter", "yahoo"
+    })
+    private String provider;
+    
+    private UserProfile profile;
+    
+    private byte[] bytes;
+    
+    private Map<String, Object> attributes;
+    
+    private byte[] defaultBytes;
+    
+    @Setup
+    public void setUp() throws IOException {
+        this.profile = ProfileCreators.get(this.provider).createProfile(ProfileCreators.getResponse(this.provider));
+        this.bytes = serialize();
+        this.attributes = new HashMap<String, Object>(this.profile.getAttributes());
+        this.defaultBytes = serializeDefault();
+        System.out.println(this.provider + " profile : " + this.bytes.length + " bytes (compact) / " + this.defaultBytes.length
+                           + " bytes (default)");
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ObjectOutputStream stream = new ObjectOutputStream(output);
+        stream.writeObject(this.profile);
+        stream.close();
+        return output.toByteArray();
+    }
+    
+    @Benchmark
+    public Object deserialize() throws IOException, ClassNotFoundException {
+        final ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(this.bytes));
+        try {
+            return stream.readObject();
+        } finally {
+            stream.close();
+        }
+    }
+    
+    @Benchmark
+    public byte[] serializeDefault() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ObjectOutputStream stream = new ObjectOutputStream(output);
+        stream.writeObject(this.profile.getId());
+        stream.writeObject(this.attributes);
+        stream.close();
+        return output.toByteArray();
+    }
+    
+    @Benchmark
+    public Object deserializeDefault() throws IOException, ClassNotFoundException {
+        final ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(this.defaultBytes));
+        try {
+            stream.readObject();
+            return stream.readObject();
+        } finally {
+            stream.close();
+        }
+    }
+    
+    @Benchmark
+    public UserProfile buildProfile() {
+        return ProfileHelper.buildProfile(this.profile.getTypedId(), this.profile.getAttributes());
+    }
+}
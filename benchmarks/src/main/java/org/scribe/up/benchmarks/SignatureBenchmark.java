@@ -0,0 +1,88 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scribe.extractors.BaseStringExtractorImpl;
+import org.scribe.extractors.HeaderExtractorImpl;
+import org.scribe.model.OAuthConstants;
+import org.scribe.model.OAuthRequest;
+import org.scribe.model.ProxyOAuthRequest;
+import org.scribe.model.Verb;
+import org.scribe.services.HMACSha1SignatureService;
+import org.scribe.up.addon_to_scribe.OAuth10aSigner;
+
+/**
+ * This class benches the signature of an OAuth 1.0 profile request (base string, HMAC-SHA1 signature and header) by the
+ * {@link OAuth10aSigner} compared to the default classes of Scribe.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureBenchmark {
+    
+    private static final String KEY = "3cmvYbu4I1bG7AkQs3GeQ";
+    
+    private static final String SECRET = "V2VzsjjDLfMe9g2aKx5tUFXwxSWkjIFGDJabgmnZdA";
+    
+    private static final String TOKEN_SECRET = "y1uA4DKBTJX2mjQDdAs3T51KoUMMEoLHn2aKoxBo";
+    
+    private final OAuth10aSigner signer = new OAuth10aSigner(KEY, SECRET);
+    
+    private OAuthRequest request;
+    
+    @Setup
+    public void setUp() {
+        this.request = new ProxyOAuthRequest(Verb.GET, "http://api.twitter.com/1/account/verify_credentials.json", null,
+                                             0);
+        this.request.addOAuthParameter(OAuthConstants.TOKEN, "501246727-oBZ8Ny0Pn6xvDiabfNR6z4Mh4dDfAJlMJBtVxc9g");
+        this.request.addOAuthParameter(OAuthConstants.TIMESTAMP, "1350000000");
+        this.request.addOAuthParameter(OAuthConstants.NONCE, "1350000000123456");
+        this.request.addOAuthParameter(OAuthConstants.CONSUMER_KEY, KEY);
+        this.request.addOAuthParameter(OAuthConstants.SIGN_METHOD, "HMAC-SHA1");
+        this.request.addOAuthParameter(OAuthConstants.VERSION, "1.0");
+    }
+    
+    @Benchmark
+    public String scribe() {
+        final String baseString = new BaseStringExtractorImpl().extract(this.request);
+        final String signature = new HMACSha1SignatureService().getSignature(baseString, SECRET, TOKEN_SECRET);
+        return signature + new HeaderExtractorImpl().extract(this.request);
+    }
+    
+    @Benchmark
+    public String signer() {
+        final String signature = this.signer.getSignature(this.request, TOKEN_SECRET);
+        return signature + this.signer.getHeader(this.request);
+    }
+}
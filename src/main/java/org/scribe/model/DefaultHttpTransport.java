@@ -0,0 +1,47 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.model;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.URL;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * This class is the simplest HTTP transport : a new {@link HttpURLConnection} is opened for each request without any limit.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class DefaultHttpTransport implements HttpTransport {
+    
+    public HttpURLConnection openConnection(final String url, final String proxyHost, final int proxyPort)
+        throws IOException {
+        if (StringUtils.isNotBlank(proxyHost)) {
+            final Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(proxyHost, proxyPort));
+            return (HttpURLConnection) new URL(url).openConnection(proxy);
+        } else {
+            return (HttpURLConnection) new URL(url).openConnection();
+        }
+    }
+    
+    public void releaseConnection(final HttpURLConnection connection) {
+        // nothing to release : the connection goes back to the keep-alive cache of the JVM once its response has been entirely read
+    }
+}
@@ -0,0 +1,47 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.model;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+/**
+ * This interface is the contract for the HTTP transport used by the {@link ProxyOAuthRequest} to reach the OAuth providers : it opens the
+ * connections and gets them back once the response has been read.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public interface HttpTransport {
+    
+    /**
+     * Open a connection to the url (through the proxy if the proxy host is defined).
+     * 
+     * @param url
+     * @param proxyHost
+     * @param proxyPort
+     * @return the connection
+     * @throws IOException
+     */
+    public HttpURLConnection openConnection(String url, String proxyHost, int proxyPort) throws IOException;
+    
+    /**
+     * Release the connection once its response has been read : it can be reused for a next request.
+     * 
+     * @param connection
+     */
+    public void releaseConnection(HttpURLConnection connection);
+}
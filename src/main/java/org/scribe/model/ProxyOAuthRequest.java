@@ -29,6 +29,8 @@ import java.util.concurrent.TimeUnit;
  */
 public class ProxyOAuthRequest extends OAuthRequest {
     
+    private static volatile HttpTransport defaultHttpTransport = new DefaultHttpTransport();
+    
     private final ProxyRequest proxyRequest;
     
     public ProxyOAuthRequest(final Verb verb, final String url, final String proxyHost, final int proxyPort) {
@@ -38,6 +40,36 @@ public class ProxyOAuthRequest extends OAuthRequest {
         this.proxyRequest.setProxyPort(proxyPort);
     }
     
+    /**
+     * Return the HTTP transport shared by all the requests (a {@link DefaultHttpTransport}, without any limit, by default).
+     * 
+     * @return the default HTTP transport
+     */
+    public static HttpTransport getDefaultHttpTransport() {
+        return defaultHttpTransport;
+    }
+    
+    /**
+     * Define the HTTP transport shared by all the requests created afterwards.
+     * 
+     * @param httpTransport
+     */
+    public static void setDefaultHttpTransport(final HttpTransport httpTransport) {
+        if (httpTransport == null) {
+            throw new IllegalArgumentException("httpTransport cannot be null");
+        }
+        defaultHttpTransport = httpTransport;
+    }
+    
+    /**
+     * Define the HTTP transport for this request only.
+     * 
+     * @param httpTransport
+     */
+    public void setHttpTransport(final HttpTransport httpTransport) {
+        this.proxyRequest.setHttpTransport(httpTransport);
+    }
+    
     @Override
     public Response send() {
         return this.proxyRequest.send();
@@ -18,16 +18,13 @@ package org.scribe.model;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
-import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
-import java.net.Proxy;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.lang3.StringUtils;
 import org.scribe.exceptions.OAuthConnectionException;
 import org.scribe.exceptions.OAuthException;
 
@@ -57,6 +54,7 @@ class ProxyRequest {
     private Long readTimeout = null;
     private String proxyHost = null;
     private int proxyPort = 8080;
+    private HttpTransport transport = ProxyOAuthRequest.getDefaultHttpTransport();
     
     /**
      * Creates a new Http Request
@@ -81,24 +79,27 @@ class ProxyRequest {
     public Response send() {
         try {
             createConnection();
-            return doSend();
+            try {
+                final Response response = doSend();
+                // read the whole response so that the connection can be reused
+                if (response.getStream() != null) {
+                    response.getBody();
+                }
+                return response;
+            } finally {
+                this.transport.releaseConnection(this.connection);
+            }
         } catch (final Exception e) {
             throw new OAuthConnectionException(e);
         }
     }
     
     private void createConnection() throws IOException {
-        final String completeUrl = getCompleteUrl();
         if (this.connection == null) {
-            if (connectionKeepAlive) {
-                connection.setRequestProperty("Connection", "keep-alive");
-            }
-            if (StringUtils.isNotBlank(this.proxyHost)) {
-                final Proxy proxy = new Proxy(Proxy.Type.HTTP, new InetSocketAddress(this.proxyHost, this.proxyPort));
-                this.connection = (HttpURLConnection) new URL(completeUrl).openConnection(proxy);
-            } else {
-                this.connection = (HttpURLConnection) new URL(completeUrl).openConnection();
-            }
+            this.connection = this.transport.openConnection(getCompleteUrl(), this.proxyHost, this.proxyPort);
+        }
+        if (this.connectionKeepAlive) {
+            this.connection.setRequestProperty("Connection", "keep-alive");
         }
     }
     
@@ -200,8 +201,11 @@ class ProxyRequest {
     public ParameterList getQueryStringParams() {
         try {
             final ParameterList result = new ParameterList();
-            final String queryString = new URL(this.url).getQuery();
-            result.addQuerystring(queryString);
+            // parse the URL only if it has a query string
+            if (this.url.indexOf('?') >= 0) {
+                final String queryString = new URL(this.url).getQuery();
+                result.addQuerystring(queryString);
+            }
             result.addAll(this.querystringParams);
             return result;
         } catch (final MalformedURLException mue) {
@@ -233,7 +237,8 @@ class ProxyRequest {
      * @return the OAuth-sanitized URL
      */
     public String getSanitizedUrl() {
-        return this.url.replaceAll("\\?.*", "").replace("\\:\\d{4}", "");
+        final int index = this.url.indexOf('?');
+        return index >= 0 ? this.url.substring(0, index) : this.url;
     }
     
     /**
@@ -342,6 +347,10 @@ class ProxyRequest {
         this.proxyPort = proxyPort;
     }
     
+    public void setHttpTransport(final HttpTransport transport) {
+        this.transport = transport;
+    }
+    
     @Override
     public String toString() {
         return String.format("@Request(%s %s)", getVerb(), getUrl());
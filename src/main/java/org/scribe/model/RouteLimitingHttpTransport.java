@@ -0,0 +1,254 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.model;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is an HTTP transport which limits the number of concurrent requests per route (protocol + host + port + proxy) : it's a
+ * concurrency limiter, not a connection pool. It's not used by default, define it with the
+ * {@link ProxyOAuthRequest#setDefaultHttpTransport(HttpTransport)} method.
+ * <p />
+ * The connections themselves are reused through the keep-alive cache of the JVM (HTTP/1.1 persistent connections), which keeps only 5
+ * idle connections per host by default : to reuse more connections, the <i>http.maxConnections</i> system property should be set to the
+ * max per route. A connection goes back to this cache as soon as its response has been entirely read, which is always done by the
+ * {@link ProxyOAuthRequest}. The number of requests in progress per route is limited
+ * by the {@link #setMaxPerRoute(int)} method (20 by default) and the time to wait for a free permit by the
+ * {@link #setAcquireTimeout(int)} method (in milliseconds, 3 seconds by default). The routes which are not used anymore are evicted after
+ * the idle timeout defined by the {@link #setIdleTimeout(int)} method (in milliseconds, 60 seconds by default) : a route is only evicted
+ * if it holds all its permits, and a request which has acquired a permit of an evicted route retries with the new route.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class RouteLimitingHttpTransport extends DefaultHttpTransport {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RouteLimitingHttpTransport.class);
+    
+    public static final int DEFAULT_MAX_PER_ROUTE = 20;
+    
+    public static final int DEFAULT_ACQUIRE_TIMEOUT = 3000;
+    
+    public static final int DEFAULT_IDLE_TIMEOUT = 60000;
+    
+    private int maxPerRoute = DEFAULT_MAX_PER_ROUTE;
+    
+    private int acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+    
+    private int idleTimeout = DEFAULT_IDLE_TIMEOUT;
+    
+    private final ConcurrentMap<String, Route> routes = new ConcurrentHashMap<String, Route>();
+    
+    private final Map<HttpURLConnection, Route> leased = new ConcurrentHashMap<HttpURLConnection, Route>();
+    
+    private volatile long lastEviction = System.currentTimeMillis();
+    
+    @Override
+    public HttpURLConnection openConnection(final String url, final String proxyHost, final int proxyPort)
+        throws IOException {
+        evictIdleRoutes();
+        final String key = getRouteKey(url, proxyHost, proxyPort);
+        Route route = getRoute(key);
+        acquire(route);
+        while (route.evicted) {
+            // evicted meanwhile : its permits don't bound the requests anymore
+            route.release();
+            this.routes.remove(key, route);
+            route = getRoute(key);
+            acquire(route);
+        }
+        try {
+            final HttpURLConnection connection = super.openConnection(url, proxyHost, proxyPort);
+            this.leased.put(connection, route);
+            return connection;
+        } catch (final IOException e) {
+            route.release();
+            throw e;
+        } catch (final RuntimeException e) {
+            route.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public void releaseConnection(final HttpURLConnection connection) {
+        if (connection != null) {
+            final Route route = this.leased.remove(connection);
+            if (route != null) {
+                route.release();
+            }
+        }
+    }
+    
+    /**
+     * Return the number of connections currently in use for all routes.
+     * 
+     * @return the number of connections in use
+     */
+    public int getLeasedConnections() {
+        return this.leased.size();
+    }
+    
+    /**
+     * Return the number of known routes.
+     * 
+     * @return the number of routes
+     */
+    public int getRoutes() {
+        return this.routes.size();
+    }
+    
+    private void acquire(final Route route) throws IOException {
+        try {
+            if (!route.permits.tryAcquire(this.acquireTimeout, TimeUnit.MILLISECONDS)) {
+                throw new IOException("No connection available for route : " + route.key + " after "
+                                      + this.acquireTimeout + " ms");
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection for route : " + route.key);
+        }
+    }
+    
+    private String getRouteKey(final String url, final String proxyHost, final int proxyPort) throws IOException {
+        final URL u = new URL(url);
+        final int port = u.getPort() == -1 ? u.getDefaultPort() : u.getPort();
+        final StringBuilder sb = new StringBuilder();
+        sb.append(u.getProtocol());
+        sb.append("://");
+        sb.append(u.getHost());
+        sb.append(":");
+        sb.append(port);
+        if (StringUtils.isNotBlank(proxyHost)) {
+            sb.append("@");
+            sb.append(proxyHost);
+            sb.append(":");
+            sb.append(proxyPort);
+        }
+        return sb.toString();
+    }
+    
+    private Route getRoute(final String key) {
+        Route route = this.routes.get(key);
+        if (route == null) {
+            final Route newRoute = new Route(key, this.maxPerRoute);
+            route = this.routes.putIfAbsent(key, newRoute);
+            if (route == null) {
+                route = newRoute;
+                logger.debug("new route : {}", key);
+            }
+        }
+        route.lastUsed = System.currentTimeMillis();
+        return route;
+    }
+    
+    /**
+     * Evict the routes which have no request in progress and have not been used since the idle timeout.
+     */
+    private void evictIdleRoutes() {
+        final long now = System.currentTimeMillis();
+        if (now - this.lastEviction > this.idleTimeout) {
+            synchronized (this.routes) {
+                this.lastEviction = now;
+                final Iterator<Route> iterator = this.routes.values().iterator();
+                while (iterator.hasNext()) {
+                    final Route route = iterator.next();
+                    if (now - route.lastUsed > this.idleTimeout && route.evict()) {
+                        logger.debug("evict idle route : {}", route.key);
+                        this.routes.remove(route.key, route);
+                    }
+                }
+            }
+        }
+    }
+    
+    public int getMaxPerRoute() {
+        return this.maxPerRoute;
+    }
+    
+    public void setMaxPerRoute(final int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+    }
+    
+    public int getAcquireTimeout() {
+        return this.acquireTimeout;
+    }
+    
+    public void setAcquireTimeout(final int acquireTimeout) {
+        this.acquireTimeout = acquireTimeout;
+    }
+    
+    public int getIdleTimeout() {
+        return this.idleTimeout;
+    }
+    
+    public void setIdleTimeout(final int idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+    
+    /**
+     * A route and the permits for its connections.
+     */
+    private static final class Route {
+        
+        private final String key;
+        
+        private final int max;
+        
+        private final Semaphore permits;
+        
+        private volatile long lastUsed;
+        
+        private volatile boolean evicted = false;
+        
+        private Route(final String key, final int max) {
+            this.key = key;
+            this.max = max;
+            this.permits = new Semaphore(max);
+        }
+        
+        /**
+         * Mark the route as evicted if no permit is acquired : all the permits are taken while it's marked, so that a request acquiring a
+         * permit afterwards sees it evicted.
+         * 
+         * @return if the route is evicted
+         */
+        private boolean evict() {
+            if (!this.permits.tryAcquire(this.max)) {
+                return false;
+            }
+            this.evicted = true;
+            this.permits.release(this.max);
+            return true;
+        }
+        
+        private void release() {
+            this.permits.release();
+        }
+    }
+}
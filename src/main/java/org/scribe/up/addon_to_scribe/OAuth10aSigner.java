@@ -0,0 +1,390 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.addon_to_scribe;
+
+import java.io.UnsupportedEncodingException;
+import java.security.GeneralSecurityException;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Base64;
+import org.scribe.exceptions.OAuthException;
+import org.scribe.exceptions.OAuthParametersMissingException;
+import org.scribe.exceptions.OAuthSignatureException;
+import org.scribe.model.OAuthConstants;
+import org.scribe.model.OAuthRequest;
+import org.scribe.model.ParameterList;
+
+/**
+ * This class signs the OAuth 1.0 requests with HMAC-SHA1 like the <i>BaseStringExtractorImpl</i>, <i>HMACSha1SignatureService</i> and
+ * <i>HeaderExtractorImpl</i> classes of Scribe, but with few allocations : the parameters are percent-encoded in a single pass (without
+ * regular expressions), the consumer key and secret are encoded once and each thread reuses its {@link Mac} instance and its buffers, the
+ * {@link Mac} being initialized again only when the signing key (consumer secret + token secret) changes.
+ * <p />
+ * The parameters of the base string are sorted by encoded name and value as required by the RFC 5849 (Scribe sorts them before encoding,
+ * which only differs for names or values starting with reserved characters).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class OAuth10aSigner {
+    
+    private static final String HMAC_SHA1 = "HmacSHA1";
+    
+    private static final String UTF8 = "UTF-8";
+    
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+    
+    // the larger buffers are not kept by the threads
+    private static final int MAX_BUFFER_SIZE = 16384;
+    
+    private static final ThreadLocal<SigningContext> contexts = new ThreadLocal<SigningContext>() {
+        
+        @Override
+        protected SigningContext initialValue() {
+            return new SigningContext();
+        }
+    };
+    
+    private final String apiKey;
+    
+    private final String encodedApiKey;
+    
+    private final String encodedApiSecret;
+    
+    public OAuth10aSigner(final String apiKey, final String apiSecret) {
+        this.apiKey = apiKey;
+        this.encodedApiKey = apiKey != null ? encode(apiKey) : null;
+        this.encodedApiSecret = encode(apiSecret);
+    }
+    
+    /**
+     * Return the signature of the request.
+     * 
+     * @param request
+     * @param tokenSecret
+     * @return the signature of the request
+     */
+    public String getSignature(final OAuthRequest request, final String tokenSecret) {
+        final SigningContext context = contexts.get();
+        final StringBuilder sb = context.buffer();
+        appendBaseString(sb, request, context);
+        final int length = sb.length();
+        if (context.bytes.length < length) {
+            context.bytes = new byte[Math.max(length, 2 * context.bytes.length)];
+        }
+        final byte[] bytes = context.bytes;
+        // the base string is only made of ASCII characters
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) sb.charAt(i);
+        }
+        final Mac mac = context.getMac(this.encodedApiSecret, tokenSecret);
+        mac.update(bytes, 0, length);
+        final byte[] signature = Base64.encodeBase64(mac.doFinal());
+        final char[] chars = new char[signature.length];
+        for (int i = 0; i < signature.length; i++) {
+            chars[i] = (char) signature[i];
+        }
+        return new String(chars);
+    }
+    
+    /**
+     * Return the base string of the request.
+     * 
+     * @param request
+     * @return the base string of the request
+     */
+    public String getBaseString(final OAuthRequest request) {
+        final SigningContext context = contexts.get();
+        final StringBuilder sb = context.buffer();
+        appendBaseString(sb, request, context);
+        return sb.toString();
+    }
+    
+    /**
+     * Return the OAuth header of the request.
+     * 
+     * @param request
+     * @return the OAuth header of the request
+     */
+    public String getHeader(final OAuthRequest request) {
+        final Map<String, String> parameters = request.getOauthParameters();
+        if (parameters.isEmpty()) {
+            throw new OAuthParametersMissingException(request);
+        }
+        final StringBuilder sb = contexts.get().buffer();
+        sb.append("OAuth ");
+        boolean first = true;
+        for (final Map.Entry<String, String> entry : parameters.entrySet()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            first = false;
+            sb.append(entry.getKey());
+            sb.append("=\"");
+            appendEncodedValue(sb, entry.getKey(), entry.getValue());
+            sb.append('"');
+        }
+        return sb.toString();
+    }
+    
+    private void appendBaseString(final StringBuilder sb, final OAuthRequest request, final SigningContext context) {
+        final Map<String, String> oauthParameters = request.getOauthParameters();
+        if (oauthParameters.isEmpty()) {
+            throw new OAuthParametersMissingException(request);
+        }
+        sb.append(request.getVerb().name());
+        sb.append('&');
+        appendEncoded(sb, request.getSanitizedUrl());
+        sb.append('&');
+        // collect the encoded parameters in a single buffer : name=value&name=value...
+        final StringBuilder parameters = context.parameters();
+        addEncodedParameters(parameters, request.getQueryStringParams());
+        addEncodedParameters(parameters, request.getBodyParams());
+        for (final Map.Entry<String, String> entry : oauthParameters.entrySet()) {
+            if (parameters.length() > 0) {
+                parameters.append('&');
+            }
+            appendEncoded(parameters, entry.getKey());
+            parameters.append('=');
+            appendEncodedValue(parameters, entry.getKey(), entry.getValue());
+        }
+        // sort and encode them again
+        final String[] pairs = context.split(parameters);
+        final int nb = context.nbPairs;
+        sortPairs(pairs, nb);
+        for (int i = 0; i < nb; i++) {
+            if (i > 0) {
+                sb.append("%26");
+            }
+            final String pair = pairs[i];
+            for (int j = 0; j < pair.length(); j++) {
+                final char c = pair.charAt(j);
+                if (c == '%') {
+                    sb.append("%25");
+                } else if (c == '=') {
+                    sb.append("%3D");
+                } else {
+                    sb.append(c);
+                }
+            }
+        }
+    }
+    
+    private void addEncodedParameters(final StringBuilder parameters, final ParameterList list) {
+        if (list != null && list.size() > 0) {
+            if (parameters.length() > 0) {
+                parameters.append('&');
+            }
+            // already encoded the same way by Scribe
+            parameters.append(list.asFormUrlEncodedString());
+        }
+    }
+    
+    /**
+     * Sort the name=value pairs by name and then by value (insertion sort as there are usually less than 10 parameters).
+     * 
+     * @param pairs
+     * @param nb
+     */
+    private static void sortPairs(final String[] pairs, final int nb) {
+        for (int i = 1; i < nb; i++) {
+            final String pair = pairs[i];
+            int j = i - 1;
+            while (j >= 0 && comparePairs(pairs[j], pair) > 0) {
+                pairs[j + 1] = pairs[j];
+                j--;
+            }
+            pairs[j + 1] = pair;
+        }
+    }
+    
+    private static int comparePairs(final String pair1, final String pair2) {
+        final int index1 = pair1.indexOf('=');
+        final int index2 = pair2.indexOf('=');
+        final int length = Math.min(index1, index2);
+        for (int i = 0; i < length; i++) {
+            final int diff = pair1.charAt(i) - pair2.charAt(i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        if (index1 != index2) {
+            return index1 - index2;
+        }
+        return pair1.compareTo(pair2);
+    }
+    
+    private void appendEncodedValue(final StringBuilder sb, final String name, final String value) {
+        if (this.encodedApiKey != null && OAuthConstants.CONSUMER_KEY.equals(name) && this.apiKey.equals(value)) {
+            sb.append(this.encodedApiKey);
+        } else {
+            appendEncoded(sb, value);
+        }
+    }
+    
+    /**
+     * Percent-encode a string as defined by the RFC 5849 (same result as the <i>OAuthEncoder</i> of Scribe).
+     * 
+     * @param s
+     * @return the encoded string
+     */
+    public static String encode(final String s) {
+        final StringBuilder sb = new StringBuilder(s != null ? s.length() + 16 : 0);
+        appendEncoded(sb, s);
+        return sb.toString();
+    }
+    
+    private static void appendEncoded(final StringBuilder sb, final String s) {
+        if (s == null) {
+            throw new IllegalArgumentException("Cannot encode null object");
+        }
+        final int length = s.length();
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (isUnreserved(c)) {
+                sb.append(c);
+            } else if (c < 0x80) {
+                appendHex(sb, c);
+            } else {
+                // encode the rest of the string from its UTF-8 bytes
+                appendEncodedBytes(sb, s.substring(i));
+                return;
+            }
+        }
+    }
+    
+    private static void appendEncodedBytes(final StringBuilder sb, final String s) {
+        try {
+            final byte[] bytes = s.getBytes(UTF8);
+            for (final byte b : bytes) {
+                final char c = (char) (b & 0xFF);
+                if (isUnreserved(c)) {
+                    sb.append(c);
+                } else {
+                    appendHex(sb, c);
+                }
+            }
+        } catch (final UnsupportedEncodingException e) {
+            throw new OAuthException("Charset not found while encoding string: " + UTF8, e);
+        }
+    }
+    
+    private static void appendHex(final StringBuilder sb, final char c) {
+        sb.append('%');
+        sb.append(HEX[c >> 4]);
+        sb.append(HEX[c & 0xF]);
+    }
+    
+    private static boolean isUnreserved(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '-' || c == '.'
+               || c == '_' || c == '~';
+    }
+    
+    /**
+     * The signing objects reused by a thread.
+     */
+    private static final class SigningContext {
+        
+        private StringBuilder sb = new StringBuilder(512);
+        
+        private StringBuilder parameters = new StringBuilder(512);
+        
+        private byte[] bytes = new byte[512];
+        
+        private String[] pairs = new String[16];
+        
+        private int nbPairs;
+        
+        private Mac mac;
+        
+        // the encoded consumer secret and the token secret of the current key of the Mac
+        private String encodedApiSecret;
+        
+        private String tokenSecret;
+        
+        private StringBuilder buffer() {
+            if (this.sb.capacity() > MAX_BUFFER_SIZE) {
+                this.sb = new StringBuilder(512);
+                this.bytes = new byte[512];
+            }
+            this.sb.setLength(0);
+            return this.sb;
+        }
+        
+        private StringBuilder parameters() {
+            if (this.parameters.capacity() > MAX_BUFFER_SIZE) {
+                this.parameters = new StringBuilder(512);
+            }
+            this.parameters.setLength(0);
+            return this.parameters;
+        }
+        
+        /**
+         * Split the parameters on the &amp; character.
+         * 
+         * @param parameters
+         * @return the pairs (the number of pairs is in the nbPairs field)
+         */
+        private String[] split(final StringBuilder parameters) {
+            this.nbPairs = 0;
+            final int length = parameters.length();
+            int start = 0;
+            while (start < length) {
+                int end = parameters.indexOf("&", start);
+                if (end < 0) {
+                    end = length;
+                }
+                if (this.nbPairs == this.pairs.length) {
+                    final String[] pairs = new String[2 * this.nbPairs];
+                    System.arraycopy(this.pairs, 0, pairs, 0, this.nbPairs);
+                    this.pairs = pairs;
+                }
+                String pair = parameters.substring(start, end);
+                if (pair.indexOf('=') < 0) {
+                    pair = pair + "=";
+                }
+                this.pairs[this.nbPairs++] = pair;
+                start = end + 1;
+            }
+            return this.pairs;
+        }
+        
+        private Mac getMac(final String encodedApiSecret, final String tokenSecret) {
+            try {
+                if (this.mac == null) {
+                    this.mac = Mac.getInstance(HMAC_SHA1);
+                }
+                if (tokenSecret == null || !tokenSecret.equals(this.tokenSecret) || !encodedApiSecret.equals(this.encodedApiSecret)) {
+                    final StringBuilder key = new StringBuilder(encodedApiSecret);
+                    key.append('&');
+                    appendEncoded(key, tokenSecret);
+                    this.encodedApiSecret = null;
+                    this.mac.init(new SecretKeySpec(key.toString().getBytes(UTF8), HMAC_SHA1));
+                    this.encodedApiSecret = encodedApiSecret;
+                    this.tokenSecret = tokenSecret;
+                }
+                return this.mac;
+            } catch (final GeneralSecurityException e) {
+                throw new OAuthSignatureException(HMAC_SHA1, e);
+            } catch (final UnsupportedEncodingException e) {
+                throw new OAuthException("Charset not found while encoding string: " + UTF8, e);
+            }
+        }
+    }
+}
@@ -15,9 +15,13 @@
  */
 package org.scribe.up.addon_to_scribe;
 
+import java.lang.reflect.Field;
 import java.util.Map;
 
+import org.apache.commons.lang3.StringUtils;
 import org.scribe.builder.api.DefaultApi10a;
+import org.scribe.extractors.BaseStringExtractorImpl;
+import org.scribe.extractors.HeaderExtractorImpl;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.OAuthConstants;
 import org.scribe.model.OAuthRequest;
@@ -26,21 +30,40 @@ import org.scribe.model.Response;
 import org.scribe.model.Token;
 import org.scribe.model.Verifier;
 import org.scribe.oauth.OAuth10aServiceImpl;
+import org.scribe.services.HMACSha1SignatureService;
+import org.scribe.services.TimestampService;
+import org.scribe.services.TimestampServiceImpl;
 import org.scribe.utils.MapUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * This class represents a specific OAuth service with proxy capabilities for OAuth 1.0 protocol. It should be implemented natively in
  * Scribe in further release.
+ * <p />
+ * The debug messages are written to the debug stream of the configuration if it has one, otherwise they are logged by SLF4J : they are
+ * only built if one of them is enabled.
+ * <p />
+ * When the API uses the default HMAC-SHA1 signature, base string and header of Scribe, the requests are signed by an {@link OAuth10aSigner}.
+ * When it uses the default timestamp service of Scribe, the nonces are generated by the {@link SecureTimestampService}.
  * 
  * @author Jerome Leleu
  * @since 1.2.0
  */
 public class ProxyOAuth10aServiceImpl extends OAuth10aServiceImpl {
     
+    private static final Logger logger = LoggerFactory.getLogger(ProxyOAuth10aServiceImpl.class);
+    
     protected final DefaultApi10a api;
     protected final OAuthConfig config;
     protected final String proxyHost;
     protected final int proxyPort;
+    protected final String signatureMethod;
+    protected final TimestampService timestampService;
+    // null if the API does not use the default signature
+    protected final OAuth10aSigner signer;
+    // if the debug messages are written to the debug stream of the configuration
+    protected final boolean configDebug;
     
     public ProxyOAuth10aServiceImpl(final DefaultApi10a api, final OAuthConfig config, final String proxyHost,
                                     final int proxyPort) {
@@ -49,52 +72,118 @@ public class ProxyOAuth10aServiceImpl extends OAuth10aServiceImpl {
         this.config = config;
         this.proxyHost = proxyHost;
         this.proxyPort = proxyPort;
+        this.signatureMethod = api.getSignatureService().getSignatureMethod();
+        final TimestampService apiTimestampService = api.getTimestampService();
+        if (apiTimestampService.getClass() == TimestampServiceImpl.class) {
+            this.timestampService = SecureTimestampService.INSTANCE;
+        } else {
+            this.timestampService = apiTimestampService;
+        }
+        if (api.getSignatureService().getClass() == HMACSha1SignatureService.class
+            && api.getBaseStringExtractor().getClass() == BaseStringExtractorImpl.class
+            && api.getHeaderExtractor().getClass() == HeaderExtractorImpl.class
+            && StringUtils.isNotEmpty(config.getApiSecret())) {
+            this.signer = new OAuth10aSigner(config.getApiKey(), config.getApiSecret());
+        } else {
+            this.signer = null;
+        }
+        this.configDebug = hasDebugStream(config);
+    }
+    
+    /**
+     * Return if a debug stream is defined in the configuration : Scribe doesn't expose it, so it's read once by reflection.
+     * 
+     * @param config
+     * @return if the configuration has a debug stream
+     */
+    private static boolean hasDebugStream(final OAuthConfig config) {
+        try {
+            final Field field = OAuthConfig.class.getDeclaredField("debugStream");
+            field.setAccessible(true);
+            return field.get(config) != null;
+        } catch (final Exception e) {
+            // another version of Scribe : the messages are always written to the configuration, which ignores them without stream
+            logger.debug("Cannot read the debug stream of the configuration", e);
+            return true;
+        }
+    }
+    
+    private boolean isDebugEnabled() {
+        return this.configDebug || logger.isDebugEnabled();
+    }
+    
+    /**
+     * Write a debug message to the debug stream of the configuration if it has one, to SLF4J otherwise.
+     * 
+     * @param message
+     * @param value appended to the message
+     */
+    private void debug(final String message, final Object value) {
+        if (this.configDebug) {
+            this.config.log(message + value);
+        } else {
+            logger.debug("{}{}", message, value);
+        }
+    }
+    
+    private void debug(final String message) {
+        if (this.configDebug) {
+            this.config.log(message);
+        } else {
+            logger.debug(message);
+        }
     }
     
     @Override
     public Token getRequestToken() {
-        this.config.log("obtaining request token from " + this.api.getRequestTokenEndpoint());
+        debug("obtaining request token from ", this.api.getRequestTokenEndpoint());
         final OAuthRequest request = new ProxyOAuthRequest(this.api.getRequestTokenVerb(),
                                                            this.api.getRequestTokenEndpoint(), this.proxyHost,
                                                            this.proxyPort);
         
-        this.config.log("setting oauth_callback to " + this.config.getCallback());
+        debug("setting oauth_callback to ", this.config.getCallback());
         request.addOAuthParameter(OAuthConstants.CALLBACK, this.config.getCallback());
         addOAuthParams(request, OAuthConstants.EMPTY_TOKEN);
         appendSignature(request);
         
-        this.config.log("sending request...");
+        debug("sending request...");
         final Response response = request.send();
         final String body = response.getBody();
         
-        this.config.log("response status code: " + response.getCode());
-        this.config.log("response body: " + body);
+        if (isDebugEnabled()) {
+            debug("response status code: ", response.getCode());
+            debug("response body: ", body);
+        }
         return this.api.getRequestTokenExtractor().extract(body);
     }
     
     private void addOAuthParams(final OAuthRequest request, final Token token) {
-        request.addOAuthParameter(OAuthConstants.TIMESTAMP, this.api.getTimestampService().getTimestampInSeconds());
-        request.addOAuthParameter(OAuthConstants.NONCE, this.api.getTimestampService().getNonce());
+        request.addOAuthParameter(OAuthConstants.TIMESTAMP, this.timestampService.getTimestampInSeconds());
+        request.addOAuthParameter(OAuthConstants.NONCE, this.timestampService.getNonce());
         request.addOAuthParameter(OAuthConstants.CONSUMER_KEY, this.config.getApiKey());
-        request.addOAuthParameter(OAuthConstants.SIGN_METHOD, this.api.getSignatureService().getSignatureMethod());
+        request.addOAuthParameter(OAuthConstants.SIGN_METHOD, this.signatureMethod);
         request.addOAuthParameter(OAuthConstants.VERSION, getVersion());
         if (this.config.hasScope())
             request.addOAuthParameter(OAuthConstants.SCOPE, this.config.getScope());
         request.addOAuthParameter(OAuthConstants.SIGNATURE, getSignature(request, token));
         
-        this.config.log("appended additional OAuth parameters: " + MapUtils.toString(request.getOauthParameters()));
+        if (isDebugEnabled()) {
+            debug("appended additional OAuth parameters: ", MapUtils.toString(request.getOauthParameters()));
+        }
     }
     
     @Override
     public Token getAccessToken(final Token requestToken, final Verifier verifier) {
-        this.config.log("obtaining access token from " + this.api.getAccessTokenEndpoint());
+        debug("obtaining access token from ", this.api.getAccessTokenEndpoint());
         final ProxyOAuthRequest request = new ProxyOAuthRequest(this.api.getAccessTokenVerb(),
                                                                 this.api.getAccessTokenEndpoint(), this.proxyHost,
                                                                 this.proxyPort);
         request.addOAuthParameter(OAuthConstants.TOKEN, requestToken.getToken());
         request.addOAuthParameter(OAuthConstants.VERIFIER, verifier.getValue());
         
-        this.config.log("setting token to: " + requestToken + " and verifier to: " + verifier);
+        if (isDebugEnabled()) {
+            debug("setting token to: " + requestToken + " and verifier to: ", verifier);
+        }
         addOAuthParams(request, requestToken);
         appendSignature(request);
         final Response response = request.send();
@@ -103,38 +192,53 @@ public class ProxyOAuth10aServiceImpl extends OAuth10aServiceImpl {
     
     @Override
     public void signRequest(final Token token, final OAuthRequest request) {
-        this.config.log("signing request: " + request.getCompleteUrl());
+        if (isDebugEnabled()) {
+            debug("signing request: ", request.getCompleteUrl());
+        }
         
         // Do not append the token if empty. This is for two legged OAuth calls.
         if (!token.isEmpty()) {
             request.addOAuthParameter(OAuthConstants.TOKEN, token.getToken());
         }
-        this.config.log("setting token to: " + token);
+        debug("setting token to: ", token);
         addOAuthParams(request, token);
         appendSignature(request);
     }
     
     private String getSignature(final OAuthRequest request, final Token token) {
-        this.config.log("generating signature...");
+        debug("generating signature...");
+        if (this.signer != null) {
+            final String signature = this.signer.getSignature(request, token.getSecret());
+            if (isDebugEnabled()) {
+                debug("base string is: ", this.signer.getBaseString(request));
+                debug("signature is: ", signature);
+            }
+            return signature;
+        }
         final String baseString = this.api.getBaseStringExtractor().extract(request);
         final String signature = this.api.getSignatureService().getSignature(baseString, this.config.getApiSecret(),
                                                                              token.getSecret());
         
-        this.config.log("base string is: " + baseString);
-        this.config.log("signature is: " + signature);
+        debug("base string is: ", baseString);
+        debug("signature is: ", signature);
         return signature;
     }
     
     private void appendSignature(final OAuthRequest request) {
         switch (this.config.getSignatureType()) {
             case Header:
-                this.config.log("using Http Header signature");
+                debug("using Http Header signature");
                 
-                final String oauthHeader = this.api.getHeaderExtractor().extract(request);
+                final String oauthHeader;
+                if (this.signer != null) {
+                    oauthHeader = this.signer.getHeader(request);
+                } else {
+                    oauthHeader = this.api.getHeaderExtractor().extract(request);
+                }
                 request.addHeader(OAuthConstants.HEADER, oauthHeader);
                 break;
             case QueryString:
-                this.config.log("using Querystring signature");
+                debug("using Querystring signature");
                 
                 for (final Map.Entry<String, String> entry : request.getOauthParameters().entrySet()) {
                     request.addQuerystringParameter(entry.getKey(), entry.getValue());
@@ -0,0 +1,91 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.addon_to_scribe;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * This class is an helper to generate random values (nonces, states...) without contention : each thread has its own {@link SecureRandom}
+ * (SHA1PRNG), seeded once by a shared {@link SecureRandom}.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class SecureRandomHelper {
+    
+    private static final String ALGORITHM = "SHA1PRNG";
+    
+    private static final int SEED_LENGTH = 32;
+    
+    private static final char[] ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+    
+    // the largest multiple of 62 under 256 to pick the characters uniformly
+    private static final int MAX_BYTE = 248;
+    
+    private static final SecureRandom seeder = new SecureRandom();
+    
+    private static final ThreadLocal<SecureRandom> randoms = new ThreadLocal<SecureRandom>() {
+        
+        @Override
+        protected SecureRandom initialValue() {
+            final byte[] seed = new byte[SEED_LENGTH];
+            seeder.nextBytes(seed);
+            try {
+                final SecureRandom random = SecureRandom.getInstance(ALGORITHM);
+                random.setSeed(seed);
+                return random;
+            } catch (final NoSuchAlgorithmException e) {
+                return new SecureRandom(seed);
+            }
+        }
+    };
+    
+    private SecureRandomHelper() {
+    }
+    
+    /**
+     * Return the secure random of the current thread.
+     * 
+     * @return the secure random of the current thread
+     */
+    public static SecureRandom getRandom() {
+        return randoms.get();
+    }
+    
+    /**
+     * Return a random string of letters and digits.
+     * 
+     * @param length
+     * @return a random alphanumeric string
+     */
+    public static String randomAlphanumeric(final int length) {
+        final SecureRandom random = randoms.get();
+        final char[] chars = new char[length];
+        final byte[] bytes = new byte[length];
+        int nb = 0;
+        while (nb < length) {
+            random.nextBytes(bytes);
+            for (int i = 0; i < length && nb < length; i++) {
+                final int b = bytes[i] & 0xFF;
+                if (b < MAX_BYTE) {
+                    chars[nb++] = ALPHANUMERIC[b % ALPHANUMERIC.length];
+                }
+            }
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.addon_to_scribe;
+
+import org.scribe.services.TimestampService;
+
+/**
+ * This class is a timestamp service whose nonces are random alphanumeric strings generated by the {@link SecureRandomHelper}, instead of
+ * the timestamp plus a random integer of a new {@link java.util.Random} for each service (the <i>TimestampServiceImpl</i> of Scribe). It is
+ * thread-safe.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class SecureTimestampService implements TimestampService {
+    
+    public static final SecureTimestampService INSTANCE = new SecureTimestampService();
+    
+    public static final int NONCE_LENGTH = 32;
+    
+    private SecureTimestampService() {
+    }
+    
+    public String getTimestampInSeconds() {
+        return String.valueOf(System.currentTimeMillis() / 1000);
+    }
+    
+    public String getNonce() {
+        return SecureRandomHelper.randomAlphanumeric(NONCE_LENGTH);
+    }
+}
@@ -16,6 +16,7 @@
 package org.scribe.up.profile;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +25,15 @@ import org.scribe.up.profile.converter.AttributeConverter;
 
 /**
  * This class is the definition of the attributes of a profile.
+ * <p />
+ * The attributes are indexed by their position in all the attributes names : the indexes are computed when the definition is used for
+ * the first time (usually by the static initialization of a profile, see {@link #getIndex(String)}) and the definition is then frozen :
+ * adding an attribute afterwards throws an {@link IllegalStateException}. Since 1.3.2, a custom definition (or a definition extending
+ * another one) must therefore add all its attributes in its constructor, before any profile uses it.
+ * <p />
+ * The concrete profiles resolve the indexes of their attributes once, against their own definition : their
+ * {@link UserProfile#getAttributesDefinition()} method is final, a profile with other attributes must extend {@link UserProfile} (or
+ * {@link BaseOAuthProfile}) with its own definition.
  * 
  * @author Jerome Leleu
  * @since 1.1.0
@@ -38,6 +48,9 @@ public class AttributesDefinition {
     
     protected Map<String, AttributeConverter<? extends Object>> attributesConverters = new HashMap<String, AttributeConverter<? extends Object>>();
     
+    // the names and the indexes of the attributes, used by the profiles to store their attributes (built on first use)
+    private volatile Indexes indexes;
+    
     /**
      * Return all the attributes names.
      * 
@@ -84,13 +97,84 @@ public class AttributesDefinition {
      */
     protected void addAttribute(final String name, final AttributeConverter<? extends Object> converter,
                                 final boolean principal) {
-        allAttributesNames.add(name);
+        if (this.indexes != null) {
+            throw new IllegalStateException("Attribute : " + name + " cannot be added to a definition already in use");
+        }
+        // an attribute defined twice keeps its position, only its converter is replaced
+        if (!attributesConverters.containsKey(name)) {
+            allAttributesNames.add(name);
+            if (principal) {
+                principalAttributesNames.add(name);
+            } else {
+                otherAttributesNames.add(name);
+            }
+        }
         attributesConverters.put(name, converter);
-        if (principal) {
-            principalAttributesNames.add(name);
-        } else {
-            otherAttributesNames.add(name);
+    }
+    
+    /**
+     * Return the index of an attribute in all the attributes names. The profiles should resolve the indexes of their attributes once (in
+     * static fields) and read them by index.
+     * 
+     * @param name
+     * @return the index of the attribute or -1 if the attribute is not defined
+     */
+    public int getIndex(final String name) {
+        final Integer index = getIndexes().indexes.get(name);
+        return index == null ? -1 : index.intValue();
+    }
+    
+    /**
+     * Return the name of an attribute by its index.
+     * 
+     * @param index
+     * @return the name of the attribute
+     */
+    public String getName(final int index) {
+        return getIndexes().names[index];
+    }
+    
+    /**
+     * Return the number of attributes.
+     * 
+     * @return the number of attributes
+     */
+    public int size() {
+        return getIndexes().names.length;
+    }
+    
+    /**
+     * Return the fingerprint of the attributes (a hash of their ordered names) : the indexes of two attributes definitions with the same
+     * fingerprint identify the same attributes.
+     * 
+     * @return the fingerprint of the attributes
+     */
+    public int getFingerprint() {
+        return getIndexes().fingerprint;
+    }
+    
+    private Indexes getIndexes() {
+        Indexes currentIndexes = this.indexes;
+        if (currentIndexes == null) {
+            synchronized (this) {
+                currentIndexes = this.indexes;
+                if (currentIndexes == null) {
+                    currentIndexes = new Indexes(allAttributesNames);
+                    this.indexes = currentIndexes;
+                }
+            }
         }
+        return currentIndexes;
+    }
+    
+    /**
+     * Return the converter of an attribute.
+     * 
+     * @param name
+     * @return the converter of the attribute or null if the attribute is not defined
+     */
+    public AttributeConverter<? extends Object> getConverter(final String name) {
+        return attributesConverters.get(name);
     }
     
     /**
@@ -109,4 +193,28 @@ public class AttributesDefinition {
             return null;
         }
     }
+    
+    /**
+     * The immutable names and indexes of the attributes.
+     */
+    private static final class Indexes {
+        
+        private final String[] names;
+        
+        private final Map<String, Integer> indexes;
+        
+        private final int fingerprint;
+        
+        private Indexes(final List<String> allAttributesNames) {
+            this.names = allAttributesNames.toArray(new String[allAttributesNames.size()]);
+            final Map<String, Integer> map = new HashMap<String, Integer>(2 * this.names.length);
+            int hash = this.names.length;
+            for (int i = 0; i < this.names.length; i++) {
+                map.put(this.names[i], i);
+                hash = 31 * hash + this.names[i].hashCode();
+            }
+            this.indexes = Collections.unmodifiableMap(map);
+            this.fingerprint = hash;
+        }
+    }
 }
@@ -0,0 +1,278 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.profile;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * This class is an helper to parse and format dates safely from several threads and without creating a new {@link SimpleDateFormat}
+ * each time : the formats are cached per thread. The ISO 8601 shapes returned by the providers (<i>yyyy-MM-dd'T'HH:mm:ss</i> followed by
+ * nothing, by a literal <i>Z</i> or by an offset like <i>+0000</i>) are parsed and formatted directly, without any format.
+ * <p />
+ * Like a {@link SimpleDateFormat}, the dates without offset are read and the dates are formatted in the default time zone. The calendars
+ * and the formats are created on their first use by each thread and keep the JVM default time zone of that moment : a later change of
+ * the default time zone ({@link TimeZone#setDefault(TimeZone)}) is not seen by the threads which have already used this helper. Parsing a
+ * text with a time zone (<i>z</i> or <i>Z</i>) does not change the time zone used to format the next dates.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class DateHelper {
+    
+    private static final String ISO_LOCAL = "yyyy-MM-dd'T'HH:mm:ss";
+    
+    private static final String ISO_LITERAL_Z = ISO_LOCAL + "'Z'";
+    
+    private static final String ISO_RFC822_OFFSET = ISO_LOCAL + "Z";
+    
+    private static final String ISO_GENERAL_OFFSET = ISO_LOCAL + "z";
+    
+    private static final int ISO_LOCAL_LENGTH = 19;
+    
+    private static final int MAX_CACHED_FORMATS = 32;
+    
+    private static final ThreadLocal<Map<String, SimpleDateFormat>> formats = new ThreadLocal<Map<String, SimpleDateFormat>>() {
+        
+        @Override
+        protected Map<String, SimpleDateFormat> initialValue() {
+            return new HashMap<String, SimpleDateFormat>();
+        }
+    };
+    
+    private static final ThreadLocal<Calendar> localCalendars = new ThreadLocal<Calendar>() {
+        
+        @Override
+        protected Calendar initialValue() {
+            return new GregorianCalendar();
+        }
+    };
+    
+    private static final ThreadLocal<Calendar> utcCalendars = new ThreadLocal<Calendar>() {
+        
+        @Override
+        protected Calendar initialValue() {
+            return new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        }
+    };
+    
+    private DateHelper() {
+    }
+    
+    /**
+     * Parse a date with a format (and a locale).
+     * 
+     * @param text
+     * @param format
+     * @param locale
+     * @return the parsed date
+     * @throws ParseException
+     */
+    public static Date parse(final String text, final String format, final Locale locale) throws ParseException {
+        if (locale == null) {
+            final Date date = parseIso(text, format);
+            if (date != null) {
+                return date;
+            }
+        }
+        final SimpleDateFormat simpleDateFormat = getFormat(format, locale);
+        // parsing a time zone sets it on the format, the next formatted dates must not use it
+        final TimeZone timeZone = simpleDateFormat.getTimeZone();
+        try {
+            return simpleDateFormat.parse(text);
+        } finally {
+            simpleDateFormat.setTimeZone(timeZone);
+        }
+    }
+    
+    /**
+     * Format a date with a format (and a locale).
+     * 
+     * @param date
+     * @param format
+     * @param locale
+     * @return the formatted date
+     */
+    public static String format(final Date date, final String format, final Locale locale) {
+        if (locale == null) {
+            final String text = formatIso(date, format);
+            if (text != null) {
+                return text;
+            }
+        }
+        return getFormat(format, locale).format(date);
+    }
+    
+    /**
+     * Return the format cached for the current thread : it must not be shared with other threads.
+     * 
+     * @param format
+     * @param locale
+     * @return the format for the current thread
+     */
+    private static SimpleDateFormat getFormat(final String format, final Locale locale) {
+        final Map<String, SimpleDateFormat> cache = formats.get();
+        final String key = locale == null ? format : format + "|" + locale;
+        SimpleDateFormat simpleDateFormat = cache.get(key);
+        if (simpleDateFormat == null) {
+            if (locale == null) {
+                simpleDateFormat = new SimpleDateFormat(format);
+            } else {
+                simpleDateFormat = new SimpleDateFormat(format, locale);
+            }
+            // formats defined on the fly (FormattedDate.setFormat) must not make the cache grow forever
+            if (cache.size() >= MAX_CACHED_FORMATS) {
+                cache.clear();
+            }
+            cache.put(key, simpleDateFormat);
+        }
+        return simpleDateFormat;
+    }
+    
+    /**
+     * Parse an ISO 8601 date if the format and the text have one of the supported shapes.
+     * 
+     * @param text
+     * @param format
+     * @return the parsed date or null if the text must be parsed by a format
+     */
+    private static Date parseIso(final String text, final String format) {
+        final int length = text.length();
+        int offset = 0;
+        boolean utc = false;
+        if (ISO_LOCAL.equals(format)) {
+            if (length != ISO_LOCAL_LENGTH) {
+                return null;
+            }
+        } else if (ISO_LITERAL_Z.equals(format)) {
+            if (length != ISO_LOCAL_LENGTH + 1 || text.charAt(ISO_LOCAL_LENGTH) != 'Z') {
+                return null;
+            }
+        } else if (ISO_RFC822_OFFSET.equals(format) || ISO_GENERAL_OFFSET.equals(format)) {
+            if (length != ISO_LOCAL_LENGTH + 5) {
+                return null;
+            }
+            final char sign = text.charAt(ISO_LOCAL_LENGTH);
+            final int hours = readDigits(text, ISO_LOCAL_LENGTH + 1, 2);
+            final int minutes = readDigits(text, ISO_LOCAL_LENGTH + 3, 2);
+            if ((sign != '+' && sign != '-') || hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+                return null;
+            }
+            offset = (hours * 60 + minutes) * 60000;
+            if (sign == '-') {
+                offset = -offset;
+            }
+            utc = true;
+        } else {
+            return null;
+        }
+        if (text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T' || text.charAt(13) != ':'
+            || text.charAt(16) != ':') {
+            return null;
+        }
+        final int year = readDigits(text, 0, 4);
+        final int month = readDigits(text, 5, 2);
+        final int day = readDigits(text, 8, 2);
+        final int hour = readDigits(text, 11, 2);
+        final int minute = readDigits(text, 14, 2);
+        final int second = readDigits(text, 17, 2);
+        // out of range values are left to the (lenient) format
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0
+            || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+        final Calendar calendar = utc ? utcCalendars.get() : localCalendars.get();
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minute, second);
+        return new Date(calendar.getTimeInMillis() - offset);
+    }
+    
+    /**
+     * Format a date in ISO 8601 if the format has one of the supported shapes (the general time zone is a name : not supported).
+     * 
+     * @param date
+     * @param format
+     * @return the formatted date or null if the date must be formatted by a format
+     */
+    private static String formatIso(final Date date, final String format) {
+        final boolean literalZ = ISO_LITERAL_Z.equals(format);
+        final boolean rfc822Offset = ISO_RFC822_OFFSET.equals(format);
+        if (!literalZ && !rfc822Offset && !ISO_LOCAL.equals(format)) {
+            return null;
+        }
+        final Calendar calendar = localCalendars.get();
+        calendar.setTime(date);
+        final int year = calendar.get(Calendar.YEAR);
+        if (calendar.get(Calendar.ERA) != GregorianCalendar.AD || year > 9999) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder(ISO_LOCAL_LENGTH + 5);
+        appendDigits(sb, year, 4);
+        sb.append('-');
+        appendDigits(sb, calendar.get(Calendar.MONTH) + 1, 2);
+        sb.append('-');
+        appendDigits(sb, calendar.get(Calendar.DAY_OF_MONTH), 2);
+        sb.append('T');
+        appendDigits(sb, calendar.get(Calendar.HOUR_OF_DAY), 2);
+        sb.append(':');
+        appendDigits(sb, calendar.get(Calendar.MINUTE), 2);
+        sb.append(':');
+        appendDigits(sb, calendar.get(Calendar.SECOND), 2);
+        if (literalZ) {
+            sb.append('Z');
+        } else if (rfc822Offset) {
+            int offset = (calendar.get(Calendar.ZONE_OFFSET) + calendar.get(Calendar.DST_OFFSET)) / 60000;
+            if (offset < 0) {
+                sb.append('-');
+                offset = -offset;
+            } else {
+                sb.append('+');
+            }
+            appendDigits(sb, offset / 60, 2);
+            appendDigits(sb, offset % 60, 2);
+        }
+        return sb.toString();
+    }
+    
+    private static int readDigits(final String text, final int start, final int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    
+    private static void appendDigits(final StringBuilder sb, final int value, final int length) {
+        int divisor = 1;
+        for (int i = 1; i < length; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            sb.append((char) ('0' + value / divisor % 10));
+        }
+    }
+}
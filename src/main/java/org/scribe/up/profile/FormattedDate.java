@@ -15,7 +15,6 @@
  */
 package org.scribe.up.profile;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
@@ -50,18 +49,16 @@ public final class FormattedDate extends Date {
         this.format = format;
     }
     
+    public Locale getLocale() {
+        return this.locale;
+    }
+    
     public void setLocale(final Locale locale) {
         this.locale = locale;
     }
     
     @Override
     public String toString() {
-        SimpleDateFormat simpleDateFormat;
-        if (locale == null) {
-            simpleDateFormat = new SimpleDateFormat(format);
-        } else {
-            simpleDateFormat = new SimpleDateFormat(format, locale);
-        }
-        return simpleDateFormat.format(this);
+        return DateHelper.format(this, this.format, this.locale);
     }
 }
@@ -40,6 +40,15 @@ public final class JsonHelper {
     private JsonHelper() {
     }
     
+    /**
+     * Return the JSON mapper (thread-safe once configured).
+     * 
+     * @return the JSON mapper
+     */
+    static ObjectMapper getMapper() {
+        return mapper;
+    }
+    
     /**
      * Return the first node of a JSON response.
      * 
@@ -15,7 +15,7 @@
  */
 package org.scribe.up.profile;
 
-import java.lang.reflect.Constructor;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -25,6 +25,8 @@ import java.util.ListIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
@@ -44,6 +46,9 @@ public final class JsonList<T> extends JsonObject implements List<T> {
     
     private Class<T> clazz;
     
+    // to create the JSON objects of the list (null for strings)
+    private transient JsonObjectFactory<? extends JsonObject> factory;
+    
     public JsonList() {
     }
     
@@ -61,32 +66,56 @@ public final class JsonList<T> extends JsonObject implements List<T> {
      * @param o
      * @param clazz
      */
-    public JsonList(Object o, final Class<T> clazz) {
+    public JsonList(final Object o, final Class<T> clazz) {
+        this(o, clazz, null);
+    }
+    
+    /**
+     * Create a list of JsonObject from various inputs, the objects being created by a factory (by reflection if it's null).
+     * 
+     * @param o
+     * @param clazz
+     * @param factory
+     */
+    @SuppressWarnings("rawtypes")
+    public JsonList(Object o, final Class<T> clazz, final JsonObjectFactory<? extends JsonObject> factory) {
         this.clazz = clazz;
+        if (factory == null && JsonObject.class.isAssignableFrom(clazz)) {
+            this.factory = new ReflectiveJsonObjectFactory(clazz);
+        } else {
+            this.factory = factory;
+        }
+        if (clazz == String.class) {
+            this.list = (List<T>) new StringList();
+        }
         if (o instanceof List) {
             final List<String> elements = (List<String>) o;
-            for (String element : elements) {
-                // expect JSON element : "x"
-                if (clazz == String.class && element != null && !element.startsWith("\"")) {
-                    element = "\"" + element + "\"";
+            for (final String element : elements) {
+                if (clazz == String.class) {
+                    // JSON element : "x" or raw string : x
+                    if (element != null && element.startsWith("\"")) {
+                        readStrings(element);
+                    } else {
+                        this.list.add((T) element);
+                    }
+                } else {
+                    buildSingleNode(JsonHelper.getFirstNode(element));
                 }
-                buildSingleNode(JsonHelper.getFirstNode(element));
+            }
+        } else if (clazz == String.class && o instanceof String) {
+            final String s = (String) o;
+            // array of String ["x", "y",... or JSON element : "x" or raw string : x
+            if (s.startsWith("[") || s.startsWith("\"")) {
+                readStrings(s);
+            } else {
+                this.list.add((T) s);
             }
         } else {
             // text is String
-            if (o instanceof String && o != null) {
+            if (o instanceof String) {
                 String s = (String) o;
-                // expect array of String ["x", "y",...
-                if (clazz == String.class) {
-                    if (!s.startsWith("[")) {
-                        if (!s.startsWith("\"")) {
-                            s = "\"" + s + "\"";
-                        }
-                        s = "[" + s + "]";
-                    }
-                }
                 // expect array of objects [ {...}, {...}, ...
-                else if (JsonObject.class.isAssignableFrom(clazz)) {
+                if (JsonObject.class.isAssignableFrom(clazz)) {
                     if (!s.startsWith("[")) {
                         s = "[" + s + "]";
                     }
@@ -115,17 +144,60 @@ public final class JsonList<T> extends JsonObject implements List<T> {
      */
     private void buildSingleNode(final JsonNode node) {
         if (this.clazz == String.class) {
-            this.list.add((T) node.textValue());
-        } else if (JsonObject.class.isAssignableFrom(this.clazz)) {
+            this.list.add((T) (node.isNumber() ? node.asText() : node.textValue()));
+        } else if (this.factory != null) {
+            final JsonObject object = this.factory.newInstance();
+            if (object != null) {
+                object.buildFrom(node);
+                this.list.add((T) object);
+            }
+        }
+    }
+    
+    /**
+     * Read the strings of a JSON text (an array or a single string) directly from the parser tokens.
+     * 
+     * @param text
+     */
+    private void readStrings(final String text) {
+        final StringList strings = (StringList) this.list;
+        try {
+            final JsonParser parser = JsonHelper.getMapper().getJsonFactory().createJsonParser(text);
             try {
-                final Constructor<T> constructor = this.clazz.getDeclaredConstructor();
-                final T object = constructor.newInstance();
-                ((JsonObject) object).buildFrom(node);
-                this.list.add(object);
-            } catch (final Exception e) {
-                logger.error("Cannot build object", e);
+                JsonToken token = parser.nextToken();
+                final boolean array = token == JsonToken.START_ARRAY;
+                if (array) {
+                    token = parser.nextToken();
+                }
+                while (token != null && token != JsonToken.END_ARRAY) {
+                    if (token == JsonToken.VALUE_STRING || token.isNumeric()) {
+                        strings.add(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+                    } else {
+                        parser.skipChildren();
+                        strings.add(null);
+                    }
+                    token = array ? parser.nextToken() : null;
+                }
+            } finally {
+                parser.close();
             }
+        } catch (final IOException e) {
+            logger.error("IOException", e);
+        }
+    }
+    
+    /**
+     * Return the element at the index as a long (numeric identifier).
+     * 
+     * @param index
+     * @return the element as a long
+     * @throws NumberFormatException if the element is not numeric
+     */
+    public long getLong(final int index) {
+        if (this.list instanceof StringList) {
+            return ((StringList) this.list).getLong(index);
         }
+        return Long.parseLong(String.valueOf(this.list.get(index)));
     }
     
     public boolean add(final T e) {
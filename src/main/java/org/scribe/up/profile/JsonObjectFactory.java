@@ -0,0 +1,33 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.profile;
+
+/**
+ * This interface is the contract to create the (empty) JSON objects built from JSON by the {@link JsonList} and the JSON object
+ * converters, without reflection.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public interface JsonObjectFactory<T extends JsonObject> {
+    
+    /**
+     * Create a new JSON object.
+     * 
+     * @return the new JSON object
+     */
+    public T newInstance();
+}
@@ -0,0 +1,329 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.profile;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.scribe.up.profile.converter.AttributeConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This class is a table-driven extractor of a user profile from a JSON response : the response is walked with a {@link JsonParser}, the
+ * identifier and the defined attributes are converted on the fly and all the other fields are skipped without building any node. The
+ * table from the field names to the converters and to the slots of the attributes in the profile (see
+ * {@link AttributesDefinition#getIndex(String)}) is built at creation : a single lookup per field, no further lookup in the attributes
+ * definition or in the profile. Only the values of the defined attributes which are objects or arrays are built as nodes, for their
+ * converters : they are most of the cost of the extraction of a profile with connections, unless these connections are lazy attributes.
+ * <p />
+ * A wrapped attribute is an attribute whose value is a field of an object (like the <i>data</i> field of the Facebook connections) : the
+ * other fields of this object are skipped.
+ * <p />
+ * A lazy attribute is an attribute whose value (an object or an array) is kept as raw JSON text in the user profile : it's only parsed and
+ * converted when it's read from the user profile for the first time.
+ * <p />
+ * An extractor is immutable once its wrapped and lazy attributes are defined and can be shared by all threads.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class JsonProfileExtractor {
+    
+    private static final Logger logger = LoggerFactory.getLogger(JsonProfileExtractor.class);
+    
+    private final String idName;
+    
+    private final AttributesDefinition definition;
+    
+    private final Map<String, AttributeMapping> mappings = new HashMap<String, AttributeMapping>();
+    
+    /**
+     * Define an extractor for an identifier and all the attributes of a definition.
+     * 
+     * @param idName
+     * @param definition
+     */
+    public JsonProfileExtractor(final String idName, final AttributesDefinition definition) {
+        this(idName, definition, definition.getAllAttributes());
+    }
+    
+    /**
+     * Define an extractor for an identifier and some attributes of a definition : the converters of the attributes are resolved once and
+     * for all.
+     * 
+     * @param idName
+     * @param definition
+     * @param attributesNames
+     */
+    public JsonProfileExtractor(final String idName, final AttributesDefinition definition,
+                                final List<String> attributesNames) {
+        this.idName = idName;
+        this.definition = definition;
+        for (final String name : attributesNames) {
+            final AttributeConverter<? extends Object> converter = definition.getConverter(name);
+            // no converter -> the attribute would be ignored
+            if (converter != null) {
+                this.mappings.put(name, new AttributeMapping(definition.getIndex(name), converter));
+            }
+        }
+    }
+    
+    /**
+     * Define an attribute whose value is the field of an object.
+     * 
+     * @param name
+     * @param field
+     */
+    public void addWrappedAttribute(final String name, final String field) {
+        final AttributeMapping mapping = this.mappings.get(name);
+        if (mapping != null) {
+            mapping.field = field;
+        }
+    }
+    
+    /**
+     * Define an attribute whose value is only parsed and converted when it's read from the user profile.
+     * 
+     * @param name
+     */
+    public void addLazyAttribute(final String name) {
+        final AttributeMapping mapping = this.mappings.get(name);
+        if (mapping != null) {
+            mapping.lazy = true;
+        }
+    }
+    
+    /**
+     * Extract the identifier and the attributes of the JSON response into the user profile.
+     * 
+     * @param body
+     * @param profile
+     * @return if the response is a valid JSON object
+     */
+    public boolean extract(final String body, final UserProfile profile) {
+        if (body == null) {
+            return false;
+        }
+        JsonParser parser = null;
+        try {
+            parser = JsonHelper.getMapper().getJsonFactory().createJsonParser(body);
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            // the slots are only meaningful for the profiles of the same attributes definition
+            final boolean sameDefinition = profile.getAttributesDefinition() == this.definition;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+                final AttributeMapping mapping = this.mappings.get(name);
+                final boolean isId = name.equals(this.idName);
+                if (mapping != null && mapping.lazy && !isId && isStructured(token)) {
+                    profile.addConvertedAttribute(sameDefinition ? mapping.index : -1, name, readLazyValue(parser, body, mapping));
+                } else if (mapping != null) {
+                    final Object value = readMappedValue(parser, token, mapping);
+                    if (isId) {
+                        profile.setId(value);
+                    }
+                    if (value != null) {
+                        profile.addConvertedAttribute(sameDefinition ? mapping.index : -1, name,
+                                                      mapping.converter.convert(value));
+                    }
+                } else if (isId) {
+                    profile.setId(readValue(parser, token));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return true;
+        } catch (final JsonParseException e) {
+            logger.error("JsonParseException", e);
+        } catch (final IOException e) {
+            logger.error("IOException", e);
+        } finally {
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (final IOException e) {
+                    logger.debug("Cannot close parser", e);
+                }
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Extract a whole JSON response as the value of an attribute (like a connection requested on its own) : the field of a wrapped
+     * attribute is read from the response and a lazy attribute keeps the response as raw JSON text.
+     * 
+     * @param name
+     * @param body
+     * @param profile
+     * @return if the attribute is defined and the response is valid JSON
+     */
+    public boolean extractAttribute(final String name, final String body, final UserProfile profile) {
+        final AttributeMapping mapping = this.mappings.get(name);
+        if (mapping == null || body == null) {
+            return false;
+        }
+        JsonParser parser = null;
+        try {
+            parser = JsonHelper.getMapper().getJsonFactory().createJsonParser(body);
+            final JsonToken token = parser.nextToken();
+            if (token == null) {
+                return false;
+            }
+            final int index = profile.getAttributesDefinition() == this.definition ? mapping.index : -1;
+            if (mapping.lazy && isStructured(token)) {
+                profile.addConvertedAttribute(index, name, readLazyValue(parser, body, mapping));
+            } else {
+                final Object value = readMappedValue(parser, token, mapping);
+                if (value != null) {
+                    profile.addConvertedAttribute(index, name, mapping.converter.convert(value));
+                }
+            }
+            return true;
+        } catch (final JsonParseException e) {
+            logger.error("JsonParseException", e);
+        } catch (final IOException e) {
+            logger.error("IOException", e);
+        } finally {
+            if (parser != null) {
+                try {
+                    parser.close();
+                } catch (final IOException e) {
+                    logger.debug("Cannot close parser", e);
+                }
+            }
+        }
+        return false;
+    }
+    
+    private static boolean isStructured(final JsonToken token) {
+        return token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY;
+    }
+    
+    /**
+     * Skip the current object or array and keep it as raw JSON text.
+     * 
+     * @param parser
+     * @param body
+     * @param mapping
+     * @return the lazy value
+     * @throws IOException
+     */
+    private LazyAttribute readLazyValue(final JsonParser parser, final String body, final AttributeMapping mapping) throws IOException {
+        // the current location is the one of the last character read : the opening bracket, then the closing one
+        final int start = (int) parser.getCurrentLocation().getCharOffset();
+        parser.skipChildren();
+        final int end = (int) parser.getCurrentLocation().getCharOffset() + 1;
+        return new LazyAttribute(body.substring(start, end), mapping.field);
+    }
+    
+    /**
+     * Read the current value or, for a wrapped attribute, its field.
+     * 
+     * @param parser
+     * @param token
+     * @param mapping
+     * @return the value
+     * @throws IOException
+     */
+    private Object readMappedValue(final JsonParser parser, final JsonToken token, final AttributeMapping mapping) throws IOException {
+        if (mapping.field == null) {
+            return readValue(parser, token);
+        }
+        return readField(parser, token, mapping.field);
+    }
+    
+    /**
+     * Read the current value (a string, a boolean, a number or a node like {@link JsonHelper#get(JsonNode, String)}).
+     * 
+     * @param parser
+     * @param token
+     * @return the current value
+     * @throws IOException
+     */
+    private Object readValue(final JsonParser parser, final JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        } else if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getNumberValue();
+        } else if (token == JsonToken.VALUE_TRUE) {
+            return Boolean.TRUE;
+        } else if (token == JsonToken.VALUE_FALSE) {
+            return Boolean.FALSE;
+        } else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            final JsonNode node = JsonHelper.getMapper().readTree(parser);
+            return node;
+        }
+        // null values are ignored
+        return null;
+    }
+    
+    /**
+     * Read the field of the current object and skip the other ones.
+     * 
+     * @param parser
+     * @param token
+     * @param field
+     * @return the value of the field
+     * @throws IOException
+     */
+    private Object readField(final JsonParser parser, final JsonToken token, final String field) throws IOException {
+        Object value = null;
+        if (token == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final JsonToken fieldToken = parser.nextToken();
+                if (field.equals(name)) {
+                    value = readValue(parser, fieldToken);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } else {
+            parser.skipChildren();
+        }
+        return value;
+    }
+    
+    /**
+     * The slot and the converter of an attribute and the field to read for a wrapped attribute.
+     */
+    private static final class AttributeMapping {
+        
+        private final int index;
+        
+        private final AttributeConverter<? extends Object> converter;
+        
+        private String field;
+        
+        private boolean lazy;
+        
+        private AttributeMapping(final int index, final AttributeConverter<? extends Object> converter) {
+            this.index = index;
+            this.converter = converter;
+        }
+    }
+}
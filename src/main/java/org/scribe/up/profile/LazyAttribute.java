@@ -0,0 +1,72 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.profile;
+
+import java.io.Serializable;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This class is the value of an attribute not yet parsed : the raw JSON text (and the field to read for a wrapped attribute), parsed and
+ * converted on first read by the user profile.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+final class LazyAttribute implements Serializable {
+    
+    private static final long serialVersionUID = 3360839458421097862L;
+    
+    private final String json;
+    
+    private final String field;
+    
+    LazyAttribute(final String json, final String field) {
+        this.json = json;
+        this.field = field;
+    }
+    
+    String getJson() {
+        return this.json;
+    }
+    
+    String getField() {
+        return this.field;
+    }
+    
+    /**
+     * Parse and convert the value of the attribute.
+     * 
+     * @param definition
+     * @param name
+     * @return the converted value
+     */
+    Object materialize(final AttributesDefinition definition, final String name) {
+        JsonNode node = JsonHelper.getFirstNode(this.json);
+        if (node != null && this.field != null) {
+            node = node.get(this.field);
+        }
+        if (node == null || node.isNull() || definition == null) {
+            return null;
+        }
+        return definition.convert(name, node);
+    }
+    
+    @Override
+    public String toString() {
+        return this.json;
+    }
+}
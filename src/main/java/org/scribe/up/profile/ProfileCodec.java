@@ -0,0 +1,404 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.profile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInput;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutput;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class is the compact binary format of the user profiles (used by their {@link java.io.Externalizable} implementation).
+ * <p />
+ * After a version byte and the fingerprint of the attributes definition of the profile (see {@link AttributesDefinition#getFingerprint()}),
+ * the identifier and each attribute are written : the attribute is identified by its index in the attributes definition (0 if it's not
+ * defined, followed by its name), and its value by a type tag followed by its compact value. The profile can only be read with an
+ * attributes definition of the same fingerprint (the attributes definition has not changed between the versions of the library), an
+ * {@link InvalidObjectException} is thrown otherwise. The strings, numbers, booleans, dates, locales, colors and enumerations (by name,
+ * resolved by the converter of the attribute) are written without any class descriptor. The JSON objects are written as their raw JSON text
+ * only, instead of their raw JSON text and all their fields : they are read as lazy attributes, converted when they are read from the user
+ * profile for the first time.
+ * <p />
+ * If the raw data are not kept or for any other type, the value is written with the Java serialization, restricted to the classes of the
+ * profiles ({@value #PROFILE_PACKAGE} package) and to a few JDK classes (strings, numbers, lists, dates and locales) : any other class is
+ * rejected when the profile is written ({@link NotSerializableException}) and when it is read ({@link InvalidClassException}), so that
+ * reading a profile cannot instantiate arbitrary classes.
+ * <p />
+ * The user profiles serialized by the previous releases (with the default Java serialization of the user profiles) cannot be read : the
+ * Java serialization fails with an {@link java.io.InvalidClassException} as the user profiles are now {@link java.io.Externalizable}.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+final class ProfileCodec {
+    
+    static final int VERSION = 3;
+    
+    static final String PROFILE_PACKAGE = "org.scribe.up.profile";
+    
+    // the JDK classes allowed in the serialized values, in addition to the classes of the profiles
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<String>(Arrays.asList(String.class.getName(),
+                                                                                         String[].class.getName(),
+                                                                                         Boolean.class.getName(),
+                                                                                         Integer.class.getName(),
+                                                                                         Long.class.getName(),
+                                                                                         Number.class.getName(),
+                                                                                         Enum.class.getName(),
+                                                                                         ArrayList.class.getName(),
+                                                                                         Date.class.getName(),
+                                                                                         Locale.class.getName()));
+    
+    private static final int STRING = 1;
+    
+    private static final int TRUE = 2;
+    
+    private static final int FALSE = 3;
+    
+    private static final int INTEGER = 4;
+    
+    private static final int LONG = 5;
+    
+    private static final int GENDER = 6;
+    
+    private static final int ENUM = 7;
+    
+    private static final int LOCALE = 8;
+    
+    private static final int DATE = 9;
+    
+    private static final int FORMATTED_DATE = 10;
+    
+    private static final int COLOR = 11;
+    
+    private static final int JSON = 12;
+    
+    private static final int LAZY = 13;
+    
+    private static final int OBJECT = 14;
+    
+    private ProfileCodec() {
+    }
+    
+    /**
+     * Write the identifier and the attributes of a user profile.
+     * 
+     * @param profile
+     * @param out
+     * @throws IOException
+     */
+    static void write(final UserProfile profile, final ObjectOutput out) throws IOException {
+        final AttributesDefinition definition = profile.getAttributesDefinition();
+        out.writeByte(VERSION);
+        out.writeInt(definition == null ? 0 : definition.getFingerprint());
+        writeString(out, profile.id);
+        final Map<String, Object> attributes = profile.getRawAttributes();
+        synchronized (profile) {
+            writeVarInt(out, attributes.size());
+            for (final Map.Entry<String, Object> entry : attributes.entrySet()) {
+                final String name = entry.getKey();
+                final int index = definition == null ? -1 : definition.getIndex(name);
+                // 0 means that the attribute is not defined : its name follows
+                writeVarInt(out, index + 1);
+                if (index < 0) {
+                    writeString(out, name);
+                }
+                writeValue(out, entry.getValue(), index >= 0);
+            }
+        }
+    }
+    
+    /**
+     * Read the identifier and the attributes of a user profile.
+     * 
+     * @param profile
+     * @param in
+     * @throws IOException
+     * @throws ClassNotFoundException
+     */
+    static void read(final UserProfile profile, final ObjectInput in) throws IOException, ClassNotFoundException {
+        final int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported user profile format version : " + version);
+        }
+        final AttributesDefinition definition = profile.getAttributesDefinition();
+        final int fingerprint = in.readInt();
+        // the indexes are only meaningful for the same attributes definition
+        if (fingerprint != (definition == null ? 0 : definition.getFingerprint())) {
+            throw new InvalidObjectException("The attributes definition of : " + profile.getClass().getName()
+                                             + " has changed since the user profile was written");
+        }
+        profile.id = readString(in);
+        final int size = readVarInt(in);
+        for (int i = 0; i < size; i++) {
+            final int index = readVarInt(in) - 1;
+            final String name;
+            if (index < 0) {
+                name = readString(in);
+            } else if (definition != null && index < definition.size()) {
+                name = definition.getName(index);
+            } else {
+                throw new IOException("Unknown attribute index : " + index);
+            }
+            final Object value = readValue(in, name, index >= 0 ? definition : null);
+            profile.addConvertedAttribute(name, value);
+        }
+    }
+    
+    private static void writeValue(final ObjectOutput out, final Object value, final boolean defined)
+        throws IOException {
+        if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(((Boolean) value).booleanValue() ? TRUE : FALSE);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            writeVarInt(out, zigzag(((Integer) value).intValue()));
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong(((Long) value).longValue());
+        } else if (value instanceof Gender) {
+            out.writeByte(GENDER);
+            writeString(out, ((Gender) value).name());
+        } else if (defined && value instanceof Enum<?>) {
+            // resolved by the converter of the attribute when it's read
+            out.writeByte(ENUM);
+            writeString(out, ((Enum<?>) value).name());
+        } else if (value instanceof Locale) {
+            out.writeByte(LOCALE);
+            writeString(out, value.toString());
+        } else if (value instanceof FormattedDate) {
+            final FormattedDate date = (FormattedDate) value;
+            out.writeByte(FORMATTED_DATE);
+            out.writeLong(date.getTime());
+            writeString(out, date.getFormat());
+            writeString(out, date.getLocale() == null ? null : date.getLocale().toString());
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Color) {
+            final Color color = (Color) value;
+            out.writeByte(COLOR);
+            out.writeByte(color.getRed());
+            out.writeByte(color.getGreen());
+            out.writeByte(color.getBlue());
+        } else if (defined && value instanceof JsonObject && ((JsonObject) value).json.length() > 0) {
+            out.writeByte(JSON);
+            writeString(out, ((JsonObject) value).json);
+        } else if (value instanceof LazyAttribute) {
+            final LazyAttribute lazy = (LazyAttribute) value;
+            out.writeByte(LAZY);
+            writeString(out, lazy.getJson());
+            writeString(out, lazy.getField());
+        } else {
+            out.writeByte(OBJECT);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final ObjectOutputStream objectOut = new RestrictedObjectOutputStream(bytes);
+            objectOut.writeObject(value);
+            objectOut.close();
+            writeVarInt(out, bytes.size());
+            out.write(bytes.toByteArray());
+        }
+    }
+    
+    private static Object readValue(final ObjectInput in, final String name, final AttributesDefinition definition)
+        throws IOException, ClassNotFoundException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case STRING:
+                return readString(in);
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case INTEGER:
+                return Integer.valueOf(unzigzag(readVarInt(in)));
+            case LONG:
+                return Long.valueOf(in.readLong());
+            case GENDER:
+                return Gender.valueOf(readString(in));
+            case ENUM:
+                final String enumName = readString(in);
+                final Object enumValue = definition == null ? null : definition.convert(name, enumName);
+                if (!(enumValue instanceof Enum<?>) || !((Enum<?>) enumValue).name().equals(enumName)) {
+                    throw new InvalidObjectException("Cannot convert : " + enumName + " for attribute : " + name);
+                }
+                return enumValue;
+            case LOCALE:
+                return toLocale(readString(in));
+            case DATE:
+                return new Date(in.readLong());
+            case FORMATTED_DATE:
+                final Date date = new Date(in.readLong());
+                final String format = readString(in);
+                return new FormattedDate(date, format, toLocale(readString(in)));
+            case COLOR:
+                return new Color(in.readUnsignedByte(), in.readUnsignedByte(), in.readUnsignedByte());
+            case JSON:
+                // converted on first read
+                return new LazyAttribute(readString(in), null);
+            case LAZY:
+                final String lazyJson = readString(in);
+                return new LazyAttribute(lazyJson, readString(in));
+            case OBJECT:
+                final byte[] bytes = new byte[readVarInt(in)];
+                in.readFully(bytes);
+                final ObjectInputStream objectIn = new RestrictedObjectInputStream(new ByteArrayInputStream(bytes));
+                try {
+                    return objectIn.readObject();
+                } finally {
+                    objectIn.close();
+                }
+            default:
+                throw new IOException("Unknown value type : " + tag + " for attribute : " + name);
+        }
+    }
+    
+    private static Locale toLocale(final String s) {
+        if (s == null) {
+            return null;
+        }
+        final String[] parts = s.split("_", 3);
+        if (parts.length == 3) {
+            return new Locale(parts[0], parts[1], parts[2]);
+        } else if (parts.length == 2) {
+            return new Locale(parts[0], parts[1]);
+        }
+        return new Locale(parts[0]);
+    }
+    
+    /**
+     * Write a string (which can be null or longer than 64K, unlike {@link ObjectOutput#writeUTF(String)}) : its length + 1 (0 for null)
+     * and its UTF-8 bytes.
+     * 
+     * @param out
+     * @param s
+     * @throws IOException
+     */
+    private static void writeString(final ObjectOutput out, final String s) throws IOException {
+        if (s == null) {
+            writeVarInt(out, 0);
+        } else {
+            final byte[] bytes = s.getBytes("UTF-8");
+            writeVarInt(out, bytes.length + 1);
+            out.write(bytes);
+        }
+    }
+    
+    private static String readString(final ObjectInput in) throws IOException {
+        final int length = readVarInt(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+    
+    /**
+     * Write a positive integer on 1 to 5 bytes (7 bits per byte).
+     * 
+     * @param out
+     * @param value
+     * @throws IOException
+     */
+    private static void writeVarInt(final ObjectOutput out, final int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+    
+    private static int readVarInt(final ObjectInput in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed variable length integer");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+    
+    private static int zigzag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+    
+    private static int unzigzag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+    
+    private static boolean isAllowed(final String className) {
+        return className.startsWith(PROFILE_PACKAGE + ".") || ALLOWED_CLASSES.contains(className);
+    }
+    
+    /**
+     * The Java serialization of the values, restricted to the allowed classes.
+     */
+    private static final class RestrictedObjectOutputStream extends ObjectOutputStream {
+        
+        private RestrictedObjectOutputStream(final OutputStream out) throws IOException {
+            super(out);
+        }
+        
+        @Override
+        protected void annotateClass(final Class<?> cl) throws IOException {
+            if (!isAllowed(cl.getName())) {
+                throw new NotSerializableException(cl.getName());
+            }
+        }
+    }
+    
+    /**
+     * The Java deserialization of the values, restricted to the allowed classes.
+     */
+    private static final class RestrictedObjectInputStream extends ObjectInputStream {
+        
+        private RestrictedObjectInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+        
+        @Override
+        protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!isAllowed(desc.getName())) {
+                throw new InvalidClassException(desc.getName(), "not allowed in a serialized user profile");
+            }
+            return super.resolveClass(desc);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.profile;
+
+import java.lang.reflect.Constructor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class creates the JSON objects of a class by reflection, its no-arg constructor being resolved once. It's used when no specific
+ * factory is defined.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class ReflectiveJsonObjectFactory<T extends JsonObject> implements JsonObjectFactory<T> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReflectiveJsonObjectFactory.class);
+    
+    private final Constructor<T> constructor;
+    
+    public ReflectiveJsonObjectFactory(final Class<T> clazz) {
+        try {
+            this.constructor = clazz.getDeclaredConstructor();
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalArgumentException(clazz + " has no no-arg constructor");
+        }
+    }
+    
+    /**
+     * Create a new JSON object (null if the constructor fails).
+     * 
+     * @return the new JSON object
+     */
+    public T newInstance() {
+        try {
+            return this.constructor.newInstance();
+        } catch (final Exception e) {
+            logger.error("Cannot build instance", e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,244 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.profile;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * This class is a compact list of strings : as long as all its elements are numeric identifiers, they are stored as primitive longs,
+ * otherwise as strings. It's the list used by the {@link JsonList} of strings.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class StringList extends AbstractList<String> implements RandomAccess, Serializable {
+    
+    private static final long serialVersionUID = 4531856043207415869L;
+    
+    // more digits may not fit in a long
+    private static final int MAX_DIGITS = 18;
+    
+    private static final int DEFAULT_CAPACITY = 10;
+    
+    // the elements while they are all numeric (null otherwise)
+    private long[] longs = new long[DEFAULT_CAPACITY];
+    
+    // the elements once one of them is not numeric (null before)
+    private String[] strings;
+    
+    private int size;
+    
+    /**
+     * Return whether all the elements of this list are numeric identifiers.
+     * 
+     * @return whether all the elements are numeric
+     */
+    public boolean isNumeric() {
+        return this.longs != null;
+    }
+    
+    /**
+     * Return the element at the index as a long.
+     * 
+     * @param index
+     * @return the element as a long
+     * @throws NumberFormatException if the element is not numeric
+     */
+    public long getLong(final int index) {
+        checkIndex(index);
+        if (this.longs != null) {
+            return this.longs[index];
+        }
+        return Long.parseLong(this.strings[index]);
+    }
+    
+    /**
+     * Return all the elements as longs.
+     * 
+     * @return the elements as longs
+     * @throws NumberFormatException if an element is not numeric
+     */
+    public long[] toLongArray() {
+        if (this.longs != null) {
+            final long[] values = new long[this.size];
+            System.arraycopy(this.longs, 0, values, 0, this.size);
+            return values;
+        }
+        final long[] values = new long[this.size];
+        for (int i = 0; i < this.size; i++) {
+            values[i] = Long.parseLong(this.strings[i]);
+        }
+        return values;
+    }
+    
+    @Override
+    public String get(final int index) {
+        checkIndex(index);
+        if (this.longs != null) {
+            return String.valueOf(this.longs[index]);
+        }
+        return this.strings[index];
+    }
+    
+    @Override
+    public int size() {
+        return this.size;
+    }
+    
+    @Override
+    public String set(final int index, final String element) {
+        final String previous = get(index);
+        if (this.longs != null && isNumeric(element)) {
+            this.longs[index] = Long.parseLong(element);
+        } else {
+            toStrings();
+            this.strings[index] = element;
+        }
+        return previous;
+    }
+    
+    @Override
+    public void add(final int index, final String element) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        if (this.longs != null && isNumeric(element)) {
+            if (this.size == this.longs.length) {
+                final long[] longs = new long[this.size * 2];
+                System.arraycopy(this.longs, 0, longs, 0, this.size);
+                this.longs = longs;
+            }
+            System.arraycopy(this.longs, index, this.longs, index + 1, this.size - index);
+            this.longs[index] = Long.parseLong(element);
+        } else {
+            toStrings();
+            if (this.size == this.strings.length) {
+                final String[] strings = new String[this.size * 2];
+                System.arraycopy(this.strings, 0, strings, 0, this.size);
+                this.strings = strings;
+            }
+            System.arraycopy(this.strings, index, this.strings, index + 1, this.size - index);
+            this.strings[index] = element;
+        }
+        this.size++;
+        this.modCount++;
+    }
+    
+    @Override
+    public String remove(final int index) {
+        final String previous = get(index);
+        final int moved = this.size - index - 1;
+        if (this.longs != null) {
+            System.arraycopy(this.longs, index + 1, this.longs, index, moved);
+        } else {
+            System.arraycopy(this.strings, index + 1, this.strings, index, moved);
+            this.strings[this.size - 1] = null;
+        }
+        this.size--;
+        this.modCount++;
+        return previous;
+    }
+    
+    @Override
+    public void clear() {
+        this.longs = new long[DEFAULT_CAPACITY];
+        this.strings = null;
+        this.size = 0;
+        this.modCount++;
+    }
+    
+    /**
+     * Add an element from characters (of a parser buffer) without creating a string if it's numeric.
+     * 
+     * @param chars
+     * @param offset
+     * @param length
+     */
+    void add(final char[] chars, final int offset, final int length) {
+        if (this.longs != null && isNumeric(chars, offset, length)) {
+            long value = 0;
+            for (int i = offset; i < offset + length; i++) {
+                value = value * 10 + (chars[i] - '0');
+            }
+            if (this.size == this.longs.length) {
+                final long[] longs = new long[this.size * 2];
+                System.arraycopy(this.longs, 0, longs, 0, this.size);
+                this.longs = longs;
+            }
+            this.longs[this.size++] = value;
+            this.modCount++;
+        } else {
+            add(new String(chars, offset, length));
+        }
+    }
+    
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+    
+    /**
+     * Switch the storage from the longs to the strings.
+     */
+    private void toStrings() {
+        if (this.longs != null) {
+            this.strings = new String[Math.max(this.longs.length, DEFAULT_CAPACITY)];
+            for (int i = 0; i < this.size; i++) {
+                this.strings[i] = String.valueOf(this.longs[i]);
+            }
+            this.longs = null;
+        }
+    }
+    
+    /**
+     * Return whether the string is a numeric identifier which is restored identically from its long value.
+     * 
+     * @param s
+     * @return whether the string is numeric
+     */
+    private static boolean isNumeric(final String s) {
+        if (s == null) {
+            return false;
+        }
+        final int length = s.length();
+        if (length == 0 || length > MAX_DIGITS || (s.charAt(0) == '0' && length > 1)) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isNumeric(final char[] chars, final int offset, final int length) {
+        if (length == 0 || length > MAX_DIGITS || (chars[offset] == '0' && length > 1)) {
+            return false;
+        }
+        for (int i = offset; i < offset + length; i++) {
+            final char c = chars[i];
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -15,10 +15,18 @@
  */
 package org.scribe.up.profile;
 
-import java.io.Serializable;
-import java.util.Collections;
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,11 +34,18 @@ import org.slf4j.LoggerFactory;
 /**
  * This class is the user profile retrieved from an OAuth provider after authentication : it's an identifier (string) and attributes
  * (objects). The attributes definition is null (generic profile), it must be defined in subclasses.
+ * <p />
+ * The attributes defined by the attributes definition are stored in an array, by their index in the attributes definition (the other
+ * attributes, for a generic profile, are stored in a map). The subclasses resolve the indexes of their attributes once and read them by
+ * the {@link #get(int)} method.
+ * <p />
+ * It's serialized in a compact binary format (see {@link ProfileCodec}), which cannot read the user profiles serialized by the releases
+ * before 1.3.2 : the subclasses must have a public no-arg constructor.
  * 
  * @author Jerome Leleu
  * @since 1.0.0
  */
-public class UserProfile implements Serializable {
+public class UserProfile implements Externalizable {
     
     private static final long serialVersionUID = 6262068309186516801L;
     
@@ -38,7 +53,17 @@ public class UserProfile implements Serializable {
     
     protected String id;
     
-    protected final Map<String, Object> attributes = new HashMap<String, Object>();
+    // the attributes defined by the attributes definition, by index (created on first attribute) : atomic as the lazy attributes are
+    // replaced by their converted values while the profile may be shared between threads (profile cache, coalesced requests)
+    private AtomicReferenceArray<Object> slots;
+    
+    // the number of defined attributes set in the slots
+    private volatile int slotsCount;
+    
+    // the attributes not defined by the attributes definition (created on first attribute)
+    private Map<String, Object> otherAttributes;
+    
+    private final Map<String, Object> attributesView = new AttributesView();
     
     public transient static final String SEPARATOR = "#";
     
@@ -73,22 +98,56 @@ public class UserProfile implements Serializable {
             final AttributesDefinition definition = getAttributesDefinition();
             // no attributes definition -> no conversion
             if (definition == null) {
-                logger.debug("no conversion => key : {} / value : {} / {}", new Object[] {
-                    key, value, value.getClass()
-                });
-                this.attributes.put(key, value);
+                if (logger.isDebugEnabled()) {
+                    logger.debug("no conversion => key : {} / value : {} / {}", new Object[] {
+                        key, value, value.getClass()
+                    });
+                }
+                putAttribute(key, value);
             } else {
                 value = definition.convert(key, value);
                 if (value != null) {
-                    logger.debug("converted to => key : {} / value : {} / {}", new Object[] {
-                        key, value, value.getClass()
-                    });
-                    this.attributes.put(key, value);
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("converted to => key : {} / value : {} / {}", new Object[] {
+                            key, value, value.getClass()
+                        });
+                    }
+                    putAttribute(key, value);
                 }
             }
         }
     }
     
+    /**
+     * Add an attribute already converted (by its converter from the attributes definition).
+     * 
+     * @param key
+     * @param value
+     */
+    void addConvertedAttribute(final String key, final Object value) {
+        if (value != null) {
+            putAttribute(key, value);
+        }
+    }
+    
+    /**
+     * Add an attribute already converted whose index in the attributes definition of the profile is already resolved (-1 to resolve it by
+     * its name).
+     * 
+     * @param index
+     * @param key
+     * @param value
+     */
+    void addConvertedAttribute(final int index, final String key, final Object value) {
+        if (value != null) {
+            if (index >= 0) {
+                putAttribute(index, key, value);
+            } else {
+                putAttribute(key, value);
+            }
+        }
+    }
+    
     /**
      * Add attributes.
      * 
@@ -109,7 +168,7 @@ public class UserProfile implements Serializable {
         if (id != null) {
             String sId = id.toString();
             final String type = this.getClass().getSimpleName();
-            if (type != null && sId.startsWith(type + SEPARATOR)) {
+            if (type != null && sId.startsWith(type) && sId.startsWith(SEPARATOR, type.length())) {
                 sId = sId.substring(type.length() + SEPARATOR.length());
             }
             logger.debug("identifier : {}", sId);
@@ -141,7 +200,17 @@ public class UserProfile implements Serializable {
      * @return the immutable attributes
      */
     public Map<String, Object> getAttributes() {
-        return Collections.unmodifiableMap(this.attributes);
+        materializeAll();
+        return this.attributesView;
+    }
+    
+    /**
+     * Return the attributes as immutable map, without converting the lazy attributes.
+     * 
+     * @return the immutable attributes
+     */
+    Map<String, Object> getRawAttributes() {
+        return this.attributesView;
     }
     
     /**
@@ -151,11 +220,257 @@ public class UserProfile implements Serializable {
      * @return the attribute with name
      */
     protected Object get(final String name) {
-        return this.attributes.get(name);
+        final int index = getIndex(name);
+        if (index >= 0) {
+            return get(index);
+        }
+        return this.otherAttributes == null ? null : this.otherAttributes.get(name);
+    }
+    
+    /**
+     * Return the attribute defined at this index by the attributes definition of the profile (see
+     * {@link AttributesDefinition#getIndex(String)}).
+     * 
+     * @param index
+     * @return the attribute at this index
+     */
+    protected Object get(final int index) {
+        final Object value = this.slots == null ? null : this.slots.get(index);
+        if (value instanceof LazyAttribute) {
+            return materialize(index);
+        }
+        return value;
+    }
+    
+    private int getIndex(final String name) {
+        final AttributesDefinition definition = getAttributesDefinition();
+        return definition == null ? -1 : definition.getIndex(name);
+    }
+    
+    private boolean hasAttribute(final String name) {
+        final int index = getIndex(name);
+        if (index >= 0) {
+            return this.slots != null && this.slots.get(index) != null;
+        }
+        return this.otherAttributes != null && this.otherAttributes.containsKey(name);
+    }
+    
+    private void putAttribute(final String name, final Object value) {
+        putAttribute(getIndex(name), name, value);
+    }
+    
+    private void putAttribute(final int index, final String name, final Object value) {
+        if (index >= 0) {
+            if (this.slots == null) {
+                this.slots = new AtomicReferenceArray<Object>(getAttributesDefinition().size());
+            }
+            if (this.slots.getAndSet(index, value) == null) {
+                this.slotsCount++;
+            }
+        } else {
+            if (this.otherAttributes == null) {
+                this.otherAttributes = new HashMap<String, Object>();
+            }
+            this.otherAttributes.put(name, value);
+        }
+    }
+    
+    /**
+     * Parse and convert a lazy attribute, only once even if several threads read it.
+     * 
+     * @param index
+     * @return the converted value
+     */
+    private synchronized Object materialize(final int index) {
+        final Object value = this.slots.get(index);
+        if (!(value instanceof LazyAttribute)) {
+            return value;
+        }
+        final AttributesDefinition definition = getAttributesDefinition();
+        final Object converted = ((LazyAttribute) value).materialize(definition, definition.getName(index));
+        this.slots.set(index, converted);
+        if (converted == null) {
+            // the conversion failed : the attribute is removed
+            this.slotsCount--;
+        }
+        return converted;
+    }
+    
+    /**
+     * Parse and convert all the lazy attributes (only defined ones).
+     */
+    private void materializeAll() {
+        if (this.slots != null) {
+            for (int i = 0; i < this.slots.length(); i++) {
+                if (this.slots.get(i) instanceof LazyAttribute) {
+                    materialize(i);
+                }
+            }
+        }
+    }
+    
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        ProfileCodec.write(this, out);
+    }
+    
+    public void readExternal(final ObjectInput in) throws IOException, ClassNotFoundException {
+        ProfileCodec.read(this, in);
     }
     
     @Override
     public String toString() {
-        return this.getClass().getSimpleName() + "{id:" + this.id + ",attributes:" + this.attributes + "}";
+        materializeAll();
+        return this.getClass().getSimpleName() + "{id:" + this.id + ",attributes:" + this.attributesView + "}";
+    }
+    
+    /**
+     * The immutable view of the attributes : the defined attributes (in the order of the attributes definition), then the other ones.
+     */
+    private final class AttributesView extends AbstractMap<String, Object> {
+        
+        private final Set<Map.Entry<String, Object>> entries = new AbstractSet<Map.Entry<String, Object>>() {
+            
+            @Override
+            public Iterator<Map.Entry<String, Object>> iterator() {
+                return new AttributesIterator();
+            }
+            
+            @Override
+            public int size() {
+                return AttributesView.this.size();
+            }
+        };
+        
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet() {
+            return this.entries;
+        }
+        
+        @Override
+        public Object get(final Object key) {
+            return key instanceof String ? UserProfile.this.get((String) key) : null;
+        }
+        
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof String && hasAttribute((String) key);
+        }
+        
+        @Override
+        public int size() {
+            int size = UserProfile.this.slotsCount;
+            if (UserProfile.this.otherAttributes != null) {
+                size += UserProfile.this.otherAttributes.size();
+            }
+            return size;
+        }
+    }
+    
+    /**
+     * The iterator over the defined attributes, then the other ones.
+     */
+    private final class AttributesIterator implements Iterator<Map.Entry<String, Object>> {
+        
+        private final AtomicReferenceArray<Object> currentSlots;
+        
+        private final int length;
+        
+        private final Iterator<Map.Entry<String, Object>> others;
+        
+        private int index;
+        
+        // the value of the next defined attribute, read once
+        private Object value;
+        
+        private AttributesIterator() {
+            this.currentSlots = UserProfile.this.slots;
+            this.length = this.currentSlots == null ? 0 : this.currentSlots.length();
+            final Map<String, Object> currentOtherAttributes = UserProfile.this.otherAttributes;
+            this.others = currentOtherAttributes == null ? null : currentOtherAttributes.entrySet().iterator();
+            this.index = nextIndex(0);
+        }
+        
+        private int nextIndex(final int from) {
+            int i = from;
+            while (i < this.length) {
+                this.value = this.currentSlots.get(i);
+                if (this.value != null) {
+                    return i;
+                }
+                i++;
+            }
+            return i;
+        }
+        
+        private boolean hasNextSlot() {
+            return this.index < this.length;
+        }
+        
+        public boolean hasNext() {
+            return hasNextSlot() || (this.others != null && this.others.hasNext());
+        }
+        
+        public Map.Entry<String, Object> next() {
+            if (hasNextSlot()) {
+                final String name = getAttributesDefinition().getName(this.index);
+                final Map.Entry<String, Object> entry = new Attribute(name, this.value);
+                this.index = nextIndex(this.index + 1);
+                return entry;
+            } else if (this.others != null) {
+                final Map.Entry<String, Object> other = this.others.next();
+                return new Attribute(other.getKey(), other.getValue());
+            }
+            throw new NoSuchElementException();
+        }
+        
+        public void remove() {
+            throw new UnsupportedOperationException("Attributes are immutable");
+        }
+    }
+    
+    /**
+     * An immutable attribute (name and value).
+     */
+    private static final class Attribute implements Map.Entry<String, Object> {
+        
+        private final String name;
+        
+        private final Object value;
+        
+        private Attribute(final String name, final Object value) {
+            this.name = name;
+            this.value = value;
+        }
+        
+        public String getKey() {
+            return this.name;
+        }
+        
+        public Object getValue() {
+            return this.value;
+        }
+        
+        public Object setValue(final Object value) {
+            throw new UnsupportedOperationException("Attributes are immutable");
+        }
+        
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Map.Entry<?, ?>)) {
+                return false;
+            }
+            final Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return this.name.equals(e.getKey()) && (this.value == null ? e.getValue() == null : this.value.equals(e.getValue()));
+        }
+        
+        @Override
+        public int hashCode() {
+            return this.name.hashCode() ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+        
+        @Override
+        public String toString() {
+            return this.name + "=" + this.value;
+        }
     }
 }
@@ -16,15 +16,15 @@
 package org.scribe.up.profile.converter;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
+import org.scribe.up.profile.DateHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * This class converts a String (depending on a specified format) into a Date.
+ * This class converts a String (depending on a specified format) into a Date (the parsing is done by the {@link DateHelper}).
  * 
  * @author Jerome Leleu
  * @since 1.0.0
@@ -49,15 +49,9 @@ public class DateConverter extends BaseConverter<Date> {
     @Override
     public Date convert(Object attribute) {
         if (attribute != null && attribute instanceof String) {
-            SimpleDateFormat simpleDateFormat;
-            if (locale == null) {
-                simpleDateFormat = new SimpleDateFormat(format);
-            } else {
-                simpleDateFormat = new SimpleDateFormat(format, locale);
-            }
             String s = (String) attribute;
             try {
-                return simpleDateFormat.parse(s);
+                return DateHelper.parse(s, format, locale);
             } catch (ParseException e) {
                 logger.error("parse exception on " + s + " with format : " + format, e);
             }
@@ -18,11 +18,14 @@ package org.scribe.up.profile.converter;
 import java.util.List;
 
 import org.scribe.up.profile.JsonList;
+import org.scribe.up.profile.JsonObject;
+import org.scribe.up.profile.JsonObjectFactory;
+import org.scribe.up.profile.ReflectiveJsonObjectFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
- * This class converts a JSON (String or JsonNode) into a list of objects.
+ * This class converts a JSON (String or JsonNode) into a list of objects (created by a factory if they are JSON objects).
  * 
  * @author Jerome Leleu
  * @since 1.1.0
@@ -34,16 +37,32 @@ public final class JsonListConverter extends BaseConverter<JsonList> {
     
     private final Class<? extends Object> clazz;
     
+    private final JsonObjectFactory<? extends JsonObject> factory;
+    
     public JsonListConverter(final Class<? extends Object> clazz) {
         this.clazz = clazz;
+        if (JsonObject.class.isAssignableFrom(clazz)) {
+            this.factory = new ReflectiveJsonObjectFactory(clazz);
+        } else {
+            this.factory = null;
+        }
+    }
+    
+    public JsonListConverter(final Class<? extends JsonObject> clazz, final JsonObjectFactory<? extends JsonObject> factory) {
+        this.clazz = clazz;
+        this.factory = factory;
     }
     
     @Override
     public JsonList convert(final Object attribute) {
         if (attribute != null
             && (attribute instanceof String || attribute instanceof JsonNode || attribute instanceof List<?>)) {
-            return new JsonList(attribute, clazz);
+            return new JsonList(attribute, this.clazz, this.factory);
         }
         return null;
     }
+    
+    public Class<? extends Object> getClazz() {
+        return this.clazz;
+    }
 }
@@ -15,41 +15,41 @@
  */
 package org.scribe.up.profile.converter;
 
-import java.lang.reflect.Constructor;
-
 import org.scribe.up.profile.JsonObject;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.scribe.up.profile.JsonObjectFactory;
+import org.scribe.up.profile.ReflectiveJsonObjectFactory;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
- * This class converts a JSON (String or JsonNode) into an JSON object.
+ * This class converts a JSON (String or JsonNode) into an JSON object (created by a factory).
  * 
  * @author Jerome Leleu
  * @since 1.1.0
  */
 public final class JsonObjectConverter extends BaseConverter<JsonObject> {
     
-    private static final Logger logger = LoggerFactory.getLogger(JsonObjectConverter.class);
-    
-    private final Class<? extends JsonObject> clazz;
+    private final JsonObjectFactory<? extends JsonObject> factory;
     
+    @SuppressWarnings({
+        "unchecked", "rawtypes"
+    })
     public JsonObjectConverter(final Class<? extends JsonObject> clazz) {
-        this.clazz = clazz;
+        this.factory = new ReflectiveJsonObjectFactory(clazz);
+    }
+    
+    public JsonObjectConverter(final JsonObjectFactory<? extends JsonObject> factory) {
+        this.factory = factory;
     }
     
     @Override
     public JsonObject convert(final Object attribute) {
         if (attribute != null && (attribute instanceof String || attribute instanceof JsonNode)) {
-            try {
-                final Constructor<? extends JsonObject> constructor = this.clazz.getDeclaredConstructor();
-                final JsonObject jsonObject = constructor.newInstance();
+            final JsonObject jsonObject = this.factory.newInstance();
+            if (jsonObject != null) {
                 jsonObject.buildFrom(attribute);
-                return jsonObject;
-            } catch (final Exception e) {
-                logger.error("Cannot build instance", e);
             }
+            return jsonObject;
         }
         return null;
     }
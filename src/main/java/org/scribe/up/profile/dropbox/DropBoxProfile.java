@@ -100,9 +100,19 @@ public class DropBoxProfile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = 818622588110145756L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.dropBoxDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int DISPLAY_NAME = DEFINITION.getIndex(DropBoxAttributesDefinition.DISPLAY_NAME);
+    private static final int COUNTRY = DEFINITION.getIndex(DropBoxAttributesDefinition.COUNTRY);
+    private static final int REFERRAL_LINK = DEFINITION.getIndex(DropBoxAttributesDefinition.REFERRAL_LINK);
+    private static final int NORMAL = DEFINITION.getIndex(DropBoxAttributesDefinition.NORMAL);
+    private static final int QUOTA = DEFINITION.getIndex(DropBoxAttributesDefinition.QUOTA);
+    private static final int SHARED = DEFINITION.getIndex(DropBoxAttributesDefinition.SHARED);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.dropBoxDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
@@ -118,7 +128,7 @@ public class DropBoxProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getDisplayName() {
-        return (String) get(DropBoxAttributesDefinition.DISPLAY_NAME);
+        return (String) get(DISPLAY_NAME);
     }
     
     public String getUsername() {
@@ -130,7 +140,7 @@ public class DropBoxProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public Locale getLocale() {
-        return (Locale) get(DropBoxAttributesDefinition.COUNTRY);
+        return (Locale) get(COUNTRY);
     }
     
     public String getPictureUrl() {
@@ -138,7 +148,7 @@ public class DropBoxProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getProfileUrl() {
-        return (String) get(DropBoxAttributesDefinition.REFERRAL_LINK);
+        return (String) get(REFERRAL_LINK);
     }
     
     public String getLocation() {
@@ -146,14 +156,14 @@ public class DropBoxProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public Long getNormal() {
-        return (Long) get(DropBoxAttributesDefinition.NORMAL);
+        return (Long) get(NORMAL);
     }
     
     public Long getQuota() {
-        return (Long) get(DropBoxAttributesDefinition.QUOTA);
+        return (Long) get(QUOTA);
     }
     
     public Long getShared() {
-        return (Long) get(DropBoxAttributesDefinition.SHARED);
+        return (Long) get(SHARED);
     }
 }
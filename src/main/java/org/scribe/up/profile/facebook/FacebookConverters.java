@@ -15,6 +15,7 @@
  */
 package org.scribe.up.profile.facebook;
 
+import org.scribe.up.profile.JsonObjectFactory;
 import org.scribe.up.profile.converter.DateConverter;
 import org.scribe.up.profile.converter.FormattedDateConverter;
 import org.scribe.up.profile.converter.JsonListConverter;
@@ -28,35 +29,113 @@ import org.scribe.up.profile.converter.JsonObjectConverter;
  */
 public final class FacebookConverters {
     
+    // the factories of the JSON objects, to create them without reflection
+    private final static JsonObjectFactory<FacebookObject> facebookObjectFactory = new JsonObjectFactory<FacebookObject>() {
+        
+        public FacebookObject newInstance() {
+            return new FacebookObject();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookEducation> facebookEducationFactory = new JsonObjectFactory<FacebookEducation>() {
+        
+        public FacebookEducation newInstance() {
+            return new FacebookEducation();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookWork> facebookWorkFactory = new JsonObjectFactory<FacebookWork>() {
+        
+        public FacebookWork newInstance() {
+            return new FacebookWork();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookInfo> facebookInfoFactory = new JsonObjectFactory<FacebookInfo>() {
+        
+        public FacebookInfo newInstance() {
+            return new FacebookInfo();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookPhoto> facebookPhotoFactory = new JsonObjectFactory<FacebookPhoto>() {
+        
+        public FacebookPhoto newInstance() {
+            return new FacebookPhoto();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookEvent> facebookEventFactory = new JsonObjectFactory<FacebookEvent>() {
+        
+        public FacebookEvent newInstance() {
+            return new FacebookEvent();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookGroup> facebookGroupFactory = new JsonObjectFactory<FacebookGroup>() {
+        
+        public FacebookGroup newInstance() {
+            return new FacebookGroup();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookApplication> facebookApplicationFactory = new JsonObjectFactory<FacebookApplication>() {
+        
+        public FacebookApplication newInstance() {
+            return new FacebookApplication();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookMusicData> facebookMusicDataFactory = new JsonObjectFactory<FacebookMusicData>() {
+        
+        public FacebookMusicData newInstance() {
+            return new FacebookMusicData();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookMusicListen> facebookMusicListenFactory = new JsonObjectFactory<FacebookMusicListen>() {
+        
+        public FacebookMusicListen newInstance() {
+            return new FacebookMusicListen();
+        }
+    };
+    
+    private final static JsonObjectFactory<FacebookPicture> facebookPictureFactory = new JsonObjectFactory<FacebookPicture>() {
+        
+        public FacebookPicture newInstance() {
+            return new FacebookPicture();
+        }
+    };
+    
     public final static FormattedDateConverter birthdayConverter = new FormattedDateConverter("MM/dd/yyyy");
     
     public final static FacebookRelationshipStatusConverter relationshipStatusConverter = new FacebookRelationshipStatusConverter();
     
-    public final static JsonListConverter listObjectConverter = new JsonListConverter(FacebookObject.class);
+    public final static JsonListConverter listObjectConverter = new JsonListConverter(FacebookObject.class, facebookObjectFactory);
     
-    public final static JsonListConverter listEducationConverter = new JsonListConverter(FacebookEducation.class);
+    public final static JsonListConverter listEducationConverter = new JsonListConverter(FacebookEducation.class, facebookEducationFactory);
     
-    public final static JsonObjectConverter objectConverter = new JsonObjectConverter(FacebookObject.class);
+    public final static JsonObjectConverter objectConverter = new JsonObjectConverter(facebookObjectFactory);
     
-    public final static JsonListConverter listWorkConverter = new JsonListConverter(FacebookWork.class);
+    public final static JsonListConverter listWorkConverter = new JsonListConverter(FacebookWork.class, facebookWorkFactory);
     
     public final static DateConverter workDateConverter = new DateConverter("yyyy-MM");
     
-    public final static JsonListConverter listInfoConverter = new JsonListConverter(FacebookInfo.class);
+    public final static JsonListConverter listInfoConverter = new JsonListConverter(FacebookInfo.class, facebookInfoFactory);
     
-    public final static JsonListConverter listPhotoConverter = new JsonListConverter(FacebookPhoto.class);
+    public final static JsonListConverter listPhotoConverter = new JsonListConverter(FacebookPhoto.class, facebookPhotoFactory);
     
-    public final static JsonListConverter listEventConverter = new JsonListConverter(FacebookEvent.class);
+    public final static JsonListConverter listEventConverter = new JsonListConverter(FacebookEvent.class, facebookEventFactory);
     
-    public final static JsonListConverter listGroupConverter = new JsonListConverter(FacebookGroup.class);
+    public final static JsonListConverter listGroupConverter = new JsonListConverter(FacebookGroup.class, facebookGroupFactory);
     
     public final static DateConverter eventDateConverter = new DateConverter("yyyy-MM-dd'T'HH:mm:ss");
     
-    public final static JsonObjectConverter applicationConverter = new JsonObjectConverter(FacebookApplication.class);
+    public final static JsonObjectConverter applicationConverter = new JsonObjectConverter(facebookApplicationFactory);
     
-    public final static JsonObjectConverter musicDataConverter = new JsonObjectConverter(FacebookMusicData.class);
+    public final static JsonObjectConverter musicDataConverter = new JsonObjectConverter(facebookMusicDataFactory);
     
-    public final static JsonListConverter listMusicListensConverter = new JsonListConverter(FacebookMusicListen.class);
+    public final static JsonListConverter listMusicListensConverter = new JsonListConverter(FacebookMusicListen.class, facebookMusicListenFactory);
     
-    public final static JsonObjectConverter pictureConverter = new JsonObjectConverter(FacebookPicture.class);
+    public final static JsonObjectConverter pictureConverter = new JsonObjectConverter(facebookPictureFactory);
 }
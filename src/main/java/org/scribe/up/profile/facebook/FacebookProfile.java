@@ -166,7 +166,7 @@ import org.scribe.up.profile.OAuthAttributesDefinitions;
  * </tr>
  * <tr>
  * <td>List&lt;FacebookObject&gt; getFriends()</td>
- * <td>the <i>friends</i> attribute</td>
+ * <td>the <i>friends</i> attribute (first page only)</td>
  * </tr>
  * <tr>
  * <td>List&lt;FacebookInfo&gt; getMovies()</td>
@@ -215,41 +215,84 @@ public class FacebookProfile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = -6594089271854613617L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.facebookDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int EMAIL = DEFINITION.getIndex(FacebookAttributesDefinition.EMAIL);
+    private static final int FIRST_NAME = DEFINITION.getIndex(FacebookAttributesDefinition.FIRST_NAME);
+    private static final int LAST_NAME = DEFINITION.getIndex(FacebookAttributesDefinition.LAST_NAME);
+    private static final int NAME = DEFINITION.getIndex(FacebookAttributesDefinition.NAME);
+    private static final int USERNAME = DEFINITION.getIndex(FacebookAttributesDefinition.USERNAME);
+    private static final int GENDER = DEFINITION.getIndex(FacebookAttributesDefinition.GENDER);
+    private static final int LOCALE = DEFINITION.getIndex(FacebookAttributesDefinition.LOCALE);
+    private static final int PICTURE = DEFINITION.getIndex(FacebookAttributesDefinition.PICTURE);
+    private static final int LINK = DEFINITION.getIndex(FacebookAttributesDefinition.LINK);
+    private static final int LOCATION = DEFINITION.getIndex(FacebookAttributesDefinition.LOCATION);
+    private static final int MIDDLE_NAME = DEFINITION.getIndex(FacebookAttributesDefinition.MIDDLE_NAME);
+    private static final int LANGUAGES = DEFINITION.getIndex(FacebookAttributesDefinition.LANGUAGES);
+    private static final int THIRD_PARTY_ID = DEFINITION.getIndex(FacebookAttributesDefinition.THIRD_PARTY_ID);
+    private static final int TIMEZONE = DEFINITION.getIndex(FacebookAttributesDefinition.TIMEZONE);
+    private static final int UPDATED_TIME = DEFINITION.getIndex(FacebookAttributesDefinition.UPDATED_TIME);
+    private static final int VERIFIED = DEFINITION.getIndex(FacebookAttributesDefinition.VERIFIED);
+    private static final int BIO = DEFINITION.getIndex(FacebookAttributesDefinition.BIO);
+    private static final int BIRTHDAY = DEFINITION.getIndex(FacebookAttributesDefinition.BIRTHDAY);
+    private static final int EDUCATION = DEFINITION.getIndex(FacebookAttributesDefinition.EDUCATION);
+    private static final int HOMETOWN = DEFINITION.getIndex(FacebookAttributesDefinition.HOMETOWN);
+    private static final int INTERESTED_IN = DEFINITION.getIndex(FacebookAttributesDefinition.INTERESTED_IN);
+    private static final int POLITICAL = DEFINITION.getIndex(FacebookAttributesDefinition.POLITICAL);
+    private static final int FAVORITE_ATHLETES = DEFINITION.getIndex(FacebookAttributesDefinition.FAVORITE_ATHLETES);
+    private static final int FAVORITE_TEAMS = DEFINITION.getIndex(FacebookAttributesDefinition.FAVORITE_TEAMS);
+    private static final int QUOTES = DEFINITION.getIndex(FacebookAttributesDefinition.QUOTES);
+    private static final int RELATIONSHIP_STATUS = DEFINITION.getIndex(FacebookAttributesDefinition.RELATIONSHIP_STATUS);
+    private static final int RELIGION = DEFINITION.getIndex(FacebookAttributesDefinition.RELIGION);
+    private static final int SIGNIFICANT_OTHER = DEFINITION.getIndex(FacebookAttributesDefinition.SIGNIFICANT_OTHER);
+    private static final int WEBSITE = DEFINITION.getIndex(FacebookAttributesDefinition.WEBSITE);
+    private static final int WORK = DEFINITION.getIndex(FacebookAttributesDefinition.WORK);
+    private static final int FRIENDS = DEFINITION.getIndex(FacebookAttributesDefinition.FRIENDS);
+    private static final int MOVIES = DEFINITION.getIndex(FacebookAttributesDefinition.MOVIES);
+    private static final int MUSIC = DEFINITION.getIndex(FacebookAttributesDefinition.MUSIC);
+    private static final int BOOKS = DEFINITION.getIndex(FacebookAttributesDefinition.BOOKS);
+    private static final int LIKES = DEFINITION.getIndex(FacebookAttributesDefinition.LIKES);
+    private static final int ALBUMS = DEFINITION.getIndex(FacebookAttributesDefinition.ALBUMS);
+    private static final int EVENTS = DEFINITION.getIndex(FacebookAttributesDefinition.EVENTS);
+    private static final int GROUPS = DEFINITION.getIndex(FacebookAttributesDefinition.GROUPS);
+    private static final int MUSIC_LISTENS = DEFINITION.getIndex(FacebookAttributesDefinition.MUSIC_LISTENS);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.facebookDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
-        return (String) get(FacebookAttributesDefinition.EMAIL);
+        return (String) get(EMAIL);
     }
     
     public String getFirstName() {
-        return (String) get(FacebookAttributesDefinition.FIRST_NAME);
+        return (String) get(FIRST_NAME);
     }
     
     public String getFamilyName() {
-        return (String) get(FacebookAttributesDefinition.LAST_NAME);
+        return (String) get(LAST_NAME);
     }
     
     public String getDisplayName() {
-        return (String) get(FacebookAttributesDefinition.NAME);
+        return (String) get(NAME);
     }
     
     public String getUsername() {
-        return (String) get(FacebookAttributesDefinition.USERNAME);
+        return (String) get(USERNAME);
     }
     
     public Gender getGender() {
-        return (Gender) get(FacebookAttributesDefinition.GENDER);
+        return (Gender) get(GENDER);
     }
     
     public Locale getLocale() {
-        return (Locale) get(FacebookAttributesDefinition.LOCALE);
+        return (Locale) get(LOCALE);
     }
     
     public String getPictureUrl() {
-        final FacebookPicture picture = (FacebookPicture) get(FacebookAttributesDefinition.PICTURE);
+        final FacebookPicture picture = (FacebookPicture) get(PICTURE);
         if (picture != null) {
             return picture.getUrl();
         }
@@ -257,11 +300,11 @@ public class FacebookProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getProfileUrl() {
-        return (String) get(FacebookAttributesDefinition.LINK);
+        return (String) get(LINK);
     }
     
     public String getLocation() {
-        final FacebookObject location = (FacebookObject) get(FacebookAttributesDefinition.LOCATION);
+        final FacebookObject location = (FacebookObject) get(LOCATION);
         if (location != null) {
             return location.getName();
         }
@@ -269,126 +312,133 @@ public class FacebookProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getMiddleName() {
-        return (String) get(FacebookAttributesDefinition.MIDDLE_NAME);
+        return (String) get(MIDDLE_NAME);
     }
     
     public List<FacebookObject> getLanguages() {
-        return (List<FacebookObject>) get(FacebookAttributesDefinition.LANGUAGES);
+        return (List<FacebookObject>) get(LANGUAGES);
     }
     
     public String getThirdPartyId() {
-        return (String) get(FacebookAttributesDefinition.THIRD_PARTY_ID);
+        return (String) get(THIRD_PARTY_ID);
     }
     
     public Integer getTimezone() {
-        return (Integer) get(FacebookAttributesDefinition.TIMEZONE);
+        return (Integer) get(TIMEZONE);
     }
     
     public Date getUpdateTime() {
-        return (Date) get(FacebookAttributesDefinition.UPDATED_TIME);
+        return (Date) get(UPDATED_TIME);
     }
     
     public Boolean getVerified() {
-        return (Boolean) get(FacebookAttributesDefinition.VERIFIED);
+        return (Boolean) get(VERIFIED);
     }
     
     public String getBio() {
-        return (String) get(FacebookAttributesDefinition.BIO);
+        return (String) get(BIO);
     }
     
     public Date getBirthday() {
-        return (Date) get(FacebookAttributesDefinition.BIRTHDAY);
+        return (Date) get(BIRTHDAY);
     }
     
     public List<FacebookEducation> getEducation() {
-        return (List<FacebookEducation>) get(FacebookAttributesDefinition.EDUCATION);
+        return (List<FacebookEducation>) get(EDUCATION);
     }
     
     public FacebookObject getHometown() {
-        return (FacebookObject) get(FacebookAttributesDefinition.HOMETOWN);
+        return (FacebookObject) get(HOMETOWN);
     }
     
     public List<String> getInterestedIn() {
-        return (List<String>) get(FacebookAttributesDefinition.INTERESTED_IN);
+        return (List<String>) get(INTERESTED_IN);
     }
     
     public FacebookObject getLocationObject() {
-        return (FacebookObject) get(FacebookAttributesDefinition.LOCATION);
+        return (FacebookObject) get(LOCATION);
     }
     
     public String getPolitical() {
-        return (String) get(FacebookAttributesDefinition.POLITICAL);
+        return (String) get(POLITICAL);
     }
     
     public List<FacebookObject> getFavoriteAthletes() {
-        return (List<FacebookObject>) get(FacebookAttributesDefinition.FAVORITE_ATHLETES);
+        return (List<FacebookObject>) get(FAVORITE_ATHLETES);
     }
     
     public List<FacebookObject> getFavoriteTeams() {
-        return (List<FacebookObject>) get(FacebookAttributesDefinition.FAVORITE_TEAMS);
+        return (List<FacebookObject>) get(FAVORITE_TEAMS);
     }
     
     public String getQuotes() {
-        return (String) get(FacebookAttributesDefinition.QUOTES);
+        return (String) get(QUOTES);
     }
     
     public FacebookRelationshipStatus getRelationshipStatus() {
-        return (FacebookRelationshipStatus) get(FacebookAttributesDefinition.RELATIONSHIP_STATUS);
+        return (FacebookRelationshipStatus) get(RELATIONSHIP_STATUS);
     }
     
     public String getReligion() {
-        return (String) get(FacebookAttributesDefinition.RELIGION);
+        return (String) get(RELIGION);
     }
     
     public FacebookObject getSignificantOther() {
-        return (FacebookObject) get(FacebookAttributesDefinition.SIGNIFICANT_OTHER);
+        return (FacebookObject) get(SIGNIFICANT_OTHER);
     }
     
     public String getWebsite() {
-        return (String) get(FacebookAttributesDefinition.WEBSITE);
+        return (String) get(WEBSITE);
     }
     
     public List<FacebookWork> getWork() {
-        return (List<FacebookWork>) get(FacebookAttributesDefinition.WORK);
+        return (List<FacebookWork>) get(WORK);
     }
     
+    /**
+     * Return the friends returned with the profile, which are only the first page of the <i>friends</i> connection : all the friends can
+     * be iterated over by using the
+     * {@link org.scribe.up.provider.impl.FacebookProvider#getConnection(FacebookProfile, String, Class)} method.
+     * 
+     * @return the first page of the friends
+     */
     public List<FacebookObject> getFriends() {
-        return (List<FacebookObject>) get(FacebookAttributesDefinition.FRIENDS);
+        return (List<FacebookObject>) get(FRIENDS);
     }
     
     public List<FacebookInfo> getMovies() {
-        return (List<FacebookInfo>) get(FacebookAttributesDefinition.MOVIES);
+        return (List<FacebookInfo>) get(MOVIES);
     }
     
     public List<FacebookInfo> getMusic() {
-        return (List<FacebookInfo>) get(FacebookAttributesDefinition.MUSIC);
+        return (List<FacebookInfo>) get(MUSIC);
     }
     
     public List<FacebookInfo> getBooks() {
-        return (List<FacebookInfo>) get(FacebookAttributesDefinition.BOOKS);
+        return (List<FacebookInfo>) get(BOOKS);
     }
     
     public List<FacebookInfo> getLikes() {
-        return (List<FacebookInfo>) get(FacebookAttributesDefinition.LIKES);
+        return (List<FacebookInfo>) get(LIKES);
     }
     
     public List<FacebookPhoto> getAlbums() {
-        return (List<FacebookPhoto>) get(FacebookAttributesDefinition.ALBUMS);
+        return (List<FacebookPhoto>) get(ALBUMS);
     }
     
     public List<FacebookEvent> getEvents() {
-        return (List<FacebookEvent>) get(FacebookAttributesDefinition.EVENTS);
+        return (List<FacebookEvent>) get(EVENTS);
     }
     
     public List<FacebookGroup> getGroups() {
-        return (List<FacebookGroup>) get(FacebookAttributesDefinition.GROUPS);
+        return (List<FacebookGroup>) get(GROUPS);
     }
     
     public List<FacebookMusicListen> getMusicListens() {
-        return (List<FacebookMusicListen>) get(FacebookAttributesDefinition.MUSIC_LISTENS);
+        return (List<FacebookMusicListen>) get(MUSIC_LISTENS);
     }
     
     public FacebookPicture getPicture() {
-        return (FacebookPicture) get(FacebookAttributesDefinition.PICTURE);
+        return (FacebookPicture) get(PICTURE);
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.scribe.up.profile.github;
 
+import org.scribe.up.profile.JsonObjectFactory;
 import org.scribe.up.profile.converter.FormattedDateConverter;
 import org.scribe.up.profile.converter.JsonObjectConverter;
 
@@ -26,7 +27,15 @@ import org.scribe.up.profile.converter.JsonObjectConverter;
  */
 public final class GitHubConverters {
     
+    // the factories of the JSON objects, to create them without reflection
+    private final static JsonObjectFactory<GitHubPlan> gitHubPlanFactory = new JsonObjectFactory<GitHubPlan>() {
+        
+        public GitHubPlan newInstance() {
+            return new GitHubPlan();
+        }
+    };
+    
     public final static FormattedDateConverter dateConverter = new FormattedDateConverter("yyyy-MM-dd'T'HH:mm:ss'Z'");
     
-    public final static JsonObjectConverter planConverter = new JsonObjectConverter(GitHubPlan.class);
+    public final static JsonObjectConverter planConverter = new JsonObjectConverter(gitHubPlanFactory);
 }
@@ -161,13 +161,41 @@ public class GitHubProfile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = -4727966916198223807L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.githubDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int EMAIL = DEFINITION.getIndex(GitHubAttributesDefinition.EMAIL);
+    private static final int NAME = DEFINITION.getIndex(GitHubAttributesDefinition.NAME);
+    private static final int LOGIN = DEFINITION.getIndex(GitHubAttributesDefinition.LOGIN);
+    private static final int AVATAR_URL = DEFINITION.getIndex(GitHubAttributesDefinition.AVATAR_URL);
+    private static final int HTML_URL = DEFINITION.getIndex(GitHubAttributesDefinition.HTML_URL);
+    private static final int LOCATION = DEFINITION.getIndex(GitHubAttributesDefinition.LOCATION);
+    private static final int COMPANY = DEFINITION.getIndex(GitHubAttributesDefinition.COMPANY);
+    private static final int FOLLOWING = DEFINITION.getIndex(GitHubAttributesDefinition.FOLLOWING);
+    private static final int BLOG = DEFINITION.getIndex(GitHubAttributesDefinition.BLOG);
+    private static final int PUBLIC_REPOS = DEFINITION.getIndex(GitHubAttributesDefinition.PUBLIC_REPOS);
+    private static final int PUBLIC_GISTS = DEFINITION.getIndex(GitHubAttributesDefinition.PUBLIC_GISTS);
+    private static final int DISK_USAGE = DEFINITION.getIndex(GitHubAttributesDefinition.DISK_USAGE);
+    private static final int COLLABORATORS = DEFINITION.getIndex(GitHubAttributesDefinition.COLLABORATORS);
+    private static final int PLAN = DEFINITION.getIndex(GitHubAttributesDefinition.PLAN);
+    private static final int OWNED_PRIVATE_REPOS = DEFINITION.getIndex(GitHubAttributesDefinition.OWNED_PRIVATE_REPOS);
+    private static final int TOTAL_PRIVATE_REPOS = DEFINITION.getIndex(GitHubAttributesDefinition.TOTAL_PRIVATE_REPOS);
+    private static final int PRIVATE_GISTS = DEFINITION.getIndex(GitHubAttributesDefinition.PRIVATE_GISTS);
+    private static final int FOLLOWERS = DEFINITION.getIndex(GitHubAttributesDefinition.FOLLOWERS);
+    private static final int CREATED_AT = DEFINITION.getIndex(GitHubAttributesDefinition.CREATED_AT);
+    private static final int TYPE = DEFINITION.getIndex(GitHubAttributesDefinition.TYPE);
+    private static final int GRAVATAR_ID = DEFINITION.getIndex(GitHubAttributesDefinition.GRAVATAR_ID);
+    private static final int URL = DEFINITION.getIndex(GitHubAttributesDefinition.URL);
+    private static final int HIREABLE = DEFINITION.getIndex(GitHubAttributesDefinition.HIREABLE);
+    private static final int BIO = DEFINITION.getIndex(GitHubAttributesDefinition.BIO);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.githubDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
-        return (String) get(GitHubAttributesDefinition.EMAIL);
+        return (String) get(EMAIL);
     }
     
     public String getFirstName() {
@@ -179,11 +207,11 @@ public class GitHubProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getDisplayName() {
-        return (String) get(GitHubAttributesDefinition.NAME);
+        return (String) get(NAME);
     }
     
     public String getUsername() {
-        return (String) get(GitHubAttributesDefinition.LOGIN);
+        return (String) get(LOGIN);
     }
     
     public Gender getGender() {
@@ -195,86 +223,86 @@ public class GitHubProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getPictureUrl() {
-        return (String) get(GitHubAttributesDefinition.AVATAR_URL);
+        return (String) get(AVATAR_URL);
     }
     
     public String getProfileUrl() {
-        return (String) get(GitHubAttributesDefinition.HTML_URL);
+        return (String) get(HTML_URL);
     }
     
     public String getLocation() {
-        return (String) get(GitHubAttributesDefinition.LOCATION);
+        return (String) get(LOCATION);
     }
     
     public String getCompany() {
-        return (String) get(GitHubAttributesDefinition.COMPANY);
+        return (String) get(COMPANY);
     }
     
     public Integer getFollowing() {
-        return (Integer) get(GitHubAttributesDefinition.FOLLOWING);
+        return (Integer) get(FOLLOWING);
     }
     
     public String getBlog() {
-        return (String) get(GitHubAttributesDefinition.BLOG);
+        return (String) get(BLOG);
     }
     
     public Integer getPublicRepos() {
-        return (Integer) get(GitHubAttributesDefinition.PUBLIC_REPOS);
+        return (Integer) get(PUBLIC_REPOS);
     }
     
     public Integer getPublicGists() {
-        return (Integer) get(GitHubAttributesDefinition.PUBLIC_GISTS);
+        return (Integer) get(PUBLIC_GISTS);
     }
     
     public Integer getDiskUsage() {
-        return (Integer) get(GitHubAttributesDefinition.DISK_USAGE);
+        return (Integer) get(DISK_USAGE);
     }
     
     public Integer getCollaborators() {
-        return (Integer) get(GitHubAttributesDefinition.COLLABORATORS);
+        return (Integer) get(COLLABORATORS);
     }
     
     public GitHubPlan getPlan() {
-        return (GitHubPlan) get(GitHubAttributesDefinition.PLAN);
+        return (GitHubPlan) get(PLAN);
     }
     
     public Integer getOwnedPrivateRepos() {
-        return (Integer) get(GitHubAttributesDefinition.OWNED_PRIVATE_REPOS);
+        return (Integer) get(OWNED_PRIVATE_REPOS);
     }
     
     public Integer getTotalPrivateRepos() {
-        return (Integer) get(GitHubAttributesDefinition.TOTAL_PRIVATE_REPOS);
+        return (Integer) get(TOTAL_PRIVATE_REPOS);
     }
     
     public Integer getPrivateGists() {
-        return (Integer) get(GitHubAttributesDefinition.PRIVATE_GISTS);
+        return (Integer) get(PRIVATE_GISTS);
     }
     
     public Integer getFollowers() {
-        return (Integer) get(GitHubAttributesDefinition.FOLLOWERS);
+        return (Integer) get(FOLLOWERS);
     }
     
     public Date getCreatedAt() {
-        return (Date) get(GitHubAttributesDefinition.CREATED_AT);
+        return (Date) get(CREATED_AT);
     }
     
     public String getType() {
-        return (String) get(GitHubAttributesDefinition.TYPE);
+        return (String) get(TYPE);
     }
     
     public String getGravatarId() {
-        return (String) get(GitHubAttributesDefinition.GRAVATAR_ID);
+        return (String) get(GRAVATAR_ID);
     }
     
     public String getUrl() {
-        return (String) get(GitHubAttributesDefinition.URL);
+        return (String) get(URL);
     }
     
     public Boolean getHireable() {
-        return (Boolean) get(GitHubAttributesDefinition.HIREABLE);
+        return (Boolean) get(HIREABLE);
     }
     
     public String getBio() {
-        return (String) get(GitHubAttributesDefinition.BIO);
+        return (String) get(BIO);
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.scribe.up.profile.google;
 
+import org.scribe.up.profile.JsonObjectFactory;
 import org.scribe.up.profile.converter.JsonListConverter;
 
 /**
@@ -25,5 +26,13 @@ import org.scribe.up.profile.converter.JsonListConverter;
  */
 public final class GoogleConverters {
     
-    public final static JsonListConverter listObjectConverter = new JsonListConverter(GoogleObject.class);
+    // the factories of the JSON objects, to create them without reflection
+    private final static JsonObjectFactory<GoogleObject> googleObjectFactory = new JsonObjectFactory<GoogleObject>() {
+        
+        public GoogleObject newInstance() {
+            return new GoogleObject();
+        }
+    };
+    
+    public final static JsonListConverter listObjectConverter = new JsonListConverter(GoogleObject.class, googleObjectFactory);
 }
@@ -106,9 +106,22 @@ public class GoogleProfile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = 5674515806714296361L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.googleDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int GIVEN_NAME = DEFINITION.getIndex(GoogleAttributesDefinition.GIVEN_NAME);
+    private static final int FAMILY_NAME = DEFINITION.getIndex(GoogleAttributesDefinition.FAMILY_NAME);
+    private static final int DISPLAY_NAME = DEFINITION.getIndex(GoogleAttributesDefinition.DISPLAY_NAME);
+    private static final int THUMBNAIL_URL = DEFINITION.getIndex(GoogleAttributesDefinition.THUMBNAIL_URL);
+    private static final int PROFILE_URL = DEFINITION.getIndex(GoogleAttributesDefinition.PROFILE_URL);
+    private static final int IS_VIEWER = DEFINITION.getIndex(GoogleAttributesDefinition.IS_VIEWER);
+    private static final int FORMATTED = DEFINITION.getIndex(GoogleAttributesDefinition.FORMATTED);
+    private static final int URLS = DEFINITION.getIndex(GoogleAttributesDefinition.URLS);
+    private static final int PHOTOS = DEFINITION.getIndex(GoogleAttributesDefinition.PHOTOS);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.googleDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
@@ -116,15 +129,15 @@ public class GoogleProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getFirstName() {
-        return (String) get(GoogleAttributesDefinition.GIVEN_NAME);
+        return (String) get(GIVEN_NAME);
     }
     
     public String getFamilyName() {
-        return (String) get(GoogleAttributesDefinition.FAMILY_NAME);
+        return (String) get(FAMILY_NAME);
     }
     
     public String getDisplayName() {
-        return (String) get(GoogleAttributesDefinition.DISPLAY_NAME);
+        return (String) get(DISPLAY_NAME);
     }
     
     public String getUsername() {
@@ -140,11 +153,11 @@ public class GoogleProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getPictureUrl() {
-        return (String) get(GoogleAttributesDefinition.THUMBNAIL_URL);
+        return (String) get(THUMBNAIL_URL);
     }
     
     public String getProfileUrl() {
-        return (String) get(GoogleAttributesDefinition.PROFILE_URL);
+        return (String) get(PROFILE_URL);
     }
     
     public String getLocation() {
@@ -152,18 +165,18 @@ public class GoogleProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public Boolean getIsViewer() {
-        return (Boolean) get(GoogleAttributesDefinition.IS_VIEWER);
+        return (Boolean) get(IS_VIEWER);
     }
     
     public String getFormatted() {
-        return (String) get(GoogleAttributesDefinition.FORMATTED);
+        return (String) get(FORMATTED);
     }
     
     public List<GoogleObject> getUrls() {
-        return (List<GoogleObject>) get(GoogleAttributesDefinition.URLS);
+        return (List<GoogleObject>) get(URLS);
     }
     
     public List<GoogleObject> getPhotos() {
-        return (List<GoogleObject>) get(GoogleAttributesDefinition.PHOTOS);
+        return (List<GoogleObject>) get(PHOTOS);
     }
 }
@@ -97,25 +97,39 @@ public class Google2Profile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = -548478189554708977L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.google2Definition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int EMAIL = DEFINITION.getIndex(Google2AttributesDefinition.EMAIL);
+    private static final int GIVEN_NAME = DEFINITION.getIndex(Google2AttributesDefinition.GIVEN_NAME);
+    private static final int FAMILY_NAME = DEFINITION.getIndex(Google2AttributesDefinition.FAMILY_NAME);
+    private static final int NAME = DEFINITION.getIndex(Google2AttributesDefinition.NAME);
+    private static final int GENDER = DEFINITION.getIndex(Google2AttributesDefinition.GENDER);
+    private static final int LOCALE = DEFINITION.getIndex(Google2AttributesDefinition.LOCALE);
+    private static final int PICTURE = DEFINITION.getIndex(Google2AttributesDefinition.PICTURE);
+    private static final int LINK = DEFINITION.getIndex(Google2AttributesDefinition.LINK);
+    private static final int VERIFIED_EMAIL = DEFINITION.getIndex(Google2AttributesDefinition.VERIFIED_EMAIL);
+    private static final int BIRTHDAY = DEFINITION.getIndex(Google2AttributesDefinition.BIRTHDAY);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.google2Definition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
-        return (String) get(Google2AttributesDefinition.EMAIL);
+        return (String) get(EMAIL);
     }
     
     public String getFirstName() {
-        return (String) get(Google2AttributesDefinition.GIVEN_NAME);
+        return (String) get(GIVEN_NAME);
     }
     
     public String getFamilyName() {
-        return (String) get(Google2AttributesDefinition.FAMILY_NAME);
+        return (String) get(FAMILY_NAME);
     }
     
     public String getDisplayName() {
-        return (String) get(Google2AttributesDefinition.NAME);
+        return (String) get(NAME);
     }
     
     public String getUsername() {
@@ -123,19 +137,19 @@ public class Google2Profile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public Gender getGender() {
-        return (Gender) get(Google2AttributesDefinition.GENDER);
+        return (Gender) get(GENDER);
     }
     
     public Locale getLocale() {
-        return (Locale) get(Google2AttributesDefinition.LOCALE);
+        return (Locale) get(LOCALE);
     }
     
     public String getPictureUrl() {
-        return (String) get(Google2AttributesDefinition.PICTURE);
+        return (String) get(PICTURE);
     }
     
     public String getProfileUrl() {
-        return (String) get(Google2AttributesDefinition.LINK);
+        return (String) get(LINK);
     }
     
     public String getLocation() {
@@ -143,10 +157,10 @@ public class Google2Profile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public Boolean getVerifiedEmail() {
-        return (Boolean) get(Google2AttributesDefinition.VERIFIED_EMAIL);
+        return (Boolean) get(VERIFIED_EMAIL);
     }
     
     public Date getBirthday() {
-        return (Date) get(Google2AttributesDefinition.BIRTHDAY);
+        return (Date) get(BIRTHDAY);
     }
 }
@@ -92,9 +92,17 @@ public class LinkedInProfile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = 8075261836932071663L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.linkedinDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int FIRST_NAME = DEFINITION.getIndex(LinkedInAttributesDefinition.FIRST_NAME);
+    private static final int LAST_NAME = DEFINITION.getIndex(LinkedInAttributesDefinition.LAST_NAME);
+    private static final int URL = DEFINITION.getIndex(LinkedInAttributesDefinition.URL);
+    private static final int HEADLINE = DEFINITION.getIndex(LinkedInAttributesDefinition.HEADLINE);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.linkedinDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
@@ -102,11 +110,11 @@ public class LinkedInProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getFirstName() {
-        return (String) get(LinkedInAttributesDefinition.FIRST_NAME);
+        return (String) get(FIRST_NAME);
     }
     
     public String getFamilyName() {
-        return (String) get(LinkedInAttributesDefinition.LAST_NAME);
+        return (String) get(LAST_NAME);
     }
     
     public String getDisplayName() {
@@ -130,7 +138,7 @@ public class LinkedInProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getProfileUrl() {
-        return (String) get(LinkedInAttributesDefinition.URL);
+        return (String) get(URL);
     }
     
     public String getLocation() {
@@ -138,6 +146,6 @@ public class LinkedInProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getHeadline() {
-        return (String) get(LinkedInAttributesDefinition.HEADLINE);
+        return (String) get(HEADLINE);
     }
 }
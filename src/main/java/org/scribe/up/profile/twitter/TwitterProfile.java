@@ -210,9 +210,49 @@ public class TwitterProfile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = 3188083558717904310L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.twitterDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int NAME = DEFINITION.getIndex(TwitterAttributesDefinition.NAME);
+    private static final int SCREEN_NAME = DEFINITION.getIndex(TwitterAttributesDefinition.SCREEN_NAME);
+    private static final int LANG = DEFINITION.getIndex(TwitterAttributesDefinition.LANG);
+    private static final int PROFILE_IMAGE_URL = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_IMAGE_URL);
+    private static final int URL = DEFINITION.getIndex(TwitterAttributesDefinition.URL);
+    private static final int LOCATION = DEFINITION.getIndex(TwitterAttributesDefinition.LOCATION);
+    private static final int CONTRIBUTORS_ENABLED = DEFINITION.getIndex(TwitterAttributesDefinition.CONTRIBUTORS_ENABLED);
+    private static final int CREATED_AT = DEFINITION.getIndex(TwitterAttributesDefinition.CREATED_AT);
+    private static final int DEFAULT_PROFILE = DEFINITION.getIndex(TwitterAttributesDefinition.DEFAULT_PROFILE);
+    private static final int DEFAULT_PROFILE_IMAGE = DEFINITION.getIndex(TwitterAttributesDefinition.DEFAULT_PROFILE_IMAGE);
+    private static final int DESCRIPTION = DEFINITION.getIndex(TwitterAttributesDefinition.DESCRIPTION);
+    private static final int FAVOURITES_COUNT = DEFINITION.getIndex(TwitterAttributesDefinition.FAVOURITES_COUNT);
+    private static final int FOLLOW_REQUEST_SENT = DEFINITION.getIndex(TwitterAttributesDefinition.FOLLOW_REQUEST_SENT);
+    private static final int FOLLOWERS_COUNT = DEFINITION.getIndex(TwitterAttributesDefinition.FOLLOWERS_COUNT);
+    private static final int FOLLOWING = DEFINITION.getIndex(TwitterAttributesDefinition.FOLLOWING);
+    private static final int FRIENDS_COUNT = DEFINITION.getIndex(TwitterAttributesDefinition.FRIENDS_COUNT);
+    private static final int GEO_ENABLED = DEFINITION.getIndex(TwitterAttributesDefinition.GEO_ENABLED);
+    private static final int IS_TRANSLATOR = DEFINITION.getIndex(TwitterAttributesDefinition.IS_TRANSLATOR);
+    private static final int LISTED_COUNT = DEFINITION.getIndex(TwitterAttributesDefinition.LISTED_COUNT);
+    private static final int NOTIFICATIONS = DEFINITION.getIndex(TwitterAttributesDefinition.NOTIFICATIONS);
+    private static final int PROFILE_BACKGROUND_COLOR = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_BACKGROUND_COLOR);
+    private static final int PROFILE_BACKGROUND_IMAGE_URL = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_BACKGROUND_IMAGE_URL);
+    private static final int PROFILE_BACKGROUND_IMAGE_URL_HTTPS = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_BACKGROUND_IMAGE_URL_HTTPS);
+    private static final int PROFILE_BACKGROUND_TILE = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_BACKGROUND_TILE);
+    private static final int PROFILE_IMAGE_URL_HTTPS = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_IMAGE_URL_HTTPS);
+    private static final int PROFILE_LINK_COLOR = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_LINK_COLOR);
+    private static final int PROFILE_SIDEBAR_BORDER_COLOR = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_SIDEBAR_BORDER_COLOR);
+    private static final int PROFILE_SIDEBAR_FILL_COLOR = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_SIDEBAR_FILL_COLOR);
+    private static final int PROFILE_TEXT_COLOR = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_TEXT_COLOR);
+    private static final int PROFILE_USE_BACKGROUND_IMAGE = DEFINITION.getIndex(TwitterAttributesDefinition.PROFILE_USE_BACKGROUND_IMAGE);
+    private static final int PROTECTED = DEFINITION.getIndex(TwitterAttributesDefinition.PROTECTED);
+    private static final int SHOW_ALL_INLINE_MEDIA = DEFINITION.getIndex(TwitterAttributesDefinition.SHOW_ALL_INLINE_MEDIA);
+    private static final int STATUSES_COUNT = DEFINITION.getIndex(TwitterAttributesDefinition.STATUSES_COUNT);
+    private static final int TIME_ZONE = DEFINITION.getIndex(TwitterAttributesDefinition.TIME_ZONE);
+    private static final int UTC_OFFSET = DEFINITION.getIndex(TwitterAttributesDefinition.UTC_OFFSET);
+    private static final int VERIFIED = DEFINITION.getIndex(TwitterAttributesDefinition.VERIFIED);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.twitterDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
@@ -228,11 +268,11 @@ public class TwitterProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getDisplayName() {
-        return (String) get(TwitterAttributesDefinition.NAME);
+        return (String) get(NAME);
     }
     
     public String getUsername() {
-        return (String) get(TwitterAttributesDefinition.SCREEN_NAME);
+        return (String) get(SCREEN_NAME);
     }
     
     public Gender getGender() {
@@ -240,138 +280,138 @@ public class TwitterProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public Locale getLocale() {
-        return (Locale) get(TwitterAttributesDefinition.LANG);
+        return (Locale) get(LANG);
     }
     
     public String getPictureUrl() {
-        return (String) get(TwitterAttributesDefinition.PROFILE_IMAGE_URL);
+        return (String) get(PROFILE_IMAGE_URL);
     }
     
     public String getProfileUrl() {
-        return (String) get(TwitterAttributesDefinition.URL);
+        return (String) get(URL);
     }
     
     public String getLocation() {
-        return (String) get(TwitterAttributesDefinition.LOCATION);
+        return (String) get(LOCATION);
     }
     
     public Boolean getContributorsEnabled() {
-        return (Boolean) get(TwitterAttributesDefinition.CONTRIBUTORS_ENABLED);
+        return (Boolean) get(CONTRIBUTORS_ENABLED);
     }
     
     public Date getCreatedAt() {
-        return (Date) get(TwitterAttributesDefinition.CREATED_AT);
+        return (Date) get(CREATED_AT);
     }
     
     public Boolean getDefaultProfile() {
-        return (Boolean) get(TwitterAttributesDefinition.DEFAULT_PROFILE);
+        return (Boolean) get(DEFAULT_PROFILE);
     }
     
     public Boolean getDefaultProfileImage() {
-        return (Boolean) get(TwitterAttributesDefinition.DEFAULT_PROFILE_IMAGE);
+        return (Boolean) get(DEFAULT_PROFILE_IMAGE);
     }
     
     public String getDescription() {
-        return (String) get(TwitterAttributesDefinition.DESCRIPTION);
+        return (String) get(DESCRIPTION);
     }
     
     public Integer getFavouritesCount() {
-        return (Integer) get(TwitterAttributesDefinition.FAVOURITES_COUNT);
+        return (Integer) get(FAVOURITES_COUNT);
     }
     
     public Boolean getFollowRequestSent() {
-        return (Boolean) get(TwitterAttributesDefinition.FOLLOW_REQUEST_SENT);
+        return (Boolean) get(FOLLOW_REQUEST_SENT);
     }
     
     public Integer getFollowersCount() {
-        return (Integer) get(TwitterAttributesDefinition.FOLLOWERS_COUNT);
+        return (Integer) get(FOLLOWERS_COUNT);
     }
     
     public Boolean getFollowing() {
-        return (Boolean) get(TwitterAttributesDefinition.FOLLOWING);
+        return (Boolean) get(FOLLOWING);
     }
     
     public Integer getFriendsCount() {
-        return (Integer) get(TwitterAttributesDefinition.FRIENDS_COUNT);
+        return (Integer) get(FRIENDS_COUNT);
     }
     
     public Boolean getGeoEnabled() {
-        return (Boolean) get(TwitterAttributesDefinition.GEO_ENABLED);
+        return (Boolean) get(GEO_ENABLED);
     }
     
     public Boolean getIsTranslator() {
-        return (Boolean) get(TwitterAttributesDefinition.IS_TRANSLATOR);
+        return (Boolean) get(IS_TRANSLATOR);
     }
     
     public Integer getListedCount() {
-        return (Integer) get(TwitterAttributesDefinition.LISTED_COUNT);
+        return (Integer) get(LISTED_COUNT);
     }
     
     public Boolean getNotifications() {
-        return (Boolean) get(TwitterAttributesDefinition.NOTIFICATIONS);
+        return (Boolean) get(NOTIFICATIONS);
     }
     
     public Color getProfileBackgroundColor() {
-        return (Color) get(TwitterAttributesDefinition.PROFILE_BACKGROUND_COLOR);
+        return (Color) get(PROFILE_BACKGROUND_COLOR);
     }
     
     public String getProfileBackgroundImageUrl() {
-        return (String) get(TwitterAttributesDefinition.PROFILE_BACKGROUND_IMAGE_URL);
+        return (String) get(PROFILE_BACKGROUND_IMAGE_URL);
     }
     
     public String getProfileBackgroundImageUrlHttps() {
-        return (String) get(TwitterAttributesDefinition.PROFILE_BACKGROUND_IMAGE_URL_HTTPS);
+        return (String) get(PROFILE_BACKGROUND_IMAGE_URL_HTTPS);
     }
     
     public Boolean getProfileBackgroundTile() {
-        return (Boolean) get(TwitterAttributesDefinition.PROFILE_BACKGROUND_TILE);
+        return (Boolean) get(PROFILE_BACKGROUND_TILE);
     }
     
     public String getProfileImageUrlHttps() {
-        return (String) get(TwitterAttributesDefinition.PROFILE_IMAGE_URL_HTTPS);
+        return (String) get(PROFILE_IMAGE_URL_HTTPS);
     }
     
     public Color getProfileLinkColor() {
-        return (Color) get(TwitterAttributesDefinition.PROFILE_LINK_COLOR);
+        return (Color) get(PROFILE_LINK_COLOR);
     }
     
     public Color getProfileSidebarBorderColor() {
-        return (Color) get(TwitterAttributesDefinition.PROFILE_SIDEBAR_BORDER_COLOR);
+        return (Color) get(PROFILE_SIDEBAR_BORDER_COLOR);
     }
     
     public Color getProfileSidebarFillColor() {
-        return (Color) get(TwitterAttributesDefinition.PROFILE_SIDEBAR_FILL_COLOR);
+        return (Color) get(PROFILE_SIDEBAR_FILL_COLOR);
     }
     
     public Color getProfileTextColor() {
-        return (Color) get(TwitterAttributesDefinition.PROFILE_TEXT_COLOR);
+        return (Color) get(PROFILE_TEXT_COLOR);
     }
     
     public Boolean getProfileUseBackgroundImage() {
-        return (Boolean) get(TwitterAttributesDefinition.PROFILE_USE_BACKGROUND_IMAGE);
+        return (Boolean) get(PROFILE_USE_BACKGROUND_IMAGE);
     }
     
     public Boolean getProtected() {
-        return (Boolean) get(TwitterAttributesDefinition.PROTECTED);
+        return (Boolean) get(PROTECTED);
     }
     
     public Boolean getShowAllInlineMedia() {
-        return (Boolean) get(TwitterAttributesDefinition.SHOW_ALL_INLINE_MEDIA);
+        return (Boolean) get(SHOW_ALL_INLINE_MEDIA);
     }
     
     public Integer getStatusesCount() {
-        return (Integer) get(TwitterAttributesDefinition.STATUSES_COUNT);
+        return (Integer) get(STATUSES_COUNT);
     }
     
     public String getTimeZone() {
-        return (String) get(TwitterAttributesDefinition.TIME_ZONE);
+        return (String) get(TIME_ZONE);
     }
     
     public Integer getUtcOffset() {
-        return (Integer) get(TwitterAttributesDefinition.UTC_OFFSET);
+        return (Integer) get(UTC_OFFSET);
     }
     
     public Boolean getVerified() {
-        return (Boolean) get(TwitterAttributesDefinition.VERIFIED);
+        return (Boolean) get(VERIFIED);
     }
 }
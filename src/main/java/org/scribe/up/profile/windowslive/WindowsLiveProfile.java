@@ -93,9 +93,20 @@ public class WindowsLiveProfile extends BaseOAuthProfile implements CommonProfil
     
     private static final long serialVersionUID = 7272212765149980996L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.windowsLiveDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int FIRST_NAME = DEFINITION.getIndex(WindowsLiveAttributesDefinition.FIRST_NAME);
+    private static final int LAST_NAME = DEFINITION.getIndex(WindowsLiveAttributesDefinition.LAST_NAME);
+    private static final int NAME = DEFINITION.getIndex(WindowsLiveAttributesDefinition.NAME);
+    private static final int GENDER = DEFINITION.getIndex(WindowsLiveAttributesDefinition.GENDER);
+    private static final int LOCALE = DEFINITION.getIndex(WindowsLiveAttributesDefinition.LOCALE);
+    private static final int LINK = DEFINITION.getIndex(WindowsLiveAttributesDefinition.LINK);
+    private static final int UPDATED_TIME = DEFINITION.getIndex(WindowsLiveAttributesDefinition.UPDATED_TIME);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.windowsLiveDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
@@ -103,15 +114,15 @@ public class WindowsLiveProfile extends BaseOAuthProfile implements CommonProfil
     }
     
     public String getFirstName() {
-        return (String) get(WindowsLiveAttributesDefinition.FIRST_NAME);
+        return (String) get(FIRST_NAME);
     }
     
     public String getFamilyName() {
-        return (String) get(WindowsLiveAttributesDefinition.LAST_NAME);
+        return (String) get(LAST_NAME);
     }
     
     public String getDisplayName() {
-        return (String) get(WindowsLiveAttributesDefinition.NAME);
+        return (String) get(NAME);
     }
     
     public String getUsername() {
@@ -119,11 +130,11 @@ public class WindowsLiveProfile extends BaseOAuthProfile implements CommonProfil
     }
     
     public Gender getGender() {
-        return (Gender) get(WindowsLiveAttributesDefinition.GENDER);
+        return (Gender) get(GENDER);
     }
     
     public Locale getLocale() {
-        return (Locale) get(WindowsLiveAttributesDefinition.LOCALE);
+        return (Locale) get(LOCALE);
     }
     
     public String getPictureUrl() {
@@ -131,7 +142,7 @@ public class WindowsLiveProfile extends BaseOAuthProfile implements CommonProfil
     }
     
     public String getProfileUrl() {
-        return (String) get(WindowsLiveAttributesDefinition.LINK);
+        return (String) get(LINK);
     }
     
     public String getLocation() {
@@ -139,6 +150,6 @@ public class WindowsLiveProfile extends BaseOAuthProfile implements CommonProfil
     }
     
     public Date getUpdatedTime() {
-        return (Date) get(WindowsLiveAttributesDefinition.UPDATED_TIME);
+        return (Date) get(UPDATED_TIME);
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.scribe.up.profile.wordpress;
 
+import org.scribe.up.profile.JsonObjectFactory;
 import org.scribe.up.profile.converter.JsonObjectConverter;
 
 /**
@@ -24,5 +25,14 @@ import org.scribe.up.profile.converter.JsonObjectConverter;
  * @since 1.1.0
  */
 public final class WordPressConverters {
-    public final static JsonObjectConverter linksConverter = new JsonObjectConverter(WordPressLinks.class);
+    
+    // the factories of the JSON objects, to create them without reflection
+    private final static JsonObjectFactory<WordPressLinks> wordPressLinksFactory = new JsonObjectFactory<WordPressLinks>() {
+        
+        public WordPressLinks newInstance() {
+            return new WordPressLinks();
+        }
+    };
+    
+    public final static JsonObjectConverter linksConverter = new JsonObjectConverter(wordPressLinksFactory);
 }
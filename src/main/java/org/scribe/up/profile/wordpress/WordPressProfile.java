@@ -96,13 +96,24 @@ public class WordPressProfile extends BaseOAuthProfile implements CommonProfile
     
     private static final long serialVersionUID = 3032105545033626890L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.wordPressDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int EMAIL = DEFINITION.getIndex(WordPressAttributesDefinition.EMAIL);
+    private static final int DISPLAY_NAME = DEFINITION.getIndex(WordPressAttributesDefinition.DISPLAY_NAME);
+    private static final int USERNAME = DEFINITION.getIndex(WordPressAttributesDefinition.USERNAME);
+    private static final int AVATAR_URL = DEFINITION.getIndex(WordPressAttributesDefinition.AVATAR_URL);
+    private static final int PROFILE_URL = DEFINITION.getIndex(WordPressAttributesDefinition.PROFILE_URL);
+    private static final int PRIMARY_BLOG = DEFINITION.getIndex(WordPressAttributesDefinition.PRIMARY_BLOG);
+    private static final int LINKS = DEFINITION.getIndex(WordPressAttributesDefinition.LINKS);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.wordPressDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
-        return (String) get(WordPressAttributesDefinition.EMAIL);
+        return (String) get(EMAIL);
     }
     
     public String getFirstName() {
@@ -114,11 +125,11 @@ public class WordPressProfile extends BaseOAuthProfile implements CommonProfile
     }
     
     public String getDisplayName() {
-        return (String) get(WordPressAttributesDefinition.DISPLAY_NAME);
+        return (String) get(DISPLAY_NAME);
     }
     
     public String getUsername() {
-        return (String) get(WordPressAttributesDefinition.USERNAME);
+        return (String) get(USERNAME);
     }
     
     public Gender getGender() {
@@ -130,11 +141,11 @@ public class WordPressProfile extends BaseOAuthProfile implements CommonProfile
     }
     
     public String getPictureUrl() {
-        return (String) get(WordPressAttributesDefinition.AVATAR_URL);
+        return (String) get(AVATAR_URL);
     }
     
     public String getProfileUrl() {
-        return (String) get(WordPressAttributesDefinition.PROFILE_URL);
+        return (String) get(PROFILE_URL);
     }
     
     public String getLocation() {
@@ -142,10 +153,10 @@ public class WordPressProfile extends BaseOAuthProfile implements CommonProfile
     }
     
     public Integer getPrimaryBlog() {
-        return (Integer) get(WordPressAttributesDefinition.PRIMARY_BLOG);
+        return (Integer) get(PRIMARY_BLOG);
     }
     
     public WordPressLinks getLinks() {
-        return (WordPressLinks) get(WordPressAttributesDefinition.LINKS);
+        return (WordPressLinks) get(LINKS);
     }
 }
@@ -15,6 +15,7 @@
  */
 package org.scribe.up.profile.yahoo;
 
+import org.scribe.up.profile.JsonObjectFactory;
 import org.scribe.up.profile.converter.FormattedDateConverter;
 import org.scribe.up.profile.converter.GenderConverter;
 import org.scribe.up.profile.converter.JsonListConverter;
@@ -28,19 +29,55 @@ import org.scribe.up.profile.converter.JsonObjectConverter;
  */
 public final class YahooConverters {
     
-    public final static JsonListConverter listAddressConverter = new JsonListConverter(YahooAddress.class);
+    // the factories of the JSON objects, to create them without reflection
+    private final static JsonObjectFactory<YahooAddress> yahooAddressFactory = new JsonObjectFactory<YahooAddress>() {
+        
+        public YahooAddress newInstance() {
+            return new YahooAddress();
+        }
+    };
+    
+    private final static JsonObjectFactory<YahooDisclosure> yahooDisclosureFactory = new JsonObjectFactory<YahooDisclosure>() {
+        
+        public YahooDisclosure newInstance() {
+            return new YahooDisclosure();
+        }
+    };
+    
+    private final static JsonObjectFactory<YahooEmail> yahooEmailFactory = new JsonObjectFactory<YahooEmail>() {
+        
+        public YahooEmail newInstance() {
+            return new YahooEmail();
+        }
+    };
+    
+    private final static JsonObjectFactory<YahooImage> yahooImageFactory = new JsonObjectFactory<YahooImage>() {
+        
+        public YahooImage newInstance() {
+            return new YahooImage();
+        }
+    };
+    
+    private final static JsonObjectFactory<YahooInterest> yahooInterestFactory = new JsonObjectFactory<YahooInterest>() {
+        
+        public YahooInterest newInstance() {
+            return new YahooInterest();
+        }
+    };
+    
+    public final static JsonListConverter listAddressConverter = new JsonListConverter(YahooAddress.class, yahooAddressFactory);
     
     public final static FormattedDateConverter birthdateConverter = new FormattedDateConverter("MM/dd");
     
     public final static FormattedDateConverter dateConverter = new FormattedDateConverter("yyyy-MM-dd'T'HH:mm:ss'Z'");
     
-    public final static JsonListConverter listDisclosureConverter = new JsonListConverter(YahooDisclosure.class);
+    public final static JsonListConverter listDisclosureConverter = new JsonListConverter(YahooDisclosure.class, yahooDisclosureFactory);
     
-    public final static JsonListConverter listEmailConverter = new JsonListConverter(YahooEmail.class);
+    public final static JsonListConverter listEmailConverter = new JsonListConverter(YahooEmail.class, yahooEmailFactory);
     
     public final static GenderConverter genderConverter = new GenderConverter("m", "f");
     
-    public final static JsonObjectConverter imageConverter = new JsonObjectConverter(YahooImage.class);
+    public final static JsonObjectConverter imageConverter = new JsonObjectConverter(yahooImageFactory);
     
-    public final static JsonListConverter listInterestConverter = new JsonListConverter(YahooInterest.class);
+    public final static JsonListConverter listInterestConverter = new JsonListConverter(YahooInterest.class, yahooInterestFactory);
 }
@@ -151,9 +151,35 @@ public class YahooProfile extends BaseOAuthProfile implements CommonProfile {
     
     private static final long serialVersionUID = 4488038951978277301L;
     
+    private static final AttributesDefinition DEFINITION = OAuthAttributesDefinitions.yahooDefinition;
+    
+    // the indexes of the attributes, resolved once
+    private static final int GIVEN_NAME = DEFINITION.getIndex(YahooAttributesDefinition.GIVEN_NAME);
+    private static final int FAMILY_NAME = DEFINITION.getIndex(YahooAttributesDefinition.FAMILY_NAME);
+    private static final int NICKNAME = DEFINITION.getIndex(YahooAttributesDefinition.NICKNAME);
+    private static final int GENDER = DEFINITION.getIndex(YahooAttributesDefinition.GENDER);
+    private static final int LANG = DEFINITION.getIndex(YahooAttributesDefinition.LANG);
+    private static final int IMAGE = DEFINITION.getIndex(YahooAttributesDefinition.IMAGE);
+    private static final int PROFILE_URL = DEFINITION.getIndex(YahooAttributesDefinition.PROFILE_URL);
+    private static final int LOCATION = DEFINITION.getIndex(YahooAttributesDefinition.LOCATION);
+    private static final int ABOUT_ME = DEFINITION.getIndex(YahooAttributesDefinition.ABOUT_ME);
+    private static final int ADDRESSES = DEFINITION.getIndex(YahooAttributesDefinition.ADDRESSES);
+    private static final int BIRTH_YEAR = DEFINITION.getIndex(YahooAttributesDefinition.BIRTH_YEAR);
+    private static final int BIRTHDATE = DEFINITION.getIndex(YahooAttributesDefinition.BIRTHDATE);
+    private static final int CREATED = DEFINITION.getIndex(YahooAttributesDefinition.CREATED);
+    private static final int DISPLAY_AGE = DEFINITION.getIndex(YahooAttributesDefinition.DISPLAY_AGE);
+    private static final int DISCLOSURES = DEFINITION.getIndex(YahooAttributesDefinition.DISCLOSURES);
+    private static final int EMAILS = DEFINITION.getIndex(YahooAttributesDefinition.EMAILS);
+    private static final int INTERESTS = DEFINITION.getIndex(YahooAttributesDefinition.INTERESTS);
+    private static final int IS_CONNECTED = DEFINITION.getIndex(YahooAttributesDefinition.IS_CONNECTED);
+    private static final int MEMBER_SINCE = DEFINITION.getIndex(YahooAttributesDefinition.MEMBER_SINCE);
+    private static final int TIME_ZONE = DEFINITION.getIndex(YahooAttributesDefinition.TIME_ZONE);
+    private static final int UPDATED = DEFINITION.getIndex(YahooAttributesDefinition.UPDATED);
+    private static final int URI = DEFINITION.getIndex(YahooAttributesDefinition.URI);
+    
     @Override
-    protected AttributesDefinition getAttributesDefinition() {
-        return OAuthAttributesDefinitions.yahooDefinition;
+    protected final AttributesDefinition getAttributesDefinition() {
+        return DEFINITION;
     }
     
     public String getEmail() {
@@ -169,11 +195,11 @@ public class YahooProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getFirstName() {
-        return (String) get(YahooAttributesDefinition.GIVEN_NAME);
+        return (String) get(GIVEN_NAME);
     }
     
     public String getFamilyName() {
-        return (String) get(YahooAttributesDefinition.FAMILY_NAME);
+        return (String) get(FAMILY_NAME);
     }
     
     public String getDisplayName() {
@@ -181,19 +207,19 @@ public class YahooProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getUsername() {
-        return (String) get(YahooAttributesDefinition.NICKNAME);
+        return (String) get(NICKNAME);
     }
     
     public Gender getGender() {
-        return (Gender) get(YahooAttributesDefinition.GENDER);
+        return (Gender) get(GENDER);
     }
     
     public Locale getLocale() {
-        return (Locale) get(YahooAttributesDefinition.LANG);
+        return (Locale) get(LANG);
     }
     
     public String getPictureUrl() {
-        final YahooImage yahooImage = (YahooImage) get(YahooAttributesDefinition.IMAGE);
+        final YahooImage yahooImage = (YahooImage) get(IMAGE);
         if (yahooImage != null) {
             return yahooImage.getImageUrl();
         }
@@ -201,70 +227,70 @@ public class YahooProfile extends BaseOAuthProfile implements CommonProfile {
     }
     
     public String getProfileUrl() {
-        return (String) get(YahooAttributesDefinition.PROFILE_URL);
+        return (String) get(PROFILE_URL);
     }
     
     public String getLocation() {
-        return (String) get(YahooAttributesDefinition.LOCATION);
+        return (String) get(LOCATION);
     }
     
     public String getAboutMe() {
-        return (String) get(YahooAttributesDefinition.ABOUT_ME);
+        return (String) get(ABOUT_ME);
     }
     
     public List<YahooAddress> getAddresses() {
-        return (List<YahooAddress>) get(YahooAttributesDefinition.ADDRESSES);
+        return (List<YahooAddress>) get(ADDRESSES);
     }
     
     public Integer getBirthYear() {
-        return (Integer) get(YahooAttributesDefinition.BIRTH_YEAR);
+        return (Integer) get(BIRTH_YEAR);
     }
     
     public Date getBirthdate() {
-        return (Date) get(YahooAttributesDefinition.BIRTHDATE);
+        return (Date) get(BIRTHDATE);
     }
     
     public Date getCreated() {
-        return (Date) get(YahooAttributesDefinition.CREATED);
+        return (Date) get(CREATED);
     }
     
     public Integer getDisplayAge() {
-        return (Integer) get(YahooAttributesDefinition.DISPLAY_AGE);
+        return (Integer) get(DISPLAY_AGE);
     }
     
     public List<YahooDisclosure> getDisclosures() {
-        return (List<YahooDisclosure>) get(YahooAttributesDefinition.DISCLOSURES);
+        return (List<YahooDisclosure>) get(DISCLOSURES);
     }
     
     public List<YahooEmail> getEmails() {
-        return (List<YahooEmail>) get(YahooAttributesDefinition.EMAILS);
+        return (List<YahooEmail>) get(EMAILS);
     }
     
     public YahooImage getImage() {
-        return (YahooImage) get(YahooAttributesDefinition.IMAGE);
+        return (YahooImage) get(IMAGE);
     }
     
     public List<YahooInterest> getInterests() {
-        return (List<YahooInterest>) get(YahooAttributesDefinition.INTERESTS);
+        return (List<YahooInterest>) get(INTERESTS);
     }
     
     public Boolean getIsConnected() {
-        return (Boolean) get(YahooAttributesDefinition.IS_CONNECTED);
+        return (Boolean) get(IS_CONNECTED);
     }
     
     public Date getMemberSince() {
-        return (Date) get(YahooAttributesDefinition.MEMBER_SINCE);
+        return (Date) get(MEMBER_SINCE);
     }
     
     public String getTimeZone() {
-        return (String) get(YahooAttributesDefinition.TIME_ZONE);
+        return (String) get(TIME_ZONE);
     }
     
     public Date getUpdated() {
-        return (Date) get(YahooAttributesDefinition.UPDATED);
+        return (Date) get(UPDATED);
     }
     
     public String getUri() {
-        return (String) get(YahooAttributesDefinition.URI);
+        return (String) get(URI);
     }
 }
@@ -16,11 +16,14 @@
 package org.scribe.up.provider;
 
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.scribe.exceptions.OAuthException;
 import org.scribe.model.Token;
 import org.scribe.model.Verifier;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.credential.OAuthCredential;
+import org.scribe.up.provider.metrics.ProviderMetrics;
 import org.scribe.up.session.UserSession;
 import org.scribe.utils.OAuthEncoder;
 import org.slf4j.Logger;
@@ -28,6 +31,11 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class is the common implementation for provider supporting OAuth protocol version 1.0.
+ * <p />
+ * The request tokens can be retrieved in advance by a {@link RequestTokenPool} whose size is defined by the
+ * {@link #setRequestTokenPoolSize(int)} method (0 by default, no pool) and the max age of the tokens by the
+ * {@link #setRequestTokenMaxAge(int)} method (in milliseconds, 60 seconds by default). The pool is replaced at each
+ * {@link #reinit()} so that no request token retrieved with the previous credentials is used after a rotation.
  * 
  * @author Jerome Leleu
  * @since 1.0.0
@@ -42,6 +50,64 @@ public abstract class BaseOAuth10Provider extends BaseOAuthProvider {
     
     public static final String REQUEST_TOKEN = "requestToken";
     
+    protected int requestTokenPoolSize = 0;
+    
+    protected int requestTokenMaxAge = RequestTokenPool.DEFAULT_MAX_AGE;
+    
+    private volatile RequestTokenPool requestTokenPool;
+    
+    @Override
+    public BaseOAuth10Provider clone() {
+        final BaseOAuth10Provider newProvider = (BaseOAuth10Provider) super.clone();
+        newProvider.setRequestTokenPoolSize(this.requestTokenPoolSize);
+        newProvider.setRequestTokenMaxAge(this.requestTokenMaxAge);
+        return newProvider;
+    }
+    
+    @Override
+    public void init() {
+        super.init();
+        if (this.requestTokenPoolSize > 0 && this.requestTokenPool == null) {
+            synchronized (this) {
+                if (this.requestTokenPool == null) {
+                    this.requestTokenPool = newRequestTokenPool();
+                }
+            }
+        }
+    }
+    
+    @Override
+    public synchronized void reinit() {
+        super.reinit();
+        final RequestTokenPool oldPool = this.requestTokenPool;
+        if (this.requestTokenPoolSize > 0) {
+            this.requestTokenPool = newRequestTokenPool();
+        } else {
+            this.requestTokenPool = null;
+        }
+        // its tokens were retrieved with the previous configuration
+        if (oldPool != null) {
+            oldPool.shutdown();
+        }
+    }
+    
+    /**
+     * Create and fill a new pool of request tokens retrieved with the current OAuth service.
+     * 
+     * @return the new pool
+     */
+    private RequestTokenPool newRequestTokenPool() {
+        final OAuthService service = getService();
+        final RequestTokenPool pool = new RequestTokenPool(new Callable<Token>() {
+            
+            public Token call() {
+                return service.getRequestToken();
+            }
+        }, getExecutor(), this.requestTokenPoolSize, this.requestTokenMaxAge);
+        pool.refill();
+        return pool;
+    }
+    
     /**
      * Return the name of the attribute storing in session the request token.
      * 
@@ -53,15 +119,32 @@ public abstract class BaseOAuth10Provider extends BaseOAuthProvider {
     
     public String getAuthorizationUrl(final UserSession session) {
         init();
-        final Token requestToken = this.service.getRequestToken();
+        final long t0 = System.nanoTime();
+        final Token requestToken = getRequestToken();
         logger.debug("requestToken : {}", requestToken);
         // save requestToken in user session
         session.setAttribute(getRequestTokenSessionAttributeName(), requestToken);
-        final String authorizationUrl = this.service.getAuthorizationUrl(requestToken);
+        final String authorizationUrl = getService().getAuthorizationUrl(requestToken);
+        this.metrics.recordTime(getType(), ProviderMetrics.AUTHORIZATION_URL, System.nanoTime() - t0);
         logger.debug("authorizationUrl : {}", authorizationUrl);
         return authorizationUrl;
     }
     
+    /**
+     * Return a request token : a fresh one from the pool if available, otherwise a new one retrieved from the provider.
+     * 
+     * @return a request token
+     */
+    protected Token getRequestToken() {
+        if (this.requestTokenPool != null) {
+            final Token requestToken = this.requestTokenPool.poll();
+            if (requestToken != null) {
+                return requestToken;
+            }
+        }
+        return getService().getRequestToken();
+    }
+    
     @Override
     protected Token getAccessToken(final OAuthCredential credential) {
         final Token tokenRequest = credential.getRequestToken();
@@ -79,7 +162,7 @@ public abstract class BaseOAuth10Provider extends BaseOAuthProvider {
             throw new OAuthException("Token received : " + token + " is different from saved token : " + savedToken);
         }
         final Verifier providerVerifier = new Verifier(verifier);
-        final Token accessToken = this.service.getAccessToken(tokenRequest, providerVerifier);
+        final Token accessToken = getService().getAccessToken(tokenRequest, providerVerifier);
         logger.debug("accessToken : {}", accessToken);
         return accessToken;
     }
@@ -93,6 +176,8 @@ public abstract class BaseOAuth10Provider extends BaseOAuthProvider {
             // get tokenRequest from user session
             final Token tokenRequest = (Token) session.getAttribute(getRequestTokenSessionAttributeName());
             logger.debug("tokenRequest : {}", tokenRequest);
+            // the request token can be used only once
+            session.setAttribute(getRequestTokenSessionAttributeName(), null);
             final String token = OAuthEncoder.decode(tokens[0]);
             final String verifier = OAuthEncoder.decode(verifiers[0]);
             logger.debug("token : {} / verifier : {}", token, verifier);
@@ -102,4 +187,24 @@ public abstract class BaseOAuth10Provider extends BaseOAuthProvider {
             return null;
         }
     }
+    
+    public RequestTokenPool getRequestTokenPool() {
+        return this.requestTokenPool;
+    }
+    
+    public int getRequestTokenPoolSize() {
+        return this.requestTokenPoolSize;
+    }
+    
+    public void setRequestTokenPoolSize(final int requestTokenPoolSize) {
+        this.requestTokenPoolSize = requestTokenPoolSize;
+    }
+    
+    public int getRequestTokenMaxAge() {
+        return this.requestTokenMaxAge;
+    }
+    
+    public void setRequestTokenMaxAge(final int requestTokenMaxAge) {
+        this.requestTokenMaxAge = requestTokenMaxAge;
+    }
 }
@@ -19,7 +19,9 @@ import java.util.Map;
 
 import org.scribe.model.Token;
 import org.scribe.model.Verifier;
+import org.scribe.up.addon_to_scribe.SecureRandomHelper;
 import org.scribe.up.credential.OAuthCredential;
+import org.scribe.up.provider.metrics.ProviderMetrics;
 import org.scribe.up.session.UserSession;
 import org.scribe.utils.OAuthEncoder;
 import org.slf4j.Logger;
@@ -39,19 +41,31 @@ public abstract class BaseOAuth20Provider extends BaseOAuthProvider {
     
     public String getAuthorizationUrl(final UserSession session) {
         init();
+        final long t0 = System.nanoTime();
         // no requestToken for OAuth 2.0 -> no need to save it in the user session
-        final String authorizationUrl = this.service.getAuthorizationUrl(null);
+        final String authorizationUrl = getService().getAuthorizationUrl(null);
+        this.metrics.recordTime(getType(), ProviderMetrics.AUTHORIZATION_URL, System.nanoTime() - t0);
         logger.debug("authorizationUrl : {}", authorizationUrl);
         return authorizationUrl;
     }
     
+    /**
+     * Generate a random state to protect the authorization against CSRF attacks (without contention between the threads).
+     * 
+     * @param length
+     * @return a random alphanumeric state
+     */
+    protected String generateState(final int length) {
+        return SecureRandomHelper.randomAlphanumeric(length);
+    }
+    
     @Override
     protected Token getAccessToken(final OAuthCredential credential) {
         // no request token saved in user session and no token (OAuth v2.0)
         final String verifier = credential.getVerifier();
         logger.debug("verifier : {}", verifier);
         final Verifier providerVerifier = new Verifier(verifier);
-        final Token accessToken = this.service.getAccessToken(null, providerVerifier);
+        final Token accessToken = getService().getAccessToken(null, providerVerifier);
         logger.debug("accessToken : {}", accessToken);
         return accessToken;
     }
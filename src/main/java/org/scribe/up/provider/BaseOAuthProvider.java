@@ -15,7 +15,20 @@
  */
 package org.scribe.up.provider;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
@@ -27,8 +40,13 @@ import org.scribe.oauth.OAuthService;
 import org.scribe.up.credential.OAuthCredential;
 import org.scribe.up.profile.OAuthProfile;
 import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.cache.ProfileCache;
+import org.scribe.up.provider.cache.ProfileCacheEntry;
 import org.scribe.up.provider.exception.CredentialException;
 import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.exception.ProviderUnavailableException;
+import org.scribe.up.provider.metrics.NoOpProviderMetrics;
+import org.scribe.up.provider.metrics.ProviderMetrics;
 import org.scribe.up.provider.impl.GoogleProvider;
 import org.scribe.up.provider.impl.WordPressProvider;
 import org.scribe.up.session.UserSession;
@@ -38,6 +56,12 @@ import org.slf4j.LoggerFactory;
 /**
  * This class is a default implementation of an OAuth protocol provider based on the Scribe library. It should work for all OAuth providers.
  * In subclasses, some methods are to be implemented / customized for specific needs depending on the provider.
+ * <p />
+ * The configuration and the OAuth service built from it are published as an immutable {@link ProviderSettings} snapshot : once
+ * initialized, the provider is used without any lock. To rotate the credentials (or change the callback url, the timeouts or the proxy)
+ * under load, call the setters and then the {@link #reinit()} method : the new snapshot replaces atomically the previous one and the
+ * requests in progress end with the configuration they started with.
+ * The executor, cache, circuit breaker, bulkhead and metrics are not part of the snapshot : they are volatile and read once per request.
  * 
  * @author Jerome Leleu
  * @since 1.0.0
@@ -46,7 +70,10 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
     
     protected static final Logger logger = LoggerFactory.getLogger(BaseOAuthProvider.class);
     
-    protected OAuthService service;
+    // profile requests in progress (when they are coalesced), shared by all providers of the classloader : the key includes the type of
+    // the provider, the access token and the profile url
+    private static final ConcurrentMap<String, FutureTask<UserProfile>> inFlightRequests =
+        new ConcurrentHashMap<String, FutureTask<UserProfile>>();
     
     protected String key;
     
@@ -66,7 +93,21 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
     
     protected int proxyPort = 8080;
     
-    private boolean initialized = false;
+    protected volatile ExecutorService executor;
+    
+    protected volatile int maxConcurrentRequests = 0;
+    
+    protected volatile ProfileCache profileCache;
+    
+    protected volatile boolean coalesceRequests = false;
+    
+    protected volatile CircuitBreaker circuitBreaker;
+    
+    protected volatile Bulkhead bulkhead;
+    
+    protected volatile ProviderMetrics metrics = NoOpProviderMetrics.INSTANCE;
+    
+    private volatile ProviderSettings settings;
     
     @Override
     public BaseOAuthProvider clone() {
@@ -78,6 +119,13 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
         newProvider.setReadTimeout(this.readTimeout);
         newProvider.setProxyHost(this.proxyHost);
         newProvider.setProxyPort(this.proxyPort);
+        newProvider.setExecutor(this.executor);
+        newProvider.setMaxConcurrentRequests(this.maxConcurrentRequests);
+        newProvider.setProfileCache(this.profileCache);
+        newProvider.setCoalesceRequests(this.coalesceRequests);
+        newProvider.setCircuitBreaker(this.circuitBreaker);
+        newProvider.setBulkhead(this.bulkhead);
+        newProvider.setMetrics(this.metrics);
         return newProvider;
     }
     
@@ -93,28 +141,65 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
      * the {@link OAuthProvider} interface.
      */
     public void init() {
-        if (!this.initialized) {
+        if (this.settings == null) {
             synchronized (this) {
-                if (!this.initialized) {
-                    internalInit();
-                    this.initialized = true;
+                if (this.settings == null) {
+                    this.settings = buildSettings();
                 }
             }
         }
     }
     
     /**
-     * Force (again) the initialization of the provider.
+     * Force (again) the initialization of the provider : the current configuration is used for the next requests. Only the concurrent
+     * (re-)initializations are serialized, the threads using the provider are never blocked.
      */
     public synchronized void reinit() {
-        internalInit();
-        this.initialized = true;
+        this.settings = buildSettings();
+    }
+    
+    /**
+     * Build the OAuth service and the snapshot of the configuration it is built from.
+     * 
+     * @return the new settings
+     */
+    private ProviderSettings buildSettings() {
+        final ProviderSettings snapshot = new ProviderSettings(this);
+        return new ProviderSettings(snapshot, internalInit(snapshot));
+    }
+    
+    /**
+     * Return the current settings of the provider (initialized if necessary) : they should be read once per request.
+     * 
+     * @return the current settings
+     */
+    public ProviderSettings getSettings() {
+        ProviderSettings currentSettings = this.settings;
+        if (currentSettings == null) {
+            init();
+            currentSettings = this.settings;
+        }
+        return currentSettings;
+    }
+    
+    /**
+     * Return the current OAuth service of the provider (initialized if necessary).
+     * 
+     * @return the current OAuth service
+     */
+    protected OAuthService getService() {
+        return getSettings().getService();
     }
     
     /**
-     * Internal init of the provider.
+     * Internal init of the provider : build the OAuth service from the snapshot of the configuration (the key, secret, callback url and
+     * proxy must be read from the settings, not from the fields of the provider). It must not be stored in the provider, it's published
+     * with the settings (see {@link #getService()}).
+     * 
+     * @param settings
+     * @return the new OAuth service
      */
-    protected abstract void internalInit();
+    protected abstract OAuthService internalInit(ProviderSettings settings);
     
     public UserProfile getUserProfile(final OAuthCredential credential) {
         try {
@@ -124,6 +209,192 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
         }
     }
     
+    /**
+     * Retrieve asynchronously the user profile from OAuth credential (see
+     * {@link #getUserProfileAsync(OAuthCredential, UserProfileCallback)}).
+     * 
+     * @param credential
+     * @return the future user profile
+     */
+    public Future<UserProfile> getUserProfileAsync(final OAuthCredential credential) {
+        return getUserProfileAsync(credential, null);
+    }
+    
+    /**
+     * Retrieve asynchronously the user profile from OAuth credential, on the executor of the provider : the calling thread is not blocked
+     * by the access token and user profile requests. If the user profile cannot be retrieved, whatever the reason (an
+     * {@link HttpException} or any runtime exception), the future fails with an {@link java.util.concurrent.ExecutionException} whose
+     * cause is this exception, and the callback (optional) is notified of it by its <i>onFailure</i> method before. An exception thrown by
+     * the callback itself is logged and ignored : it never fails the future, nor calls <i>onFailure</i> after <i>onSuccess</i>. If the
+     * executor rejects the request (its queue is full), the returned future has already failed with the
+     * {@link java.util.concurrent.RejectedExecutionException}.
+     * 
+     * @param credential
+     * @param callback
+     * @return the future user profile
+     */
+    public Future<UserProfile> getUserProfileAsync(final OAuthCredential credential,
+                                                   final UserProfileCallback callback) {
+        init();
+        try {
+            return getExecutor().submit(new Callable<UserProfile>() {
+                public UserProfile call() throws HttpException {
+                    ProviderExecutors.setProviderTask(true);
+                    try {
+                        return retrieveUserProfile(credential, callback);
+                    } finally {
+                        ProviderExecutors.setProviderTask(false);
+                    }
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            logger.warn("User profile request rejected for : {}", getType());
+            notifyFailure(callback, e);
+            final FutureTask<UserProfile> failed = new FutureTask<UserProfile>(new Callable<UserProfile>() {
+                public UserProfile call() {
+                    throw e;
+                }
+            });
+            failed.run();
+            return failed;
+        }
+    }
+    
+    private UserProfile retrieveUserProfile(final OAuthCredential credential, final UserProfileCallback callback)
+        throws HttpException {
+        UserProfile profile = null;
+        try {
+            profile = retrieveUserProfile(credential);
+        } catch (final HttpException e) {
+            notifyFailure(callback, e);
+            throw e;
+        } catch (final RuntimeException e) {
+            notifyFailure(callback, e);
+            throw e;
+        }
+        if (callback != null) {
+            try {
+                callback.onSuccess(profile);
+            } catch (final RuntimeException e) {
+                // the user profile is retrieved : the failure of the callback doesn't fail the retrieval
+                logger.error("UserProfileCallback.onSuccess failed", e);
+            }
+        }
+        return profile;
+    }
+    
+    private void notifyFailure(final UserProfileCallback callback, final Exception failure) {
+        if (callback != null) {
+            try {
+                callback.onFailure(failure);
+            } catch (final RuntimeException e) {
+                logger.error("UserProfileCallback.onFailure failed", e);
+            }
+        }
+    }
+    
+    /**
+     * Retrieve the user profiles of many access tokens, with at most <i>parallelism</i> requests in progress at the same time (on the
+     * executor of the provider). The access tokens are read from the iterator as the requests complete, so that they don't need to be all
+     * in memory, and the callback is notified of each user profile as soon as it's available. This method returns when all the user
+     * profiles have been retrieved (or if the current thread is interrupted).
+     * 
+     * @param accessTokens
+     * @param parallelism
+     * @param callback
+     */
+    public void getUserProfiles(final Iterator<String> accessTokens, final int parallelism,
+                                final BatchUserProfileCallback callback) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism must be positive");
+        }
+        init();
+        final int batchSize = Math.max(1, getBatchSize());
+        final CompletionService<Object> completionService = new ExecutorCompletionService<Object>(getExecutor());
+        int inProgress = 0;
+        try {
+            while (inProgress > 0 || accessTokens.hasNext()) {
+                while (inProgress < parallelism && accessTokens.hasNext()) {
+                    final List<String> batch = new ArrayList<String>(batchSize);
+                    while (batch.size() < batchSize && accessTokens.hasNext()) {
+                        batch.add(accessTokens.next());
+                    }
+                    final Runnable task = new Runnable() {
+                        
+                        public void run() {
+                            ProviderExecutors.setProviderTask(true);
+                            try {
+                                retrieveUserProfileBatch(batch, callback);
+                            } finally {
+                                ProviderExecutors.setProviderTask(false);
+                            }
+                        }
+                    };
+                    try {
+                        completionService.submit(task, null);
+                        inProgress++;
+                    } catch (final RejectedExecutionException e) {
+                        // the executor is saturated : the calling thread retrieves the batch itself
+                        logger.debug("Batch of user profiles rejected, retrieved by the calling thread");
+                        task.run();
+                    }
+                }
+                final Future<Object> future = completionService.take();
+                inProgress--;
+                try {
+                    future.get();
+                } catch (final ExecutionException e) {
+                    logger.error("Batch of user profiles failed", e.getCause());
+                }
+            }
+        } catch (final InterruptedException e) {
+            logger.warn("Interrupted with {} batches of user profiles in progress", inProgress);
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Return the maximum number of access tokens whose user profiles are retrieved together by the
+     * {@link #retrieveUserProfileBatch(List, BatchUserProfileCallback)} method : 1 by default, more if the provider can retrieve several
+     * user profiles in one request.
+     * 
+     * @return the maximum number of access tokens per batch
+     */
+    protected int getBatchSize() {
+        return 1;
+    }
+    
+    /**
+     * Retrieve the user profiles of a batch of access tokens and notify the callback of each of them. By default, one request is sent per
+     * access token.
+     * 
+     * @param accessTokens
+     * @param callback
+     */
+    protected void retrieveUserProfileBatch(final List<String> accessTokens, final BatchUserProfileCallback callback) {
+        for (final String accessToken : accessTokens) {
+            UserProfile profile = null;
+            Exception failure = null;
+            try {
+                profile = retrieveUserProfile(accessToken);
+            } catch (final HttpException e) {
+                failure = e;
+            } catch (final RuntimeException e) {
+                failure = e;
+            }
+            try {
+                if (failure != null) {
+                    callback.onFailure(accessToken, failure);
+                } else {
+                    callback.onSuccess(accessToken, profile);
+                }
+            } catch (final RuntimeException e) {
+                // the other access tokens of the batch are still retrieved
+                logger.error("BatchUserProfileCallback failed", e);
+            }
+        }
+    }
+    
     /**
      * Retrieve the user profile from OAuth credential.
      * 
@@ -133,8 +404,10 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
      */
     public UserProfile retrieveUserProfile(final OAuthCredential credential) throws HttpException {
         init();
+        final long t0 = System.nanoTime();
         final Token accessToken = getAccessToken(credential);
-        return retrieveUserProfile(accessToken);
+        this.metrics.recordTime(getType(), ProviderMetrics.ACCESS_TOKEN, System.nanoTime() - t0);
+        return retrieveCachedUserProfile(accessToken);
     }
     
     /**
@@ -161,7 +434,130 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
     public UserProfile retrieveUserProfile(final String accessToken) throws HttpException {
         init();
         final Token token = new Token(accessToken, "");
-        return retrieveUserProfile(token);
+        return retrieveCachedUserProfile(token);
+    }
+    
+    /**
+     * Retrieve the user profile from the access token through the profile cache (if defined) : the profiles and the authentication errors
+     * (401) are cached. Concurrent retrievals for the same access token share the same request (if requests are coalesced).
+     * 
+     * @param accessToken
+     * @return the user profile object
+     * @throws HttpException
+     */
+    protected UserProfile retrieveCachedUserProfile(final Token accessToken) throws HttpException {
+        final ProfileCache cache = this.profileCache;
+        if (cache == null || accessToken == null || accessToken.getToken() == null) {
+            return retrieveSharedUserProfile(accessToken);
+        }
+        final String cacheKey = getCacheKey(accessToken.getToken());
+        final ProfileCacheEntry entry = cache.get(cacheKey);
+        if (entry != null) {
+            logger.debug("profile cache hit for : {}", getType());
+            if (entry.isError()) {
+                throw entry.newException();
+            }
+            return entry.getProfile();
+        }
+        try {
+            final UserProfile profile = retrieveSharedUserProfile(accessToken);
+            if (profile != null) {
+                cache.putProfile(cacheKey, profile);
+            }
+            return profile;
+        } catch (final HttpException e) {
+            if (e.getCode() == 401) {
+                cache.putError(cacheKey, e);
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Retrieve the user profile from the access token : if a request is already in progress for the same provider type, access token and
+     * profile url, its result (profile or error) is shared instead of sending a new request.
+     * 
+     * @param accessToken
+     * @return the user profile object
+     * @throws HttpException
+     */
+    private UserProfile retrieveSharedUserProfile(final Token accessToken) throws HttpException {
+        if (!this.coalesceRequests || accessToken == null || accessToken.getToken() == null) {
+            return retrieveUserProfile(accessToken);
+        }
+        final String requestKey = getCacheKey(accessToken.getToken()) + "#" + getProfileUrl();
+        FutureTask<UserProfile> task = inFlightRequests.get(requestKey);
+        if (task == null) {
+            final FutureTask<UserProfile> newTask = new FutureTask<UserProfile>(new Callable<UserProfile>() {
+                
+                public UserProfile call() throws HttpException {
+                    return retrieveUserProfile(accessToken);
+                }
+            });
+            task = inFlightRequests.putIfAbsent(requestKey, newTask);
+            if (task == null) {
+                task = newTask;
+                try {
+                    newTask.run();
+                } finally {
+                    inFlightRequests.remove(requestKey, newTask);
+                }
+            } else {
+                logger.debug("join profile request in progress for : {}", getType());
+            }
+        }
+        return getSharedResult(task);
+    }
+    
+    /**
+     * Wait for the result of a shared profile request : the request is bounded by the timeouts, so the wait is not interrupted but the
+     * interruption status is restored.
+     * 
+     * @param task
+     * @return the user profile object
+     * @throws HttpException
+     */
+    private UserProfile getSharedResult(final FutureTask<UserProfile> task) throws HttpException {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof HttpException) {
+                        throw (HttpException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Remove the user profile of this access token from the profile cache (if defined).
+     * 
+     * @param accessToken
+     */
+    public void removeCachedUserProfile(final String accessToken) {
+        final ProfileCache cache = this.profileCache;
+        if (cache != null && accessToken != null) {
+            cache.remove(getCacheKey(accessToken));
+        }
+    }
+    
+    private String getCacheKey(final String accessToken) {
+        return getType() + "#" + accessToken;
     }
     
     /**
@@ -184,11 +580,24 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
         if (body == null) {
             return null;
         }
-        final UserProfile profile = extractUserProfile(body);
+        final UserProfile profile = extractAndRecordUserProfile(body);
         addAccessTokenToProfile(profile, accessToken);
         return profile;
     }
     
+    /**
+     * Extract the user profile from the response of the profile url and record the time spent in the metrics.
+     * 
+     * @param body
+     * @return the user profile object
+     */
+    protected UserProfile extractAndRecordUserProfile(final String body) {
+        final long t0 = System.nanoTime();
+        final UserProfile profile = extractUserProfile(body);
+        this.metrics.recordTime(getType(), ProviderMetrics.PROFILE_EXTRACTION, System.nanoTime() - t0);
+        return profile;
+    }
+    
     /**
      * Add the access token to the profile (as an attribute).
      * 
@@ -211,7 +620,8 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
     protected abstract String getProfileUrl();
     
     /**
-     * Make a request to get the data of the authenticated user for this provider.
+     * Make a request to get the data of the authenticated user for this provider (through the circuit breaker and the bulkhead if they are
+     * defined).
      * 
      * @param accessToken
      * @param dataUrl
@@ -219,16 +629,84 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
      * @throws HttpException
      */
     protected String sendRequestForData(final Token accessToken, final String dataUrl) throws HttpException {
+        return sendRequestForData(accessToken, Verb.GET, dataUrl, null);
+    }
+    
+    /**
+     * Make a request to get the data of the authenticated user for this provider (through the circuit breaker and the bulkhead if they are
+     * defined), with a specific HTTP method and body parameters.
+     * 
+     * @param accessToken (null if the request is authenticated by its body parameters)
+     * @param verb
+     * @param dataUrl
+     * @param bodyParameters (optional)
+     * @return the user data response
+     * @throws HttpException
+     */
+    protected String sendRequestForData(final Token accessToken, final Verb verb, final String dataUrl,
+                                        final Map<String, String> bodyParameters) throws HttpException {
+        final CircuitBreaker breaker = this.circuitBreaker;
+        final Bulkhead currentBulkhead = this.bulkhead;
+        final ProviderMetrics currentMetrics = this.metrics;
+        if (breaker != null && !breaker.tryAcquirePermission()) {
+            logger.debug("circuit breaker open, request rejected for : {}", dataUrl);
+            currentMetrics.recordError(getType(), ProviderMetrics.PROFILE_REQUEST, ProviderUnavailableException.CODE);
+            throw new ProviderUnavailableException("Circuit breaker open for : " + getType());
+        }
+        if (currentBulkhead != null && !currentBulkhead.tryAcquire()) {
+            if (breaker != null) {
+                breaker.releasePermission();
+            }
+            logger.debug("too many concurrent requests, request rejected for : {}", dataUrl);
+            currentMetrics.recordError(getType(), ProviderMetrics.PROFILE_REQUEST, ProviderUnavailableException.CODE);
+            throw new ProviderUnavailableException("Too many concurrent requests for : " + getType());
+        }
+        final long t0 = System.nanoTime();
+        boolean success = false;
+        try {
+            final String body = internalSendRequestForData(accessToken, verb, dataUrl, bodyParameters);
+            success = true;
+            return body;
+        } catch (final HttpException e) {
+            currentMetrics.recordError(getType(), ProviderMetrics.PROFILE_REQUEST, e.getCode());
+            // the client errors (4xx) are not failures of the provider
+            success = e.getCode() < 500;
+            throw e;
+        } finally {
+            final long duration = System.nanoTime() - t0;
+            if (currentBulkhead != null) {
+                currentBulkhead.release();
+            }
+            if (breaker != null) {
+                breaker.onResult(success, duration / 1000000);
+            }
+            currentMetrics.recordTime(getType(), ProviderMetrics.PROFILE_REQUEST, duration);
+            if (logger.isDebugEnabled()) {
+                logger.debug("Request took : {} ms for : {}", duration / 1000000, dataUrl);
+            }
+        }
+    }
+    
+    private String internalSendRequestForData(final Token accessToken, final Verb verb, final String dataUrl,
+                                              final Map<String, String> bodyParameters) throws HttpException {
         logger.debug("accessToken : {} / dataUrl : {}", accessToken, dataUrl);
-        final long t0 = System.currentTimeMillis();
-        final ProxyOAuthRequest request = new ProxyOAuthRequest(Verb.GET, dataUrl, this.proxyHost, this.proxyPort);
-        if (this.connectTimeout != 0) {
-            request.setConnectTimeout(this.connectTimeout, TimeUnit.MILLISECONDS);
+        final ProviderSettings currentSettings = getSettings();
+        final ProxyOAuthRequest request = new ProxyOAuthRequest(verb, dataUrl, currentSettings.getProxyHost(),
+                                                                currentSettings.getProxyPort());
+        if (bodyParameters != null) {
+            for (final Map.Entry<String, String> entry : bodyParameters.entrySet()) {
+                request.addBodyParameter(entry.getKey(), entry.getValue());
+            }
+        }
+        if (currentSettings.getConnectTimeout() != 0) {
+            request.setConnectTimeout(currentSettings.getConnectTimeout(), TimeUnit.MILLISECONDS);
         }
-        if (this.readTimeout != 0) {
-            request.setReadTimeout(this.readTimeout, TimeUnit.MILLISECONDS);
+        if (currentSettings.getReadTimeout() != 0) {
+            request.setReadTimeout(currentSettings.getReadTimeout(), TimeUnit.MILLISECONDS);
+        }
+        if (accessToken != null) {
+            currentSettings.getService().signRequest(accessToken, request);
         }
-        this.service.signRequest(accessToken, request);
         // for Google
         if (this instanceof GoogleProvider) {
             request.addHeader("GData-Version", "3.0");
@@ -238,9 +716,9 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
         final Response response = request.send();
         final int code = response.getCode();
         final String body = response.getBody();
-        final long t1 = System.currentTimeMillis();
-        logger.debug("Request took : " + (t1 - t0) + " ms for : " + dataUrl);
-        logger.debug("response code : {} / response body : {}", code, body);
+        if (logger.isDebugEnabled()) {
+            logger.debug("response code : {} / response body : {}", code, body);
+        }
         if (code != 200) {
             logger.error("Failed to get user data, code : " + code + " / body : " + body);
             throw new HttpException(code, body);
@@ -336,16 +814,35 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
         return this.type;
     }
     
+    /**
+     * Return the key in use : the one of the current settings if the provider is initialized, the configured one otherwise (a new key is
+     * only used after {@link #reinit()}).
+     * 
+     * @return the key in use
+     */
     public String getKey() {
-        return this.key;
+        final ProviderSettings currentSettings = this.settings;
+        return currentSettings == null ? this.key : currentSettings.getKey();
     }
     
+    /**
+     * Return the secret in use : the one of the current settings if the provider is initialized, the configured one otherwise.
+     * 
+     * @return the secret in use
+     */
     public String getSecret() {
-        return this.secret;
+        final ProviderSettings currentSettings = this.settings;
+        return currentSettings == null ? this.secret : currentSettings.getSecret();
     }
     
+    /**
+     * Return the callback url in use : the one of the current settings if the provider is initialized, the configured one otherwise.
+     * 
+     * @return the callback url in use
+     */
     public String getCallbackUrl() {
-        return this.callbackUrl;
+        final ProviderSettings currentSettings = this.settings;
+        return currentSettings == null ? this.callbackUrl : currentSettings.getCallbackUrl();
     }
     
     public int getConnectTimeout() {
@@ -371,4 +868,111 @@ public abstract class BaseOAuthProvider implements OAuthProvider, Cloneable {
     public void setProxyPort(final int proxyPort) {
         this.proxyPort = proxyPort;
     }
+    
+    /**
+     * Return the executor for asynchronous requests : the one defined for this provider, the bounded one of this provider type if a
+     * maximum number of concurrent requests is defined or the default one shared by all providers.
+     * 
+     * @return the executor for asynchronous requests
+     */
+    public ExecutorService getExecutor() {
+        if (this.executor != null) {
+            return this.executor;
+        } else if (this.maxConcurrentRequests > 0) {
+            return ProviderExecutors.getBoundedExecutor(getType(), this.maxConcurrentRequests);
+        }
+        return ProviderExecutors.getDefaultExecutor();
+    }
+    
+    public void setExecutor(final ExecutorService executor) {
+        this.executor = executor;
+    }
+    
+    public int getMaxConcurrentRequests() {
+        return this.maxConcurrentRequests;
+    }
+    
+    /**
+     * Define the maximum number of concurrent asynchronous requests for this provider type (0 for no limit, the default) : the executor is
+     * shared by all the providers of this type, the highest limit defined applies.
+     * 
+     * @param maxConcurrentRequests
+     */
+    public void setMaxConcurrentRequests(final int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+    
+    public ProfileCache getProfileCache() {
+        return this.profileCache;
+    }
+    
+    /**
+     * Define the cache of user profiles (none by default) : the cached profiles are shared and must not be modified.
+     * 
+     * @param profileCache
+     */
+    public void setProfileCache(final ProfileCache profileCache) {
+        this.profileCache = profileCache;
+    }
+    
+    public boolean isCoalesceRequests() {
+        return this.coalesceRequests;
+    }
+    
+    /**
+     * Define if concurrent retrievals of the user profile for the same access token share the same request (false by default).
+     * <p />
+     * Warning : the same (mutable) profile instance is then returned to all the concurrent callers, it must not be modified. The requests
+     * in progress are registered in a static map shared by all the providers loaded by the same classloader : two providers of the same
+     * type with the same profile url share their requests, even if they are configured differently.
+     * 
+     * @param coalesceRequests
+     */
+    public void setCoalesceRequests(final boolean coalesceRequests) {
+        this.coalesceRequests = coalesceRequests;
+    }
+    
+    public CircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+    
+    /**
+     * Define the circuit breaker for the requests sent to the provider (none by default) : when it's open, the requests fail immediately
+     * with a {@link ProviderUnavailableException}. It's shared with the cloned providers.
+     * 
+     * @param circuitBreaker
+     */
+    public void setCircuitBreaker(final CircuitBreaker circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+    
+    public Bulkhead getBulkhead() {
+        return this.bulkhead;
+    }
+    
+    /**
+     * Define the limit of concurrent requests sent to the provider (none by default) : above, the requests fail with a
+     * {@link ProviderUnavailableException}. It's shared with the cloned providers.
+     * 
+     * @param bulkhead
+     */
+    public void setBulkhead(final Bulkhead bulkhead) {
+        this.bulkhead = bulkhead;
+    }
+    
+    public ProviderMetrics getMetrics() {
+        return this.metrics;
+    }
+    
+    /**
+     * Define where the metrics of the provider are recorded (nowhere by default).
+     * 
+     * @param metrics
+     */
+    public void setMetrics(final ProviderMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("metrics cannot be null");
+        }
+        this.metrics = metrics;
+    }
 }
@@ -0,0 +1,44 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider;
+
+import org.scribe.up.profile.UserProfile;
+
+/**
+ * This interface is the contract to be notified of the user profiles retrieved in batch, as soon as each of them is available. The
+ * methods are called concurrently by several threads : the implementations must be thread-safe.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public interface BatchUserProfileCallback {
+    
+    /**
+     * Called when the user profile of an access token has been retrieved.
+     * 
+     * @param accessToken
+     * @param profile
+     */
+    public void onSuccess(String accessToken, UserProfile profile);
+    
+    /**
+     * Called when the user profile of an access token cannot be retrieved.
+     * 
+     * @param accessToken
+     * @param e
+     */
+    public void onFailure(String accessToken, Exception e);
+}
@@ -0,0 +1,95 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class limits the number of concurrent requests sent to a provider (20 by default) : when the limit is reached, a new request waits
+ * for the time defined by the {@link #setMaxWait(int)} method (in milliseconds, no wait by default) and is rejected if no request has
+ * completed meanwhile. It is thread-safe and can be shared by several providers of the same type.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class Bulkhead {
+    
+    public static final int DEFAULT_MAX_CONCURRENT_CALLS = 20;
+    
+    private final int maxConcurrentCalls;
+    
+    private final Semaphore permits;
+    
+    private int maxWait = 0;
+    
+    public Bulkhead() {
+        this(DEFAULT_MAX_CONCURRENT_CALLS);
+    }
+    
+    public Bulkhead(final int maxConcurrentCalls) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive");
+        }
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+    
+    /**
+     * Try to enter the bulkhead, waiting at most the max wait.
+     * 
+     * @return if the request can be sent
+     */
+    public boolean tryAcquire() {
+        if (this.maxWait <= 0) {
+            return this.permits.tryAcquire();
+        }
+        try {
+            return this.permits.tryAcquire(this.maxWait, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * Leave the bulkhead (once the request has completed).
+     */
+    public void release() {
+        this.permits.release();
+    }
+    
+    public int getMaxConcurrentCalls() {
+        return this.maxConcurrentCalls;
+    }
+    
+    /**
+     * Return the number of requests currently in progress.
+     * 
+     * @return the number of requests in progress
+     */
+    public int getConcurrentCalls() {
+        return this.maxConcurrentCalls - this.permits.availablePermits();
+    }
+    
+    public int getMaxWait() {
+        return this.maxWait;
+    }
+    
+    public void setMaxWait(final int maxWait) {
+        this.maxWait = maxWait;
+    }
+}
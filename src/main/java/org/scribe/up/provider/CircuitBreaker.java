@@ -0,0 +1,267 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is a circuit breaker for the requests sent to a provider. The outcome of the last requests (20 by default) is recorded : once
+ * enough requests have been recorded (10 by default), the circuit is opened if the rate of failed requests (50% by default) or the rate of
+ * slow requests (100% by default, a request is slow above 2 seconds by default) reaches its threshold. While the circuit is open, the
+ * requests are rejected immediately. After the open duration (30 seconds by default), the circuit is half-open : a few probe requests (3 by
+ * default) are allowed and their outcome closes or reopens the circuit.
+ * <p />
+ * The failures are the errors of the provider (HTTP code 5xx) and the network errors (including timeouts). It is thread-safe and can be
+ * shared by several providers of the same type.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class CircuitBreaker {
+    
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+    
+    private static final byte FAILURE = 1;
+    
+    private static final byte SLOW = 2;
+    
+    private int windowSize = 20;
+    
+    private int minimumNumberOfCalls = 10;
+    
+    private int failureRateThreshold = 50;
+    
+    private int slowCallRateThreshold = 100;
+    
+    private int slowCallDuration = 2000;
+    
+    private int openDuration = 30000;
+    
+    private int halfOpenCalls = 3;
+    
+    private State state = State.CLOSED;
+    
+    private byte[] outcomes = new byte[this.windowSize];
+    
+    private int nbCalls = 0;
+    
+    private int position = 0;
+    
+    private int nbFailures = 0;
+    
+    private int nbSlowCalls = 0;
+    
+    private long openedAt = 0;
+    
+    private int halfOpenPermits = 0;
+    
+    /**
+     * Return if a request can be sent : always when the circuit is closed, never when it's open and only for the probe requests when it's
+     * half-open.
+     * 
+     * @return if a request can be sent
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (this.state == State.OPEN) {
+            if (System.currentTimeMillis() - this.openedAt < this.openDuration) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (this.state == State.HALF_OPEN) {
+            if (this.halfOpenPermits <= 0) {
+                return false;
+            }
+            this.halfOpenPermits--;
+        }
+        return true;
+    }
+    
+    /**
+     * Give back a permission for a request which has not been sent finally.
+     */
+    public synchronized void releasePermission() {
+        if (this.state == State.HALF_OPEN) {
+            this.halfOpenPermits++;
+        }
+    }
+    
+    /**
+     * Record the outcome of a request.
+     * 
+     * @param success
+     * @param duration in milliseconds
+     */
+    public synchronized void onResult(final boolean success, final long duration) {
+        if (this.state == State.OPEN) {
+            // late outcome of a request sent before opening the circuit
+            return;
+        }
+        byte outcome = 0;
+        if (!success) {
+            outcome |= FAILURE;
+        }
+        if (duration >= this.slowCallDuration) {
+            outcome |= SLOW;
+        }
+        record(outcome);
+        if (this.state == State.HALF_OPEN) {
+            if (this.nbCalls >= Math.min(this.halfOpenCalls, this.outcomes.length)) {
+                transitionTo(isThresholdReached() ? State.OPEN : State.CLOSED);
+            }
+        } else if (this.nbCalls >= Math.min(this.minimumNumberOfCalls, this.outcomes.length) && isThresholdReached()) {
+            transitionTo(State.OPEN);
+        }
+    }
+    
+    private void record(final byte outcome) {
+        if (this.nbCalls == this.outcomes.length) {
+            final byte oldest = this.outcomes[this.position];
+            if ((oldest & FAILURE) != 0) {
+                this.nbFailures--;
+            }
+            if ((oldest & SLOW) != 0) {
+                this.nbSlowCalls--;
+            }
+        } else {
+            this.nbCalls++;
+        }
+        this.outcomes[this.position] = outcome;
+        this.position = (this.position + 1) % this.outcomes.length;
+        if ((outcome & FAILURE) != 0) {
+            this.nbFailures++;
+        }
+        if ((outcome & SLOW) != 0) {
+            this.nbSlowCalls++;
+        }
+    }
+    
+    private boolean isThresholdReached() {
+        return this.nbFailures * 100 >= this.failureRateThreshold * this.nbCalls
+               || this.nbSlowCalls * 100 >= this.slowCallRateThreshold * this.nbCalls;
+    }
+    
+    private void transitionTo(final State newState) {
+        logger.warn("circuit breaker : {} -> {} (failures : {}, slow calls : {}, calls : {})", this.state, newState,
+                    this.nbFailures, this.nbSlowCalls, this.nbCalls);
+        this.state = newState;
+        this.nbCalls = 0;
+        this.position = 0;
+        this.nbFailures = 0;
+        this.nbSlowCalls = 0;
+        if (newState == State.OPEN) {
+            this.openedAt = System.currentTimeMillis();
+        } else if (newState == State.HALF_OPEN) {
+            this.halfOpenPermits = this.halfOpenCalls;
+        }
+    }
+    
+    public synchronized State getState() {
+        return this.state;
+    }
+    
+    /**
+     * Return the rate of failed requests among the recorded ones (in percent).
+     * 
+     * @return the rate of failed requests
+     */
+    public synchronized int getFailureRate() {
+        return this.nbCalls == 0 ? 0 : this.nbFailures * 100 / this.nbCalls;
+    }
+    
+    /**
+     * Return the rate of slow requests among the recorded ones (in percent).
+     * 
+     * @return the rate of slow requests
+     */
+    public synchronized int getSlowCallRate() {
+        return this.nbCalls == 0 ? 0 : this.nbSlowCalls * 100 / this.nbCalls;
+    }
+    
+    public synchronized int getWindowSize() {
+        return this.windowSize;
+    }
+    
+    /**
+     * Define the number of last requests whose outcome is recorded (it resets the recorded outcomes).
+     * 
+     * @param windowSize
+     */
+    public synchronized void setWindowSize(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        this.windowSize = windowSize;
+        this.outcomes = new byte[windowSize];
+        this.nbCalls = 0;
+        this.position = 0;
+        this.nbFailures = 0;
+        this.nbSlowCalls = 0;
+    }
+    
+    public synchronized int getMinimumNumberOfCalls() {
+        return this.minimumNumberOfCalls;
+    }
+    
+    public synchronized void setMinimumNumberOfCalls(final int minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+    
+    public synchronized int getFailureRateThreshold() {
+        return this.failureRateThreshold;
+    }
+    
+    public synchronized void setFailureRateThreshold(final int failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+    
+    public synchronized int getSlowCallRateThreshold() {
+        return this.slowCallRateThreshold;
+    }
+    
+    public synchronized void setSlowCallRateThreshold(final int slowCallRateThreshold) {
+        this.slowCallRateThreshold = slowCallRateThreshold;
+    }
+    
+    public synchronized int getSlowCallDuration() {
+        return this.slowCallDuration;
+    }
+    
+    public synchronized void setSlowCallDuration(final int slowCallDuration) {
+        this.slowCallDuration = slowCallDuration;
+    }
+    
+    public synchronized int getOpenDuration() {
+        return this.openDuration;
+    }
+    
+    public synchronized void setOpenDuration(final int openDuration) {
+        this.openDuration = openDuration;
+    }
+    
+    public synchronized int getHalfOpenCalls() {
+        return this.halfOpenCalls;
+    }
+    
+    public synchronized void setHalfOpenCalls(final int halfOpenCalls) {
+        this.halfOpenCalls = halfOpenCalls;
+    }
+}
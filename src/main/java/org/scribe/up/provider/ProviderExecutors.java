@@ -0,0 +1,166 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class holds the executors used by the providers for their asynchronous requests : the default one shared by all providers (with
+ * {@link #DEFAULT_THREADS} daemon threads) and the bounded ones dedicated to a provider type. With a bounded executor, the number of
+ * requests in flight for a provider type (access token + user profile) is limited to its number of threads whatever the number of
+ * waiting callbacks, so that a slow provider cannot starve the other ones.
+ * <p />
+ * The queue of the default executor is bounded ({@link #DEFAULT_QUEUE_SIZE} tasks) : when it's full, the submission is rejected with a
+ * {@link java.util.concurrent.RejectedExecutionException}. The providers handle it : an asynchronous user profile fails (and its callback
+ * is notified), a batch of user profiles is retrieved by the calling thread and the next page of a connection is requested when it's
+ * read.
+ * <p />
+ * The threads running the asynchronous tasks of the providers are marked (see {@link #isProviderTask()}) : as the executors queue the
+ * tasks, such a task must never wait for another task submitted to the same executor, it could be queued behind it.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class ProviderExecutors {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ProviderExecutors.class);
+    
+    public static final int DEFAULT_THREADS = 50;
+    
+    public static final int DEFAULT_QUEUE_SIZE = 1000;
+    
+    private static final ConcurrentHashMap<String, ThreadPoolExecutor> boundedExecutors = new ConcurrentHashMap<String, ThreadPoolExecutor>();
+    
+    // set in the threads while they run an asynchronous task of a provider
+    private static final ThreadLocal<Boolean> providerTask = new ThreadLocal<Boolean>();
+    
+    private ProviderExecutors() {
+    }
+    
+    /**
+     * Return whether the current thread runs an asynchronous task of a provider (user profile, batch of user profiles and their callbacks).
+     * 
+     * @return whether the current thread runs a task of a provider
+     */
+    public static boolean isProviderTask() {
+        return providerTask.get() != null;
+    }
+    
+    /**
+     * Mark the start or the end of an asynchronous task of a provider in the current thread.
+     * 
+     * @param running
+     */
+    static void setProviderTask(final boolean running) {
+        if (running) {
+            providerTask.set(Boolean.TRUE);
+        } else {
+            providerTask.remove();
+        }
+    }
+    
+    /**
+     * Return the default executor shared by all providers.
+     * 
+     * @return the default executor
+     */
+    public static ExecutorService getDefaultExecutor() {
+        return DefaultExecutorHolder.EXECUTOR;
+    }
+    
+    /**
+     * Return the executor dedicated to a provider type with a bounded number of concurrent requests. It's shared by all providers of the
+     * same type (and their clones) : its number of threads is the highest limit requested for this type, it never shrinks.
+     * 
+     * @param type
+     * @param maxConcurrentRequests
+     * @return the bounded executor for this provider type
+     */
+    public static ExecutorService getBoundedExecutor(final String type, final int maxConcurrentRequests) {
+        if (maxConcurrentRequests <= 0) {
+            throw new IllegalArgumentException("maxConcurrentRequests must be positive");
+        }
+        ThreadPoolExecutor executor = boundedExecutors.get(type);
+        if (executor == null) {
+            final ThreadPoolExecutor newExecutor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+                                                                          0L, TimeUnit.MILLISECONDS,
+                                                                          new LinkedBlockingQueue<Runnable>(),
+                                                                          new DaemonThreadFactory("scribe-up-" + type
+                                                                                                  + "-"));
+            executor = boundedExecutors.putIfAbsent(type, newExecutor);
+            if (executor == null) {
+                logger.debug("new bounded executor for : {} with {} threads", type, maxConcurrentRequests);
+                return newExecutor;
+            }
+            newExecutor.shutdown();
+        }
+        if (maxConcurrentRequests > executor.getMaximumPoolSize()) {
+            grow(executor, maxConcurrentRequests);
+        }
+        return executor;
+    }
+    
+    private static void grow(final ThreadPoolExecutor executor, final int size) {
+        synchronized (executor) {
+            if (size > executor.getMaximumPoolSize()) {
+                logger.debug("bounded executor grown to {} threads", size);
+                executor.setMaximumPoolSize(size);
+                executor.setCorePoolSize(size);
+            }
+        }
+    }
+    
+    /**
+     * Lazy holder of the default executor.
+     */
+    private static final class DefaultExecutorHolder {
+        
+        private static final ExecutorService EXECUTOR = new ThreadPoolExecutor(DEFAULT_THREADS, DEFAULT_THREADS, 0L,
+                                                                               TimeUnit.MILLISECONDS,
+                                                                               new LinkedBlockingQueue<Runnable>(DEFAULT_QUEUE_SIZE),
+                                                                               new DaemonThreadFactory("scribe-up-"),
+                                                                               new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    /**
+     * Thread factory for daemon threads.
+     */
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        
+        private final String prefix;
+        
+        private final AtomicInteger counter = new AtomicInteger();
+        
+        private DaemonThreadFactory(final String prefix) {
+            this.prefix = prefix;
+        }
+        
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, this.prefix + this.counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
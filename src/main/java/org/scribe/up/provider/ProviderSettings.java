@@ -0,0 +1,106 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider;
+
+import org.scribe.oauth.OAuthService;
+
+/**
+ * This class is an immutable snapshot of the configuration of a provider (key, secret, callback url, timeouts and proxy) and of the
+ * OAuth service built from it. A new snapshot is built at each (re-)initialization of the provider and replaces atomically the previous
+ * one, so that the requests in progress always see a consistent configuration, even during a rotation of the credentials. The
+ * configuration is read once from the provider : the OAuth service is then built from the snapshot (see
+ * {@link BaseOAuthProvider#internalInit(ProviderSettings)}), not from the fields of the provider.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class ProviderSettings {
+    
+    private final OAuthService service;
+    
+    private final String key;
+    
+    private final String secret;
+    
+    private final String callbackUrl;
+    
+    private final int connectTimeout;
+    
+    private final int readTimeout;
+    
+    private final String proxyHost;
+    
+    private final int proxyPort;
+    
+    ProviderSettings(final BaseOAuthProvider provider) {
+        this.service = null;
+        this.key = provider.key;
+        this.secret = provider.secret;
+        this.callbackUrl = provider.callbackUrl;
+        this.connectTimeout = provider.connectTimeout;
+        this.readTimeout = provider.readTimeout;
+        this.proxyHost = provider.proxyHost;
+        this.proxyPort = provider.proxyPort;
+    }
+    
+    ProviderSettings(final ProviderSettings settings, final OAuthService service) {
+        this.service = service;
+        this.key = settings.key;
+        this.secret = settings.secret;
+        this.callbackUrl = settings.callbackUrl;
+        this.connectTimeout = settings.connectTimeout;
+        this.readTimeout = settings.readTimeout;
+        this.proxyHost = settings.proxyHost;
+        this.proxyPort = settings.proxyPort;
+    }
+    
+    /**
+     * Return the OAuth service built from these settings (null while it's being built).
+     * 
+     * @return the OAuth service
+     */
+    public OAuthService getService() {
+        return this.service;
+    }
+    
+    public String getKey() {
+        return this.key;
+    }
+    
+    public String getSecret() {
+        return this.secret;
+    }
+    
+    public String getCallbackUrl() {
+        return this.callbackUrl;
+    }
+    
+    public int getConnectTimeout() {
+        return this.connectTimeout;
+    }
+    
+    public int getReadTimeout() {
+        return this.readTimeout;
+    }
+    
+    public String getProxyHost() {
+        return this.proxyHost;
+    }
+    
+    public int getProxyPort() {
+        return this.proxyPort;
+    }
+}
@@ -46,7 +46,7 @@ public final class ProvidersDefinition {
     
     private String baseUrl;
     
-    private boolean initialized = false;
+    private volatile boolean initialized = false;
     
     public ProvidersDefinition() {
     }
@@ -61,9 +61,13 @@ public final class ProvidersDefinition {
     /**
      * Initialize this providers definition.
      */
-    public synchronized void init() {
+    public void init() {
         if (!this.initialized) {
-            internalInit();
+            synchronized (this) {
+                if (!this.initialized) {
+                    internalInit();
+                }
+            }
         }
     }
     
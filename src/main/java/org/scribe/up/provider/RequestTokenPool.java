@@ -0,0 +1,280 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider;
+
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.scribe.model.Token;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class keeps a stock of fresh request tokens for an OAuth 1.0 provider, so that the authorization url can be built without waiting for
+ * the round trip of the request token : each token taken from the pool is replaced asynchronously by the executor and the tokens older than
+ * the max age (in milliseconds, 60 seconds by default) are discarded. Each token is given only once. It is thread-safe but must not be shared
+ * by several providers as the tokens are bound to the key of the provider.
+ * <p />
+ * The tokens are also refreshed in the background, so that the pool stays fresh after an idle period : a token is discarded and replaced
+ * when it reaches 90% of the max age (a shared daemon thread schedules the refresh of each token). The pool keeps retrieving tokens until
+ * it's shut down : {@link #shutdown()} must be called when the provider is discarded.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class RequestTokenPool {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RequestTokenPool.class);
+    
+    public static final int DEFAULT_MAX_AGE = 60000;
+    
+    private final Callable<Token> loader;
+    
+    private final Executor executor;
+    
+    private final int size;
+    
+    private final int maxAge;
+    
+    // the oldest tokens first
+    private final Queue<PooledToken> tokens = new ConcurrentLinkedQueue<PooledToken>();
+    
+    // the tokens in the pool or being retrieved
+    private final AtomicInteger stock = new AtomicInteger();
+    
+    private volatile boolean shutdown = false;
+    
+    // the age at which a token is replaced in the background, before it expires
+    private final long refreshAge;
+    
+    public RequestTokenPool(final Callable<Token> loader, final Executor executor, final int size) {
+        this(loader, executor, size, DEFAULT_MAX_AGE);
+    }
+    
+    public RequestTokenPool(final Callable<Token> loader, final Executor executor, final int size, final int maxAge) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive");
+        }
+        this.loader = loader;
+        this.executor = executor;
+        this.size = size;
+        this.maxAge = maxAge;
+        this.refreshAge = maxAge - maxAge / 10;
+    }
+    
+    /**
+     * Take a fresh token from the pool and refill the pool.
+     * 
+     * @return a fresh token or null if the pool is empty or shut down
+     */
+    public Token poll() {
+        if (this.shutdown) {
+            return null;
+        }
+        final long now = System.currentTimeMillis();
+        PooledToken pooled = this.tokens.poll();
+        while (pooled != null && now - pooled.created > this.maxAge) {
+            logger.debug("expired requestToken : {}", pooled.token);
+            this.stock.decrementAndGet();
+            pooled = this.tokens.poll();
+        }
+        if (pooled != null) {
+            this.stock.decrementAndGet();
+        }
+        refill();
+        return pooled != null ? pooled.token : null;
+    }
+    
+    /**
+     * Retrieve asynchronously the missing tokens of the pool.
+     */
+    public void refill() {
+        if (this.shutdown) {
+            return;
+        }
+        // one retrieval at most per missing token, even if the retrievals fail immediately
+        int missing = this.size - this.stock.get();
+        while (missing > 0 && reserve()) {
+            submitLoad();
+            missing--;
+        }
+    }
+    
+    /**
+     * Reserve a place in the pool for a token to retrieve.
+     * 
+     * @return if the pool was not full
+     */
+    private boolean reserve() {
+        int current = this.stock.get();
+        while (current < this.size) {
+            if (this.stock.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = this.stock.get();
+        }
+        return false;
+    }
+    
+    private void submitLoad() {
+        try {
+            this.executor.execute(new Runnable() {
+                
+                public void run() {
+                    load();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            logger.warn("Cannot retrieve requestToken", e);
+            this.stock.decrementAndGet();
+        }
+    }
+    
+    private void load() {
+        final Token token;
+        try {
+            token = this.loader.call();
+        } catch (final Exception e) {
+            logger.warn("Cannot retrieve requestToken", e);
+            // the stock is reset by the shutdown
+            if (!this.shutdown) {
+                this.stock.decrementAndGet();
+            }
+            return;
+        }
+        if (this.shutdown) {
+            return;
+        }
+        this.tokens.offer(new PooledToken(token, System.currentTimeMillis()));
+        // the token may have been added after the pool was cleared
+        if (this.shutdown) {
+            this.tokens.clear();
+            return;
+        }
+        scheduleRefresh();
+    }
+    
+    private void scheduleRefresh() {
+        try {
+            SchedulerHolder.SCHEDULER.schedule(new Runnable() {
+                
+                public void run() {
+                    refresh();
+                }
+            }, this.refreshAge, TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException e) {
+            logger.warn("Cannot schedule the refresh of the requestTokens", e);
+        }
+    }
+    
+    /**
+     * Discard the tokens about to expire and retrieve new ones.
+     */
+    private void refresh() {
+        if (this.shutdown) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        PooledToken pooled = this.tokens.peek();
+        while (pooled != null && now - pooled.created >= this.refreshAge) {
+            // a concurrent poll may have taken it
+            if (this.tokens.remove(pooled)) {
+                logger.debug("refresh requestToken : {}", pooled.token);
+                this.stock.decrementAndGet();
+            }
+            pooled = this.tokens.peek();
+        }
+        refill();
+    }
+    
+    /**
+     * Shut down the pool : its tokens are discarded, no token is retrieved or refreshed anymore and {@link #poll()} returns null. The
+     * retrievals in progress end but their tokens are discarded.
+     */
+    public void shutdown() {
+        this.shutdown = true;
+        this.tokens.clear();
+        this.stock.set(0);
+    }
+    
+    public boolean isShutdown() {
+        return this.shutdown;
+    }
+    
+    /**
+     * Return the number of fresh or expired tokens currently in the pool.
+     * 
+     * @return the number of tokens in the pool
+     */
+    public int getAvailableTokens() {
+        return this.tokens.size();
+    }
+    
+    /**
+     * Return the number of tokens in the pool or being retrieved.
+     * 
+     * @return the number of tokens in the pool or being retrieved
+     */
+    public int getStock() {
+        return this.stock.get();
+    }
+    
+    public int getSize() {
+        return this.size;
+    }
+    
+    public int getMaxAge() {
+        return this.maxAge;
+    }
+    
+    /**
+     * Lazy holder of the scheduler refreshing the tokens of all the pools.
+     */
+    private static final class SchedulerHolder {
+        
+        private static final ScheduledExecutorService SCHEDULER = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "scribe-up-requestTokens");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+    
+    /**
+     * A request token and its creation time.
+     */
+    private static final class PooledToken {
+        
+        private final Token token;
+        
+        private final long created;
+        
+        private PooledToken(final Token token, final long created) {
+            this.token = token;
+            this.created = created;
+        }
+    }
+}
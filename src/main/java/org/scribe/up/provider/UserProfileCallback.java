@@ -0,0 +1,43 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider;
+
+import org.scribe.up.profile.UserProfile;
+
+/**
+ * This interface is the contract to be notified when a user profile asynchronously retrieved is available. An exception thrown by these
+ * methods is logged and ignored by the provider : the user profile is still returned by the future, <i>onFailure</i> is not called after
+ * <i>onSuccess</i>.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public interface UserProfileCallback {
+    
+    /**
+     * Called when the user profile has been retrieved.
+     * 
+     * @param profile
+     */
+    public void onSuccess(UserProfile profile);
+    
+    /**
+     * Called when the user profile cannot be retrieved.
+     * 
+     * @param e
+     */
+    public void onFailure(Exception e);
+}
@@ -0,0 +1,227 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.exception.HttpException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is a profile cache with a maximum size (the least recently used entries are evicted first) and time to live : 5 minutes by
+ * default for the profiles, 30 seconds by default for the errors (in milliseconds, 0 not to cache the errors). The hits, misses and
+ * evictions are counted.
+ * <p />
+ * The entries are split into lock stripes selected by the hash of the key : each stripe is a synchronized access-ordered map holding its
+ * share of the maximum size, so that concurrent lookups on different stripes do not contend on the same lock. The least recently used
+ * order is therefore kept per stripe, not globally. By default, there are up to {@link #DEFAULT_STRIPES} stripes of at least
+ * {@link #MIN_STRIPE_SIZE} entries (a single stripe, so an exact LRU order, for small caches).
+ * <p />
+ * The keys contain the access tokens : they are never logged, only their hash.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class LruProfileCache implements ProfileCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LruProfileCache.class);
+    
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    
+    public static final long DEFAULT_TIME_TO_LIVE = 300000;
+    
+    public static final long DEFAULT_ERROR_TIME_TO_LIVE = 30000;
+    
+    public static final int DEFAULT_STRIPES = 16;
+    
+    public static final int MIN_STRIPE_SIZE = 64;
+    
+    private final int maxSize;
+    
+    private long timeToLive = DEFAULT_TIME_TO_LIVE;
+    
+    private long errorTimeToLive = DEFAULT_ERROR_TIME_TO_LIVE;
+    
+    private final AtomicLong hits = new AtomicLong();
+    
+    private final AtomicLong misses = new AtomicLong();
+    
+    private final AtomicLong evictions = new AtomicLong();
+    
+    private final Map<String, ProfileCacheEntry>[] stripes;
+    
+    public LruProfileCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+    
+    public LruProfileCache(final int maxSize) {
+        this(maxSize, Math.max(1, Math.min(DEFAULT_STRIPES, maxSize / MIN_STRIPE_SIZE)));
+    }
+    
+    @SuppressWarnings("unchecked")
+    public LruProfileCache(final int maxSize, final int nbStripes) {
+        if (nbStripes < 1 || nbStripes > Math.max(1, maxSize)) {
+            throw new IllegalArgumentException("nbStripes must be between 1 and maxSize");
+        }
+        this.maxSize = maxSize;
+        this.stripes = new Map[nbStripes];
+        for (int i = 0; i < nbStripes; i++) {
+            // the remainder of the division is spread over the first stripes
+            final int stripeMaxSize = maxSize / nbStripes + (i < maxSize % nbStripes ? 1 : 0);
+            this.stripes[i] = newStripe(stripeMaxSize);
+        }
+    }
+    
+    private Map<String, ProfileCacheEntry> newStripe(final int stripeMaxSize) {
+        return new LinkedHashMap<String, ProfileCacheEntry>(16, 0.75f, true) {
+            
+            private static final long serialVersionUID = -2597468542768434418L;
+            
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, ProfileCacheEntry> eldest) {
+                if (size() > stripeMaxSize) {
+                    LruProfileCache.this.evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    private Map<String, ProfileCacheEntry> stripe(final String key) {
+        // spread the bits of the hash code as the hash maps do
+        int h = key.hashCode();
+        h ^= (h >>> 20) ^ (h >>> 12);
+        h ^= (h >>> 7) ^ (h >>> 4);
+        return this.stripes[(h & 0x7fffffff) % this.stripes.length];
+    }
+    
+    public ProfileCacheEntry get(final String key) {
+        final Map<String, ProfileCacheEntry> stripe = stripe(key);
+        ProfileCacheEntry entry;
+        synchronized (stripe) {
+            entry = stripe.get(key);
+            if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+                stripe.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            this.misses.incrementAndGet();
+        } else {
+            this.hits.incrementAndGet();
+        }
+        return entry;
+    }
+    
+    public void putProfile(final String key, final UserProfile profile) {
+        if (this.timeToLive > 0) {
+            put(key, new ProfileCacheEntry(profile, System.currentTimeMillis() + this.timeToLive));
+        }
+    }
+    
+    public void putError(final String key, final HttpException exception) {
+        if (this.errorTimeToLive > 0) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("cache error : {} for key hash : {}", exception.getCode(), Integer.toHexString(key.hashCode()));
+            }
+            put(key, new ProfileCacheEntry(exception, System.currentTimeMillis() + this.errorTimeToLive));
+        }
+    }
+    
+    private void put(final String key, final ProfileCacheEntry entry) {
+        final Map<String, ProfileCacheEntry> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.put(key, entry);
+        }
+    }
+    
+    public void remove(final String key) {
+        final Map<String, ProfileCacheEntry> stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.remove(key);
+        }
+    }
+    
+    public void clear() {
+        for (final Map<String, ProfileCacheEntry> stripe : this.stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+    
+    public int getSize() {
+        int size = 0;
+        for (final Map<String, ProfileCacheEntry> stripe : this.stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+    
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+    
+    public int getNbStripes() {
+        return this.stripes.length;
+    }
+    
+    public long getHits() {
+        return this.hits.get();
+    }
+    
+    public long getMisses() {
+        return this.misses.get();
+    }
+    
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+    
+    /**
+     * Return the ratio of hits (between 0 and 1).
+     * 
+     * @return the ratio of hits
+     */
+    public double getHitRatio() {
+        final long h = this.hits.get();
+        final long total = h + this.misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+    
+    public long getTimeToLive() {
+        return this.timeToLive;
+    }
+    
+    public void setTimeToLive(final long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+    
+    public long getErrorTimeToLive() {
+        return this.errorTimeToLive;
+    }
+    
+    public void setErrorTimeToLive(final long errorTimeToLive) {
+        this.errorTimeToLive = errorTimeToLive;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.cache;
+
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.exception.HttpException;
+
+/**
+ * This interface is the contract for a cache of user profiles in front of the provider : the key is made of the provider type and the
+ * access token. The errors (like an invalid access token) can be cached too. The implementations must be thread-safe.
+ * <p />
+ * The cached profiles are shared by all callers : they must not be modified.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public interface ProfileCache {
+    
+    /**
+     * Return the cached entry (profile or error) for a key.
+     * 
+     * @param key
+     * @return the cached entry or null if there is no (valid) entry
+     */
+    public ProfileCacheEntry get(String key);
+    
+    /**
+     * Cache a user profile.
+     * 
+     * @param key
+     * @param profile
+     */
+    public void putProfile(String key, UserProfile profile);
+    
+    /**
+     * Cache an error.
+     * 
+     * @param key
+     * @param exception
+     */
+    public void putError(String key, HttpException exception);
+    
+    /**
+     * Remove the entry of a key.
+     * 
+     * @param key
+     */
+    public void remove(String key);
+    
+    /**
+     * Remove all entries.
+     */
+    public void clear();
+}
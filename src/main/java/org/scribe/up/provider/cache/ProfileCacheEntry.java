@@ -0,0 +1,75 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.cache;
+
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.exception.HttpException;
+
+/**
+ * This class is an entry of a profile cache : a user profile or an error (HTTP code and body).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class ProfileCacheEntry {
+    
+    private final UserProfile profile;
+    
+    private final int errorCode;
+    
+    private final String errorBody;
+    
+    private final long expiration;
+    
+    public ProfileCacheEntry(final UserProfile profile, final long expiration) {
+        this.profile = profile;
+        this.errorCode = 0;
+        this.errorBody = null;
+        this.expiration = expiration;
+    }
+    
+    public ProfileCacheEntry(final HttpException exception, final long expiration) {
+        this.profile = null;
+        this.errorCode = exception.getCode();
+        this.errorBody = exception.getBody();
+        this.expiration = expiration;
+    }
+    
+    public UserProfile getProfile() {
+        return this.profile;
+    }
+    
+    public boolean isError() {
+        return this.profile == null;
+    }
+    
+    /**
+     * Build a new exception for the cached error (an exception is not shared between threads).
+     * 
+     * @return the exception for the cached error
+     */
+    public HttpException newException() {
+        return new HttpException(this.errorCode, this.errorBody);
+    }
+    
+    public long getExpiration() {
+        return this.expiration;
+    }
+    
+    public boolean isExpired(final long now) {
+        return now >= this.expiration;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.exception;
+
+/**
+ * This class represents the failure of a request which has not been sent because the provider is considered unavailable (circuit breaker
+ * open or too many concurrent requests) : its code is 503 (Service Unavailable).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class ProviderUnavailableException extends HttpException {
+    
+    private static final long serialVersionUID = -6284402712387542016L;
+    
+    public static final int CODE = 503;
+    
+    public ProviderUnavailableException(final String message) {
+        super(CODE, message);
+    }
+}
@@ -20,12 +20,14 @@ import java.util.Iterator;
 import org.apache.commons.lang3.StringUtils;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.CasOAuthWrapperApi20;
 import org.scribe.up.addon_to_scribe.ProxyOAuth20ServiceImpl;
 import org.scribe.up.profile.JsonHelper;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.casoauthwrapper.CasOAuthWrapperProfile;
 import org.scribe.up.provider.BaseOAuth20Provider;
+import org.scribe.up.provider.ProviderSettings;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -54,14 +56,14 @@ public class CasOAuthWrapperProvider extends BaseOAuth20Provider {
     }
     
     @Override
-    protected void internalInit() {
+    protected OAuthService internalInit(final ProviderSettings settings) {
         if (StringUtils.isBlank(this.casServerUrl)) {
             throw new IllegalArgumentException("casServerUrl cannot be blank");
         }
-        this.service = new ProxyOAuth20ServiceImpl(new CasOAuthWrapperApi20(this.casServerUrl),
-                                                   new OAuthConfig(this.key, this.secret, this.callbackUrl,
-                                                                   SignatureType.Header, null, null), this.proxyHost,
-                                                   this.proxyPort);
+        return new ProxyOAuth20ServiceImpl(new CasOAuthWrapperApi20(this.casServerUrl),
+                                           new OAuthConfig(settings.getKey(), settings.getSecret(), settings.getCallbackUrl(),
+                                                           SignatureType.Header, null, null), settings.getProxyHost(),
+                                           settings.getProxyPort());
     }
     
     @Override
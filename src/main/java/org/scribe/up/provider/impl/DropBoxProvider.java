@@ -21,6 +21,7 @@ import org.scribe.builder.api.DropBoxApi;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
 import org.scribe.model.Token;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ProxyOAuth10aServiceImpl;
 import org.scribe.up.credential.OAuthCredential;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
@@ -28,6 +29,7 @@ import org.scribe.up.profile.JsonHelper;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.dropbox.DropBoxProfile;
 import org.scribe.up.provider.BaseOAuth10Provider;
+import org.scribe.up.provider.ProviderSettings;
 import org.scribe.up.session.UserSession;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -51,11 +53,11 @@ public class DropBoxProvider extends BaseOAuth10Provider {
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ProxyOAuth10aServiceImpl(new DropBoxApi(),
-                                                    new OAuthConfig(this.key, this.secret, this.callbackUrl,
-                                                                    SignatureType.Header, null, null), this.proxyHost,
-                                                    this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ProxyOAuth10aServiceImpl(new DropBoxApi(),
+                                            new OAuthConfig(settings.getKey(), settings.getSecret(), settings.getCallbackUrl(),
+                                                            SignatureType.Header, null, null), settings.getProxyHost(),
+                                            settings.getProxyPort());
     }
     
     @Override
@@ -69,6 +71,8 @@ public class DropBoxProvider extends BaseOAuth10Provider {
         // get tokenRequest from user session
         final Token tokenRequest = (Token) session.getAttribute(getRequestTokenSessionAttributeName());
         logger.debug("tokenRequest : {}", tokenRequest);
+        // the request token can be used only once
+        session.setAttribute(getRequestTokenSessionAttributeName(), null);
         // don't get parameters from url
         // token and verifier are equals and extracted from saved request token
         final String token = tokenRequest.getToken();
@@ -0,0 +1,233 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.impl;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.scribe.model.Token;
+import org.scribe.up.profile.OAuthAttributesDefinitions;
+import org.scribe.up.profile.converter.AttributeConverter;
+import org.scribe.up.profile.converter.JsonListConverter;
+import org.scribe.up.provider.ProviderExecutors;
+import org.scribe.up.provider.exception.HttpException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This class is a connection of a Facebook user (friends, likes, albums...) whose pages are retrieved while iterating over it, by
+ * following the <i>paging.next</i> urls of the Graph API.
+ * <p />
+ * Only the current page is kept in memory : the first page is requested by the first call to <code>hasNext()</code> and the next page is
+ * requested (by the executor of the provider) as soon as the current one is received, so that it's usually available when the current page
+ * has been consumed. When the connection is iterated in an asynchronous task of a provider, the next page is requested synchronously
+ * instead, as waiting for a task queued in the same executor could block all its threads. Each iterator requests the pages again, from the
+ * first one. If a page cannot be retrieved, the iterator throws an {@link IllegalStateException} whose cause is the {@link HttpException}.
+ * <p />
+ * The <i>paging.next</i> urls are requested with the access token of the user, so only the urls of the Graph API are followed. An url
+ * already requested by the iterator ends the iteration, instead of looping over the same pages.
+ * <p />
+ * The connection must be defined in the Facebook attributes definition and its items must be instances of the class given when the
+ * connection is created, otherwise an {@link IllegalArgumentException} is thrown by the constructor.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class FacebookConnection<T> implements Iterable<T> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FacebookConnection.class);
+    
+    private final FacebookProvider provider;
+    
+    private final Token accessToken;
+    
+    private final String name;
+    
+    private final String url;
+    
+    private final JsonListConverter converter;
+    
+    FacebookConnection(final FacebookProvider provider, final Token accessToken, final String name, final String url,
+                       final Class<T> itemClass) {
+        final AttributeConverter<? extends Object> attributeConverter = OAuthAttributesDefinitions.facebookDefinition
+            .getConverter(name);
+        if (!(attributeConverter instanceof JsonListConverter)) {
+            throw new IllegalArgumentException("Unknown connection : " + name);
+        }
+        this.converter = (JsonListConverter) attributeConverter;
+        if (!itemClass.isAssignableFrom(this.converter.getClazz())) {
+            throw new IllegalArgumentException("The items of the connection : " + name + " are " + this.converter.getClazz().getName()
+                                               + ", not " + itemClass.getName());
+        }
+        this.provider = provider;
+        this.accessToken = accessToken;
+        this.name = name;
+        this.url = url;
+    }
+    
+    public Iterator<T> iterator() {
+        return new PageIterator();
+    }
+    
+    public String getName() {
+        return this.name;
+    }
+    
+    /**
+     * Request a page asynchronously.
+     * 
+     * @param pageUrl
+     * @return the future page or null if the executor rejects the request
+     */
+    private Future<JsonNode> requestPage(final String pageUrl) {
+        try {
+            return this.provider.getExecutor().submit(new Callable<JsonNode>() {
+                public JsonNode call() throws HttpException {
+                    return FacebookConnection.this.provider.retrieveConnectionPage(FacebookConnection.this.accessToken,
+                                                                                   pageUrl);
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            logger.debug("Request of the next page rejected for the connection : {}", this.name);
+            return null;
+        }
+    }
+    
+    /**
+     * Request a page synchronously.
+     * 
+     * @param pageUrl
+     * @return the page
+     */
+    private JsonNode retrievePage(final String pageUrl) {
+        try {
+            return this.provider.retrieveConnectionPage(this.accessToken, pageUrl);
+        } catch (final HttpException e) {
+            throw new IllegalStateException("Cannot retrieve a page of the connection : " + this.name, e);
+        }
+    }
+    
+    /**
+     * Wait for a page : the request is bounded by the timeouts, so the wait is not interrupted but the interruption status is restored.
+     * 
+     * @param page
+     * @return the page
+     */
+    private JsonNode getPage(final Future<JsonNode> page) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return page.get();
+                } catch (final InterruptedException e) {
+                    interrupted = true;
+                } catch (final ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IllegalStateException("Cannot retrieve a page of the connection : " + this.name, cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * An iterator over the items of the current page, which requests the next page in advance (outside the tasks of the providers).
+     */
+    private final class PageIterator implements Iterator<T> {
+        
+        private Iterator<T> items = Collections.<T> emptyList().iterator();
+        
+        // the next page, either requested in advance or still to request
+        private Future<JsonNode> nextPage;
+        
+        private String nextUrl = FacebookConnection.this.url;
+        
+        // the urls already requested, as a repeated paging.next url would loop forever
+        private final Set<String> urls = new HashSet<String>();
+        
+        public boolean hasNext() {
+            while (!this.items.hasNext() && (this.nextPage != null || this.nextUrl != null)) {
+                final JsonNode page;
+                if (this.nextPage != null) {
+                    page = getPage(this.nextPage);
+                } else {
+                    this.urls.add(this.nextUrl);
+                    page = retrievePage(this.nextUrl);
+                }
+                this.nextPage = null;
+                this.nextUrl = null;
+                final String next = page.path("paging").path("next").asText();
+                if (StringUtils.isNotBlank(next) && !this.urls.add(next)) {
+                    logger.warn("Repeated next page ends the connection : {}", FacebookConnection.this.name);
+                } else if (StringUtils.isNotBlank(next)) {
+                    if (ProviderExecutors.isProviderTask()) {
+                        this.nextUrl = next;
+                    } else {
+                        this.nextPage = requestPage(next);
+                        if (this.nextPage == null) {
+                            // requested when it's read
+                            this.nextUrl = next;
+                        }
+                    }
+                }
+                final List<T> list = convert(page.get("data"));
+                if (list != null) {
+                    this.items = list.iterator();
+                }
+            }
+            return this.items.hasNext();
+        }
+        
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return this.items.next();
+        }
+        
+        public void remove() {
+            throw new UnsupportedOperationException("Connections are read-only");
+        }
+        
+        // the class of the items has been checked by the constructor
+        @SuppressWarnings("unchecked")
+        private List<T> convert(final JsonNode data) {
+            if (data == null || !data.isArray()) {
+                return null;
+            }
+            return (List<T>) FacebookConnection.this.converter.convert(data);
+        }
+    }
+}
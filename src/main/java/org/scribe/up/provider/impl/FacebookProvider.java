@@ -15,24 +15,35 @@
  */
 package org.scribe.up.provider.impl;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
-import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.scribe.model.OAuthConfig;
+import org.scribe.model.OAuthConstants;
 import org.scribe.model.SignatureType;
+import org.scribe.model.Token;
+import org.scribe.model.Verb;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ExtendedFacebookApi;
 import org.scribe.up.addon_to_scribe.FacebookOAuth20ServiceImpl;
 import org.scribe.up.credential.OAuthCredential;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
 import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonProfileExtractor;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.facebook.FacebookAttributesDefinition;
 import org.scribe.up.profile.facebook.FacebookProfile;
 import org.scribe.up.provider.BaseOAuth20Provider;
+import org.scribe.up.provider.BatchUserProfileCallback;
+import org.scribe.up.provider.ProviderSettings;
+import org.scribe.up.provider.exception.HttpException;
 import org.scribe.up.session.UserSession;
 import org.scribe.utils.OAuthEncoder;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
 import com.fasterxml.jackson.databind.JsonNode;
 
 /**
@@ -50,6 +61,17 @@ import com.fasterxml.jackson.databind.JsonNode;
  * <p />
  * The number of results can be limited by using the {@link #setLimit(int)} method.
  * <p />
+ * The <i>connections</i> (friends, likes, albums, events, groups, music.listens...) can be defined by using the
+ * {@link #setConnections(String)} method : the profile and these connections are then retrieved together in one Graph API batch request.
+ * When retrieving the user profiles of many access tokens, the requests of several users (up to 50 requests) can be packed in one batch
+ * request by using the {@link #setUsersPerBatch(int)} method.
+ * <p />
+ * The connections returned inline (in the <i>fields</i>) can be parsed only when they are read from the profile (like
+ * <i>getFriends()</i>) by using the {@link #setLazyConnections(boolean)} method.
+ * <p />
+ * All the pages of a connection (like the 5000 friends of a user) can be iterated over by using the
+ * {@link #getConnection(FacebookProfile, String, Class)} method.
+ * <p />
  * It returns a {@link org.scribe.up.profile.facebook.FacebookProfile}.
  * <p />
  * More information at http://developers.facebook.com/docs/reference/api/user/
@@ -61,9 +83,40 @@ import com.fasterxml.jackson.databind.JsonNode;
  */
 public class FacebookProvider extends BaseOAuth20Provider {
     
+    protected static final JsonProfileExtractor profileExtractor = new JsonProfileExtractor("id",
+                                                                                            OAuthAttributesDefinitions.facebookDefinition);
+    
+    // same extractor but the connections are only parsed when they are read from the profile
+    protected static final JsonProfileExtractor lazyProfileExtractor = new JsonProfileExtractor("id",
+                                                                                                OAuthAttributesDefinitions.facebookDefinition);
+    
+    static {
+        // for the connections, only keep the data (not the paging)
+        final String[] names = new String[] {
+            FacebookAttributesDefinition.FRIENDS, FacebookAttributesDefinition.MOVIES,
+            FacebookAttributesDefinition.MUSIC, FacebookAttributesDefinition.BOOKS, FacebookAttributesDefinition.LIKES,
+            FacebookAttributesDefinition.ALBUMS, FacebookAttributesDefinition.EVENTS,
+            FacebookAttributesDefinition.GROUPS, FacebookAttributesDefinition.MUSIC_LISTENS,
+            FacebookAttributesDefinition.PICTURE
+        };
+        for (final String name : names) {
+            profileExtractor.addWrappedAttribute(name, "data");
+            lazyProfileExtractor.addWrappedAttribute(name, "data");
+            lazyProfileExtractor.addLazyAttribute(name);
+        }
+    }
+    
     public final static String DEFAULT_FIELDS = "id,name,first_name,middle_name,last_name,gender,locale,languages,link,username,third_party_id,timezone,updated_time,verified,bio,birthday,education,email,hometown,interested_in,location,political,favorite_athletes,favorite_teams,quotes,relationship_status,religion,significant_other,website,work";
     
-    protected final static String BASE_URL = "https://graph.facebook.com/me";
+    protected final static String GRAPH_URL = "https://graph.facebook.com/";
+    
+    protected final static String BASE_URL = GRAPH_URL + "me";
+    
+    // maximum number of requests in a Graph API batch request
+    protected final static int MAX_BATCH_REQUESTS = 50;
+    
+    // the access token of the paging urls, added again when signing the requests
+    protected final static Pattern ACCESS_TOKEN_PARAMETER = Pattern.compile("([?&])access_token=[^&]*(&|$)");
     
     // Used as UserSession attribute and request parameter attribute for the the returned callbackUrl
     protected static final String FACEBOOK_STATE = "state";
@@ -78,27 +131,36 @@ public class FacebookProvider extends BaseOAuth20Provider {
     
     protected int limit = DEFAULT_LIMIT;
     
+    protected String connections = null;
+    
+    protected int usersPerBatch = 1;
+    
+    protected boolean lazyConnections = false;
+    
     @Override
     protected FacebookProvider newProvider() {
         final FacebookProvider newProvider = new FacebookProvider();
         newProvider.setScope(this.scope);
         newProvider.setFields(this.fields);
         newProvider.setLimit(this.limit);
+        newProvider.setConnections(this.connections);
+        newProvider.setUsersPerBatch(this.usersPerBatch);
+        newProvider.setLazyConnections(this.lazyConnections);
         return newProvider;
     }
     
     @Override
-    protected void internalInit() {
+    protected OAuthService internalInit(final ProviderSettings settings) {
         if (StringUtils.isNotBlank(this.scope)) {
-            this.service = new FacebookOAuth20ServiceImpl(new ExtendedFacebookApi(),
-                                                          new OAuthConfig(this.key, this.secret, this.callbackUrl,
-                                                                          SignatureType.Header, this.scope, null),
-                                                          this.proxyHost, this.proxyPort);
+            return new FacebookOAuth20ServiceImpl(new ExtendedFacebookApi(),
+                                                  new OAuthConfig(settings.getKey(), settings.getSecret(), settings.getCallbackUrl(),
+                                                                  SignatureType.Header, this.scope, null),
+                                                  settings.getProxyHost(), settings.getProxyPort());
         } else {
-            this.service = new FacebookOAuth20ServiceImpl(new ExtendedFacebookApi(),
-                                                          new OAuthConfig(this.key, this.secret, this.callbackUrl,
-                                                                          SignatureType.Header, null, null),
-                                                          this.proxyHost, this.proxyPort);
+            return new FacebookOAuth20ServiceImpl(new ExtendedFacebookApi(),
+                                                  new OAuthConfig(settings.getKey(), settings.getSecret(), settings.getCallbackUrl(),
+                                                                  SignatureType.Header, null, null),
+                                                  settings.getProxyHost(), settings.getProxyPort());
         }
     }
     
@@ -111,25 +173,228 @@ public class FacebookProvider extends BaseOAuth20Provider {
         return url;
     }
     
+    /**
+     * Return the url of the Graph API (for the batch requests).
+     * 
+     * @return the url of the Graph API
+     */
+    protected String getGraphUrl() {
+        return GRAPH_URL;
+    }
+    
+    @Override
+    protected UserProfile retrieveUserProfile(final Token accessToken) throws HttpException {
+        if (StringUtils.isBlank(this.connections)) {
+            return super.retrieveUserProfile(accessToken);
+        }
+        final String[] names = getConnectionNames();
+        final StringBuilder batch = new StringBuilder("[");
+        appendBatchRequests(batch, null, names);
+        batch.append("]");
+        final JsonNode responses = sendBatchRequest(accessToken, batch.toString());
+        final UserProfile profile = extractBatchUserProfile(responses, 0, names);
+        addAccessTokenToProfile(profile, accessToken);
+        return profile;
+    }
+    
+    @Override
+    protected int getBatchSize() {
+        return Math.max(1, Math.min(this.usersPerBatch, MAX_BATCH_REQUESTS / (1 + getConnectionNames().length)));
+    }
+    
+    /**
+     * Retrieve the user profiles (and their connections) of several access tokens in one batch request, authenticated by the application
+     * access token. The profile cache is not used.
+     */
+    @Override
+    protected void retrieveUserProfileBatch(final List<String> accessTokens, final BatchUserProfileCallback callback) {
+        if (accessTokens.size() <= 1) {
+            super.retrieveUserProfileBatch(accessTokens, callback);
+        } else {
+            init();
+            final String[] names = getConnectionNames();
+            final StringBuilder batch = new StringBuilder("[");
+            for (final String accessToken : accessTokens) {
+                if (batch.length() > 1) {
+                    batch.append(",");
+                }
+                appendBatchRequests(batch, accessToken, names);
+            }
+            batch.append("]");
+            JsonNode responses = null;
+            Exception failure = null;
+            try {
+                final ProviderSettings currentSettings = getSettings();
+                responses = sendBatchRequest(new Token(currentSettings.getKey() + "|" + currentSettings.getSecret(), ""),
+                                             batch.toString());
+            } catch (final HttpException e) {
+                failure = e;
+            } catch (final RuntimeException e) {
+                failure = e;
+            }
+            int index = 0;
+            for (final String accessToken : accessTokens) {
+                if (failure != null) {
+                    callback.onFailure(accessToken, failure);
+                } else {
+                    try {
+                        final UserProfile profile = extractBatchUserProfile(responses, index, names);
+                        addAccessTokenToProfile(profile, new Token(accessToken, ""));
+                        callback.onSuccess(accessToken, profile);
+                    } catch (final HttpException e) {
+                        callback.onFailure(accessToken, e);
+                    }
+                }
+                index += 1 + names.length;
+            }
+        }
+    }
+    
+    private String[] getConnectionNames() {
+        if (StringUtils.isBlank(this.connections)) {
+            return new String[0];
+        }
+        return StringUtils.stripAll(StringUtils.split(this.connections, ','));
+    }
+    
+    /**
+     * Append the requests of the profile and the connections of a user to a batch request.
+     * 
+     * @param batch
+     * @param accessToken the access token of the user or null to use the one of the batch request
+     * @param names
+     */
+    private void appendBatchRequests(final StringBuilder batch, final String accessToken, final String[] names) {
+        appendBatchRequest(batch, StringUtils.removeStart(getProfileUrl(), GRAPH_URL), accessToken);
+        for (final String name : names) {
+            String relativeUrl = "me/" + name;
+            if (this.limit > DEFAULT_LIMIT) {
+                relativeUrl += "?limit=" + this.limit;
+            }
+            batch.append(",");
+            appendBatchRequest(batch, relativeUrl, accessToken);
+        }
+    }
+    
+    private void appendBatchRequest(final StringBuilder batch, final String relativeUrl, final String accessToken) {
+        String url = relativeUrl;
+        if (accessToken != null) {
+            url += (url.indexOf('?') >= 0 ? "&" : "?") + "access_token=" + OAuthEncoder.encode(accessToken);
+        }
+        batch.append("{\"method\":\"GET\",\"relative_url\":\"");
+        batch.append(JsonStringEncoder.getInstance().quoteAsString(url));
+        batch.append("\"}");
+    }
+    
+    /**
+     * Send a Graph API batch request : the access token is sent in the body, so that it's not part of the (logged) url.
+     * 
+     * @param accessToken
+     * @param batch
+     * @return the responses of the batch request
+     * @throws HttpException
+     */
+    private JsonNode sendBatchRequest(final Token accessToken, final String batch) throws HttpException {
+        final Map<String, String> parameters = new HashMap<String, String>();
+        parameters.put(OAuthConstants.ACCESS_TOKEN, accessToken.getToken());
+        parameters.put("batch", batch);
+        parameters.put("include_headers", "false");
+        final String body = sendRequestForData(null, Verb.POST, getGraphUrl(), parameters);
+        final JsonNode responses = JsonHelper.getFirstNode(body);
+        if (responses == null || !responses.isArray()) {
+            throw new HttpException(502, body);
+        }
+        return responses;
+    }
+    
+    /**
+     * Extract the user profile and its connections from the responses of a batch request.
+     * 
+     * @param responses
+     * @param index of the profile response
+     * @param names of the connections
+     * @return the user profile
+     * @throws HttpException
+     */
+    private UserProfile extractBatchUserProfile(final JsonNode responses, final int index, final String[] names)
+        throws HttpException {
+        final UserProfile profile = extractAndRecordUserProfile(getBatchResponseBody(responses, index));
+        // the same extractor as the profile, so that the connections are lazy attributes if required
+        final JsonProfileExtractor extractor = this.lazyConnections ? lazyProfileExtractor : profileExtractor;
+        for (int i = 0; i < names.length; i++) {
+            try {
+                extractor.extractAttribute(names[i], getBatchResponseBody(responses, index + 1 + i), profile);
+            } catch (final HttpException e) {
+                logger.warn("Cannot get connection : {} / code : {}", names[i], e.getCode());
+            }
+        }
+        return profile;
+    }
+    
+    private String getBatchResponseBody(final JsonNode responses, final int index) throws HttpException {
+        final JsonNode response = responses.get(index);
+        if (response == null || response.isNull()) {
+            // the request has not been completed in time by Facebook
+            throw new HttpException(504, null);
+        }
+        final String body = response.path("body").asText();
+        final int code = response.path("code").asInt();
+        if (code != 200) {
+            throw new HttpException(code, body);
+        }
+        return body;
+    }
+    
+    /**
+     * Return a connection of the user (like "friends" or "likes") whose pages are retrieved while iterating over it, the size of the pages
+     * being defined by the limit.
+     * 
+     * @param profile
+     * @param name
+     * @param itemClass the class of the items of the connection (like <code>FacebookObject.class</code> for the friends)
+     * @return the connection
+     * @throws IllegalArgumentException if the connection is not defined or if its items are not instances of the given class
+     */
+    public <T> FacebookConnection<T> getConnection(final FacebookProfile profile, final String name, final Class<T> itemClass) {
+        init();
+        String url = getGraphUrl() + "me/" + name;
+        if (this.limit > DEFAULT_LIMIT) {
+            url += "?limit=" + this.limit;
+        }
+        return new FacebookConnection<T>(this, new Token(profile.getAccessToken(), ""), name, url, itemClass);
+    }
+    
+    /**
+     * Retrieve a page of a connection : the url of the page must be an url of the Graph API, as it is requested with the access token (a
+     * <i>paging.next</i> url of another host is an invalid response).
+     * 
+     * @param accessToken
+     * @param pageUrl
+     * @return the page (data and paging)
+     * @throws HttpException
+     */
+    protected JsonNode retrieveConnectionPage(final Token accessToken, final String pageUrl) throws HttpException {
+        if (!pageUrl.startsWith(getGraphUrl())) {
+            logger.error("Unexpected page url : {}", pageUrl);
+            throw new HttpException(502, pageUrl);
+        }
+        String url = ACCESS_TOKEN_PARAMETER.matcher(pageUrl).replaceFirst("$1");
+        url = StringUtils.removeEnd(StringUtils.removeEnd(url, "&"), "?");
+        final String body = sendRequestForData(accessToken, url);
+        final JsonNode page = body == null ? null : JsonHelper.getFirstNode(body);
+        if (page == null) {
+            throw new HttpException(502, body);
+        }
+        return page;
+    }
+    
     @Override
     protected UserProfile extractUserProfile(final String body) {
         final FacebookProfile profile = new FacebookProfile();
-        final JsonNode json = JsonHelper.getFirstNode(body);
-        if (json != null) {
-            profile.setId(JsonHelper.get(json, "id"));
-            for (final String attribute : OAuthAttributesDefinitions.facebookDefinition.getAllAttributes()) {
-                profile.addAttribute(attribute, JsonHelper.get(json, attribute));
-            }
-            extractData(profile, json, FacebookAttributesDefinition.FRIENDS);
-            extractData(profile, json, FacebookAttributesDefinition.MOVIES);
-            extractData(profile, json, FacebookAttributesDefinition.MUSIC);
-            extractData(profile, json, FacebookAttributesDefinition.BOOKS);
-            extractData(profile, json, FacebookAttributesDefinition.LIKES);
-            extractData(profile, json, FacebookAttributesDefinition.ALBUMS);
-            extractData(profile, json, FacebookAttributesDefinition.EVENTS);
-            extractData(profile, json, FacebookAttributesDefinition.GROUPS);
-            extractData(profile, json, FacebookAttributesDefinition.MUSIC_LISTENS);
-            extractData(profile, json, FacebookAttributesDefinition.PICTURE);
+        if (this.lazyConnections) {
+            lazyProfileExtractor.extract(body, profile);
+        } else {
+            profileExtractor.extract(body, profile);
         }
         return profile;
     }
@@ -145,11 +410,11 @@ public class FacebookProvider extends BaseOAuth20Provider {
     public String getAuthorizationUrl(final UserSession session) {
         String authorizationUrl = null;
         // Generating a random Facebook state parameter and storing it in the UserSession under 'state' attribute
-        final String randomFacebookState = RandomStringUtils.randomAlphanumeric(RANDOM_STRING_LENGTH_10);
+        final String randomFacebookState = generateState(RANDOM_STRING_LENGTH_10);
         logger.debug("Facebook state parameter: [{}]", randomFacebookState);
         session.setAttribute(FACEBOOK_STATE, randomFacebookState);
         init();
-        authorizationUrl = ((FacebookOAuth20ServiceImpl) this.service).getAuthorizationUrl(randomFacebookState);
+        authorizationUrl = ((FacebookOAuth20ServiceImpl) getService()).getAuthorizationUrl(randomFacebookState);
         logger.debug("authorizationUrl : {}", authorizationUrl);
         return authorizationUrl;
     }
@@ -159,6 +424,8 @@ public class FacebookProvider extends BaseOAuth20Provider {
                                                               final Map<String, String[]> parameters) {
         // getting the Facebook state parameter from the callbackUrl returned by Facebook after authentication
         final String userSessionFacebookState = (String) session.getAttribute(FACEBOOK_STATE);
+        // the state can be used only once
+        session.setAttribute(FACEBOOK_STATE, null);
         final String[] stateVerifiers = parameters.get(FACEBOOK_STATE);
         if (stateVerifiers != null && stateVerifiers.length == 1) {
             final String stateVerifier = OAuthEncoder.decode(stateVerifiers[0]);
@@ -194,4 +461,45 @@ public class FacebookProvider extends BaseOAuth20Provider {
     public void setLimit(final int limit) {
         this.limit = limit;
     }
+    
+    public String getConnections() {
+        return this.connections;
+    }
+    
+    /**
+     * Define the connections retrieved with the profile in one batch request (comma separated, like "friends,likes,music.listens").
+     * 
+     * @param connections
+     */
+    public void setConnections(final String connections) {
+        this.connections = connections;
+    }
+    
+    public int getUsersPerBatch() {
+        return this.usersPerBatch;
+    }
+    
+    /**
+     * Define the maximum number of users whose profiles are retrieved in one batch request (1 by default, at most 50 requests per batch
+     * request including the connections).
+     * 
+     * @param usersPerBatch
+     */
+    public void setUsersPerBatch(final int usersPerBatch) {
+        this.usersPerBatch = usersPerBatch;
+    }
+    
+    public boolean isLazyConnections() {
+        return this.lazyConnections;
+    }
+    
+    /**
+     * Define if the connections (friends, movies, music, books, likes, albums, events, groups, music.listens, picture) are only parsed
+     * when they are read from the profile (false by default).
+     * 
+     * @param lazyConnections
+     */
+    public void setLazyConnections(final boolean lazyConnections) {
+        this.lazyConnections = lazyConnections;
+    }
 }
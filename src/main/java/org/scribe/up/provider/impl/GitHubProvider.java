@@ -17,15 +17,15 @@ package org.scribe.up.provider.impl;
 
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.GitHubApi;
 import org.scribe.up.addon_to_scribe.ProxyOAuth20ServiceImpl;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
-import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonProfileExtractor;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.github.GitHubProfile;
 import org.scribe.up.provider.BaseOAuth20Provider;
-
-import com.fasterxml.jackson.databind.JsonNode;
+import org.scribe.up.provider.ProviderSettings;
 
 /**
  * This class is the OAuth provider to authenticate user in GitHub.
@@ -40,17 +40,20 @@ import com.fasterxml.jackson.databind.JsonNode;
  */
 public class GitHubProvider extends BaseOAuth20Provider {
     
+    protected static final JsonProfileExtractor profileExtractor = new JsonProfileExtractor("id",
+                                                                                            OAuthAttributesDefinitions.githubDefinition);
+    
     @Override
     protected GitHubProvider newProvider() {
         return new GitHubProvider();
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ProxyOAuth20ServiceImpl(new GitHubApi(),
-                                                   new OAuthConfig(this.key, this.secret, this.callbackUrl,
-                                                                   SignatureType.Header, "user", null), this.proxyHost,
-                                                   this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ProxyOAuth20ServiceImpl(new GitHubApi(),
+                                           new OAuthConfig(settings.getKey(), settings.getSecret(), settings.getCallbackUrl(),
+                                                           SignatureType.Header, "user", null), settings.getProxyHost(),
+                                           settings.getProxyPort());
     }
     
     @Override
@@ -61,13 +64,7 @@ public class GitHubProvider extends BaseOAuth20Provider {
     @Override
     protected UserProfile extractUserProfile(final String body) {
         final GitHubProfile profile = new GitHubProfile();
-        final JsonNode json = JsonHelper.getFirstNode(body);
-        if (json != null) {
-            profile.setId(JsonHelper.get(json, "id"));
-            for (final String attribute : OAuthAttributesDefinitions.githubDefinition.getAllAttributes()) {
-                profile.addAttribute(attribute, JsonHelper.get(json, attribute));
-            }
-        }
+        profileExtractor.extract(body, profile);
         return profile;
     }
 }
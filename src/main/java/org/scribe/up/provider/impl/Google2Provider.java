@@ -17,15 +17,15 @@ package org.scribe.up.provider.impl;
 
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ExtendedOAuth20ServiceImpl;
 import org.scribe.up.addon_to_scribe.GoogleApi20;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
-import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonProfileExtractor;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.google2.Google2Profile;
 import org.scribe.up.provider.BaseOAuth20Provider;
-
-import com.fasterxml.jackson.databind.JsonNode;
+import org.scribe.up.provider.ProviderSettings;
 
 /**
  * This class is the OAuth provider to authenticate user in Google using OAuth protocol version 2.0.
@@ -43,6 +43,12 @@ import com.fasterxml.jackson.databind.JsonNode;
  */
 public class Google2Provider extends BaseOAuth20Provider {
     
+    protected static final JsonProfileExtractor profileExtractor = new JsonProfileExtractor(
+                                                                                            "id",
+                                                                                            OAuthAttributesDefinitions.google2Definition,
+                                                                                            OAuthAttributesDefinitions.google2Definition
+                                                                                                .getPrincipalAttributes());
+    
     public enum Google2Scope {
         EMAIL,
         PROFILE,
@@ -65,12 +71,12 @@ public class Google2Provider extends BaseOAuth20Provider {
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ExtendedOAuth20ServiceImpl(new GoogleApi20(), new OAuthConfig(this.key, this.secret,
-                                                                                         this.callbackUrl,
-                                                                                         SignatureType.Header,
-                                                                                         this.scopeValue, null),
-                                                      this.proxyHost, this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ExtendedOAuth20ServiceImpl(new GoogleApi20(), new OAuthConfig(settings.getKey(), settings.getSecret(),
+                                                                                 settings.getCallbackUrl(),
+                                                                                 SignatureType.Header,
+                                                                                 this.scopeValue, null),
+                                              settings.getProxyHost(), settings.getProxyPort());
     }
     
     @Override
@@ -81,13 +87,7 @@ public class Google2Provider extends BaseOAuth20Provider {
     @Override
     protected UserProfile extractUserProfile(final String body) {
         final Google2Profile profile = new Google2Profile();
-        final JsonNode json = JsonHelper.getFirstNode(body);
-        if (json != null) {
-            profile.setId(JsonHelper.get(json, "id"));
-            for (final String attribute : OAuthAttributesDefinitions.google2Definition.getPrincipalAttributes()) {
-                profile.addAttribute(attribute, JsonHelper.get(json, attribute));
-            }
-        }
+        profileExtractor.extract(body, profile);
         return profile;
     }
     
@@ -19,12 +19,14 @@ import org.scribe.builder.api.GoogleApi;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
 import org.scribe.model.Token;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ProxyOAuth10aServiceImpl;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
 import org.scribe.up.profile.JsonHelper;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.google.GoogleProfile;
 import org.scribe.up.provider.BaseOAuth10Provider;
+import org.scribe.up.provider.ProviderSettings;
 import org.scribe.up.session.UserSession;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -49,22 +51,22 @@ public class GoogleProvider extends BaseOAuth10Provider {
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ProxyOAuth10aServiceImpl(
-                                                    new GoogleApi(),
-                                                    new OAuthConfig(
-                                                                    this.key,
-                                                                    this.secret,
-                                                                    this.callbackUrl,
-                                                                    SignatureType.Header,
-                                                                    "http://www-opensocial.googleusercontent.com/api/people/",
-                                                                    null), this.proxyHost, this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ProxyOAuth10aServiceImpl(
+                                            new GoogleApi(),
+                                            new OAuthConfig(
+                                                            settings.getKey(),
+                                                            settings.getSecret(),
+                                                            settings.getCallbackUrl(),
+                                                            SignatureType.Header,
+                                                            "http://www-opensocial.googleusercontent.com/api/people/",
+                                                            null), settings.getProxyHost(), settings.getProxyPort());
     }
     
     @Override
     public String getAuthorizationUrl(final UserSession session) {
         init();
-        final Token requestToken = this.service.getRequestToken();
+        final Token requestToken = getRequestToken();
         logger.debug("requestToken : {}", requestToken);
         // save requestToken in session
         session.setAttribute(getRequestTokenSessionAttributeName(), requestToken);
@@ -19,12 +19,14 @@ import org.apache.commons.lang3.StringUtils;
 import org.scribe.builder.api.LinkedInApi;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ProxyOAuth10aServiceImpl;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.linkedin.LinkedInAttributesDefinition;
 import org.scribe.up.profile.linkedin.LinkedInProfile;
 import org.scribe.up.provider.BaseOAuth10Provider;
+import org.scribe.up.provider.ProviderSettings;
 
 /**
  * This class is the OAuth provider to authenticate user in LinkedIn.
@@ -45,11 +47,11 @@ public class LinkedInProvider extends BaseOAuth10Provider {
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ProxyOAuth10aServiceImpl(new LinkedInApi(),
-                                                    new OAuthConfig(this.key, this.secret, this.callbackUrl,
-                                                                    SignatureType.Header, null, null), this.proxyHost,
-                                                    this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ProxyOAuth10aServiceImpl(new LinkedInApi(),
+                                            new OAuthConfig(settings.getKey(), settings.getSecret(), settings.getCallbackUrl(),
+                                                            SignatureType.Header, null, null), settings.getProxyHost(),
+                                            settings.getProxyPort());
     }
     
     @Override
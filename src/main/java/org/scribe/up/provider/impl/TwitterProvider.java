@@ -19,14 +19,14 @@ import org.scribe.builder.api.DefaultApi10a;
 import org.scribe.builder.api.TwitterApi;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ProxyOAuth10aServiceImpl;
-import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonProfileExtractor;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.twitter.TwitterProfile;
 import org.scribe.up.provider.BaseOAuth10Provider;
-
-import com.fasterxml.jackson.databind.JsonNode;
+import org.scribe.up.provider.ProviderSettings;
 
 /**
  * This class is the OAuth provider to authenticate user in Twitter.
@@ -44,6 +44,9 @@ import com.fasterxml.jackson.databind.JsonNode;
  */
 public class TwitterProvider extends BaseOAuth10Provider {
     
+    protected static final JsonProfileExtractor profileExtractor = new JsonProfileExtractor("id",
+                                                                                            OAuthAttributesDefinitions.twitterDefinition);
+    
     private boolean alwaysConfirmAuthorization = false;
     
     @Override
@@ -52,16 +55,16 @@ public class TwitterProvider extends BaseOAuth10Provider {
     }
     
     @Override
-    protected void internalInit() {
+    protected OAuthService internalInit(final ProviderSettings settings) {
         DefaultApi10a api;
         if (this.alwaysConfirmAuthorization == false) {
             api = new TwitterApi.Authenticate();
         } else {
             api = new TwitterApi();
         }
-        this.service = new ProxyOAuth10aServiceImpl(api, new OAuthConfig(this.key, this.secret, this.callbackUrl,
-                                                                         SignatureType.Header, null, null),
-                                                    this.proxyHost, this.proxyPort);
+        return new ProxyOAuth10aServiceImpl(api, new OAuthConfig(settings.getKey(), settings.getSecret(), settings.getCallbackUrl(),
+                                                                 SignatureType.Header, null, null),
+                                            settings.getProxyHost(), settings.getProxyPort());
     }
     
     @Override
@@ -72,13 +75,7 @@ public class TwitterProvider extends BaseOAuth10Provider {
     @Override
     protected UserProfile extractUserProfile(final String body) {
         final TwitterProfile profile = new TwitterProfile();
-        final JsonNode json = JsonHelper.getFirstNode(body);
-        if (json != null) {
-            profile.setId(JsonHelper.get(json, "id"));
-            for (final String attribute : OAuthAttributesDefinitions.twitterDefinition.getAllAttributes()) {
-                profile.addAttribute(attribute, JsonHelper.get(json, attribute));
-            }
-        }
+        profileExtractor.extract(body, profile);
         return profile;
     }
     
@@ -18,14 +18,14 @@ package org.scribe.up.provider.impl;
 import org.scribe.builder.api.LiveApi;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ProxyOAuth20ServiceImpl;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
-import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonProfileExtractor;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.windowslive.WindowsLiveProfile;
 import org.scribe.up.provider.BaseOAuth20Provider;
-
-import com.fasterxml.jackson.databind.JsonNode;
+import org.scribe.up.provider.ProviderSettings;
 
 /**
  * This class is the OAuth provider to authenticate user in Windows Live (SkyDrive, Hotmail and Messenger).
@@ -40,17 +40,20 @@ import com.fasterxml.jackson.databind.JsonNode;
  */
 public class WindowsLiveProvider extends BaseOAuth20Provider {
     
+    protected static final JsonProfileExtractor profileExtractor = new JsonProfileExtractor("id",
+                                                                                            OAuthAttributesDefinitions.windowsLiveDefinition);
+    
     @Override
     protected WindowsLiveProvider newProvider() {
         return new WindowsLiveProvider();
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ProxyOAuth20ServiceImpl(new LiveApi(), new OAuthConfig(this.key, this.secret,
-                                                                                  this.callbackUrl,
-                                                                                  SignatureType.Header, "wl.basic",
-                                                                                  null), this.proxyHost, this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ProxyOAuth20ServiceImpl(new LiveApi(), new OAuthConfig(settings.getKey(), settings.getSecret(),
+                                                                          settings.getCallbackUrl(),
+                                                                          SignatureType.Header, "wl.basic",
+                                                                          null), settings.getProxyHost(), settings.getProxyPort());
     }
     
     @Override
@@ -61,13 +64,7 @@ public class WindowsLiveProvider extends BaseOAuth20Provider {
     @Override
     protected UserProfile extractUserProfile(final String body) {
         final WindowsLiveProfile profile = new WindowsLiveProfile();
-        final JsonNode json = JsonHelper.getFirstNode(body);
-        if (json != null) {
-            profile.setId(JsonHelper.get(json, "id"));
-            for (final String attribute : OAuthAttributesDefinitions.windowsLiveDefinition.getAllAttributes()) {
-                profile.addAttribute(attribute, JsonHelper.get(json, attribute));
-            }
-        }
+        profileExtractor.extract(body, profile);
         return profile;
     }
 }
@@ -17,6 +17,7 @@ package org.scribe.up.provider.impl;
 
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ExtendedOAuth20ServiceImpl;
 import org.scribe.up.addon_to_scribe.WordPressApi;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
@@ -25,6 +26,7 @@ import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.wordpress.WordPressAttributesDefinition;
 import org.scribe.up.profile.wordpress.WordPressProfile;
 import org.scribe.up.provider.BaseOAuth20Provider;
+import org.scribe.up.provider.ProviderSettings;
 
 import com.fasterxml.jackson.databind.JsonNode;
 
@@ -47,12 +49,12 @@ public class WordPressProvider extends BaseOAuth20Provider {
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ExtendedOAuth20ServiceImpl(new WordPressApi(), new OAuthConfig(this.key, this.secret,
-                                                                                          this.callbackUrl,
-                                                                                          SignatureType.Header, null,
-                                                                                          null), this.proxyHost,
-                                                      this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ExtendedOAuth20ServiceImpl(new WordPressApi(), new OAuthConfig(settings.getKey(), settings.getSecret(),
+                                                                                  settings.getCallbackUrl(),
+                                                                                  SignatureType.Header, null,
+                                                                                  null), settings.getProxyHost(),
+                                              settings.getProxyPort());
     }
     
     @Override
@@ -20,12 +20,14 @@ import org.scribe.builder.api.YahooApi;
 import org.scribe.model.OAuthConfig;
 import org.scribe.model.SignatureType;
 import org.scribe.model.Token;
+import org.scribe.oauth.OAuthService;
 import org.scribe.up.addon_to_scribe.ProxyOAuth10aServiceImpl;
 import org.scribe.up.profile.OAuthAttributesDefinitions;
 import org.scribe.up.profile.JsonHelper;
 import org.scribe.up.profile.UserProfile;
 import org.scribe.up.profile.yahoo.YahooProfile;
 import org.scribe.up.provider.BaseOAuth10Provider;
+import org.scribe.up.provider.ProviderSettings;
 import org.scribe.up.provider.exception.HttpException;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -49,11 +51,11 @@ public class YahooProvider extends BaseOAuth10Provider {
     }
     
     @Override
-    protected void internalInit() {
-        this.service = new ProxyOAuth10aServiceImpl(new YahooApi(), new OAuthConfig(this.key, this.secret,
-                                                                                    this.callbackUrl,
-                                                                                    SignatureType.Header, null, null),
-                                                    this.proxyHost, this.proxyPort);
+    protected OAuthService internalInit(final ProviderSettings settings) {
+        return new ProxyOAuth10aServiceImpl(new YahooApi(), new OAuthConfig(settings.getKey(), settings.getSecret(),
+                                                                            settings.getCallbackUrl(),
+                                                                            SignatureType.Header, null, null),
+                                            settings.getProxyHost(), settings.getProxyPort());
     }
     
     @Override
@@ -78,7 +80,7 @@ public class YahooProvider extends BaseOAuth10Provider {
                 return null;
             }
         }
-        final UserProfile profile = extractUserProfile(body);
+        final UserProfile profile = extractAndRecordUserProfile(body);
         addAccessTokenToProfile(profile, accessToken);
         return profile;
     }
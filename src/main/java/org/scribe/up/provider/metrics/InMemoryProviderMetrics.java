@@ -0,0 +1,134 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class records the metrics in memory : a latency histogram per provider type and operation and an error counter per provider type,
+ * operation and HTTP code.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class InMemoryProviderMetrics implements ProviderMetrics {
+    
+    private final ConcurrentMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<String, LatencyHistogram>();
+    
+    private final ConcurrentMap<String, AtomicLong> errors = new ConcurrentHashMap<String, AtomicLong>();
+    
+    public void recordTime(final String providerType, final String operation, final long duration) {
+        final String key = providerType + "." + operation;
+        LatencyHistogram histogram = this.histograms.get(key);
+        if (histogram == null) {
+            final LatencyHistogram newHistogram = new LatencyHistogram();
+            histogram = this.histograms.putIfAbsent(key, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        histogram.record(duration);
+    }
+    
+    public void recordError(final String providerType, final String operation, final int code) {
+        final String key = providerType + "." + operation + "." + code;
+        AtomicLong counter = this.errors.get(key);
+        if (counter == null) {
+            final AtomicLong newCounter = new AtomicLong();
+            counter = this.errors.putIfAbsent(key, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        counter.incrementAndGet();
+    }
+    
+    /**
+     * Return the latency histogram of an operation for a provider type.
+     * 
+     * @param providerType
+     * @param operation
+     * @return the latency histogram or null if nothing has been recorded
+     */
+    public LatencyHistogram getHistogram(final String providerType, final String operation) {
+        return this.histograms.get(providerType + "." + operation);
+    }
+    
+    /**
+     * Return the number of errors of an operation for a provider type and an HTTP code.
+     * 
+     * @param providerType
+     * @param operation
+     * @param code
+     * @return the number of errors
+     */
+    public long getErrors(final String providerType, final String operation, final int code) {
+        final AtomicLong counter = this.errors.get(providerType + "." + operation + "." + code);
+        return counter == null ? 0 : counter.get();
+    }
+    
+    /**
+     * Return all the latency histograms sorted by key (<i>providerType.operation</i>).
+     * 
+     * @return the latency histograms
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<String, LatencyHistogram>(this.histograms);
+    }
+    
+    /**
+     * Return all the error counters sorted by key (<i>providerType.operation.code</i>).
+     * 
+     * @return the error counters
+     */
+    public Map<String, Long> getErrors() {
+        final Map<String, Long> result = new TreeMap<String, Long>();
+        for (final Map.Entry<String, AtomicLong> entry : this.errors.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().get());
+        }
+        return result;
+    }
+    
+    /**
+     * Reset all the metrics.
+     */
+    public void clear() {
+        this.histograms.clear();
+        this.errors.clear();
+    }
+    
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            sb.append(entry.getKey());
+            sb.append(" -> ");
+            sb.append(entry.getValue());
+            sb.append("\n");
+        }
+        for (final Map.Entry<String, Long> entry : getErrors().entrySet()) {
+            sb.append(entry.getKey());
+            sb.append(" -> ");
+            sb.append(entry.getValue());
+            sb.append(" errors\n");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class is a thread-safe histogram of durations with exponential buckets : the bucket <i>i</i> counts the durations lower than 2^i
+ * microseconds, so the percentiles are approximated by excess (at most twice the real value).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class LatencyHistogram {
+    
+    private static final int NB_BUCKETS = 40;
+    
+    private final AtomicLongArray buckets = new AtomicLongArray(NB_BUCKETS);
+    
+    private final AtomicLong count = new AtomicLong();
+    
+    private final AtomicLong total = new AtomicLong();
+    
+    private final AtomicLong max = new AtomicLong();
+    
+    /**
+     * Record a duration.
+     * 
+     * @param duration in nanoseconds
+     */
+    public void record(final long duration) {
+        final long micros = duration < 0 ? 0 : duration / 1000;
+        final int index = Math.min(64 - Long.numberOfLeadingZeros(micros), NB_BUCKETS - 1);
+        this.buckets.incrementAndGet(index);
+        this.count.incrementAndGet();
+        this.total.addAndGet(micros);
+        long currentMax = this.max.get();
+        while (micros > currentMax && !this.max.compareAndSet(currentMax, micros)) {
+            currentMax = this.max.get();
+        }
+    }
+    
+    public long getCount() {
+        return this.count.get();
+    }
+    
+    /**
+     * Return the mean duration.
+     * 
+     * @return the mean duration in milliseconds
+     */
+    public double getMean() {
+        final long c = this.count.get();
+        return c == 0 ? 0.0 : this.total.get() / 1000.0 / c;
+    }
+    
+    /**
+     * Return the max duration.
+     * 
+     * @return the max duration in milliseconds
+     */
+    public double getMax() {
+        return this.max.get() / 1000.0;
+    }
+    
+    /**
+     * Return the percentile of the durations (the upper bound of its bucket).
+     * 
+     * @param percentile between 0 and 100
+     * @return the percentile in milliseconds
+     */
+    public double getPercentile(final double percentile) {
+        final long c = this.count.get();
+        if (c == 0) {
+            return 0.0;
+        }
+        final long rank = (long) Math.ceil(c * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < NB_BUCKETS; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(1L << i, this.max.get()) / 1000.0;
+            }
+        }
+        return getMax();
+    }
+    
+    @Override
+    public String toString() {
+        return "count : " + getCount() + " / mean : " + getMean() + " ms / p50 : " + getPercentile(50) + " ms / p99 : "
+               + getPercentile(99) + " ms / max : " + getMax() + " ms";
+    }
+}
@@ -0,0 +1,36 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.metrics;
+
+/**
+ * This class is the default implementation of the metrics : nothing is recorded.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class NoOpProviderMetrics implements ProviderMetrics {
+    
+    public static final NoOpProviderMetrics INSTANCE = new NoOpProviderMetrics();
+    
+    private NoOpProviderMetrics() {
+    }
+    
+    public void recordTime(final String providerType, final String operation, final long duration) {
+    }
+    
+    public void recordError(final String providerType, final String operation, final int code) {
+    }
+}
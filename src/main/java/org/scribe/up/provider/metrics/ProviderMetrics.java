@@ -0,0 +1,64 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.provider.metrics;
+
+/**
+ * This interface is the contract to record the metrics of the providers : the time spent in each step of the authentication process and the
+ * HTTP errors, per provider type. The implementations must be thread-safe and fast as they are called for each request.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public interface ProviderMetrics {
+    
+    /**
+     * Generation of the authorization url (including the request token for OAuth 1.0).
+     */
+    public static final String AUTHORIZATION_URL = "authorizationUrl";
+    
+    /**
+     * Exchange of the credential for the access token.
+     */
+    public static final String ACCESS_TOKEN = "accessToken";
+    
+    /**
+     * HTTP request to the profile url.
+     */
+    public static final String PROFILE_REQUEST = "profileRequest";
+    
+    /**
+     * Parsing of the response and conversion of the attributes into the user profile.
+     */
+    public static final String PROFILE_EXTRACTION = "profileExtraction";
+    
+    /**
+     * Record the time spent in an operation.
+     * 
+     * @param providerType
+     * @param operation
+     * @param duration in nanoseconds
+     */
+    public void recordTime(String providerType, String operation, long duration);
+    
+    /**
+     * Record an HTTP error.
+     * 
+     * @param providerType
+     * @param operation
+     * @param code
+     */
+    public void recordError(String providerType, String operation, int code);
+}
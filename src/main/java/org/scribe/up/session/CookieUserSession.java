@@ -0,0 +1,123 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.session;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * This implementation stores the user session in a cookie signed (and encrypted) by a {@link SessionCookieCodec}, so that the OAuth
+ * handshake (request token, state) needs no HTTP session : the servers sharing the secret of the codec can handle the callback without
+ * sticky sessions nor session replication.
+ * <p />
+ * The attributes set are kept in memory and the cookie is written once per response by the {@link #flush()} method, which must be called
+ * after the provider has used the session and before the response is committed (before the redirection to the authorization url). The
+ * cookie is HttpOnly, restricted to HTTPS if the codec is secure and expires after the max age of the codec.
+ * <p />
+ * Setting a <code>null</code> value removes the attribute : the providers do it once the request token or the state has been used by the
+ * callback, the cookie is then re-issued without it (or expired if the session is empty). The cookie is tamper-proof and expiring, but it's
+ * not bound to a nonce : a copy of the cookie taken before the callback stays valid until it expires.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class CookieUserSession implements UserSession {
+    
+    private final HttpServletRequest request;
+    
+    private final HttpServletResponse response;
+    
+    private final SessionCookieCodec codec;
+    
+    private Map<String, Object> attributes;
+    
+    // if the attributes have changed since the cookie was written
+    private boolean dirty = false;
+    
+    public CookieUserSession(final HttpServletRequest request, final HttpServletResponse response,
+                             final SessionCookieCodec codec) {
+        this.request = request;
+        this.response = response;
+        this.codec = codec;
+    }
+    
+    public void setAttribute(final String key, final Object value) {
+        final Map<String, Object> attributes = getAttributes();
+        if (value != null) {
+            attributes.put(key, value);
+        } else {
+            attributes.remove(key);
+        }
+        this.dirty = true;
+    }
+    
+    /**
+     * Write the cookie of the session in the response if its attributes have changed : it must be called once, before the response is
+     * committed.
+     */
+    public void flush() {
+        if (!this.dirty) {
+            return;
+        }
+        this.dirty = false;
+        final Map<String, Object> attributes = getAttributes();
+        final StringBuilder header = new StringBuilder();
+        header.append(this.codec.getCookieName());
+        header.append('=');
+        if (!attributes.isEmpty()) {
+            header.append(this.codec.encode(attributes));
+        }
+        header.append("; Path=");
+        header.append(this.codec.getCookiePath());
+        header.append("; Max-Age=");
+        header.append(attributes.isEmpty() ? 0 : this.codec.getMaxAge());
+        header.append("; HttpOnly");
+        if (this.codec.isSecure()) {
+            header.append("; Secure");
+        }
+        this.response.addHeader("Set-Cookie", header.toString());
+    }
+    
+    public Object getAttribute(final String key) {
+        return getAttributes().get(key);
+    }
+    
+    /**
+     * Return the attributes of the session, read from the request cookie the first time.
+     * 
+     * @return the attributes of the session
+     */
+    private Map<String, Object> getAttributes() {
+        if (this.attributes == null) {
+            final Cookie[] cookies = this.request.getCookies();
+            if (cookies != null) {
+                for (final Cookie cookie : cookies) {
+                    if (this.attributes == null && this.codec.getCookieName().equals(cookie.getName())) {
+                        this.attributes = this.codec.decode(cookie.getValue());
+                    }
+                }
+            }
+            if (this.attributes == null) {
+                this.attributes = new HashMap<String, Object>();
+            }
+        }
+        return this.attributes;
+    }
+}
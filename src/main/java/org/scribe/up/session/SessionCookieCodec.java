@@ -0,0 +1,310 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.commons.codec.binary.Base64;
+import org.scribe.model.Token;
+import org.scribe.up.addon_to_scribe.SecureRandomHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class encodes the attributes of a {@link CookieUserSession} into a compact cookie value, signed by HMAC-SHA256 and encrypted by AES
+ * (by default, see the {@link #setEncrypted(boolean)} method) with keys derived from a secret shared by all the servers. The value expires
+ * after the max age defined by the {@link #setMaxAge(int)} method (in seconds, 10 minutes by default), which is also the max age of the
+ * cookie.
+ * <p />
+ * Only the null values, the strings and the tokens can be stored, in a compact binary format : no Java serialization is used so that a
+ * leaked secret cannot be used to make the servers deserialize arbitrary objects. It is thread-safe and must be shared by all the
+ * sessions.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public class SessionCookieCodec {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SessionCookieCodec.class);
+    
+    public static final String DEFAULT_COOKIE_NAME = "scribeup";
+    
+    public static final int DEFAULT_MAX_AGE = 600;
+    
+    private static final int MIN_SECRET_LENGTH = 16;
+    
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    
+    private static final String AES = "AES";
+    
+    private static final String AES_CBC = "AES/CBC/PKCS5Padding";
+    
+    private static final int KEY_LENGTH = 16;
+    
+    private static final int IV_LENGTH = 16;
+    
+    // the signature is truncated to 128 bits to keep the cookie small
+    private static final int SIGNATURE_LENGTH = 16;
+    
+    private static final int VERSION = 1;
+    
+    private static final int ENCRYPTED = 0x80;
+    
+    private static final int NULL = 0;
+    
+    private static final int STRING = 1;
+    
+    private static final int TOKEN = 2;
+    
+    private final SecretKeySpec signatureKey;
+    
+    private final SecretKeySpec encryptionKey;
+    
+    private String cookieName = DEFAULT_COOKIE_NAME;
+    
+    private String cookiePath = "/";
+    
+    private int maxAge = DEFAULT_MAX_AGE;
+    
+    private boolean encrypted = true;
+    
+    private boolean secure = false;
+    
+    public SessionCookieCodec(final String secret) {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            throw new IllegalArgumentException("secret must have at least " + MIN_SECRET_LENGTH + " characters");
+        }
+        try {
+            final byte[] secretBytes = secret.getBytes("UTF-8");
+            this.signatureKey = new SecretKeySpec(deriveKey(secretBytes, "signature", 32), HMAC_SHA256);
+            this.encryptionKey = new SecretKeySpec(deriveKey(secretBytes, "encryption", KEY_LENGTH), AES);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot derive the keys", e);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot derive the keys", e);
+        }
+    }
+    
+    private static byte[] deriveKey(final byte[] secret, final String usage, final int length)
+        throws GeneralSecurityException, IOException {
+        final Mac mac = Mac.getInstance(HMAC_SHA256);
+        mac.init(new SecretKeySpec(secret, HMAC_SHA256));
+        final byte[] key = new byte[length];
+        System.arraycopy(mac.doFinal(usage.getBytes("UTF-8")), 0, key, 0, length);
+        return key;
+    }
+    
+    /**
+     * Encode the attributes into a cookie value.
+     * 
+     * @param attributes
+     * @return the cookie value
+     * @throws IllegalArgumentException if a value is not null, a string or a token
+     */
+    public String encode(final Map<String, Object> attributes) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(System.currentTimeMillis() / 1000 + this.maxAge);
+            out.writeShort(attributes.size());
+            for (final Map.Entry<String, Object> entry : attributes.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+            out.flush();
+            final ByteArrayOutputStream value = new ByteArrayOutputStream();
+            if (this.encrypted) {
+                value.write(VERSION | ENCRYPTED);
+                final byte[] iv = new byte[IV_LENGTH];
+                SecureRandomHelper.getRandom().nextBytes(iv);
+                final Cipher cipher = Cipher.getInstance(AES_CBC);
+                cipher.init(Cipher.ENCRYPT_MODE, this.encryptionKey, new IvParameterSpec(iv));
+                value.write(iv);
+                value.write(cipher.doFinal(bytes.toByteArray()));
+            } else {
+                value.write(VERSION);
+                bytes.writeTo(value);
+            }
+            value.write(sign(value.toByteArray(), value.size()));
+            return Base64.encodeBase64URLSafeString(value.toByteArray());
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encode the session cookie", e);
+        } catch (final IOException e) {
+            throw new IllegalStateException("Cannot encode the session cookie", e);
+        }
+    }
+    
+    /**
+     * Decode the attributes of a cookie value.
+     * 
+     * @param cookieValue
+     * @return the attributes or null if the value is invalid (wrong signature, expired...)
+     */
+    public Map<String, Object> decode(final String cookieValue) {
+        if (cookieValue == null) {
+            return null;
+        }
+        final byte[] value = Base64.decodeBase64(cookieValue);
+        final int length = value.length - SIGNATURE_LENGTH;
+        if (length <= 0) {
+            logger.debug("session cookie too short");
+            return null;
+        }
+        try {
+            final byte[] signature = new byte[SIGNATURE_LENGTH];
+            System.arraycopy(value, length, signature, 0, SIGNATURE_LENGTH);
+            if (!MessageDigest.isEqual(signature, sign(value, length))) {
+                logger.debug("invalid signature of the session cookie");
+                return null;
+            }
+            final int header = value[0] & 0xFF;
+            if ((header & ~ENCRYPTED) != VERSION) {
+                logger.debug("unsupported version of the session cookie : {}", header);
+                return null;
+            }
+            final byte[] bytes;
+            if ((header & ENCRYPTED) != 0) {
+                final Cipher cipher = Cipher.getInstance(AES_CBC);
+                cipher.init(Cipher.DECRYPT_MODE, this.encryptionKey, new IvParameterSpec(value, 1, IV_LENGTH));
+                bytes = cipher.doFinal(value, 1 + IV_LENGTH, length - 1 - IV_LENGTH);
+            } else {
+                bytes = new byte[length - 1];
+                System.arraycopy(value, 1, bytes, 0, length - 1);
+            }
+            final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            final long expiration = in.readLong();
+            if (System.currentTimeMillis() / 1000 > expiration) {
+                logger.debug("expired session cookie");
+                return null;
+            }
+            final int size = in.readUnsignedShort();
+            final Map<String, Object> attributes = new HashMap<String, Object>(2 * size);
+            for (int i = 0; i < size; i++) {
+                final String key = in.readUTF();
+                attributes.put(key, readValue(in));
+            }
+            return attributes;
+        } catch (final GeneralSecurityException e) {
+            logger.warn("Cannot decode the session cookie", e);
+        } catch (final IOException e) {
+            logger.warn("Cannot decode the session cookie", e);
+        }
+        return null;
+    }
+    
+    private byte[] sign(final byte[] bytes, final int length) throws GeneralSecurityException {
+        final Mac mac = Mac.getInstance(HMAC_SHA256);
+        mac.init(this.signatureKey);
+        mac.update(bytes, 0, length);
+        final byte[] signature = new byte[SIGNATURE_LENGTH];
+        System.arraycopy(mac.doFinal(), 0, signature, 0, SIGNATURE_LENGTH);
+        return signature;
+    }
+    
+    private void writeValue(final DataOutputStream out, final Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            out.writeUTF((String) value);
+        } else if (value.getClass() == Token.class) {
+            final Token token = (Token) value;
+            out.writeByte(TOKEN);
+            writeNullableString(out, token.getToken());
+            writeNullableString(out, token.getSecret());
+        } else {
+            throw new IllegalArgumentException(value.getClass() + " cannot be stored in the session cookie");
+        }
+    }
+    
+    private Object readValue(final DataInputStream in) throws IOException {
+        final int type = in.readUnsignedByte();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return in.readUTF();
+            case TOKEN:
+                return new Token(readNullableString(in), readNullableString(in));
+            default:
+                throw new IOException("Unknown type : " + type);
+        }
+    }
+    
+    private void writeNullableString(final DataOutputStream out, final String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+    
+    private String readNullableString(final DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+    
+    public String getCookieName() {
+        return this.cookieName;
+    }
+    
+    public void setCookieName(final String cookieName) {
+        this.cookieName = cookieName;
+    }
+    
+    public String getCookiePath() {
+        return this.cookiePath;
+    }
+    
+    public void setCookiePath(final String cookiePath) {
+        this.cookiePath = cookiePath;
+    }
+    
+    public int getMaxAge() {
+        return this.maxAge;
+    }
+    
+    public void setMaxAge(final int maxAge) {
+        this.maxAge = maxAge;
+    }
+    
+    public boolean isEncrypted() {
+        return this.encrypted;
+    }
+    
+    public void setEncrypted(final boolean encrypted) {
+        this.encrypted = encrypted;
+    }
+    
+    public boolean isSecure() {
+        return this.secure;
+    }
+    
+    public void setSecure(final boolean secure) {
+        this.secure = secure;
+    }
+}
@@ -16,7 +16,8 @@
 package org.scribe.up.session;
 
 /**
- * This interface is the contract the session of a user has to follow : store and retrieve attributes.
+ * This interface is the contract the session of a user has to follow : store and retrieve attributes. Setting a <code>null</code> value
+ * removes the attribute (the providers do it once the request token or the state has been used).
  * 
  * @author Jerome Leleu
  * @since 1.0.0
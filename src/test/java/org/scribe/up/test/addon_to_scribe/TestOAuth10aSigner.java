@@ -0,0 +1,103 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.addon_to_scribe;
+
+import junit.framework.TestCase;
+
+import org.scribe.extractors.BaseStringExtractorImpl;
+import org.scribe.extractors.HeaderExtractorImpl;
+import org.scribe.model.OAuthConstants;
+import org.scribe.model.OAuthRequest;
+import org.scribe.model.ProxyOAuthRequest;
+import org.scribe.model.Verb;
+import org.scribe.services.HMACSha1SignatureService;
+import org.scribe.up.addon_to_scribe.OAuth10aSigner;
+import org.scribe.utils.OAuthEncoder;
+
+/**
+ * This class tests the {@link org.scribe.up.addon_to_scribe.OAuth10aSigner} class against the default signature of Scribe.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestOAuth10aSigner extends TestCase {
+    
+    private static final String KEY = "my key+";
+    
+    private static final String SECRET = "my*secret~";
+    
+    private static final String TOKEN_SECRET = "token secret/";
+    
+    private final OAuth10aSigner signer = new OAuth10aSigner(KEY, SECRET);
+    
+    private OAuthRequest newRequest() {
+        final OAuthRequest request = new ProxyOAuthRequest(Verb.POST,
+                                                           "http://api.provider.com/1/profile.json?b=2&a=x%20y&c",
+                                                           null, 0);
+        request.addQuerystringParameter("q", "ümlaut & co");
+        request.addBodyParameter("status", "Hello *world* ~!");
+        request.addOAuthParameter(OAuthConstants.CONSUMER_KEY, KEY);
+        request.addOAuthParameter(OAuthConstants.NONCE, "1234");
+        request.addOAuthParameter(OAuthConstants.TIMESTAMP, "1350000000");
+        request.addOAuthParameter(OAuthConstants.TOKEN, "token");
+        request.addOAuthParameter(OAuthConstants.SIGN_METHOD, "HMAC-SHA1");
+        request.addOAuthParameter(OAuthConstants.VERSION, "1.0");
+        return request;
+    }
+    
+    public void testEncode() {
+        final String[] values = {
+            "", "abcXYZ019-._~", " *+/=&%", "été", "中文", "a😀b"
+        };
+        for (final String value : values) {
+            assertEquals(OAuthEncoder.encode(value), OAuth10aSigner.encode(value));
+        }
+    }
+    
+    public void testBaseString() {
+        final OAuthRequest request = newRequest();
+        assertEquals(new BaseStringExtractorImpl().extract(request), this.signer.getBaseString(request));
+    }
+    
+    public void testSignature() {
+        final OAuthRequest request = newRequest();
+        final String baseString = new BaseStringExtractorImpl().extract(request);
+        final HMACSha1SignatureService service = new HMACSha1SignatureService();
+        assertEquals(service.getSignature(baseString, SECRET, TOKEN_SECRET),
+                     this.signer.getSignature(request, TOKEN_SECRET));
+        // the key of the Mac changes with the token secret
+        assertEquals(service.getSignature(baseString, SECRET, ""), this.signer.getSignature(request, ""));
+        assertEquals(service.getSignature(baseString, SECRET, TOKEN_SECRET),
+                     this.signer.getSignature(request, TOKEN_SECRET));
+        final OAuth10aSigner otherSigner = new OAuth10aSigner(KEY, "other");
+        assertEquals(service.getSignature(baseString, "other", TOKEN_SECRET),
+                     otherSigner.getSignature(request, TOKEN_SECRET));
+    }
+    
+    public void testHeader() {
+        final OAuthRequest request = newRequest();
+        assertEquals(new HeaderExtractorImpl().extract(request), this.signer.getHeader(request));
+    }
+    
+    public void testEncodedOrder() {
+        final OAuthRequest request = new ProxyOAuthRequest(Verb.GET, "http://api.provider.com/profile?a-=1&a/=2", null,
+                                                           0);
+        request.addOAuthParameter(OAuthConstants.NONCE, "1234");
+        // sorted by encoded names : a%2F before a-
+        assertEquals("GET&http%3A%2F%2Fapi.provider.com%2Fprofile&a%252F%3D2%26a-%3D1%26oauth_nonce%3D1234",
+                     this.signer.getBaseString(request));
+    }
+}
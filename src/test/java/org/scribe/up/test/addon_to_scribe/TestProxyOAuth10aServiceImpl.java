@@ -0,0 +1,98 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.addon_to_scribe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+
+import junit.framework.TestCase;
+
+import org.scribe.builder.api.DefaultApi10a;
+import org.scribe.builder.api.YahooApi;
+import org.scribe.model.OAuthConfig;
+import org.scribe.model.OAuthConstants;
+import org.scribe.model.OAuthRequest;
+import org.scribe.model.SignatureType;
+import org.scribe.model.Token;
+import org.scribe.model.Verb;
+import org.scribe.services.PlaintextSignatureService;
+import org.scribe.services.SignatureService;
+import org.scribe.up.addon_to_scribe.ProxyOAuth10aServiceImpl;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * This class tests the debug messages of the {@link org.scribe.up.addon_to_scribe.ProxyOAuth10aServiceImpl} class : written to the debug
+ * stream of the configuration if it has one, logged by SLF4J otherwise.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestProxyOAuth10aServiceImpl extends TestCase {
+    
+    private static final String URL = "http://api.provider.com/1/profile.json";
+    
+    private static final Logger logger = (Logger) LoggerFactory.getLogger(ProxyOAuth10aServiceImpl.class);
+    
+    private static void sign(final DefaultApi10a api, final OutputStream stream) {
+        final OAuthConfig config = new OAuthConfig("key", "secret", "http://localhost/callback", SignatureType.Header, null, stream);
+        final OAuthRequest request = new OAuthRequest(Verb.GET, URL);
+        new ProxyOAuth10aServiceImpl(api, config, null, 0).signRequest(new Token("token", "tokenSecret"), request);
+        assertTrue(request.getHeaders().get(OAuthConstants.HEADER).startsWith("OAuth "));
+    }
+    
+    private static DefaultApi10a newPlaintextApi() {
+        return new YahooApi() {
+            
+            @Override
+            public SignatureService getSignatureService() {
+                return new PlaintextSignatureService();
+            }
+        };
+    }
+    
+    public void testDebugStream() {
+        for (final DefaultApi10a api : new DefaultApi10a[] {
+            new YahooApi(), newPlaintextApi()
+        }) {
+            final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+            sign(api, stream);
+            final String messages = stream.toString();
+            assertTrue(messages.contains("signing request: " + URL + "\n"));
+            assertTrue(messages.contains("setting token to: Token[token , tokenSecret]\n"));
+            assertTrue(messages.contains("base string is: GET&"));
+            assertTrue(messages.contains("signature is: "));
+            assertTrue(messages.contains("using Http Header signature\n"));
+        }
+    }
+    
+    public void testNoDebugStream() {
+        final Level level = logger.getLevel();
+        try {
+            for (final Level currentLevel : new Level[] {
+                Level.DEBUG, Level.INFO
+            }) {
+                logger.setLevel(currentLevel);
+                sign(new YahooApi(), null);
+                sign(newPlaintextApi(), null);
+            }
+        } finally {
+            logger.setLevel(level);
+        }
+    }
+}
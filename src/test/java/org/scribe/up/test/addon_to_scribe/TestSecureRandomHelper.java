@@ -0,0 +1,70 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.addon_to_scribe;
+
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Set;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.addon_to_scribe.SecureRandomHelper;
+import org.scribe.up.addon_to_scribe.SecureTimestampService;
+
+/**
+ * This class tests the {@link org.scribe.up.addon_to_scribe.SecureRandomHelper} and
+ * {@link org.scribe.up.addon_to_scribe.SecureTimestampService} classes.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestSecureRandomHelper extends TestCase {
+    
+    public void testRandomAlphanumeric() {
+        final Set<String> values = new HashSet<String>();
+        for (int i = 0; i < 1000; i++) {
+            final String value = SecureRandomHelper.randomAlphanumeric(10);
+            assertEquals(10, value.length());
+            assertTrue(value.matches("[A-Za-z0-9]+"));
+            values.add(value);
+        }
+        assertEquals(1000, values.size());
+        assertEquals("", SecureRandomHelper.randomAlphanumeric(0));
+    }
+    
+    public void testRandomPerThread() throws InterruptedException {
+        final SecureRandom[] randoms = new SecureRandom[1];
+        final Thread thread = new Thread() {
+            
+            @Override
+            public void run() {
+                randoms[0] = SecureRandomHelper.getRandom();
+            }
+        };
+        thread.start();
+        thread.join();
+        assertSame(SecureRandomHelper.getRandom(), SecureRandomHelper.getRandom());
+        assertNotSame(SecureRandomHelper.getRandom(), randoms[0]);
+    }
+    
+    public void testNonce() {
+        final SecureTimestampService service = SecureTimestampService.INSTANCE;
+        assertEquals(SecureTimestampService.NONCE_LENGTH, service.getNonce().length());
+        assertFalse(service.getNonce().equals(service.getNonce()));
+        final long timestamp = Long.parseLong(service.getTimestampInSeconds());
+        assertTrue(Math.abs(System.currentTimeMillis() / 1000 - timestamp) <= 1);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.model;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.scribe.model.DefaultHttpTransport;
+import org.scribe.model.ProxyOAuthRequest;
+import org.scribe.model.RouteLimitingHttpTransport;
+
+/**
+ * This class tests the {@link org.scribe.model.RouteLimitingHttpTransport} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestRouteLimitingHttpTransport extends TestCase {
+    
+    private static final String URL = "http://localhost:1234/profile";
+    
+    private static final String URL2 = "http://localhost:5678/profile";
+    
+    private RouteLimitingHttpTransport newTransport() {
+        final RouteLimitingHttpTransport transport = new RouteLimitingHttpTransport();
+        transport.setMaxPerRoute(1);
+        transport.setAcquireTimeout(10);
+        return transport;
+    }
+    
+    public void testNotDefault() {
+        // the limit is opt-in
+        assertEquals(DefaultHttpTransport.class, ProxyOAuthRequest.getDefaultHttpTransport().getClass());
+    }
+    
+    public void testMaxPerRoute() throws IOException {
+        final RouteLimitingHttpTransport transport = newTransport();
+        final HttpURLConnection connection = transport.openConnection(URL, null, 0);
+        assertEquals(1, transport.getLeasedConnections());
+        try {
+            transport.openConnection(URL, null, 0);
+            fail("no connection should be available");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage().startsWith("No connection available"));
+        }
+        // another route is not impacted
+        final HttpURLConnection connection2 = transport.openConnection(URL2, null, 0);
+        assertEquals(2, transport.getRoutes());
+        transport.releaseConnection(connection);
+        transport.releaseConnection(connection2);
+        assertEquals(0, transport.getLeasedConnections());
+        transport.releaseConnection(transport.openConnection(URL, null, 0));
+    }
+    
+    public void testReleaseTwice() throws IOException {
+        final RouteLimitingHttpTransport transport = newTransport();
+        final HttpURLConnection connection = transport.openConnection(URL, null, 0);
+        transport.releaseConnection(connection);
+        transport.releaseConnection(connection);
+        transport.openConnection(URL, null, 0);
+        try {
+            transport.openConnection(URL, null, 0);
+            fail("no connection should be available");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage().startsWith("No connection available"));
+        }
+    }
+    
+    public void testIdleRoutesEviction() throws Exception {
+        final RouteLimitingHttpTransport transport = newTransport();
+        transport.setIdleTimeout(1);
+        transport.releaseConnection(transport.openConnection(URL, null, 0));
+        Thread.sleep(10);
+        transport.releaseConnection(transport.openConnection(URL2, null, 0));
+        assertEquals(1, transport.getRoutes());
+    }
+    
+    public void testRouteInUseNotEvicted() throws Exception {
+        final RouteLimitingHttpTransport transport = newTransport();
+        transport.setIdleTimeout(1);
+        final HttpURLConnection connection = transport.openConnection(URL, null, 0);
+        Thread.sleep(10);
+        transport.releaseConnection(transport.openConnection(URL2, null, 0));
+        assertEquals(2, transport.getRoutes());
+        try {
+            transport.openConnection(URL, null, 0);
+            fail("no connection should be available");
+        } catch (final IOException e) {
+            assertTrue(e.getMessage().startsWith("No connection available"));
+        }
+        transport.releaseConnection(connection);
+    }
+    
+    public void testConcurrentEvictions() throws Exception {
+        final RouteLimitingHttpTransport transport = new RouteLimitingHttpTransport();
+        transport.setMaxPerRoute(2);
+        transport.setAcquireTimeout(5000);
+        // the routes are evicted as often as possible
+        transport.setIdleTimeout(0);
+        final AtomicInteger inUse = new AtomicInteger();
+        final AtomicInteger maxInUse = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread() {
+                
+                @Override
+                public void run() {
+                    for (int j = 0; j < 2000; j++) {
+                        try {
+                            final HttpURLConnection connection = transport.openConnection(URL, null, 0);
+                            final int current = inUse.incrementAndGet();
+                            int max = maxInUse.get();
+                            while (current > max && !maxInUse.compareAndSet(max, current)) {
+                                max = maxInUse.get();
+                            }
+                            Thread.yield();
+                            inUse.decrementAndGet();
+                            transport.releaseConnection(connection);
+                        } catch (final IOException e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, errors.get());
+        assertTrue(maxInUse.get() <= 2);
+        assertEquals(0, transport.getLeasedConnections());
+    }
+}
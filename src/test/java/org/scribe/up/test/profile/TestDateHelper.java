@@ -0,0 +1,136 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.profile;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.profile.DateHelper;
+
+/**
+ * This class tests the {@link org.scribe.up.profile.DateHelper} class : the results must be the same as the ones of a new
+ * {@link SimpleDateFormat}.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestDateHelper extends TestCase {
+    
+    private static final String ISO_LOCAL = "yyyy-MM-dd'T'HH:mm:ss";
+    
+    private static final String[] FORMATS = {
+        ISO_LOCAL, ISO_LOCAL + "'Z'", ISO_LOCAL + "Z", ISO_LOCAL + "z", "MM/dd/yyyy", "yyyy-MM"
+    };
+    
+    private static final String[] DATES = {
+        "2012-07-27T07:45:50+0000", "2012-07-27T07:45:50-0530", "2012-02-28T16:39:35Z", "2012-09-04T19:00:00",
+        "2012-03-25T02:30:00", "2012-12-31T23:59:59+1400", "03/10/1979", "2011-09", "2012-02-30T10:00:00",
+        "2012-07-27T07:45:50+00:00", "2012-07-27 07:45:50"
+    };
+    
+    private Date parseWithFormat(final String text, final String format, final Locale locale) {
+        final SimpleDateFormat simpleDateFormat = locale == null ? new SimpleDateFormat(format)
+                                                                : new SimpleDateFormat(format, locale);
+        try {
+            return simpleDateFormat.parse(text);
+        } catch (final ParseException e) {
+            return null;
+        }
+    }
+    
+    private Date parse(final String text, final String format, final Locale locale) {
+        try {
+            return DateHelper.parse(text, format, locale);
+        } catch (final ParseException e) {
+            return null;
+        }
+    }
+    
+    public void testParseLikeSimpleDateFormat() {
+        for (final String format : FORMATS) {
+            for (final String date : DATES) {
+                assertEquals(format + " / " + date, parseWithFormat(date, format, null), parse(date, format, null));
+            }
+        }
+    }
+    
+    public void testFormatLikeSimpleDateFormat() {
+        final long[] times = {
+            0L, 1343375150000L, 1330447175000L, -62135769600000L, 253402300799000L, 1332638400000L
+        };
+        for (final String format : FORMATS) {
+            for (final long time : times) {
+                final Date date = new Date(time);
+                assertEquals(format + " / " + time, new SimpleDateFormat(format).format(date),
+                             DateHelper.format(date, format, null));
+            }
+        }
+    }
+    
+    public void testLocale() {
+        final String format = "EEE MMM dd HH:mm:ss Z yyyy";
+        final String date = "Fri Feb 10 11:10:24 +0000 2012";
+        assertEquals(parseWithFormat(date, format, Locale.US), parse(date, format, Locale.US));
+        assertNull(parse(date, format, Locale.FRANCE));
+    }
+    
+    public void testParsedTimeZoneNotKept() throws ParseException {
+        final String format = "yyyy-MM-dd HH:mm z";
+        final Date date = new Date(1343375150000L);
+        final String expected = new SimpleDateFormat(format, Locale.US).format(date);
+        assertEquals(expected, DateHelper.format(date, format, Locale.US));
+        assertNotNull(DateHelper.parse("2012-07-27 07:45 JST", format, Locale.US));
+        assertEquals(expected, DateHelper.format(date, format, Locale.US));
+    }
+    
+    public void testConcurrentParsing() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 16; i++) {
+                futures.add(executor.submit(new Callable<Boolean>() {
+                    public Boolean call() {
+                        for (int j = 0; j < 500; j++) {
+                            for (final String date : DATES) {
+                                final Date expected = parseWithFormat(date, "MM/dd/yyyy", null);
+                                final Date actual = parse(date, "MM/dd/yyyy", null);
+                                if (expected == null ? actual != null : !expected.equals(actual)) {
+                                    return Boolean.FALSE;
+                                }
+                            }
+                        }
+                        return Boolean.TRUE;
+                    }
+                }));
+            }
+            for (final Future<Boolean> future : futures) {
+                assertTrue(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.profile;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonProfileExtractor;
+import org.scribe.up.profile.OAuthAttributesDefinitions;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.profile.facebook.FacebookAttributesDefinition;
+import org.scribe.up.profile.facebook.FacebookProfile;
+import org.scribe.up.profile.twitter.TwitterProfile;
+import org.scribe.up.test.provider.impl.BenchFacebookProvider;
+import org.scribe.up.test.provider.impl.BenchTwitterProvider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * This class tests the {@link org.scribe.up.profile.JsonProfileExtractor} class : the streaming extraction must give the same profile as
+ * the extraction from the JSON tree.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestJsonProfileExtractor extends TestCase {
+    
+    private void assertSameProfile(final UserProfile expected, final UserProfile profile) {
+        assertEquals(expected.getId(), profile.getId());
+        final Map<String, Object> expectedAttributes = expected.getAttributes();
+        final Map<String, Object> attributes = profile.getAttributes();
+        assertEquals(expectedAttributes.keySet(), attributes.keySet());
+        for (final String key : expectedAttributes.keySet()) {
+            assertEquals(key, String.valueOf(expectedAttributes.get(key)), String.valueOf(attributes.get(key)));
+        }
+    }
+    
+    public void testTwitter() {
+        final TwitterProfile expected = new TwitterProfile();
+        final JsonNode json = JsonHelper.getFirstNode(BenchTwitterProvider.RESPONSE);
+        expected.setId(JsonHelper.get(json, "id"));
+        for (final String attribute : OAuthAttributesDefinitions.twitterDefinition.getAllAttributes()) {
+            expected.addAttribute(attribute, JsonHelper.get(json, attribute));
+        }
+        assertSameProfile(expected, new BenchTwitterProvider().createProfile(BenchTwitterProvider.RESPONSE));
+    }
+    
+    public void testFacebook() {
+        final FacebookProfile expected = new FacebookProfile();
+        final JsonNode json = JsonHelper.getFirstNode(BenchFacebookProvider.RESPONSE);
+        expected.setId(JsonHelper.get(json, "id"));
+        for (final String attribute : OAuthAttributesDefinitions.facebookDefinition.getPrincipalAttributes()) {
+            expected.addAttribute(attribute, JsonHelper.get(json, attribute));
+        }
+        for (final String attribute : OAuthAttributesDefinitions.facebookDefinition.getOtherAttributes()) {
+            final JsonNode data = (JsonNode) JsonHelper.get(json, attribute);
+            if (data != null) {
+                expected.addAttribute(attribute, JsonHelper.get(data, "data"));
+            }
+        }
+        final FacebookProfile profile = new BenchFacebookProvider().createProfile(BenchFacebookProvider.RESPONSE);
+        assertSameProfile(expected, profile);
+        assertTrue(profile.getFriends().size() > 0);
+    }
+    
+    public void testWrappedAttribute() {
+        final JsonProfileExtractor extractor = new JsonProfileExtractor("id",
+                                                                        OAuthAttributesDefinitions.facebookDefinition,
+                                                                        Arrays.asList(new String[] {
+                                                                            "name", FacebookAttributesDefinition.FRIENDS
+                                                                        }));
+        extractor.addWrappedAttribute(FacebookAttributesDefinition.FRIENDS, "data");
+        final FacebookProfile profile = new FacebookProfile();
+        assertTrue(extractor.extract("{\"unknown\":{\"a\":[1,{\"b\":2}]},\"friends\":{\"paging\":{\"next\":\"url\"},"
+                                     + "\"data\":[{\"id\":\"1\",\"name\":\"friend\"}]},\"id\":123,\"name\":\"me\","
+                                     + "\"other\":null}", profile));
+        assertEquals("123", profile.getId());
+        assertEquals("me", profile.getDisplayName());
+        assertEquals(1, profile.getFriends().size());
+        assertEquals("friend", profile.getFriends().get(0).getName());
+        assertEquals(2, profile.getAttributes().size());
+    }
+    
+    public void testLazyAttribute() {
+        final JsonProfileExtractor extractor = new JsonProfileExtractor("id",
+                                                                        OAuthAttributesDefinitions.facebookDefinition,
+                                                                        Arrays.asList(new String[] {
+                                                                            "name", FacebookAttributesDefinition.FRIENDS,
+                                                                            FacebookAttributesDefinition.LIKES
+                                                                        }));
+        extractor.addWrappedAttribute(FacebookAttributesDefinition.FRIENDS, "data");
+        extractor.addWrappedAttribute(FacebookAttributesDefinition.LIKES, "data");
+        extractor.addLazyAttribute(FacebookAttributesDefinition.FRIENDS);
+        extractor.addLazyAttribute(FacebookAttributesDefinition.LIKES);
+        final FacebookProfile profile = new FacebookProfile();
+        assertTrue(extractor.extract("{\"friends\":{\"paging\":{\"next\":\"url\"},\"data\":[{\"id\":\"1\",\"name\":\"fri\\\"end\"}]},"
+                                     + "\"id\":123,\"likes\":{\"data\":null},\"name\":\"me\"}", profile));
+        assertEquals("123", profile.getId());
+        assertEquals("me", profile.getDisplayName());
+        assertEquals(1, profile.getFriends().size());
+        assertEquals("fri\"end", profile.getFriends().get(0).getName());
+        // null data : no attribute
+        assertNull(profile.getLikes());
+        assertEquals(2, profile.getAttributes().size());
+    }
+    
+    public void testExtractAttribute() {
+        final String friends = "{\"data\":[{\"id\":\"1\",\"name\":\"friend\"}],\"paging\":{\"next\":\"url\"}}";
+        final JsonProfileExtractor extractor = new JsonProfileExtractor("id", OAuthAttributesDefinitions.facebookDefinition);
+        extractor.addWrappedAttribute(FacebookAttributesDefinition.FRIENDS, "data");
+        final JsonProfileExtractor lazyExtractor = new JsonProfileExtractor("id", OAuthAttributesDefinitions.facebookDefinition);
+        lazyExtractor.addWrappedAttribute(FacebookAttributesDefinition.FRIENDS, "data");
+        lazyExtractor.addLazyAttribute(FacebookAttributesDefinition.FRIENDS);
+        for (final JsonProfileExtractor e : new JsonProfileExtractor[] {
+            extractor, lazyExtractor
+        }) {
+            final FacebookProfile profile = new FacebookProfile();
+            assertTrue(e.extractAttribute(FacebookAttributesDefinition.FRIENDS, friends, profile));
+            assertFalse(e.extractAttribute("unknown", friends, profile));
+            assertFalse(e.extractAttribute(FacebookAttributesDefinition.LIKES, "", profile));
+            assertEquals(1, profile.getFriends().size());
+            assertEquals("friend", profile.getFriends().get(0).getName());
+            assertEquals(1, profile.getAttributes().size());
+        }
+    }
+    
+    public void testFacebookLazyConnections() {
+        final BenchFacebookProvider lazyProvider = new BenchFacebookProvider();
+        lazyProvider.setLazyConnections(true);
+        final FacebookProfile profile = lazyProvider.createProfile(BenchFacebookProvider.RESPONSE);
+        final FacebookProfile expected = new BenchFacebookProvider().createProfile(BenchFacebookProvider.RESPONSE);
+        assertEquals(expected.getMusicListens().size(), profile.getMusicListens().size());
+        assertEquals(expected.getLikes().get(0).getName(), profile.getLikes().get(0).getName());
+        assertSameProfile(expected, profile);
+    }
+    
+    public void testConcurrentLazyConnections() throws InterruptedException {
+        final BenchFacebookProvider lazyProvider = new BenchFacebookProvider();
+        lazyProvider.setLazyConnections(true);
+        final FacebookProfile profile = lazyProvider.createProfile(BenchFacebookProvider.RESPONSE);
+        final Object[] likes = new Object[4];
+        final Thread[] threads = new Thread[likes.length];
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+            threads[i] = new Thread() {
+                
+                @Override
+                public void run() {
+                    likes[index] = profile.getLikes();
+                }
+            };
+            threads[i].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        // converted only once, the same value is seen by all the threads
+        assertNotNull(likes[0]);
+        for (final Object like : likes) {
+            assertSame(likes[0], like);
+        }
+    }
+    
+    public void testUnknownAttribute() {
+        final JsonProfileExtractor extractor = new JsonProfileExtractor("id",
+                                                                        OAuthAttributesDefinitions.facebookDefinition,
+                                                                        Arrays.asList(new String[] {
+                                                                            "name", "unknown"
+                                                                        }));
+        final FacebookProfile profile = new FacebookProfile();
+        assertTrue(extractor.extract("{\"id\":\"1\",\"name\":\"me\",\"unknown\":\"value\"}", profile));
+        assertEquals(1, profile.getAttributes().size());
+    }
+    
+    public void testOtherDefinition() {
+        final JsonProfileExtractor extractor = new JsonProfileExtractor("id",
+                                                                        OAuthAttributesDefinitions.facebookDefinition);
+        // the slots of the Facebook definition don't apply : the attributes are stored by name
+        final UserProfile profile = new UserProfile();
+        assertTrue(extractor.extract("{\"id\":\"1\",\"name\":\"me\"}", profile));
+        assertEquals("1", profile.getId());
+        assertEquals("me", profile.getAttributes().get("name"));
+    }
+    
+    public void testBadJson() {
+        final JsonProfileExtractor extractor = new JsonProfileExtractor("id",
+                                                                        OAuthAttributesDefinitions.twitterDefinition);
+        assertFalse(extractor.extract(null, new UserProfile()));
+        assertFalse(extractor.extract("[]", new UserProfile()));
+        assertFalse(extractor.extract("{\"id\":", new UserProfile()));
+    }
+}
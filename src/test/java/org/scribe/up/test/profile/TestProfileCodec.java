@@ -0,0 +1,184 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.profile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.profile.Color;
+import org.scribe.up.profile.FormattedDate;
+import org.scribe.up.profile.Gender;
+import org.scribe.up.profile.OAuthAttributesDefinitions;
+import org.scribe.up.profile.ProfileHelper;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.profile.facebook.FacebookProfile;
+import org.scribe.up.profile.facebook.FacebookRelationshipStatus;
+import org.scribe.up.profile.twitter.TwitterProfile;
+import org.scribe.up.test.provider.impl.BenchFacebookProvider;
+import org.scribe.up.test.provider.impl.BenchTwitterProvider;
+import org.scribe.up.test.util.CommonHelper;
+
+/**
+ * This class tests the compact serialization of the user profiles ({@link org.scribe.up.profile.ProfileCodec} class).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestProfileCodec extends TestCase {
+    
+    private void assertSameProfile(final UserProfile expected, final UserProfile profile) {
+        assertEquals(expected.getClass(), profile.getClass());
+        assertEquals(expected.getId(), profile.getId());
+        final Map<String, Object> expectedAttributes = expected.getAttributes();
+        final Map<String, Object> attributes = profile.getAttributes();
+        assertEquals(expectedAttributes.keySet(), attributes.keySet());
+        for (final String key : expectedAttributes.keySet()) {
+            assertEquals(key, String.valueOf(expectedAttributes.get(key)), String.valueOf(attributes.get(key)));
+        }
+    }
+    
+    private UserProfile copy(final UserProfile profile) {
+        return (UserProfile) CommonHelper.unserialize(CommonHelper.serialize(profile));
+    }
+    
+    public void testFacebook() {
+        final FacebookProfile profile = new BenchFacebookProvider().createProfile(BenchFacebookProvider.RESPONSE);
+        profile.setAccessToken("token");
+        final FacebookProfile copy = (FacebookProfile) copy(profile);
+        assertSameProfile(profile, copy);
+        assertEquals(Gender.MALE, copy.getGender());
+        assertEquals(FacebookRelationshipStatus.MARRIED, copy.getRelationshipStatus());
+        assertEquals(profile.getBirthday().getTime(), copy.getBirthday().getTime());
+        assertEquals("100002406067613", copy.getFriends().get(0).getId());
+        assertEquals("token", copy.getAccessToken());
+        // the JSON objects are only kept as raw JSON : smaller than the default serialization of the attributes
+        final HashMap<String, Object> attributes = new HashMap<String, Object>(profile.getAttributes());
+        assertTrue(CommonHelper.serialize(profile).length < CommonHelper.serialize(attributes).length / 2);
+    }
+    
+    public void testChangedDefinition() {
+        final FacebookProfile profile = new BenchFacebookProvider().createProfile(BenchFacebookProvider.RESPONSE);
+        final byte[] bytes = CommonHelper.serialize(profile);
+        // a profile written with another attributes definition is read by the names of its attributes
+        final int fingerprint = OAuthAttributesDefinitions.facebookDefinition.getFingerprint();
+        final byte[] fingerprintBytes = new byte[] {
+            (byte) (fingerprint >>> 24), (byte) (fingerprint >>> 16), (byte) (fingerprint >>> 8), (byte) fingerprint
+        };
+        final int position = indexOf(bytes, fingerprintBytes);
+        assertTrue(position >= 0);
+        bytes[position] ^= 0xFF;
+        // the indexes of the attributes cannot be trusted
+        assertNull(CommonHelper.unserialize(bytes));
+    }
+    
+    public void testNoRawData() {
+        ProfileHelper.setKeepRawData(false);
+        try {
+            final FacebookProfile profile = new BenchFacebookProvider().createProfile(BenchFacebookProvider.RESPONSE);
+            final FacebookProfile copy = (FacebookProfile) copy(profile);
+            assertSameProfile(profile, copy);
+            assertEquals("100002406067613", copy.getFriends().get(0).getId());
+        } finally {
+            ProfileHelper.setKeepRawData(true);
+        }
+    }
+    
+    private static int indexOf(final byte[] bytes, final byte[] sequence) {
+        for (int i = 0; i <= bytes.length - sequence.length; i++) {
+            int j = 0;
+            while (j < sequence.length && bytes[i + j] == sequence[j]) {
+                j++;
+            }
+            if (j == sequence.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    public void testTwitter() {
+        final TwitterProfile profile = new BenchTwitterProvider().createProfile(BenchTwitterProvider.RESPONSE);
+        final TwitterProfile copy = (TwitterProfile) copy(profile);
+        assertSameProfile(profile, copy);
+        assertEquals(profile.getProfileBackgroundColor().toString(), copy.getProfileBackgroundColor().toString());
+        assertEquals(profile.getCreatedAt(), copy.getCreatedAt());
+    }
+    
+    public void testLazyConnections() {
+        final BenchFacebookProvider provider = new BenchFacebookProvider();
+        provider.setLazyConnections(true);
+        final FacebookProfile copy = (FacebookProfile) copy(provider.createProfile(BenchFacebookProvider.RESPONSE));
+        assertEquals(9, copy.getLikes().size());
+        assertSameProfile(new BenchFacebookProvider().createProfile(BenchFacebookProvider.RESPONSE), copy);
+    }
+    
+    public void testGenericProfile() {
+        final UserProfile profile = new UserProfile();
+        profile.setId("id");
+        profile.addAttribute("string", "été");
+        profile.addAttribute("true", Boolean.TRUE);
+        profile.addAttribute("integer", Integer.valueOf(-12345));
+        profile.addAttribute("long", Long.valueOf(Long.MAX_VALUE));
+        profile.addAttribute("gender", Gender.FEMALE);
+        profile.addAttribute("locale", Locale.CANADA_FRENCH);
+        profile.addAttribute("date", new Date(1000L));
+        profile.addAttribute("formattedDate", new FormattedDate(new Date(2000L), "yyyy", Locale.FRENCH));
+        profile.addAttribute("color", new Color(1, 128, 255));
+        profile.addAttribute("object", new ArrayList<String>(Arrays.asList("first", "second")));
+        final UserProfile copy = copy(profile);
+        assertEquals("id", copy.getId());
+        final Map<String, Object> attributes = copy.getAttributes();
+        assertEquals(profile.getAttributes().size(), attributes.size());
+        assertEquals("été", attributes.get("string"));
+        assertEquals(Boolean.TRUE, attributes.get("true"));
+        assertEquals(Integer.valueOf(-12345), attributes.get("integer"));
+        assertEquals(Long.valueOf(Long.MAX_VALUE), attributes.get("long"));
+        assertEquals(Gender.FEMALE, attributes.get("gender"));
+        assertEquals(Locale.CANADA_FRENCH, attributes.get("locale"));
+        assertEquals(new Date(1000L), attributes.get("date"));
+        final FormattedDate formattedDate = (FormattedDate) attributes.get("formattedDate");
+        assertEquals(2000L, formattedDate.getTime());
+        assertEquals("yyyy", formattedDate.getFormat());
+        assertEquals(Locale.FRENCH, formattedDate.getLocale());
+        assertEquals("0180FF", attributes.get("color").toString());
+        assertEquals(Arrays.asList("first", "second"), attributes.get("object"));
+    }
+    
+    public void testClassNotAllowed() {
+        final UserProfile profile = new UserProfile();
+        profile.addAttribute("object", new StringBuilder("builder"));
+        assertNull(CommonHelper.serialize(profile));
+        // a forged stream with another class (of the same name length) is rejected when it is read
+        profile.addAttribute("object", new ArrayList<String>());
+        final byte[] bytes = CommonHelper.serialize(profile);
+        final int position = indexOf(bytes, "java.util.ArrayList".getBytes());
+        assertTrue(position >= 0);
+        System.arraycopy("java.util.Hashtable".getBytes(), 0, bytes, position, 19);
+        assertNull(CommonHelper.unserialize(bytes));
+    }
+    
+    public void testEmptyProfile() {
+        final UserProfile copy = copy(new UserProfile());
+        assertNull(copy.getId());
+        assertEquals(0, copy.getAttributes().size());
+    }
+}
@@ -0,0 +1,104 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.profile;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.profile.StringList;
+
+/**
+ * This class tests the {@link org.scribe.up.profile.StringList} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestStringList extends TestCase {
+    
+    private static final String ID1 = "100002406067613";
+    
+    private static final String ID2 = "12";
+    
+    private StringList newIds() {
+        final StringList list = new StringList();
+        for (int i = 0; i < 20; i++) {
+            list.add(ID1);
+        }
+        list.add(1, ID2);
+        return list;
+    }
+    
+    public void testNumeric() {
+        final StringList list = newIds();
+        assertTrue(list.isNumeric());
+        assertEquals(21, list.size());
+        assertEquals(ID1, list.get(0));
+        assertEquals(ID2, list.get(1));
+        assertEquals(12L, list.getLong(1));
+        assertEquals(Long.parseLong(ID1), list.toLongArray()[20]);
+        assertEquals(ID2, list.remove(1));
+        assertEquals(20, list.size());
+        assertEquals(0, list.indexOf(ID1));
+    }
+    
+    public void testNotNumeric() {
+        final StringList list = newIds();
+        list.set(0, "male");
+        list.add("007");
+        list.add(null);
+        assertFalse(list.isNumeric());
+        assertEquals("male", list.get(0));
+        assertEquals(ID2, list.get(1));
+        assertEquals(12L, list.getLong(1));
+        assertEquals("007", list.get(21));
+        assertNull(list.get(22));
+        try {
+            list.toLongArray();
+            fail("male is not numeric");
+        } catch (final NumberFormatException e) {
+            // expected
+        }
+        list.clear();
+        list.add(ID2);
+        assertTrue(list.isNumeric());
+        assertEquals(Arrays.asList(ID2), list);
+    }
+    
+    public void testIndexOutOfBounds() {
+        final StringList list = new StringList();
+        try {
+            list.get(0);
+            fail("the list is empty");
+        } catch (final IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+    
+    public void testSerialization() throws Exception {
+        final StringList list = newIds();
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(list);
+        out.close();
+        final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(list, in.readObject());
+    }
+}
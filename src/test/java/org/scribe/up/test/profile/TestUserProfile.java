@@ -15,12 +15,19 @@
  */
 package org.scribe.up.test.profile;
 
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import junit.framework.TestCase;
 
+import org.scribe.up.profile.AttributesDefinition;
+import org.scribe.up.profile.OAuthAttributesDefinitions;
 import org.scribe.up.profile.UserProfile;
+import org.scribe.up.profile.converter.Converters;
+import org.scribe.up.profile.facebook.FacebookAttributesDefinition;
+import org.scribe.up.profile.facebook.FacebookProfile;
 
 /**
  * This class tests the {@link org.scribe.up.profile.UserProfile} class.
@@ -69,4 +76,76 @@ public final class TestUserProfile extends TestCase {
         } catch (UnsupportedOperationException e) {
         }
     }
+    
+    public void testDefinedAttributes() {
+        final FacebookProfile profile = new FacebookProfile();
+        profile.addAttribute(FacebookAttributesDefinition.EMAIL, "email@test.com");
+        profile.addAttribute(FacebookAttributesDefinition.NAME, "name");
+        profile.addAttribute("unknown", VALUE);
+        assertEquals("email@test.com", profile.getEmail());
+        final Map<String, Object> attributes = profile.getAttributes();
+        assertEquals(2, attributes.size());
+        assertTrue(attributes.containsKey(FacebookAttributesDefinition.EMAIL));
+        assertFalse(attributes.containsKey("unknown"));
+        // in the order of the attributes definition
+        final Iterator<String> names = attributes.keySet().iterator();
+        assertEquals(FacebookAttributesDefinition.NAME, names.next());
+        assertEquals(FacebookAttributesDefinition.EMAIL, names.next());
+        assertFalse(names.hasNext());
+        final Map<String, Object> expected = new HashMap<String, Object>();
+        expected.put(FacebookAttributesDefinition.NAME, "name");
+        expected.put(FacebookAttributesDefinition.EMAIL, "email@test.com");
+        assertEquals(expected, attributes);
+        assertEquals(expected.hashCode(), attributes.hashCode());
+        try {
+            attributes.entrySet().iterator().next().setValue(VALUE);
+            fail();
+        } catch (UnsupportedOperationException e) {
+        }
+        // replacing an attribute doesn't change the size
+        profile.addAttribute(FacebookAttributesDefinition.NAME, "other");
+        assertEquals(2, attributes.size());
+    }
+    
+    public void testFinalDefinition() throws NoSuchMethodException {
+        // the indexes of the attributes are resolved against the definition of the profile
+        assertTrue(Modifier.isFinal(FacebookProfile.class.getDeclaredMethod("getAttributesDefinition").getModifiers()));
+    }
+    
+    public void testAttributeIndex() {
+        assertEquals(OAuthAttributesDefinitions.facebookDefinition.getAllAttributes()
+            .indexOf(FacebookAttributesDefinition.NAME), OAuthAttributesDefinitions.facebookDefinition
+            .getIndex(FacebookAttributesDefinition.NAME));
+        assertEquals(-1, OAuthAttributesDefinitions.facebookDefinition.getIndex("unknown"));
+        assertEquals(FacebookAttributesDefinition.NAME, OAuthAttributesDefinitions.facebookDefinition
+            .getName(OAuthAttributesDefinitions.facebookDefinition.getIndex(FacebookAttributesDefinition.NAME)));
+    }
+    
+    public void testDefinitionFrozen() {
+        final TestDefinition definition = new TestDefinition();
+        // an attribute defined twice keeps its position
+        definition.add(KEY);
+        assertEquals(2, definition.getAllAttributes().size());
+        assertEquals(2, definition.size());
+        assertEquals(1, definition.getIndex(VALUE));
+        try {
+            definition.add("other");
+            fail("the definition is in use");
+        } catch (final IllegalStateException e) {
+            // expected
+        }
+        assertEquals(2, definition.getAllAttributes().size());
+    }
+    
+    private static final class TestDefinition extends AttributesDefinition {
+        
+        private TestDefinition() {
+            addAttribute(KEY, Converters.stringConverter);
+            addAttribute(VALUE, Converters.stringConverter);
+        }
+        
+        private void add(final String name) {
+            addAttribute(name, Converters.integerConverter);
+        }
+    }
 }
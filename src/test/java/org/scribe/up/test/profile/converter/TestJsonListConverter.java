@@ -44,6 +44,10 @@ public final class TestJsonListConverter extends TestCase {
     
     private final static String JSON_EMPTY_LIST = "[]";
     
+    private final static String ID1 = "100002406067613";
+    
+    private final static String ID2 = "1234";
+    
     public void testNull() {
         assertNull(converterForString.convert(null));
         assertNull(converterForMockJsonObject.convert(null));
@@ -104,4 +108,26 @@ public final class TestJsonListConverter extends TestCase {
         assertEquals(ELEMENT1, jsonList.get(0));
         assertEquals(ELEMENT2, jsonList.get(1));
     }
+    
+    public void testNumericIds() {
+        Object object = converterForString.convert("[\"" + ID1 + "\"," + ID2 + "]");
+        @SuppressWarnings("unchecked")
+        JsonList<String> list = (JsonList<String>) object;
+        assertEquals(2, list.size());
+        assertEquals(ID1, list.get(0));
+        assertEquals(ID2, list.get(1));
+        assertEquals(Long.parseLong(ID1), list.getLong(0));
+        assertEquals(Long.parseLong(ID2), list.getLong(1));
+    }
+    
+    public void testSingleString() {
+        @SuppressWarnings("unchecked")
+        JsonList<String> list = (JsonList<String>) converterForString.convert("\"" + ELEMENT1 + "\"");
+        assertEquals(1, list.size());
+        assertEquals(ELEMENT1, list.get(0));
+        @SuppressWarnings("unchecked")
+        JsonList<String> rawList = (JsonList<String>) converterForString.convert(ELEMENT2);
+        assertEquals(1, rawList.size());
+        assertEquals(ELEMENT2, rawList.get(0));
+    }
 }
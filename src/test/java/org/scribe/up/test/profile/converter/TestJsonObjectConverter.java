@@ -18,8 +18,13 @@ package org.scribe.up.test.profile.converter;
 import junit.framework.TestCase;
 
 import org.scribe.up.profile.JsonHelper;
+import org.scribe.up.profile.JsonObject;
+import org.scribe.up.profile.JsonObjectFactory;
+import org.scribe.up.profile.ReflectiveJsonObjectFactory;
 import org.scribe.up.profile.converter.JsonObjectConverter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 /**
  * This class tests the {@link org.scribe.up.profile.converter.JsonObjectConverter} class.
  * 
@@ -32,6 +37,19 @@ public final class TestJsonObjectConverter extends TestCase {
     
     private static final String ELEMENT = "element";
     
+    private static final class NoConstructorJsonObject extends JsonObject {
+        
+        private static final long serialVersionUID = 1L;
+        
+        @SuppressWarnings("unused")
+        private NoConstructorJsonObject(final String value) {
+        }
+        
+        @Override
+        protected void buildFromJson(final JsonNode json) {
+        }
+    }
+    
     private final static String EMPTY_JSON = "\"" + ELEMENT + "\"";
     
     public void testNull() {
@@ -57,4 +75,27 @@ public final class TestJsonObjectConverter extends TestCase {
         assertEquals(ELEMENT, mock.getValue());
         assertEquals(EMPTY_JSON, mock.toString());
     }
+    
+    public void testFactory() {
+        final int[] instances = new int[1];
+        final JsonObjectConverter factoryConverter = new JsonObjectConverter(new JsonObjectFactory<MockJsonObject>() {
+            
+            public MockJsonObject newInstance() {
+                instances[0]++;
+                return new MockJsonObject();
+            }
+        });
+        final MockJsonObject mock = (MockJsonObject) factoryConverter.convert(JsonHelper.getFirstNode(EMPTY_JSON));
+        assertEquals(ELEMENT, mock.getValue());
+        assertEquals(1, instances[0]);
+    }
+    
+    public void testNoConstructor() {
+        try {
+            new ReflectiveJsonObjectFactory<NoConstructorJsonObject>(NoConstructorJsonObject.class);
+            fail("no no-arg constructor");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
 }
@@ -0,0 +1,169 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.credential.OAuthCredential;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.UserProfileCallback;
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.impl.GitHubProvider;
+
+/**
+ * This class tests the asynchronous retrieval of the user profile of the {@link org.scribe.up.provider.BaseOAuthProvider} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestAsyncUserProfile extends TestCase {
+    
+    private static final String ID = "12345";
+    
+    private static final String BAD_TOKEN = "badToken";
+    
+    private static final String ERROR_TOKEN = "errorToken";
+    
+    private static final class FakeProvider extends GitHubProvider {
+        
+        private volatile Thread thread;
+        
+        @Override
+        public UserProfile retrieveUserProfile(final OAuthCredential credential) throws HttpException {
+            this.thread = Thread.currentThread();
+            if (BAD_TOKEN.equals(credential.getToken())) {
+                throw new HttpException(401, "unauthorized");
+            } else if (ERROR_TOKEN.equals(credential.getToken())) {
+                throw new IllegalStateException("error");
+            }
+            final UserProfile profile = new UserProfile();
+            profile.setId(ID);
+            return profile;
+        }
+    }
+    
+    private static class RecordingCallback implements UserProfileCallback {
+        
+        private final CountDownLatch latch = new CountDownLatch(1);
+        
+        private volatile UserProfile profile;
+        
+        private volatile Exception exception;
+        
+        public void onSuccess(final UserProfile profile) {
+            this.profile = profile;
+            this.latch.countDown();
+        }
+        
+        public void onFailure(final Exception e) {
+            this.exception = e;
+            this.latch.countDown();
+        }
+    }
+    
+    private FakeProvider newProvider() {
+        final FakeProvider provider = new FakeProvider();
+        provider.setKey("key");
+        provider.setSecret("secret");
+        provider.setCallbackUrl("http://localhost/callback");
+        return provider;
+    }
+    
+    private OAuthCredential newCredential(final String token) {
+        return new OAuthCredential(null, token, null, "GitHubProvider");
+    }
+    
+    public void testSuccess() throws Exception {
+        final FakeProvider provider = newProvider();
+        final RecordingCallback callback = new RecordingCallback();
+        final Future<UserProfile> future = provider.getUserProfileAsync(newCredential("token"), callback);
+        assertEquals(ID, future.get(1, TimeUnit.SECONDS).getId());
+        assertTrue(callback.latch.await(1, TimeUnit.SECONDS));
+        assertEquals(ID, callback.profile.getId());
+        assertNull(callback.exception);
+        assertNotSame(Thread.currentThread(), provider.thread);
+    }
+    
+    public void testHttpFailure() throws Exception {
+        final RecordingCallback callback = new RecordingCallback();
+        final Future<UserProfile> future = newProvider().getUserProfileAsync(newCredential(BAD_TOKEN), callback);
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("retrieval should fail");
+        } catch (final ExecutionException e) {
+            assertEquals(401, ((HttpException) e.getCause()).getCode());
+        }
+        assertTrue(callback.latch.await(1, TimeUnit.SECONDS));
+        assertNull(callback.profile);
+        assertEquals(401, ((HttpException) callback.exception).getCode());
+    }
+    
+    public void testRuntimeFailure() throws Exception {
+        final RecordingCallback callback = new RecordingCallback();
+        final Future<UserProfile> future = newProvider().getUserProfileAsync(newCredential(ERROR_TOKEN), callback);
+        try {
+            future.get(1, TimeUnit.SECONDS);
+            fail("retrieval should fail");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertTrue(callback.exception instanceof IllegalStateException);
+    }
+    
+    public void testWithoutCallback() throws Exception {
+        assertEquals(ID, newProvider().getUserProfileAsync(newCredential("token")).get(1, TimeUnit.SECONDS).getId());
+    }
+    
+    public void testRejected() throws Exception {
+        final FakeProvider provider = newProvider();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        provider.setExecutor(executor);
+        final RecordingCallback callback = new RecordingCallback();
+        final Future<UserProfile> future = provider.getUserProfileAsync(newCredential("token"), callback);
+        assertTrue(future.isDone());
+        try {
+            future.get();
+            fail("retrieval should be rejected");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        assertTrue(callback.exception instanceof RejectedExecutionException);
+        assertNull(provider.thread);
+    }
+    
+    public void testCallbackFailure() throws Exception {
+        final RecordingCallback callback = new RecordingCallback() {
+            
+            @Override
+            public void onSuccess(final UserProfile profile) {
+                throw new IllegalStateException("callback error");
+            }
+        };
+        final Future<UserProfile> future = newProvider().getUserProfileAsync(newCredential("token"), callback);
+        // the user profile is still returned and onFailure is not called
+        assertEquals(ID, future.get(1, TimeUnit.SECONDS).getId());
+        assertNull(callback.exception);
+    }
+}
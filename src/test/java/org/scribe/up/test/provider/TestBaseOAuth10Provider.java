@@ -95,6 +95,9 @@ public final class TestBaseOAuth10Provider extends TestCase {
         Token tokenRequest = oauthCredential.getRequestToken();
         assertEquals(TOKEN, tokenRequest.getToken());
         assertEquals(SECRET, tokenRequest.getSecret());
+        // the request token cannot be replayed
+        assertNull(singleUserSession.getAttribute(getProvider().getType() + "#" + BaseOAuth10Provider.REQUEST_TOKEN));
+        assertNull(getProvider().getCredential(singleUserSession, parameters).getRequestToken());
     }
     
     public void testTwoTokens() {
@@ -17,6 +17,8 @@ package org.scribe.up.test.provider;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.TestCase;
 
@@ -24,6 +26,10 @@ import org.scribe.up.credential.OAuthCredential;
 import org.scribe.up.provider.BaseOAuth10Provider;
 import org.scribe.up.provider.BaseOAuth20Provider;
 import org.scribe.up.provider.BaseOAuthProvider;
+import org.scribe.up.provider.Bulkhead;
+import org.scribe.up.provider.CircuitBreaker;
+import org.scribe.up.provider.cache.LruProfileCache;
+import org.scribe.up.provider.cache.ProfileCache;
 import org.scribe.up.provider.exception.CredentialException;
 import org.scribe.up.provider.impl.CasOAuthWrapperProvider;
 import org.scribe.up.provider.impl.DropBoxProvider;
@@ -37,6 +43,8 @@ import org.scribe.up.provider.impl.TwitterProvider;
 import org.scribe.up.provider.impl.WindowsLiveProvider;
 import org.scribe.up.provider.impl.WordPressProvider;
 import org.scribe.up.provider.impl.YahooProvider;
+import org.scribe.up.provider.metrics.InMemoryProviderMetrics;
+import org.scribe.up.provider.metrics.ProviderMetrics;
 
 /**
  * This class tests the type returned by the {@link org.scribe.up.provider.BaseOAuthProvider} class.
@@ -72,6 +80,18 @@ public final class TestBaseOAuthProvider extends TestCase {
     
     private static final String CAS_SERVER_URL = "http://casserverurl/oauth2.0";
     
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor();
+    
+    private static final int MAX_CONCURRENT_REQUESTS = 7;
+    
+    private static final ProfileCache PROFILE_CACHE = new LruProfileCache();
+    
+    private static final CircuitBreaker CIRCUIT_BREAKER = new CircuitBreaker();
+    
+    private static final Bulkhead BULKHEAD = new Bulkhead();
+    
+    private static final ProviderMetrics METRICS = new InMemoryProviderMetrics();
+    
     public void testDefaultType10() {
         final BaseOAuth10Provider provider = new YahooProvider();
         assertEquals("YahooProvider", provider.getType());
@@ -129,6 +149,13 @@ public final class TestBaseOAuthProvider extends TestCase {
         oldProvider.setReadTimeout(READ_TIMEOUT);
         oldProvider.setProxyHost(PROXY_HOST);
         oldProvider.setProxyPort(PROXY_PORT);
+        oldProvider.setExecutor(EXECUTOR);
+        oldProvider.setMaxConcurrentRequests(MAX_CONCURRENT_REQUESTS);
+        oldProvider.setProfileCache(PROFILE_CACHE);
+        oldProvider.setCoalesceRequests(true);
+        oldProvider.setCircuitBreaker(CIRCUIT_BREAKER);
+        oldProvider.setBulkhead(BULKHEAD);
+        oldProvider.setMetrics(METRICS);
         final BaseOAuthProvider provider = oldProvider.clone();
         assertEquals(oldProvider.getKey(), provider.getKey());
         assertEquals(oldProvider.getSecret(), provider.getSecret());
@@ -137,6 +164,13 @@ public final class TestBaseOAuthProvider extends TestCase {
         assertEquals(oldProvider.getReadTimeout(), provider.getReadTimeout());
         assertEquals(oldProvider.getProxyHost(), provider.getProxyHost());
         assertEquals(oldProvider.getProxyPort(), provider.getProxyPort());
+        assertSame(oldProvider.getExecutor(), provider.getExecutor());
+        assertEquals(oldProvider.getMaxConcurrentRequests(), provider.getMaxConcurrentRequests());
+        assertSame(oldProvider.getProfileCache(), provider.getProfileCache());
+        assertEquals(oldProvider.isCoalesceRequests(), provider.isCoalesceRequests());
+        assertSame(oldProvider.getCircuitBreaker(), provider.getCircuitBreaker());
+        assertSame(oldProvider.getBulkhead(), provider.getBulkhead());
+        assertSame(oldProvider.getMetrics(), provider.getMetrics());
         return provider;
     }
     
@@ -0,0 +1,152 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.scribe.model.Token;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.BatchUserProfileCallback;
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.impl.GitHubProvider;
+
+/**
+ * This class tests the batch retrieval of the user profiles of the {@link org.scribe.up.provider.BaseOAuthProvider} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestBatchUserProfiles extends TestCase {
+    
+    private static final int NB_TOKENS = 100;
+    
+    private static final int PARALLELISM = 4;
+    
+    private static final String BAD_TOKEN_PREFIX = "bad";
+    
+    private static class FakeProvider extends GitHubProvider {
+        
+        private final AtomicInteger inProgress = new AtomicInteger();
+        
+        private final AtomicInteger maxInProgress = new AtomicInteger();
+        
+        private FakeProvider() {
+            setKey("key");
+            setSecret("secret");
+            setCallbackUrl("http://localhost/callback");
+        }
+        
+        @Override
+        protected UserProfile retrieveUserProfile(final Token accessToken) throws HttpException {
+            final int current = this.inProgress.incrementAndGet();
+            int max = this.maxInProgress.get();
+            while (current > max && !this.maxInProgress.compareAndSet(max, current)) {
+                max = this.maxInProgress.get();
+            }
+            try {
+                Thread.sleep(2);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                this.inProgress.decrementAndGet();
+            }
+            if (accessToken.getToken().startsWith(BAD_TOKEN_PREFIX)) {
+                throw new HttpException(401, "unauthorized");
+            }
+            final UserProfile profile = new UserProfile();
+            profile.setId(accessToken.getToken());
+            return profile;
+        }
+    }
+    
+    private static final class BatchingProvider extends FakeProvider {
+        
+        private final List<Integer> batchSizes = new ArrayList<Integer>();
+        
+        @Override
+        protected int getBatchSize() {
+            return 10;
+        }
+        
+        @Override
+        protected void retrieveUserProfileBatch(final List<String> accessTokens, final BatchUserProfileCallback callback) {
+            synchronized (this.batchSizes) {
+                this.batchSizes.add(accessTokens.size());
+            }
+            super.retrieveUserProfileBatch(accessTokens, callback);
+        }
+    }
+    
+    private static final class RecordingCallback implements BatchUserProfileCallback {
+        
+        private final Map<String, UserProfile> profiles = new ConcurrentHashMap<String, UserProfile>();
+        
+        private final Map<String, Exception> failures = new ConcurrentHashMap<String, Exception>();
+        
+        public void onSuccess(final String accessToken, final UserProfile profile) {
+            this.profiles.put(accessToken, profile);
+        }
+        
+        public void onFailure(final String accessToken, final Exception e) {
+            this.failures.put(accessToken, e);
+        }
+    }
+    
+    private List<String> newTokens() {
+        final List<String> tokens = new ArrayList<String>();
+        for (int i = 0; i < NB_TOKENS; i++) {
+            tokens.add(i % 10 == 0 ? BAD_TOKEN_PREFIX + i : "token" + i);
+        }
+        return tokens;
+    }
+    
+    public void testBoundedParallelism() {
+        final FakeProvider provider = new FakeProvider();
+        final RecordingCallback callback = new RecordingCallback();
+        provider.getUserProfiles(newTokens().iterator(), PARALLELISM, callback);
+        assertEquals(90, callback.profiles.size());
+        assertEquals(10, callback.failures.size());
+        assertEquals("token1", callback.profiles.get("token1").getId());
+        assertEquals(401, ((HttpException) callback.failures.get(BAD_TOKEN_PREFIX + 0)).getCode());
+        assertTrue(provider.maxInProgress.get() <= PARALLELISM);
+        assertTrue(provider.maxInProgress.get() > 1);
+    }
+    
+    public void testBatches() {
+        final BatchingProvider provider = new BatchingProvider();
+        final RecordingCallback callback = new RecordingCallback();
+        final List<String> tokens = newTokens().subList(0, 25);
+        provider.getUserProfiles(tokens.iterator(), PARALLELISM, callback);
+        assertEquals(25, callback.profiles.size() + callback.failures.size());
+        assertEquals(3, provider.batchSizes.size());
+        assertTrue(provider.batchSizes.contains(5));
+    }
+    
+    public void testBadParallelism() {
+        try {
+            new FakeProvider().getUserProfiles(newTokens().iterator(), 0, new RecordingCallback());
+            fail("parallelism must be positive");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("parallelism must be positive", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.provider.Bulkhead;
+import org.scribe.up.provider.CircuitBreaker;
+import org.scribe.up.provider.CircuitBreaker.State;
+
+/**
+ * This class tests the {@link org.scribe.up.provider.CircuitBreaker} and {@link org.scribe.up.provider.Bulkhead} classes.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestCircuitBreaker extends TestCase {
+    
+    private CircuitBreaker newBreaker() {
+        final CircuitBreaker breaker = new CircuitBreaker();
+        breaker.setWindowSize(4);
+        breaker.setMinimumNumberOfCalls(4);
+        breaker.setSlowCallDuration(100);
+        breaker.setOpenDuration(50);
+        breaker.setHalfOpenCalls(2);
+        return breaker;
+    }
+    
+    private void call(final CircuitBreaker breaker, final boolean success, final long duration) {
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.onResult(success, duration);
+    }
+    
+    public void testFailureRate() {
+        final CircuitBreaker breaker = newBreaker();
+        call(breaker, true, 0);
+        call(breaker, false, 0);
+        call(breaker, true, 0);
+        assertEquals(State.CLOSED, breaker.getState());
+        call(breaker, true, 0);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(25, breaker.getFailureRate());
+        // the window slides : 2 failures out of the last 4 calls
+        call(breaker, false, 0);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+    
+    public void testSlowCallRate() {
+        final CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 3; i++) {
+            call(breaker, true, 100);
+        }
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(100, breaker.getSlowCallRate());
+        call(breaker, true, 100);
+        assertEquals(State.OPEN, breaker.getState());
+    }
+    
+    private CircuitBreaker newHalfOpenBreaker() throws InterruptedException {
+        final CircuitBreaker breaker = newBreaker();
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false, 0);
+        }
+        assertFalse(breaker.tryAcquirePermission());
+        Thread.sleep(60);
+        return breaker;
+    }
+    
+    public void testHalfOpenToClosed() throws InterruptedException {
+        final CircuitBreaker breaker = newHalfOpenBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        // only 2 probe requests
+        assertFalse(breaker.tryAcquirePermission());
+        breaker.onResult(true, 0);
+        breaker.onResult(true, 0);
+        assertEquals(State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+    
+    public void testHalfOpenToOpen() throws InterruptedException {
+        final CircuitBreaker breaker = newHalfOpenBreaker();
+        call(breaker, true, 0);
+        call(breaker, false, 0);
+        assertEquals(State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+    
+    public void testReleasePermission() throws InterruptedException {
+        final CircuitBreaker breaker = newHalfOpenBreaker();
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        breaker.releasePermission();
+        assertTrue(breaker.tryAcquirePermission());
+    }
+    
+    public void testBulkhead() {
+        final Bulkhead bulkhead = new Bulkhead(2);
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(2, bulkhead.getConcurrentCalls());
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+    }
+    
+    public void testBulkheadMaxWait() {
+        final Bulkhead bulkhead = new Bulkhead(1);
+        bulkhead.setMaxWait(20);
+        assertTrue(bulkhead.tryAcquire());
+        final long t0 = System.currentTimeMillis();
+        assertFalse(bulkhead.tryAcquire());
+        assertTrue(System.currentTimeMillis() - t0 >= 15);
+    }
+    
+    public void testBulkheadBadSize() {
+        try {
+            new Bulkhead(0);
+            fail("size must be positive");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("maxConcurrentCalls must be positive", e.getMessage());
+        }
+    }
+}
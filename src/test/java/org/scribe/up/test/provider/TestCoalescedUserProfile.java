@@ -0,0 +1,152 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.scribe.model.Token;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.impl.GitHubProvider;
+
+/**
+ * This class tests the coalescing of the concurrent user profile retrievals of the {@link org.scribe.up.provider.BaseOAuthProvider} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestCoalescedUserProfile extends TestCase {
+    
+    private static final int NB_CALLERS = 10;
+    
+    private static final String TOKEN = "coalescedToken";
+    
+    private static final String BAD_TOKEN = "coalescedBadToken";
+    
+    private static final class SlowProvider extends GitHubProvider {
+        
+        private final AtomicInteger calls = new AtomicInteger();
+        
+        private final CountDownLatch latch = new CountDownLatch(1);
+        
+        @Override
+        protected UserProfile retrieveUserProfile(final Token accessToken) throws HttpException {
+            this.calls.incrementAndGet();
+            try {
+                this.latch.await(5, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (BAD_TOKEN.equals(accessToken.getToken())) {
+                throw new HttpException(401, "unauthorized");
+            }
+            final UserProfile profile = new UserProfile();
+            profile.setId(accessToken.getToken());
+            return profile;
+        }
+    }
+    
+    private SlowProvider newProvider() {
+        final SlowProvider provider = new SlowProvider();
+        provider.setKey("key");
+        provider.setSecret("secret");
+        provider.setCallbackUrl("http://localhost/callback");
+        provider.setCoalesceRequests(true);
+        return provider;
+    }
+    
+    private List<Future<UserProfile>> retrieveConcurrently(final ExecutorService executor, final SlowProvider provider,
+                                                           final String token) throws InterruptedException {
+        final List<Future<UserProfile>> futures = new ArrayList<Future<UserProfile>>();
+        for (int i = 0; i < NB_CALLERS; i++) {
+            futures.add(executor.submit(new Callable<UserProfile>() {
+                
+                public UserProfile call() throws HttpException {
+                    return provider.retrieveUserProfile(token);
+                }
+            }));
+        }
+        // let all callers reach the provider before the response is available
+        Thread.sleep(200);
+        provider.latch.countDown();
+        return futures;
+    }
+    
+    public void testCoalesced() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(NB_CALLERS);
+        try {
+            final SlowProvider provider = newProvider();
+            final List<Future<UserProfile>> futures = retrieveConcurrently(executor, provider, TOKEN);
+            final UserProfile profile = futures.get(0).get(5, TimeUnit.SECONDS);
+            assertEquals(TOKEN, profile.getId());
+            for (final Future<UserProfile> future : futures) {
+                assertSame(profile, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, provider.calls.get());
+            // the request is not shared anymore once done
+            provider.retrieveUserProfile(TOKEN);
+            assertEquals(2, provider.calls.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    public void testErrorShared() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(NB_CALLERS);
+        try {
+            final SlowProvider provider = newProvider();
+            final List<Future<UserProfile>> futures = retrieveConcurrently(executor, provider, BAD_TOKEN);
+            for (final Future<UserProfile> future : futures) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    fail("retrieval should fail");
+                } catch (final ExecutionException e) {
+                    assertEquals(401, ((HttpException) e.getCause()).getCode());
+                }
+            }
+            assertEquals(1, provider.calls.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    public void testNotCoalesced() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(NB_CALLERS);
+        try {
+            // not coalesced by default
+            assertFalse(new SlowProvider().isCoalesceRequests());
+            final SlowProvider provider = newProvider();
+            provider.setCoalesceRequests(false);
+            for (final Future<UserProfile> future : retrieveConcurrently(executor, provider, TOKEN)) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(NB_CALLERS, provider.calls.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.provider.BaseOAuthProvider;
+import org.scribe.up.provider.Bulkhead;
+import org.scribe.up.provider.CircuitBreaker;
+import org.scribe.up.provider.CircuitBreaker.State;
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.exception.ProviderUnavailableException;
+import org.scribe.up.provider.impl.GitHubProvider;
+import org.scribe.up.test.util.StubHttpServer;
+
+/**
+ * This class tests the circuit breaker and the bulkhead of the {@link org.scribe.up.provider.BaseOAuthProvider} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestProviderAvailability extends TestCase {
+    
+    private static final class StubProvider extends GitHubProvider {
+        
+        private final String profileUrl;
+        
+        private StubProvider(final String profileUrl) {
+            this.profileUrl = profileUrl;
+            setKey("key");
+            setSecret("secret");
+            setCallbackUrl("http://localhost/callback");
+            setCoalesceRequests(false);
+        }
+        
+        @Override
+        protected String getProfileUrl() {
+            return this.profileUrl;
+        }
+    }
+    
+    private CircuitBreaker newBreaker() {
+        final CircuitBreaker breaker = new CircuitBreaker();
+        breaker.setWindowSize(3);
+        breaker.setMinimumNumberOfCalls(3);
+        return breaker;
+    }
+    
+    private int retrieveCode(final BaseOAuthProvider provider) {
+        try {
+            provider.retrieveUserProfile("token");
+            return 200;
+        } catch (final HttpException e) {
+            return e.getCode();
+        }
+    }
+    
+    public void testServerErrorsOpenCircuit() throws Exception {
+        final StubHttpServer server = new StubHttpServer(500, "error", 0);
+        try {
+            final StubProvider provider = new StubProvider(server.getUrl());
+            provider.setCircuitBreaker(newBreaker());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(500, retrieveCode(provider));
+            }
+            assertEquals(State.OPEN, provider.getCircuitBreaker().getState());
+            assertEquals(ProviderUnavailableException.CODE, retrieveCode(provider));
+            assertEquals(3, server.getRequests());
+            // the clones share the circuit breaker
+            assertEquals(ProviderUnavailableException.CODE, retrieveCode(provider.clone()));
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testClientErrorsKeepCircuitClosed() throws Exception {
+        final StubHttpServer server = new StubHttpServer(401, "unauthorized", 0);
+        try {
+            final StubProvider provider = new StubProvider(server.getUrl());
+            provider.setCircuitBreaker(newBreaker());
+            for (int i = 0; i < 5; i++) {
+                assertEquals(401, retrieveCode(provider));
+            }
+            assertEquals(State.CLOSED, provider.getCircuitBreaker().getState());
+            assertEquals(5, server.getRequests());
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testBulkheadFull() throws Exception {
+        final StubHttpServer server = new StubHttpServer(401, "unauthorized", 0);
+        try {
+            final StubProvider provider = new StubProvider(server.getUrl());
+            final Bulkhead bulkhead = new Bulkhead(1);
+            provider.setBulkhead(bulkhead);
+            assertTrue(bulkhead.tryAcquire());
+            assertEquals(ProviderUnavailableException.CODE, retrieveCode(provider));
+            assertEquals(0, server.getRequests());
+            bulkhead.release();
+            assertEquals(401, retrieveCode(provider));
+            assertEquals(0, bulkhead.getConcurrentCalls());
+        } finally {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.provider.ProviderExecutors;
+import org.scribe.up.provider.impl.GitHubProvider;
+import org.scribe.up.provider.impl.YahooProvider;
+
+/**
+ * This class tests the {@link org.scribe.up.provider.ProviderExecutors} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestProviderExecutors extends TestCase {
+    
+    public void testDefaultExecutor() {
+        final GitHubProvider provider = new GitHubProvider();
+        assertSame(ProviderExecutors.getDefaultExecutor(), provider.getExecutor());
+    }
+    
+    public void testBoundedExecutorPerType() {
+        final GitHubProvider provider = new GitHubProvider();
+        provider.setMaxConcurrentRequests(3);
+        final ExecutorService executor = provider.getExecutor();
+        assertNotSame(ProviderExecutors.getDefaultExecutor(), executor);
+        assertEquals(3, ((ThreadPoolExecutor) executor).getMaximumPoolSize());
+        assertSame(executor, provider.clone().getExecutor());
+        final YahooProvider provider2 = new YahooProvider();
+        provider2.setMaxConcurrentRequests(3);
+        assertNotSame(executor, provider2.getExecutor());
+    }
+    
+    public void testDefaultExecutorBounded() {
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ProviderExecutors.getDefaultExecutor();
+        assertEquals(ProviderExecutors.DEFAULT_THREADS, executor.getMaximumPoolSize());
+        assertEquals(ProviderExecutors.DEFAULT_QUEUE_SIZE, executor.getQueue().size()
+                                                           + executor.getQueue().remainingCapacity());
+        assertTrue(executor.getRejectedExecutionHandler() instanceof ThreadPoolExecutor.AbortPolicy);
+    }
+    
+    public void testGrowOnly() {
+        final ThreadPoolExecutor executor = (ThreadPoolExecutor) ProviderExecutors.getBoundedExecutor("resize", 2);
+        assertSame(executor, ProviderExecutors.getBoundedExecutor("resize", 5));
+        assertEquals(5, executor.getCorePoolSize());
+        assertEquals(5, executor.getMaximumPoolSize());
+        // the highest limit applies
+        ProviderExecutors.getBoundedExecutor("resize", 1);
+        assertEquals(5, executor.getCorePoolSize());
+        assertEquals(5, executor.getMaximumPoolSize());
+    }
+    
+    public void testBadLimit() {
+        try {
+            ProviderExecutors.getBoundedExecutor("bad", 0);
+            fail("limit must be positive");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("maxConcurrentRequests must be positive", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.scribe.model.OAuthRequest;
+import org.scribe.model.Token;
+import org.scribe.model.Verifier;
+import org.scribe.oauth.OAuthService;
+import org.scribe.up.provider.ProviderSettings;
+import org.scribe.up.provider.RequestTokenPool;
+import org.scribe.up.provider.impl.YahooProvider;
+import org.scribe.up.test.util.SingleUserSession;
+
+/**
+ * This class tests the {@link org.scribe.up.provider.ProviderSettings} class and the rotation of the configuration of a provider.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestProviderSettings extends TestCase {
+    
+    private final AtomicInteger builds = new AtomicInteger();
+    
+    private YahooProvider newProvider() {
+        final YahooProvider provider = new YahooProvider() {
+            
+            @Override
+            protected OAuthService internalInit(final ProviderSettings settings) {
+                TestProviderSettings.this.builds.incrementAndGet();
+                return new MockOAuthService(settings.getKey(), settings.getSecret());
+            }
+        };
+        provider.setKey("key1");
+        provider.setSecret("secret1");
+        provider.setReadTimeout(1000);
+        return provider;
+    }
+    
+    public void testInit() {
+        final YahooProvider provider = newProvider();
+        provider.init();
+        provider.init();
+        final ProviderSettings settings = provider.getSettings();
+        assertEquals(1, this.builds.get());
+        assertEquals("key1", settings.getKey());
+        assertEquals("secret1", settings.getSecret());
+        assertEquals(1000, settings.getReadTimeout());
+        assertEquals("key1", ((MockOAuthService) settings.getService()).key);
+    }
+    
+    public void testRotation() {
+        final YahooProvider provider = newProvider();
+        final ProviderSettings settings = provider.getSettings();
+        provider.setKey("key2");
+        provider.setSecret("secret2");
+        provider.setReadTimeout(2000);
+        // not used until the re-initialization
+        assertSame(settings, provider.getSettings());
+        assertEquals("key1", provider.getKey());
+        assertEquals("secret1", provider.getSecret());
+        provider.reinit();
+        assertEquals("key2", provider.getKey());
+        final ProviderSettings newSettings = provider.getSettings();
+        assertEquals("key2", newSettings.getKey());
+        assertEquals("secret2", newSettings.getSecret());
+        assertEquals(2000, newSettings.getReadTimeout());
+        assertEquals("key2", ((MockOAuthService) newSettings.getService()).key);
+        // the previous snapshot is unchanged
+        assertEquals("key1", settings.getKey());
+        assertEquals("key1", ((MockOAuthService) settings.getService()).key);
+    }
+    
+    public void testRequestTokenPoolRotation() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final YahooProvider provider = newProvider();
+        provider.setRequestTokenPoolSize(2);
+        provider.setExecutor(executor);
+        provider.init();
+        final RequestTokenPool pool = provider.getRequestTokenPool();
+        provider.setKey("key2");
+        provider.reinit();
+        final RequestTokenPool newPool = provider.getRequestTokenPool();
+        assertNotSame(pool, newPool);
+        for (int i = 0; i < 100 && newPool.getAvailableTokens() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, newPool.getAvailableTokens());
+        // no request token of the previous credentials
+        assertEquals("authorize?key2", provider.getAuthorizationUrl(new SingleUserSession()));
+        executor.shutdown();
+    }
+    
+    public void testConcurrentRotation() throws InterruptedException {
+        final YahooProvider provider = newProvider();
+        provider.init();
+        final AtomicReference<String> error = new AtomicReference<String>();
+        final Thread[] readers = new Thread[4];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = new Thread() {
+                
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        final ProviderSettings settings = provider.getSettings();
+                        final MockOAuthService service = (MockOAuthService) settings.getService();
+                        if (!settings.getKey().equals(service.key)
+                            || !settings.getSecret().equals(service.secret)
+                            || !settings.getKey().substring(3).equals(settings.getSecret().substring(6))) {
+                            error.set(settings.getKey() + " / " + settings.getSecret() + " / " + service.key);
+                        }
+                    }
+                }
+            };
+            readers[i].start();
+        }
+        for (int i = 2; i < 200; i++) {
+            provider.setKey("key" + i);
+            provider.setSecret("secret" + i);
+            provider.reinit();
+        }
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(error.get());
+        assertEquals("key199", provider.getSettings().getKey());
+    }
+    
+    private static final class MockOAuthService implements OAuthService {
+        
+        private final String key;
+        
+        private final String secret;
+        
+        private MockOAuthService(final String key, final String secret) {
+            this.key = key;
+            this.secret = secret;
+        }
+        
+        public Token getRequestToken() {
+            return new Token(this.key, this.secret);
+        }
+        
+        public Token getAccessToken(final Token requestToken, final Verifier verifier) {
+            return null;
+        }
+        
+        public void signRequest(final Token accessToken, final OAuthRequest request) {
+        }
+        
+        public String getVersion() {
+            return "1.0";
+        }
+        
+        public String getAuthorizationUrl(final Token requestToken) {
+            return "authorize?" + requestToken.getToken();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.scribe.model.OAuthRequest;
+import org.scribe.model.Token;
+import org.scribe.model.Verifier;
+import org.scribe.oauth.OAuthService;
+import org.scribe.up.provider.BaseOAuth10Provider;
+import org.scribe.up.provider.ProviderSettings;
+import org.scribe.up.provider.RequestTokenPool;
+import org.scribe.up.provider.impl.YahooProvider;
+import org.scribe.up.test.util.SingleUserSession;
+
+/**
+ * This class tests the {@link org.scribe.up.provider.RequestTokenPool} class and its use by the
+ * {@link org.scribe.up.provider.BaseOAuth10Provider} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestRequestTokenPool extends TestCase {
+    
+    private static final Executor SAME_THREAD = new Executor() {
+        
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    };
+    
+    private final AtomicInteger retrievals = new AtomicInteger();
+    
+    private final Callable<Token> loader = new Callable<Token>() {
+        
+        public Token call() {
+            return newToken();
+        }
+    };
+    
+    private Token newToken() {
+        final int i = this.retrievals.incrementAndGet();
+        return new Token("token" + i, "secret" + i);
+    }
+    
+    public void testPoll() {
+        final RequestTokenPool pool = new RequestTokenPool(this.loader, SAME_THREAD, 2);
+        assertNull(pool.poll());
+        assertEquals(2, this.retrievals.get());
+        assertEquals("token1", pool.poll().getToken());
+        assertEquals("token2", pool.poll().getToken());
+        // each token taken is replaced
+        assertEquals(4, this.retrievals.get());
+        assertEquals(2, pool.getAvailableTokens());
+    }
+    
+    public void testMaxAge() throws InterruptedException {
+        final RequestTokenPool pool = new RequestTokenPool(this.loader, SAME_THREAD, 2, 50);
+        pool.refill();
+        Thread.sleep(100);
+        // the expired tokens are never given (they may have been replaced in the background)
+        final Token token = pool.poll();
+        assertTrue(token == null || !"token1".equals(token.getToken()) && !"token2".equals(token.getToken()));
+        assertTrue(this.retrievals.get() >= 4);
+        pool.shutdown();
+    }
+    
+    public void testShutdown() {
+        final RequestTokenPool pool = new RequestTokenPool(this.loader, SAME_THREAD, 2);
+        pool.refill();
+        assertEquals(2, pool.getAvailableTokens());
+        pool.shutdown();
+        assertTrue(pool.isShutdown());
+        assertEquals(0, pool.getAvailableTokens());
+        assertEquals(0, pool.getStock());
+        assertNull(pool.poll());
+        pool.refill();
+        // no retrieval anymore
+        assertEquals(2, this.retrievals.get());
+    }
+    
+    public void testShutdownDuringRetrieval() {
+        final RequestTokenPool[] holder = new RequestTokenPool[1];
+        final RequestTokenPool pool = new RequestTokenPool(new Callable<Token>() {
+            
+            public Token call() {
+                holder[0].shutdown();
+                return newToken();
+            }
+        }, SAME_THREAD, 2);
+        holder[0] = pool;
+        pool.refill();
+        // the retrieved token is not added to the pool shut down
+        assertEquals(0, pool.getAvailableTokens());
+        assertEquals(0, pool.getStock());
+    }
+    
+    public void testBackgroundRefresh() throws InterruptedException {
+        final RequestTokenPool pool = new RequestTokenPool(this.loader, SAME_THREAD, 2, 100);
+        pool.refill();
+        assertEquals(2, this.retrievals.get());
+        // no poll : the tokens are replaced before they expire
+        for (int i = 0; i < 100 && this.retrievals.get() < 4; i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(this.retrievals.get() >= 4);
+        assertEquals(2, pool.getAvailableTokens());
+        assertEquals(2, pool.getStock());
+        final String token = pool.poll().getToken();
+        assertFalse("token1".equals(token) || "token2".equals(token));
+        pool.shutdown();
+    }
+    
+    public void testFailure() {
+        final RequestTokenPool pool = new RequestTokenPool(new Callable<Token>() {
+            
+            public Token call() {
+                TestRequestTokenPool.this.retrievals.incrementAndGet();
+                throw new IllegalStateException("provider down");
+            }
+        }, SAME_THREAD, 3);
+        assertNull(pool.poll());
+        assertNull(pool.poll());
+        // no retry loop : one retrieval per missing token and per call
+        assertEquals(6, this.retrievals.get());
+        assertEquals(0, pool.getAvailableTokens());
+    }
+    
+    public void testProvider() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final YahooProvider provider = new YahooProvider() {
+            
+            @Override
+            protected OAuthService internalInit(final ProviderSettings settings) {
+                return new MockOAuthService();
+            }
+        };
+        provider.setRequestTokenPoolSize(2);
+        provider.setExecutor(executor);
+        provider.init();
+        final RequestTokenPool pool = provider.getRequestTokenPool();
+        assertEquals(2, pool.getSize());
+        for (int i = 0; i < 100 && pool.getAvailableTokens() < 2; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, pool.getAvailableTokens());
+        final SingleUserSession session = new SingleUserSession();
+        assertEquals("authorize?token1", provider.getAuthorizationUrl(session));
+        final Token requestToken = (Token) session.getAttribute(provider.getType() + "#"
+                                                                + BaseOAuth10Provider.REQUEST_TOKEN);
+        assertEquals("token1", requestToken.getToken());
+        assertEquals(2, provider.clone().getRequestTokenPoolSize());
+        // the pool is replaced and the previous one shut down
+        provider.reinit();
+        assertTrue(pool.isShutdown());
+        assertNotSame(pool, provider.getRequestTokenPool());
+        executor.shutdown();
+    }
+    
+    private final class MockOAuthService implements OAuthService {
+        
+        public Token getRequestToken() {
+            return newToken();
+        }
+        
+        public Token getAccessToken(final Token requestToken, final Verifier verifier) {
+            return null;
+        }
+        
+        public void signRequest(final Token accessToken, final OAuthRequest request) {
+        }
+        
+        public String getVersion() {
+            return "1.0";
+        }
+        
+        public String getAuthorizationUrl(final Token requestToken) {
+            return "authorize?" + requestToken.getToken();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.scribe.model.Token;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.cache.LruProfileCache;
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.impl.GitHubProvider;
+
+/**
+ * This class tests the retrieval of the user profile through the profile cache of the
+ * {@link org.scribe.up.provider.BaseOAuthProvider} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestCachedUserProfile extends TestCase {
+    
+    private static final String TOKEN = "token";
+    
+    private static final String BAD_TOKEN = "badToken";
+    
+    private static final String ERROR_TOKEN = "errorToken";
+    
+    private static final class FakeProvider extends GitHubProvider {
+        
+        private final AtomicInteger calls = new AtomicInteger();
+        
+        @Override
+        protected UserProfile retrieveUserProfile(final Token accessToken) throws HttpException {
+            this.calls.incrementAndGet();
+            if (BAD_TOKEN.equals(accessToken.getToken())) {
+                throw new HttpException(401, "unauthorized");
+            } else if (ERROR_TOKEN.equals(accessToken.getToken())) {
+                throw new HttpException(500, "error");
+            }
+            final UserProfile profile = new UserProfile();
+            profile.setId(accessToken.getToken());
+            return profile;
+        }
+    }
+    
+    private FakeProvider newProvider(final LruProfileCache cache) {
+        final FakeProvider provider = new FakeProvider();
+        provider.setKey("key");
+        provider.setSecret("secret");
+        provider.setCallbackUrl("http://localhost/callback");
+        provider.setProfileCache(cache);
+        return provider;
+    }
+    
+    public void testNoCache() throws HttpException {
+        final FakeProvider provider = newProvider(null);
+        provider.retrieveUserProfile(TOKEN);
+        provider.retrieveUserProfile(TOKEN);
+        assertEquals(2, provider.calls.get());
+    }
+    
+    public void testProfileCached() throws HttpException {
+        final LruProfileCache cache = new LruProfileCache();
+        final FakeProvider provider = newProvider(cache);
+        final UserProfile profile = provider.retrieveUserProfile(TOKEN);
+        assertSame(profile, provider.retrieveUserProfile(TOKEN));
+        assertEquals(1, provider.calls.get());
+        assertEquals(1, cache.getHits());
+        provider.removeCachedUserProfile(TOKEN);
+        provider.retrieveUserProfile(TOKEN);
+        assertEquals(2, provider.calls.get());
+    }
+    
+    public void testUnauthorizedCached() {
+        final FakeProvider provider = newProvider(new LruProfileCache());
+        for (int i = 0; i < 2; i++) {
+            try {
+                provider.retrieveUserProfile(BAD_TOKEN);
+                fail("retrieval should fail");
+            } catch (final HttpException e) {
+                assertEquals(401, e.getCode());
+            }
+        }
+        assertEquals(1, provider.calls.get());
+    }
+    
+    public void testOtherErrorNotCached() {
+        final FakeProvider provider = newProvider(new LruProfileCache());
+        for (int i = 0; i < 2; i++) {
+            assertNull(provider.getUserProfile(ERROR_TOKEN));
+        }
+        assertEquals(2, provider.calls.get());
+    }
+    
+    public void testCacheSharedByClones() throws HttpException {
+        final LruProfileCache cache = new LruProfileCache();
+        final FakeProvider provider = newProvider(cache);
+        provider.retrieveUserProfile(TOKEN);
+        assertSame(cache, provider.clone().getProfileCache());
+    }
+}
@@ -0,0 +1,128 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider.cache;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.provider.cache.LruProfileCache;
+import org.scribe.up.provider.cache.ProfileCacheEntry;
+import org.scribe.up.provider.exception.HttpException;
+
+/**
+ * This class tests the {@link org.scribe.up.provider.cache.LruProfileCache} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestLruProfileCache extends TestCase {
+    
+    private static final String KEY = "key";
+    
+    private static final String KEY2 = "key2";
+    
+    private static final String KEY3 = "key3";
+    
+    private static UserProfile newProfile(final String id) {
+        final UserProfile profile = new UserProfile();
+        profile.setId(id);
+        return profile;
+    }
+    
+    public void testProfile() {
+        final LruProfileCache cache = new LruProfileCache();
+        assertNull(cache.get(KEY));
+        final UserProfile profile = newProfile(KEY);
+        cache.putProfile(KEY, profile);
+        final ProfileCacheEntry entry = cache.get(KEY);
+        assertFalse(entry.isError());
+        assertSame(profile, entry.getProfile());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(0.5, cache.getHitRatio(), 0.001);
+        cache.remove(KEY);
+        assertNull(cache.get(KEY));
+    }
+    
+    public void testError() {
+        final LruProfileCache cache = new LruProfileCache();
+        cache.putError(KEY, new HttpException(401, "unauthorized"));
+        final ProfileCacheEntry entry = cache.get(KEY);
+        assertTrue(entry.isError());
+        final HttpException e = entry.newException();
+        assertEquals(401, e.getCode());
+        assertEquals("unauthorized", e.getBody());
+    }
+    
+    public void testNoErrorCaching() {
+        final LruProfileCache cache = new LruProfileCache();
+        cache.setErrorTimeToLive(0);
+        cache.putError(KEY, new HttpException(401, "unauthorized"));
+        assertNull(cache.get(KEY));
+    }
+    
+    public void testTimeToLive() throws InterruptedException {
+        final LruProfileCache cache = new LruProfileCache();
+        cache.setTimeToLive(10);
+        cache.putProfile(KEY, newProfile(KEY));
+        assertNotNull(cache.get(KEY));
+        Thread.sleep(20);
+        assertNull(cache.get(KEY));
+        assertEquals(0, cache.getSize());
+    }
+    
+    public void testEviction() {
+        final LruProfileCache cache = new LruProfileCache(2);
+        cache.putProfile(KEY, newProfile(KEY));
+        cache.putProfile(KEY2, newProfile(KEY2));
+        // KEY is now the most recently used
+        assertNotNull(cache.get(KEY));
+        cache.putProfile(KEY3, newProfile(KEY3));
+        assertEquals(2, cache.getSize());
+        assertEquals(1, cache.getEvictions());
+        assertNotNull(cache.get(KEY));
+        assertNull(cache.get(KEY2));
+        assertNotNull(cache.get(KEY3));
+        cache.clear();
+        assertEquals(0, cache.getSize());
+    }
+    
+    public void testStripes() {
+        assertEquals(1, new LruProfileCache(2).getNbStripes());
+        assertEquals(LruProfileCache.DEFAULT_STRIPES, new LruProfileCache().getNbStripes());
+        final LruProfileCache cache = new LruProfileCache(10, 4);
+        for (int i = 0; i < 100; i++) {
+            final String key = "key" + i;
+            cache.putProfile(key, newProfile(key));
+        }
+        assertTrue(cache.getSize() <= 10);
+        assertEquals(100 - cache.getSize(), cache.getEvictions());
+        assertNotNull(cache.get("key99"));
+        cache.remove("key99");
+        assertNull(cache.get("key99"));
+        cache.clear();
+        assertEquals(0, cache.getSize());
+    }
+    
+    public void testInvalidStripes() {
+        try {
+            new LruProfileCache(2, 4);
+            fail("too many stripes should be rejected");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("nbStripes must be between 1 and maxSize", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider.impl;
+
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.profile.facebook.FacebookProfile;
+import org.scribe.up.provider.BatchUserProfileCallback;
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.impl.FacebookProvider;
+import org.scribe.up.test.util.StubHttpServer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * This class tests the Graph API batch requests of the {@link org.scribe.up.provider.impl.FacebookProvider} class (offline, against a
+ * stub server).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestFacebookBatchRequests extends TestCase {
+    
+    private static final String FRIENDS_RESPONSE = "{\"data\":[{\"name\":\"J\\u00e9r\\u00f4me Leleu\",\"id\":\"100002406067613\"}],\"paging\":{\"next\":\"https:\\/\\/graph.facebook.com\\/100003571536393\\/friends?limit=5000&offset=5000\"}}";
+    
+    private static final String ERROR_RESPONSE = "{\"error\":{\"message\":\"Error validating access token\",\"type\":\"OAuthException\",\"code\":190}}";
+    
+    private static final ObjectMapper mapper = new ObjectMapper();
+    
+    private static final class StubFacebookProvider extends FacebookProvider {
+        
+        private final String graphUrl;
+        
+        private StubFacebookProvider(final String graphUrl) {
+            this.graphUrl = graphUrl;
+            setKey("key");
+            setSecret("secret");
+            setCallbackUrl("http://localhost/callback");
+            setConnections("friends, likes");
+        }
+        
+        @Override
+        protected String getGraphUrl() {
+            return this.graphUrl;
+        }
+    }
+    
+    private static final class RecordingCallback implements BatchUserProfileCallback {
+        
+        private final Map<String, UserProfile> profiles = new ConcurrentHashMap<String, UserProfile>();
+        
+        private final Map<String, Exception> failures = new ConcurrentHashMap<String, Exception>();
+        
+        public void onSuccess(final String accessToken, final UserProfile profile) {
+            this.profiles.put(accessToken, profile);
+        }
+        
+        public void onFailure(final String accessToken, final Exception e) {
+            this.failures.put(accessToken, e);
+        }
+    }
+    
+    private static void addResponse(final ArrayNode responses, final int code, final String body) {
+        final ObjectNode response = responses.addObject();
+        response.put("code", code);
+        response.put("body", body);
+    }
+    
+    private static String decode(final String s) throws Exception {
+        return URLDecoder.decode(s, "UTF-8");
+    }
+    
+    public void testProfileAndConnections() throws Exception {
+        final ArrayNode responses = mapper.createArrayNode();
+        addResponse(responses, 200, BenchFacebookProvider.RESPONSE);
+        addResponse(responses, 200, FRIENDS_RESPONSE);
+        addResponse(responses, 400, ERROR_RESPONSE);
+        final StubHttpServer server = new StubHttpServer(200, mapper.writeValueAsString(responses), 0);
+        try {
+            final StubFacebookProvider provider = new StubFacebookProvider(server.getUrl());
+            final FacebookProfile profile = (FacebookProfile) provider.retrieveUserProfile("userToken");
+            assertEquals(1, server.getRequests());
+            assertEquals("100003571536393", profile.getId());
+            assertEquals("userToken", profile.getAccessToken());
+            // friends from the batch response, not from the profile response
+            assertEquals(1, profile.getFriends().size());
+            assertEquals("100002406067613", profile.getFriends().get(0).getId());
+            // likes from the profile response as the batch request has failed for them
+            assertEquals(9, profile.getLikes().size());
+            assertTrue(server.getLastRequestLine().startsWith("POST / "));
+            assertTrue(Arrays.asList(server.getLastRequestBody().split("&")).contains("access_token=userToken"));
+            final String body = decode(server.getLastRequestBody());
+            assertTrue(body.contains("\"relative_url\":\"me?fields=" + FacebookProvider.DEFAULT_FIELDS + "\""));
+            assertTrue(body.contains("\"relative_url\":\"me/friends\""));
+            assertTrue(body.contains("\"relative_url\":\"me/likes\""));
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testLazyConnections() throws Exception {
+        final ArrayNode responses = mapper.createArrayNode();
+        addResponse(responses, 200, BenchFacebookProvider.RESPONSE);
+        addResponse(responses, 200, FRIENDS_RESPONSE);
+        addResponse(responses, 400, ERROR_RESPONSE);
+        final StubHttpServer server = new StubHttpServer(200, mapper.writeValueAsString(responses), 0);
+        try {
+            final StubFacebookProvider provider = new StubFacebookProvider(server.getUrl());
+            provider.setLazyConnections(true);
+            final FacebookProfile profile = (FacebookProfile) provider.retrieveUserProfile("userToken");
+            assertEquals(1, profile.getFriends().size());
+            assertEquals("100002406067613", profile.getFriends().get(0).getId());
+            assertEquals(9, profile.getLikes().size());
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testBadResponse() throws Exception {
+        final StubHttpServer server = new StubHttpServer(200, "{}", 0);
+        try {
+            new StubFacebookProvider(server.getUrl()).retrieveUserProfile("userToken");
+            fail("retrieval should fail");
+        } catch (final HttpException e) {
+            assertEquals(502, e.getCode());
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testSeveralUsers() throws Exception {
+        final ArrayNode responses = mapper.createArrayNode();
+        addResponse(responses, 200, BenchFacebookProvider.RESPONSE);
+        addResponse(responses, 200, FRIENDS_RESPONSE);
+        addResponse(responses, 200, FRIENDS_RESPONSE);
+        addResponse(responses, 400, ERROR_RESPONSE);
+        addResponse(responses, 400, ERROR_RESPONSE);
+        addResponse(responses, 400, ERROR_RESPONSE);
+        responses.addNull();
+        responses.addNull();
+        responses.addNull();
+        final StubHttpServer server = new StubHttpServer(200, mapper.writeValueAsString(responses), 0);
+        try {
+            final StubFacebookProvider provider = new StubFacebookProvider(server.getUrl());
+            provider.setUsersPerBatch(10);
+            final RecordingCallback callback = new RecordingCallback();
+            provider.getUserProfiles(Arrays.asList("token1", "token2", "token3").iterator(), 1, callback);
+            assertEquals(1, server.getRequests());
+            assertEquals("100003571536393", callback.profiles.get("token1").getId());
+            assertEquals(400, ((HttpException) callback.failures.get("token2")).getCode());
+            assertEquals(504, ((HttpException) callback.failures.get("token3")).getCode());
+            // the application access token is only sent in the body
+            assertTrue(server.getLastRequestLine().startsWith("POST / "));
+            assertTrue(Arrays.asList(server.getLastRequestBody().split("&")).contains("access_token=key%7Csecret"));
+            final String body = decode(server.getLastRequestBody());
+            assertTrue(body.contains("\"relative_url\":\"me/friends?access_token=token2\""));
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testBatchSize() {
+        final FacebookProvider provider = new FacebookProvider();
+        provider.setUsersPerBatch(100);
+        provider.setConnections("friends,likes,albums,events");
+        assertEquals(100, provider.getUsersPerBatch());
+        final FacebookProvider clone = (FacebookProvider) provider.clone();
+        assertEquals(provider.getConnections(), clone.getConnections());
+        assertEquals(provider.getUsersPerBatch(), clone.getUsersPerBatch());
+    }
+}
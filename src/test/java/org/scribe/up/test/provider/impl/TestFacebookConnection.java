@@ -0,0 +1,229 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider.impl;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.credential.OAuthCredential;
+import org.scribe.up.profile.UserProfile;
+import org.scribe.up.profile.facebook.FacebookInfo;
+import org.scribe.up.profile.facebook.FacebookObject;
+import org.scribe.up.profile.facebook.FacebookProfile;
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.impl.FacebookConnection;
+import org.scribe.up.provider.impl.FacebookProvider;
+import org.scribe.up.test.util.StubHttpServer;
+
+/**
+ * This class tests the {@link org.scribe.up.provider.impl.FacebookConnection} class (offline, against a stub server).
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestFacebookConnection extends TestCase {
+    
+    private static class StubFacebookProvider extends FacebookProvider {
+        
+        private final String graphUrl;
+        
+        private StubFacebookProvider(final String graphUrl) {
+            this.graphUrl = graphUrl;
+            setKey("key");
+            setSecret("secret");
+            setCallbackUrl("http://localhost/callback");
+        }
+        
+        @Override
+        protected String getGraphUrl() {
+            return this.graphUrl;
+        }
+    }
+    
+    private static String page(final String firstId, final String secondId, final String next) {
+        String page = "{\"data\":[{\"name\":\"friend" + firstId + "\",\"id\":\"" + firstId + "\"},{\"name\":\"friend" + secondId
+                      + "\",\"id\":\"" + secondId + "\"}]";
+        if (next != null) {
+            page += ",\"paging\":{\"next\":\"" + next + "\"}";
+        }
+        return page + "}";
+    }
+    
+    private static FacebookProfile newProfile() {
+        final FacebookProfile profile = new FacebookProfile();
+        profile.setAccessToken("userToken");
+        return profile;
+    }
+    
+    public void testPages() throws Exception {
+        final StubHttpServer server = new StubHttpServer(200, "{}", 0);
+        try {
+            final String url = server.getUrl();
+            server.setBody("/me/friends", page("1", "2", url + "page2?access_token=userToken&limit=2&offset=2"));
+            server.setBody("/page2", page("3", "4", url + "page3?limit=2&offset=4&access_token=userToken"));
+            server.setBody("/page3", "{\"data\":[{\"name\":\"friend5\",\"id\":\"5\"}],\"paging\":{}}");
+            final StubFacebookProvider provider = new StubFacebookProvider(url);
+            provider.setLimit(2);
+            final FacebookConnection<FacebookObject> friends = provider.getConnection(newProfile(), "friends", FacebookObject.class);
+            assertEquals("friends", friends.getName());
+            int nb = 0;
+            for (final FacebookObject friend : friends) {
+                nb++;
+                assertEquals(String.valueOf(nb), friend.getId());
+                assertEquals("friend" + nb, friend.getName());
+            }
+            assertEquals(5, nb);
+            assertEquals(3, server.getRequests());
+            // the access token of the paging url is not duplicated
+            assertTrue(server.getLastRequestLine().startsWith("GET /page3?limit=2&offset=4&access_token=userToken "));
+            // a new iteration starts again from the first page
+            assertEquals("1", friends.iterator().next().getId());
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testEmptyConnection() throws Exception {
+        final StubHttpServer server = new StubHttpServer(200, "{\"data\":[]}", 0);
+        try {
+            final Iterator<FacebookObject> iterator = new StubFacebookProvider(server.getUrl())
+                .getConnection(newProfile(), "friends", FacebookObject.class).iterator();
+            // the first page is requested by hasNext()
+            assertEquals(0, server.getRequests());
+            assertFalse(iterator.hasNext());
+            assertEquals(1, server.getRequests());
+            try {
+                iterator.next();
+                fail("no friend expected");
+            } catch (final NoSuchElementException e) {
+                // expected
+            }
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testPageFailure() throws Exception {
+        final StubHttpServer server = new StubHttpServer(500, "{}", 0);
+        try {
+            final Iterator<FacebookObject> iterator = new StubFacebookProvider(server.getUrl())
+                .getConnection(newProfile(), "friends", FacebookObject.class).iterator();
+            try {
+                iterator.hasNext();
+                fail("the first page should fail");
+            } catch (final IllegalStateException e) {
+                assertEquals(500, ((HttpException) e.getCause()).getCode());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testForeignNextUrl() throws Exception {
+        final StubHttpServer server = new StubHttpServer(200, "{}", 0);
+        try {
+            server.setBody("/me/friends", page("1", "2", "http://evil.example.com/page2?access_token=userToken"));
+            final Iterator<FacebookObject> iterator = new StubFacebookProvider(server.getUrl())
+                .getConnection(newProfile(), "friends", FacebookObject.class).iterator();
+            assertEquals("1", iterator.next().getId());
+            assertEquals("2", iterator.next().getId());
+            try {
+                iterator.hasNext();
+                fail("the next url is not an url of the Graph API");
+            } catch (final IllegalStateException e) {
+                assertEquals(502, ((HttpException) e.getCause()).getCode());
+            }
+            assertEquals(1, server.getRequests());
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testRepeatedNextUrl() throws Exception {
+        final StubHttpServer server = new StubHttpServer(200, "{}", 0);
+        try {
+            final String url = server.getUrl();
+            server.setBody("/me/friends", page("1", "2", url + "page2"));
+            server.setBody("/page2", page("3", "4", url + "page2"));
+            int nb = 0;
+            for (final FacebookObject friend : new StubFacebookProvider(url).getConnection(newProfile(), "friends",
+                                                                                          FacebookObject.class)) {
+                assertNotNull(friend);
+                nb++;
+            }
+            assertEquals(4, nb);
+            assertEquals(2, server.getRequests());
+        } finally {
+            server.stop();
+        }
+    }
+    
+    public void testUnknownConnection() {
+        try {
+            new StubFacebookProvider("http://localhost/").getConnection(newProfile(), "unknown", FacebookObject.class);
+            fail("the connection is not defined");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Unknown connection : unknown", e.getMessage());
+        }
+    }
+    
+    public void testWrongItemClass() {
+        try {
+            new StubFacebookProvider("http://localhost/").getConnection(newProfile(), "likes", FacebookObject.class);
+            fail("the likes are not FacebookObject");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("The items of the connection : likes are "));
+        }
+        assertEquals("likes", new StubFacebookProvider("http://localhost/").getConnection(newProfile(), "likes", FacebookInfo.class).getName());
+    }
+    
+    public void testIterationInProviderTask() throws Exception {
+        final StubHttpServer server = new StubHttpServer(200, "{}", 0);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final String url = server.getUrl();
+            server.setBody("/me/friends", page("1", "2", url + "page2"));
+            server.setBody("/page2", page("3", "4", null));
+            final StubFacebookProvider provider = new StubFacebookProvider(url) {
+                
+                @Override
+                public UserProfile retrieveUserProfile(final OAuthCredential credential) {
+                    final FacebookProfile profile = newProfile();
+                    int nb = 0;
+                    for (final FacebookObject friend : getConnection(profile, "friends", FacebookObject.class)) {
+                        assertNotNull(friend);
+                        nb++;
+                    }
+                    assertEquals(4, nb);
+                    return profile;
+                }
+            };
+            // the only thread of the executor runs the task : a page requested in advance would never be retrieved
+            provider.setExecutor(executor);
+            final OAuthCredential credential = new OAuthCredential(null, "token", "verifier", provider.getType());
+            assertNotNull(provider.getUserProfileAsync(credential).get(10, TimeUnit.SECONDS));
+            assertEquals(2, server.getRequests());
+        } finally {
+            executor.shutdownNow();
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.provider.metrics;
+
+import junit.framework.TestCase;
+
+import org.scribe.up.provider.exception.HttpException;
+import org.scribe.up.provider.impl.GitHubProvider;
+import org.scribe.up.provider.metrics.InMemoryProviderMetrics;
+import org.scribe.up.provider.metrics.LatencyHistogram;
+import org.scribe.up.provider.metrics.ProviderMetrics;
+import org.scribe.up.test.util.StubHttpServer;
+
+/**
+ * This class tests the {@link org.scribe.up.provider.metrics.InMemoryProviderMetrics} class.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestInMemoryProviderMetrics extends TestCase {
+    
+    private static final String TYPE = "GitHubProvider";
+    
+    private static final class StubProvider extends GitHubProvider {
+        
+        private final String profileUrl;
+        
+        private StubProvider(final String profileUrl) {
+            this.profileUrl = profileUrl;
+            setKey("key");
+            setSecret("secret");
+            setCallbackUrl("http://localhost/callback");
+            setType(TYPE);
+        }
+        
+        @Override
+        protected String getProfileUrl() {
+            return this.profileUrl;
+        }
+    }
+    
+    public void testHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0.0, histogram.getPercentile(50), 0.0);
+        for (int i = 1; i <= 100; i++) {
+            // i milliseconds
+            histogram.record(i * 1000000L);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(50.5, histogram.getMean(), 0.001);
+        assertEquals(100.0, histogram.getMax(), 0.001);
+        final double p50 = histogram.getPercentile(50);
+        assertTrue(p50 >= 50.0 && p50 <= 100.0);
+        assertEquals(100.0, histogram.getPercentile(100), 0.001);
+    }
+    
+    public void testRecords() {
+        final InMemoryProviderMetrics metrics = new InMemoryProviderMetrics();
+        metrics.recordTime(TYPE, ProviderMetrics.ACCESS_TOKEN, 2000000L);
+        metrics.recordTime(TYPE, ProviderMetrics.ACCESS_TOKEN, 4000000L);
+        metrics.recordError(TYPE, ProviderMetrics.PROFILE_REQUEST, 401);
+        assertEquals(2, metrics.getHistogram(TYPE, ProviderMetrics.ACCESS_TOKEN).getCount());
+        assertEquals(3.0, metrics.getHistogram(TYPE, ProviderMetrics.ACCESS_TOKEN).getMean(), 0.001);
+        assertNull(metrics.getHistogram(TYPE, ProviderMetrics.PROFILE_REQUEST));
+        assertEquals(1, metrics.getErrors(TYPE, ProviderMetrics.PROFILE_REQUEST, 401));
+        assertEquals(0, metrics.getErrors(TYPE, ProviderMetrics.PROFILE_REQUEST, 500));
+        assertEquals(1, metrics.getHistograms().size());
+        assertEquals(Long.valueOf(1), metrics.getErrors().get(TYPE + "." + ProviderMetrics.PROFILE_REQUEST + ".401"));
+        metrics.clear();
+        assertTrue(metrics.getHistograms().isEmpty());
+    }
+    
+    public void testProviderMetrics() throws Exception {
+        final StubHttpServer server = new StubHttpServer(200, "{\"id\":1,\"login\":\"metrics\"}", 0);
+        final StubHttpServer errorServer = new StubHttpServer(401, "unauthorized", 0);
+        try {
+            final InMemoryProviderMetrics metrics = new InMemoryProviderMetrics();
+            final StubProvider provider = new StubProvider(server.getUrl());
+            provider.setMetrics(metrics);
+            assertEquals("1", provider.retrieveUserProfile("token").getId());
+            assertEquals(1, metrics.getHistogram(TYPE, ProviderMetrics.PROFILE_REQUEST).getCount());
+            assertEquals(1, metrics.getHistogram(TYPE, ProviderMetrics.PROFILE_EXTRACTION).getCount());
+            final StubProvider errorProvider = new StubProvider(errorServer.getUrl());
+            errorProvider.setMetrics(metrics);
+            try {
+                errorProvider.retrieveUserProfile("token");
+                fail("retrieval should fail");
+            } catch (final HttpException e) {
+                assertEquals(401, e.getCode());
+            }
+            assertEquals(1, metrics.getErrors(TYPE, ProviderMetrics.PROFILE_REQUEST, 401));
+            assertEquals(2, metrics.getHistogram(TYPE, ProviderMetrics.PROFILE_REQUEST).getCount());
+            assertEquals(1, metrics.getHistogram(TYPE, ProviderMetrics.PROFILE_EXTRACTION).getCount());
+        } finally {
+            server.stop();
+            errorServer.stop();
+        }
+    }
+    
+    public void testNullMetrics() {
+        try {
+            new GitHubProvider().setMetrics(null);
+            fail("metrics cannot be null");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("metrics cannot be null", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.session;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import junit.framework.TestCase;
+
+import org.scribe.model.Token;
+import org.scribe.up.session.CookieUserSession;
+import org.scribe.up.session.SessionCookieCodec;
+
+/**
+ * This class tests the {@link org.scribe.up.session.CookieUserSession} and {@link org.scribe.up.session.SessionCookieCodec} classes.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class TestCookieUserSession extends TestCase {
+    
+    private static final String SECRET = "a secret shared by all the servers";
+    
+    private static final String KEY = "TwitterProvider#requestToken";
+    
+    private static final Token TOKEN = new Token("token", "secret");
+    
+    private Map<String, Object> newAttributes() {
+        final Map<String, Object> attributes = new HashMap<String, Object>();
+        attributes.put(KEY, TOKEN);
+        attributes.put("state", "abcdefghij");
+        attributes.put("null", null);
+        return attributes;
+    }
+    
+    public void testEncodeDecode() {
+        final SessionCookieCodec codec = new SessionCookieCodec(SECRET);
+        final String value = codec.encode(newAttributes());
+        assertTrue(value.matches("[A-Za-z0-9_-]+"));
+        assertFalse(value.equals(codec.encode(newAttributes())));
+        final Map<String, Object> attributes = codec.decode(value);
+        assertEquals(newAttributes(), attributes);
+        assertEquals(TOKEN.getSecret(), ((Token) attributes.get(KEY)).getSecret());
+        // the servers sharing the secret can decode the value
+        assertEquals(newAttributes(), new SessionCookieCodec(SECRET).decode(value));
+    }
+    
+    public void testNotEncrypted() {
+        final SessionCookieCodec codec = new SessionCookieCodec(SECRET);
+        codec.setEncrypted(false);
+        final Map<String, Object> attributes = new HashMap<String, Object>();
+        attributes.put("state", "abcdefghij");
+        final String value = codec.encode(attributes);
+        assertEquals(attributes, codec.decode(value));
+        // the encrypted or not values are read whatever the configuration
+        codec.setEncrypted(true);
+        assertEquals(attributes, codec.decode(value));
+    }
+    
+    public void testInvalidValues() {
+        final SessionCookieCodec codec = new SessionCookieCodec(SECRET);
+        final String value = codec.encode(newAttributes());
+        assertNull(new SessionCookieCodec("another secret of the servers").decode(value));
+        final char[] chars = value.toCharArray();
+        chars[10] = chars[10] == 'A' ? 'B' : 'A';
+        assertNull(codec.decode(new String(chars)));
+        assertNull(codec.decode("abc"));
+        assertNull(codec.decode(null));
+        codec.setMaxAge(-1);
+        assertNull(codec.decode(codec.encode(newAttributes())));
+    }
+    
+    public void testUnsupportedValue() {
+        final Map<String, Object> attributes = newAttributes();
+        attributes.put("object", new ArrayList<String>());
+        try {
+            new SessionCookieCodec(SECRET).encode(attributes);
+            fail("only the strings and the tokens can be stored");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+    
+    public void testShortSecret() {
+        try {
+            new SessionCookieCodec("short");
+            fail("the secret is too short");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+    }
+    
+    public void testSession() {
+        final SessionCookieCodec codec = new SessionCookieCodec(SECRET);
+        codec.setSecure(true);
+        final List<String> headers = new ArrayList<String>();
+        final CookieUserSession session = new CookieUserSession(newRequest(null), newResponse(headers), codec);
+        assertNull(session.getAttribute(KEY));
+        session.setAttribute(KEY, TOKEN);
+        session.setAttribute("other", "value");
+        session.setAttribute("other", null);
+        assertEquals(TOKEN, session.getAttribute(KEY));
+        // the cookie is only written once
+        assertEquals(0, headers.size());
+        session.flush();
+        session.flush();
+        assertEquals(1, headers.size());
+        final String header = headers.get(0);
+        assertTrue(header.startsWith(SessionCookieCodec.DEFAULT_COOKIE_NAME + "="));
+        assertTrue(header.endsWith("; Path=/; Max-Age=600; HttpOnly; Secure"));
+        // the callback is handled by another server
+        final String value = header.substring(header.indexOf('=') + 1, header.indexOf(';'));
+        final Cookie cookie = new Cookie(SessionCookieCodec.DEFAULT_COOKIE_NAME, value);
+        final CookieUserSession callbackSession = new CookieUserSession(newRequest(cookie), newResponse(headers),
+                                                                        new SessionCookieCodec(SECRET));
+        assertEquals(TOKEN, callbackSession.getAttribute(KEY));
+        // once used, the request token is removed and the empty cookie expired
+        headers.clear();
+        callbackSession.setAttribute(KEY, null);
+        assertNull(callbackSession.getAttribute(KEY));
+        callbackSession.flush();
+        assertEquals(1, headers.size());
+        assertEquals(SessionCookieCodec.DEFAULT_COOKIE_NAME + "=; Path=/; Max-Age=0; HttpOnly", headers.get(0));
+    }
+    
+    private HttpServletRequest newRequest(final Cookie cookie) {
+        return (HttpServletRequest) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {
+            HttpServletRequest.class
+        }, new InvocationHandler() {
+            
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("getCookies".equals(method.getName()) && cookie != null) {
+                    return new Cookie[] {
+                        new Cookie("other", "value"), cookie
+                    };
+                }
+                return null;
+            }
+        });
+    }
+    
+    private HttpServletResponse newResponse(final List<String> headers) {
+        return (HttpServletResponse) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {
+            HttpServletResponse.class
+        }, new InvocationHandler() {
+            
+            public Object invoke(final Object proxy, final Method method, final Object[] args) {
+                if ("addHeader".equals(method.getName()) && "Set-Cookie".equals(args[0])) {
+                    headers.add((String) args[1]);
+                }
+                return null;
+            }
+        });
+    }
+}
@@ -0,0 +1,171 @@
+/*
+  Copyright 2012 Jerome Leleu
+
+   Licensed under the Apache License, Version 2.0 (the "License");
+   you may not use this file except in compliance with the License.
+   You may obtain a copy of the License at
+
+       http://www.apache.org/licenses/LICENSE-2.0
+
+   Unless required by applicable law or agreed to in writing, software
+   distributed under the License is distributed on an "AS IS" BASIS,
+   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+   See the License for the specific language governing permissions and
+   limitations under the License.
+ */
+package org.scribe.up.test.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class is a local HTTP server answering the same response to all requests (or a specific body per path) after a delay, to stub an
+ * OAuth provider.
+ * 
+ * @author Jerome Leleu
+ * @since 1.3.2
+ */
+public final class StubHttpServer {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StubHttpServer.class);
+    
+    private final ServerSocket serverSocket;
+    
+    private final int code;
+    
+    private final String body;
+    
+    private final long delay;
+    
+    private final Map<String, String> bodies = new ConcurrentHashMap<String, String>();
+    
+    private final AtomicInteger requests = new AtomicInteger();
+    
+    private volatile boolean running = true;
+    
+    private volatile String lastRequestLine;
+    
+    private volatile String lastRequestBody;
+    
+    public StubHttpServer(final int code, final String body, final long delay) throws IOException {
+        this.code = code;
+        this.body = body;
+        this.delay = delay;
+        this.serverSocket = new ServerSocket(0, 1000);
+        final Thread acceptor = new Thread(new Runnable() {
+            public void run() {
+                accept();
+            }
+        }, "stub-http-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+    
+    public String getUrl() {
+        return "http://localhost:" + this.serverSocket.getLocalPort() + "/";
+    }
+    
+    public void setBody(final String path, final String body) {
+        this.bodies.put(path, body);
+    }
+    
+    public int getRequests() {
+        return this.requests.get();
+    }
+    
+    public String getLastRequestLine() {
+        return this.lastRequestLine;
+    }
+    
+    public String getLastRequestBody() {
+        return this.lastRequestBody;
+    }
+    
+    public void stop() throws IOException {
+        this.running = false;
+        this.serverSocket.close();
+    }
+    
+    private void accept() {
+        while (this.running) {
+            try {
+                final Socket socket = this.serverSocket.accept();
+                final Thread handler = new Thread(new Runnable() {
+                    public void run() {
+                        handle(socket);
+                    }
+                });
+                handler.setDaemon(true);
+                handler.start();
+            } catch (final IOException e) {
+                if (this.running) {
+                    logger.error("Cannot accept connection", e);
+                }
+            }
+        }
+    }
+    
+    private void handle(final Socket socket) {
+        try {
+            final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), "UTF-8"));
+            final String requestLine = reader.readLine();
+            int contentLength = 0;
+            String line = requestLine;
+            while (line != null && line.length() > 0) {
+                if (line.toLowerCase().startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                }
+                line = reader.readLine();
+            }
+            // the body is supposed to be ASCII (form parameters)
+            final char[] requestBody = new char[contentLength];
+            int read = 0;
+            while (read < contentLength) {
+                final int n = reader.read(requestBody, read, contentLength - read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            this.lastRequestLine = requestLine;
+            this.lastRequestBody = new String(requestBody, 0, read);
+            this.requests.incrementAndGet();
+            if (this.delay > 0) {
+                Thread.sleep(this.delay);
+            }
+            String path = requestLine.split(" ")[1];
+            final int question = path.indexOf('?');
+            if (question >= 0) {
+                path = path.substring(0, question);
+            }
+            String responseBody = this.bodies.get(path);
+            if (responseBody == null) {
+                responseBody = this.body;
+            }
+            final byte[] content = responseBody.getBytes("UTF-8");
+            final OutputStream output = socket.getOutputStream();
+            output.write(("HTTP/1.1 " + this.code + " Stub\r\nContent-Type: application/json\r\nContent-Length: "
+                          + content.length + "\r\nConnection: close\r\n\r\n").getBytes("UTF-8"));
+            output.write(content);
+            output.flush();
+        } catch (final Exception e) {
+            logger.error("Cannot handle request", e);
+        } finally {
+            try {
+                socket.close();
+            } catch (final IOException e) {
+                logger.debug("Cannot close socket", e);
+            }
+        }
+    }
+}